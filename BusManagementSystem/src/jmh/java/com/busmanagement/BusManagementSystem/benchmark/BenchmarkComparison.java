@@ -0,0 +1,101 @@
+package com.busmanagement.BusManagementSystem.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Compares a JMH JSON result file with the stored baseline and exits with status 1 when any benchmark got
+// slower by more than the threshold (in percent). Throughput scores regress downwards, time scores upwards.
+// Without a baseline, or with update=true, the results become the new baseline.
+//   BenchmarkComparison <results.json> <baseline.json> <threshold-percent> [update]
+public final class BenchmarkComparison {
+
+	private BenchmarkComparison() {
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 3) {
+			System.err.println("Usage: BenchmarkComparison <results.json> <baseline.json> <threshold-percent> [update]");
+			System.exit(2);
+		}
+		Path results = Path.of(args[0]);
+		Path baseline = Path.of(args[1]);
+		double threshold = Double.parseDouble(args[2]);
+		boolean update = args.length > 3 && Boolean.parseBoolean(args[3]);
+
+		if (!Files.exists(results)) {
+			System.err.println("No benchmark results at " + results);
+			System.exit(2);
+		}
+		if (update || !Files.exists(baseline)) {
+			Files.createDirectories(baseline.toAbsolutePath().getParent());
+			Files.copy(results, baseline, StandardCopyOption.REPLACE_EXISTING);
+			System.out.println("Stored " + results + " as the new baseline " + baseline);
+			return;
+		}
+
+		int regressions = compare(read(baseline), read(results), threshold);
+		if (regressions > 0) {
+			System.err.printf("%d benchmark(s) regressed by more than %.1f%%%n", regressions, threshold);
+			System.exit(1);
+		}
+	}
+
+	static int compare(Map<String, Score> baseline, Map<String, Score> current, double threshold) {
+		int regressions = 0;
+		System.out.printf("%-90s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+		for (Map.Entry<String, Score> entry : current.entrySet()) {
+			Score now = entry.getValue();
+			Score before = baseline.get(entry.getKey());
+			if (before == null || !before.unit().equals(now.unit())) {
+				System.out.printf("%-90s %14s %14.3f %9s%n", entry.getKey(), "-", now.value(), "new");
+				continue;
+			}
+			// Positive change means slower, whichever direction the unit counts in
+			double change = (now.value() - before.value()) / before.value() * 100;
+			if (now.higherIsBetter()) {
+				change = -change;
+			}
+			boolean regressed = change > threshold;
+			if (regressed) {
+				regressions++;
+			}
+			System.out.printf("%-90s %14.3f %14.3f %+8.1f%%%s%n", entry.getKey(), before.value(), now.value(), change,
+					regressed ? "  REGRESSION" : "");
+		}
+		for (String missing : baseline.keySet()) {
+			if (!current.containsKey(missing)) {
+				System.out.printf("%-90s %14s%n", missing, "not run");
+			}
+		}
+		return regressions;
+	}
+
+	static Map<String, Score> read(Path file) throws IOException {
+		Map<String, Score> scores = new LinkedHashMap<>();
+		for (JsonNode run : new ObjectMapper().readTree(file.toFile())) {
+			StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+			// Sorted so the key does not depend on the order JMH wrote the parameters in
+			Map<String, String> params = new TreeMap<>();
+			for (Iterator<Map.Entry<String, JsonNode>> it = run.path("params").fields(); it.hasNext(); ) {
+				Map.Entry<String, JsonNode> param = it.next();
+				params.put(param.getKey(), param.getValue().asText());
+			}
+			params.forEach((name, value) -> key.append(':').append(name).append('=').append(value));
+			JsonNode metric = run.path("primaryMetric");
+			scores.put(key.toString(), new Score(metric.path("score").asDouble(), metric.path("scoreUnit").asText(),
+					"thrpt".equals(run.path("mode").asText())));
+		}
+		return scores;
+	}
+
+	record Score(double value, String unit, boolean higherIsBetter) {
+	}
+}
@@ -0,0 +1,243 @@
+package com.busmanagement.BusManagementSystem.benchmark;
+
+import com.busmanagement.BusManagementSystem.model.Booking;
+import com.busmanagement.BusManagementSystem.model.Bus;
+import com.busmanagement.BusManagementSystem.model.Passenger;
+import com.busmanagement.BusManagementSystem.model.Route;
+import com.busmanagement.BusManagementSystem.model.Schedule;
+import com.busmanagement.BusManagementSystem.repository.BookingRepository;
+import com.busmanagement.BusManagementSystem.repository.BusRepository;
+import com.busmanagement.BusManagementSystem.repository.PassengerRepository;
+import com.busmanagement.BusManagementSystem.repository.ScheduleRepository;
+import com.busmanagement.BusManagementSystem.service.BookingMetrics;
+import com.busmanagement.BusManagementSystem.service.BookingRollupService;
+import com.busmanagement.BusManagementSystem.service.BookingService;
+import com.busmanagement.BusManagementSystem.service.BusService;
+import com.busmanagement.BusManagementSystem.service.ReferenceDataCache;
+import com.busmanagement.BusManagementSystem.service.ScheduleService;
+import com.busmanagement.BusManagementSystem.service.SeatAvailabilityBroadcaster;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// createBooking and cancelBooking against in-memory repositories (service logic only) and against the
+// embedded database (the whole JPA round trip). Every iteration starts from the same seat counts: the
+// bookings made during an iteration are undone in its teardown, outside the measurement.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingServiceBenchmark {
+
+	@State(Scope.Thread)
+	public static class InMemory {
+
+		private static final int SCHEDULES = 100;
+		private static final int PASSENGERS = 1000;
+		private static final int POOL = 1024;
+
+		BookingService bookingService;
+		BookingRepository bookingRepository;
+		int next;
+
+		// Rebuilt per iteration so the bookings created by createBooking do not pile up in the heap
+		@Setup(Level.Iteration)
+		public void setUp() {
+			BusRepository busRepository = InMemoryRepository.create(BusRepository.class, Bus.class);
+			ScheduleRepository scheduleRepository = InMemoryRepository.create(ScheduleRepository.class, Schedule.class);
+			PassengerRepository passengerRepository = InMemoryRepository.create(PassengerRepository.class, Passenger.class);
+			bookingRepository = InMemoryRepository.create(BookingRepository.class, Booking.class);
+
+			Route route = Fixtures.route(1);
+			for (int i = 1; i <= SCHEDULES; i++) {
+				// Seat counts high enough that no iteration can sell out a bus
+				Bus bus = busRepository.save(Fixtures.bus(i, Integer.MAX_VALUE / 2));
+				scheduleRepository.save(Fixtures.schedule(i, route, bus, null));
+			}
+			for (int i = 1; i <= PASSENGERS; i++) {
+				passengerRepository.save(Fixtures.passenger(i));
+			}
+			for (int i = 0; i < POOL; i++) {
+				bookingRepository.save(Fixtures.booking(i + 1, passengerRepository.findById((long) i % PASSENGERS + 1).orElseThrow(),
+						scheduleRepository.findById((long) i % SCHEDULES + 1).orElseThrow()));
+			}
+
+			// Counters only; the upcoming-seat gauges are refreshed by a scheduler that does not run here
+			BookingMetrics bookingMetrics = new BookingMetrics();
+			ReflectionTestUtils.setField(bookingMetrics, "meterRegistry", new SimpleMeterRegistry());
+			bookingMetrics.init();
+
+			BusService busService = new BusService();
+			ReflectionTestUtils.setField(busService, "busRepository", busRepository);
+			ReflectionTestUtils.setField(busService, "bookingMetrics", bookingMetrics);
+			ReflectionTestUtils.setField(busService, "referenceDataCache", new ReferenceDataCache());
+			ScheduleService scheduleService = new ScheduleService();
+			ReflectionTestUtils.setField(scheduleService, "scheduleRepository", scheduleRepository);
+			ReflectionTestUtils.setField(scheduleService, "busRepository", busRepository);
+			ReflectionTestUtils.setField(scheduleService, "bookingMetrics", bookingMetrics);
+			// No subscribers and no scheduler: changes only land in its pending map, one entry per schedule
+			ReflectionTestUtils.setField(scheduleService, "seatAvailabilityBroadcaster", new SeatAvailabilityBroadcaster());
+			bookingService = new BookingService();
+			ReflectionTestUtils.setField(bookingService, "bookingRepository", bookingRepository);
+			ReflectionTestUtils.setField(bookingService, "passengerRepository", passengerRepository);
+			ReflectionTestUtils.setField(bookingService, "scheduleRepository", scheduleRepository);
+			ReflectionTestUtils.setField(bookingService, "busService", busService);
+			ReflectionTestUtils.setField(bookingService, "scheduleService", scheduleService);
+			ReflectionTestUtils.setField(bookingService, "bookingMetrics", bookingMetrics);
+			// Never flushed: deltas merge into one pending entry per schedule
+			ReflectionTestUtils.setField(bookingService, "bookingRollupService", new BookingRollupService());
+			next = 0;
+		}
+
+		Booking request() {
+			int n = next++;
+			Booking booking = new Booking();
+			booking.setPassenger(new Passenger());
+			booking.getPassenger().setId((long) n % PASSENGERS + 1);
+			booking.setSchedule(new Schedule());
+			booking.getSchedule().setId((long) n % SCHEDULES + 1);
+			booking.setNumberOfSeats(1);
+			booking.setSeatNumbers("A1");
+			return booking;
+		}
+
+		long pooledBookingId() {
+			return next++ % POOL + 1;
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class Embedded {
+
+		private static final int SCHEDULES = 20_000;
+		private static final int POOL = 200_000;
+
+		BookingService bookingService;
+		JdbcTemplate jdbcTemplate;
+		long[] scheduleIds;
+		long passengerCount;
+		String bookingNumberPrefix;
+		long[] pooledBookings;
+		long[] pooledSchedules;
+		int[] pooledSeats;
+		long watermark;
+		int created;
+		int cancelled;
+
+		@Setup(Level.Trial)
+		public void setUp(EmbeddedApplication application) {
+			bookingService = application.bean(BookingService.class);
+			jdbcTemplate = application.jdbcTemplate();
+			Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+			// Upcoming schedules with room to spare, spread over the buses
+			scheduleIds = jdbcTemplate.queryForList("SELECT id FROM schedules WHERE departure_time > ? "
+					+ "AND available_seats >= 10 AND status = 'SCHEDULED' ORDER BY id LIMIT " + SCHEDULES, Long.class, now)
+					.stream().mapToLong(Long::longValue).toArray();
+			passengerCount = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM passengers", Long.class);
+			bookingNumberPrefix = "JMH" + System.currentTimeMillis() + "-";
+
+			List<Map<String, Object>> pool = jdbcTemplate.queryForList("SELECT b.id, b.schedule_id, b.number_of_seats "
+					+ "FROM bookings b JOIN schedules s ON s.id = b.schedule_id WHERE b.booking_status = 'CONFIRMED' "
+					+ "AND s.departure_time > ? ORDER BY b.id LIMIT " + POOL, now);
+			pooledBookings = new long[pool.size()];
+			pooledSchedules = new long[pool.size()];
+			pooledSeats = new int[pool.size()];
+			for (int i = 0; i < pool.size(); i++) {
+				pooledBookings[i] = ((Number) pool.get(i).get("id")).longValue();
+				pooledSchedules[i] = ((Number) pool.get(i).get("schedule_id")).longValue();
+				pooledSeats[i] = ((Number) pool.get(i).get("number_of_seats")).intValue();
+			}
+		}
+
+		@Setup(Level.Iteration)
+		public void mark() {
+			watermark = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM bookings", Long.class);
+			created = 0;
+			cancelled = 0;
+		}
+
+		// Undoes both benchmarks' writes: bookings created after the watermark and cancellations from
+		// the pool. Bus seat counts are shared by all of a bus's schedules and start out at total_seats.
+		@TearDown(Level.Iteration)
+		public void restore() {
+			List<Object[]> seatChanges = new ArrayList<>();
+			jdbcTemplate.query("SELECT schedule_id, SUM(number_of_seats) FROM bookings WHERE id > ? GROUP BY schedule_id",
+					rs -> {
+						seatChanges.add(new Object[] {rs.getInt(2), rs.getLong(1)});
+					},
+					watermark);
+			jdbcTemplate.update("DELETE FROM bookings WHERE id > ?", watermark);
+
+			List<Object[]> reconfirmed = new ArrayList<>();
+			for (int i = 0; i < cancelled; i++) {
+				reconfirmed.add(new Object[] {pooledBookings[i]});
+				seatChanges.add(new Object[] {-pooledSeats[i], pooledSchedules[i]});
+			}
+			jdbcTemplate.batchUpdate("UPDATE bookings SET booking_status = 'CONFIRMED' WHERE id = ?", reconfirmed);
+			jdbcTemplate.batchUpdate("UPDATE schedules SET available_seats = available_seats + ? WHERE id = ?", seatChanges);
+			jdbcTemplate.update("UPDATE buses SET available_seats = total_seats");
+		}
+
+		Booking request() {
+			int n = created++;
+			Booking booking = new Booking();
+			booking.setBookingNumber(bookingNumberPrefix + n);
+			booking.setPassenger(new Passenger());
+			booking.getPassenger().setId(n % passengerCount + 1);
+			booking.setSchedule(new Schedule());
+			booking.getSchedule().setId(scheduleIds[n % scheduleIds.length]);
+			booking.setNumberOfSeats(1);
+			booking.setSeatNumbers("A1");
+			return booking;
+		}
+
+		long pooledBookingId() {
+			if (cancelled >= pooledBookings.length) {
+				throw new IllegalStateException("Booking pool exhausted after " + cancelled + " cancellations; shorten the iterations");
+			}
+			return pooledBookings[cancelled++];
+		}
+	}
+
+	@Benchmark
+	public Booking createBookingInMemory(InMemory state) {
+		return state.bookingService.createBooking(state.request());
+	}
+
+	@Benchmark
+	public Booking cancelBookingInMemory(InMemory state) {
+		Booking booking = state.bookingService.cancelBooking(state.pooledBookingId());
+		// Back to CONFIRMED so the pooled booking can be cancelled again; a field write, not measurable
+		booking.setBookingStatus("CONFIRMED");
+		return booking;
+	}
+
+	@Benchmark
+	public Booking createBookingEmbedded(Embedded state) {
+		return state.bookingService.createBooking(state.request());
+	}
+
+	@Benchmark
+	public Booking cancelBookingEmbedded(Embedded state) {
+		return state.bookingService.cancelBooking(state.pooledBookingId());
+	}
+}
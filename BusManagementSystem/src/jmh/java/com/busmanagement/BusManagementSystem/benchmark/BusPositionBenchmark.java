@@ -0,0 +1,129 @@
+package com.busmanagement.BusManagementSystem.benchmark;
+
+import com.busmanagement.BusManagementSystem.dto.PositionIngestResult;
+import com.busmanagement.BusManagementSystem.repository.BusRepository;
+import com.busmanagement.BusManagementSystem.repository.RouteRepository;
+import com.busmanagement.BusManagementSystem.service.BusPositionService;
+import com.busmanagement.BusManagementSystem.service.FleetLocator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.Mockito.mock;
+
+// Position ingest, reported per ping: one request body of BATCH pings parsed and applied to the store.
+// Four threads post for disjoint buses, as separate gateways would; the target is 100k pings/s. The
+// track queue has no consumer here, so once full its offers count as drops, which is the cheap path.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class BusPositionBenchmark {
+
+	private static final int BATCH = 1000;
+	private static final int FLEET = 20_000;
+
+	@State(Scope.Benchmark)
+	public static class Service {
+
+		BusPositionService busPositionService;
+		final AtomicLong threads = new AtomicLong();
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			busPositionService = new BusPositionService();
+			// The spatial index is updated on every accepted ping, so it is part of what is measured
+			FleetLocator fleetLocator = new FleetLocator();
+			ReflectionTestUtils.setField(fleetLocator, "busRepository", mock(BusRepository.class));
+			ReflectionTestUtils.setField(fleetLocator, "routeRepository", mock(RouteRepository.class));
+			ReflectionTestUtils.setField(fleetLocator, "maxBusId", 100_000);
+			ReflectionTestUtils.setField(fleetLocator, "cellKm", 5.0);
+			fleetLocator.init();
+			ReflectionTestUtils.setField(busPositionService, "fleetLocator", fleetLocator);
+			ReflectionTestUtils.setField(busPositionService, "objectMapper", new ObjectMapper());
+			ReflectionTestUtils.setField(busPositionService, "meterRegistry", new SimpleMeterRegistry());
+			ReflectionTestUtils.setField(busPositionService, "maxBusId", 100_000);
+			ReflectionTestUtils.setField(busPositionService, "trackIntervalMillis", 30_000L);
+			ReflectionTestUtils.setField(busPositionService, "trackQueueCapacity", 100_000);
+			ReflectionTestUtils.setField(busPositionService, "trackBatchSize", 1000);
+			busPositionService.init();
+		}
+	}
+
+	// A gateway's batch. Every timestamp is written at a fixed width and offset, so each invocation can
+	// move them all forward in place and every ping is newer than the one before it.
+	@State(Scope.Thread)
+	public static class Gateway {
+
+		byte[] body;
+		int[] timestampOffsets;
+		long clock = 1_700_000_000_000L;
+
+		@Setup(Level.Trial)
+		public void setUp(Service service) {
+			long first = service.threads.getAndIncrement() * FLEET + 1;
+			SplittableRandom random = new SplittableRandom(first);
+			StringBuilder json = new StringBuilder("[");
+			List<Integer> offsets = new ArrayList<>();
+			for (int i = 0; i < BATCH; i++) {
+				json.append(i == 0 ? "" : ",").append('[').append(first + random.nextInt(FLEET)).append(',')
+						.append(String.format("%.6f", 26.4 + random.nextDouble() * 3.8)).append(',')
+						.append(String.format("%.6f", 80.1 + random.nextDouble() * 8.1)).append(',');
+				offsets.add(json.length());
+				json.append(clock).append(',')
+						.append(random.nextInt(80)).append(',').append(random.nextInt(360)).append(']');
+			}
+			body = json.append(']').toString().getBytes(StandardCharsets.US_ASCII);
+			timestampOffsets = offsets.stream().mapToInt(Integer::intValue).toArray();
+		}
+
+		ByteArrayInputStream next() {
+			clock += 1000;
+			byte[] digits = Long.toString(clock).getBytes(StandardCharsets.US_ASCII);
+			for (int offset : timestampOffsets) {
+				System.arraycopy(digits, 0, body, offset, digits.length);
+			}
+			return new ByteArrayInputStream(body);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(BATCH)
+	public PositionIngestResult ingest(Service service, Gateway gateway) throws IOException {
+		return service.busPositionService.ingest(gateway.next());
+	}
+
+	@Benchmark
+	@Threads(1)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	@BenchmarkMode(Mode.AverageTime)
+	public int snapshot(Service service) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(1 << 20);
+		service.busPositionService.writeSnapshot(out);
+		return out.size();
+	}
+}
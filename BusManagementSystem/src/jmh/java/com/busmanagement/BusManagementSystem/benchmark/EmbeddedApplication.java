@@ -0,0 +1,84 @@
+package com.busmanagement.BusManagementSystem.benchmark;
+
+import com.busmanagement.BusManagementSystem.BusManagementSystemApplication;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+// The full application on the perf profile's embedded H2 database. The generated dataset is smaller
+// than the profile default so the first fork builds it in well under a minute; it is kept in
+// target/jmh-db and reused by every later fork and run until mvn clean.
+@State(Scope.Benchmark)
+public class EmbeddedApplication {
+
+	private ConfigurableApplicationContext context;
+
+	@Setup(Level.Trial)
+	public void start() throws IOException {
+		List<String> properties = new ArrayList<>(List.of(
+				"server.port=0",
+				"perf.db-dir=./target/jmh-db",
+				"perf.generator.routes=1500",
+				"perf.generator.buses=5000",
+				"perf.generator.drivers=5000",
+				"perf.generator.passengers=100000",
+				"perf.generator.schedules=100000",
+				"perf.generator.bookings=800000",
+				"admission.enabled=false"));
+		List<String> profiles = new ArrayList<>(List.of("perf"));
+
+		// -Dbenchmark.logging (set per fork by LoggingBenchmark) swaps the quiet default for a logging setup
+		// under test. Its output goes to target/jmh-logging-<mode>.log instead of the JMH console.
+		String logging = System.getProperty("benchmark.logging", "quiet");
+		switch (logging) {
+			case "quiet" -> properties.addAll(List.of(
+					"sql.log.sample-rate=0",
+					"logging.level.root=WARN",
+					"logging.level.com.busmanagement=WARN",
+					"logging.level.com.busmanagement.BusManagementSystem.config.PerfDataGenerator=INFO"));
+			// What application.properties shipped before: every statement formatted and printed by
+			// show-sql, and DEBUG for the whole application package, all synchronous
+			case "legacy" -> properties.addAll(List.of(
+					"spring.jpa.show-sql=true",
+					"spring.jpa.properties.hibernate.format_sql=true",
+					"logging.level.com.busmanagement=DEBUG",
+					"sql.log.sample-rate=0",
+					"sql.log.slow-threshold-ms=-1"));
+			case "production" -> profiles.add("prod");
+			default -> throw new IllegalArgumentException("Unknown benchmark.logging mode " + logging);
+		}
+		if (!"quiet".equals(logging)) {
+			System.setOut(new PrintStream(new FileOutputStream("target/jmh-logging-" + logging + ".log"), false,
+					StandardCharsets.UTF_8));
+		}
+
+		// As command-line arguments: builder properties are only defaults and lose to the profile's files
+		context = new SpringApplicationBuilder(BusManagementSystemApplication.class)
+				.profiles(profiles.toArray(String[]::new))
+				.run(properties.stream().map(property -> "--" + property).toArray(String[]::new));
+	}
+
+	@TearDown(Level.Trial)
+	public void stop() {
+		context.close();
+	}
+
+	<T> T bean(Class<T> type) {
+		return context.getBean(type);
+	}
+
+	JdbcTemplate jdbcTemplate() {
+		return context.getBean(JdbcTemplate.class);
+	}
+}
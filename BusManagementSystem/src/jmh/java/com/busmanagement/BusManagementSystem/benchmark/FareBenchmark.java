@@ -0,0 +1,41 @@
+package com.busmanagement.BusManagementSystem.benchmark;
+
+import com.busmanagement.BusManagementSystem.model.Bus;
+import com.busmanagement.BusManagementSystem.model.Schedule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+// Schedule.calculateFare, the entity callback run on every schedule insert and update
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FareBenchmark {
+
+	private Schedule schedule;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Bus bus = Fixtures.bus(1, 40);
+		schedule = Fixtures.schedule(1, Fixtures.route(1), bus, Fixtures.driver(1, bus));
+	}
+
+	@Benchmark
+	public Double calculateFare() {
+		schedule.setAvailableSeats(null);
+		schedule.calculateFare();
+		return schedule.getFare();
+	}
+}
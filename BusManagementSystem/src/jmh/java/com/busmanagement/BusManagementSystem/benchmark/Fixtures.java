@@ -0,0 +1,98 @@
+package com.busmanagement.BusManagementSystem.benchmark;
+
+import com.busmanagement.BusManagementSystem.model.Booking;
+import com.busmanagement.BusManagementSystem.model.Bus;
+import com.busmanagement.BusManagementSystem.model.Driver;
+import com.busmanagement.BusManagementSystem.model.Passenger;
+import com.busmanagement.BusManagementSystem.model.Route;
+import com.busmanagement.BusManagementSystem.model.Schedule;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Entity graphs shaped like what the API returns. The one-to-many back references (Bus.schedules,
+// Route.schedules) stay empty, as they are in a serialized response.
+final class Fixtures {
+
+	static final LocalDateTime DEPARTURE = LocalDateTime.of(2031, 1, 1, 6, 30);
+
+	private Fixtures() {
+	}
+
+	static Route route(long id) {
+		Route route = new Route();
+		route.setId(id);
+		route.setSource("Kathmandu");
+		route.setDestination("Pokhara");
+		route.setDistance(200.0);
+		route.setEstimatedTravelTime(420);
+		route.setDescription("Route from Kathmandu to Pokhara");
+		return route;
+	}
+
+	static Bus bus(long id, int seats) {
+		Bus bus = new Bus();
+		bus.setId(id);
+		bus.setBusNumber(String.format("BA-1-KHA-%04d", id));
+		bus.setBusType("AC");
+		bus.setTotalSeats(seats);
+		bus.setAvailableSeats(seats);
+		bus.setFarePerKm(2.5);
+		bus.setCurrentLocation("Kathmandu Depot");
+		return bus;
+	}
+
+	static Driver driver(long id, Bus bus) {
+		Driver driver = new Driver();
+		driver.setId(id);
+		driver.setName("Hari Thapa");
+		driver.setLicenseNumber(String.format("DL%08d", id));
+		driver.setContactNumber(String.format("+977-98%08d", id));
+		driver.setEmail("hari.thapa." + id + "@drivers.np");
+		driver.setAddress("Kathmandu");
+		driver.setDateOfBirth(LocalDate.of(1980, 5, 14));
+		driver.setExperienceYears(12);
+		driver.setIsAvailable(false);
+		driver.setAssignedBus(bus);
+		return driver;
+	}
+
+	static Passenger passenger(long id) {
+		Passenger passenger = new Passenger();
+		passenger.setId(id);
+		passenger.setFirstName("Sita");
+		passenger.setLastName("Sharma");
+		passenger.setEmail("sita.sharma." + id + "@mail.np");
+		passenger.setPhoneNumber(String.format("97%08d", id));
+		passenger.setAddress("Pokhara");
+		passenger.setRegistrationDate(DEPARTURE.minusYears(1));
+		return passenger;
+	}
+
+	static Schedule schedule(long id, Route route, Bus bus, Driver driver) {
+		Schedule schedule = new Schedule();
+		schedule.setId(id);
+		schedule.setRoute(route);
+		schedule.setBus(bus);
+		schedule.setDriver(driver);
+		schedule.setDepartureTime(DEPARTURE.plusHours(id));
+		schedule.setArrivalTime(DEPARTURE.plusHours(id).plusMinutes(route.getEstimatedTravelTime()));
+		schedule.setAvailableSeats(bus.getTotalSeats());
+		schedule.calculateFare();
+		return schedule;
+	}
+
+	static Booking booking(long id, Passenger passenger, Schedule schedule) {
+		Booking booking = new Booking();
+		booking.setId(id);
+		booking.setBookingNumber(String.format("BMS%010d", id));
+		booking.setPassenger(passenger);
+		booking.setSchedule(schedule);
+		booking.setNumberOfSeats(2);
+		booking.setTotalAmount(schedule.getFare() * 2);
+		booking.setPaymentStatus("PAID");
+		booking.setBookingStatus("CONFIRMED");
+		booking.setBookingDate(DEPARTURE.minusDays(3));
+		booking.setSeatNumbers("A1,A2");
+		return booking;
+	}
+}
@@ -0,0 +1,98 @@
+package com.busmanagement.BusManagementSystem.benchmark;
+
+import com.busmanagement.BusManagementSystem.util.GeoGridIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Proximity queries against 50k vehicles spread over Nepal while two threads keep moving them, as the
+// position ingest does. Queries ask for the 10 nearest available vehicles within 20 km, or for every
+// vehicle within 5 km, around a random point; most vehicles cluster around the cities, as depots do.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeoIndexBenchmark {
+
+	private static final double[][] CITIES = {
+			{27.7172, 85.3240}, {28.2096, 83.9856}, {27.6833, 84.4333}, {27.0104, 84.8774}, {26.4525, 87.2718},
+			{28.6833, 80.6000}, {27.7006, 83.4484}, {26.7288, 85.9263}, {28.0500, 81.6167}, {26.8147, 87.2769}
+	};
+
+	@State(Scope.Group)
+	public static class Fleet {
+
+		@Param({"50000"})
+		int vehicles;
+
+		@Param({"5"})
+		double cellKm;
+
+		GeoGridIndex index;
+
+		@Setup(Level.Trial)
+		public void setUp() {
+			index = new GeoGridIndex(vehicles + 1, cellKm);
+			SplittableRandom random = new SplittableRandom(7);
+			for (int id = 1; id <= vehicles; id++) {
+				double[] point = point(random);
+				index.put(id, point[0], point[1], random.nextInt(4) != 0);
+			}
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class Caller {
+
+		final SplittableRandom random = new SplittableRandom(Thread.currentThread().threadId());
+	}
+
+	@Benchmark
+	@Group("moving")
+	@GroupThreads(2)
+	public void move(Fleet fleet, Caller caller) {
+		SplittableRandom random = caller.random;
+		double[] point = point(random);
+		fleet.index.put(1 + random.nextInt(fleet.vehicles), point[0], point[1]);
+	}
+
+	@Benchmark
+	@Group("moving")
+	@GroupThreads(2)
+	public List<GeoGridIndex.Hit> nearestTen(Fleet fleet, Caller caller) {
+		double[] point = point(caller.random);
+		return fleet.index.nearest(point[0], point[1], 20, 10, true);
+	}
+
+	@Benchmark
+	@Group("moving")
+	@GroupThreads(1)
+	public List<GeoGridIndex.Hit> withinFiveKm(Fleet fleet, Caller caller) {
+		double[] point = point(caller.random);
+		return fleet.index.nearest(point[0], point[1], 5, Integer.MAX_VALUE, false);
+	}
+
+	// Four in five points within about 20 km of a city, the rest anywhere in the country
+	private static double[] point(SplittableRandom random) {
+		if (random.nextInt(5) == 0) {
+			return new double[] {26.4 + random.nextDouble() * 3.9, 80.1 + random.nextDouble() * 8.0};
+		}
+		double[] city = CITIES[random.nextInt(CITIES.length)];
+		return new double[] {city[0] + (random.nextDouble() - 0.5) * 0.36, city[1] + (random.nextDouble() - 0.5) * 0.4};
+	}
+}
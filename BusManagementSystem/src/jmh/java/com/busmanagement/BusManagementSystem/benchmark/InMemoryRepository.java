@@ -0,0 +1,87 @@
+package com.busmanagement.BusManagementSystem.benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// HashMap-backed stand-in for a Spring Data repository, so service benchmarks measure the service code
+// without JPA. Only the CrudRepository basics are implemented; any other method fails loudly.
+final class InMemoryRepository<T> implements InvocationHandler {
+
+	private final Map<Long, T> rows = new ConcurrentHashMap<>();
+	private final AtomicLong sequence = new AtomicLong();
+	private final Method getId;
+	private final Method setId;
+
+	private InMemoryRepository(Class<T> entityType) throws NoSuchMethodException {
+		this.getId = entityType.getMethod("getId");
+		this.setId = entityType.getMethod("setId", Long.class);
+	}
+
+	static <R, T> R create(Class<R> repositoryType, Class<T> entityType) {
+		try {
+			return repositoryType.cast(Proxy.newProxyInstance(repositoryType.getClassLoader(),
+					new Class<?>[] {repositoryType}, new InMemoryRepository<>(entityType)));
+		} catch (NoSuchMethodException e) {
+			throw new IllegalArgumentException(entityType + " has no Long id", e);
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		switch (method.getName()) {
+			case "save", "saveAndFlush" -> {
+				T entity = (T) args[0];
+				Long id = (Long) getId.invoke(entity);
+				if (id == null) {
+					id = sequence.incrementAndGet();
+					setId.invoke(entity, id);
+				} else {
+					sequence.accumulateAndGet(id, Math::max);
+				}
+				rows.put(id, entity);
+				return entity;
+			}
+			case "findById" -> {
+				return Optional.ofNullable(rows.get((Long) args[0]));
+			}
+			case "existsById" -> {
+				return rows.containsKey((Long) args[0]);
+			}
+			case "findAll" -> {
+				if (args == null) {
+					return new ArrayList<>(rows.values());
+				}
+			}
+			case "count" -> {
+				return (long) rows.size();
+			}
+			case "delete" -> {
+				rows.remove((Long) getId.invoke(args[0]));
+				return null;
+			}
+			case "deleteById" -> {
+				rows.remove((Long) args[0]);
+				return null;
+			}
+			case "hashCode" -> {
+				return System.identityHashCode(proxy);
+			}
+			case "equals" -> {
+				return proxy == args[0];
+			}
+			case "toString" -> {
+				return "InMemoryRepository" + rows.keySet();
+			}
+			default -> {
+			}
+		}
+		throw new UnsupportedOperationException(method.getName() + " is not faked");
+	}
+}
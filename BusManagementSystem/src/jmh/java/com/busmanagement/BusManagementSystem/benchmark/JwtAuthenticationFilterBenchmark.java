@@ -0,0 +1,75 @@
+package com.busmanagement.BusManagementSystem.benchmark;
+
+import com.busmanagement.BusManagementSystem.config.JwtAuthenticationFilter;
+import com.busmanagement.BusManagementSystem.model.RevokedToken;
+import com.busmanagement.BusManagementSystem.repository.RevokedTokenRepository;
+import com.busmanagement.BusManagementSystem.service.TokenRevocationService;
+import com.busmanagement.BusManagementSystem.util.JwtUtil;
+import com.busmanagement.BusManagementSystem.util.RevocationList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.util.concurrent.TimeUnit;
+
+// Per-request cost of the JWT filter on an authenticated API call: token parsing, the in-memory
+// revocation check and building the security context. The revocation list holds a realistic number of
+// revoked tokens so the lookup is not against an empty structure.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JwtAuthenticationFilterBenchmark {
+
+	private static final int REVOKED_TOKENS = 10_000;
+
+	private JwtAuthenticationFilter filter;
+	private MockHttpServletRequest request;
+	private MockHttpServletResponse response;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		JwtUtil jwtUtil = JwtBenchmark.jwtUtil();
+		TokenRevocationService tokenRevocationService = new TokenRevocationService();
+		ReflectionTestUtils.setField(tokenRevocationService, "revokedTokenRepository",
+				InMemoryRepository.create(RevokedTokenRepository.class, RevokedToken.class));
+		ReflectionTestUtils.setField(tokenRevocationService, "jwtUtil", jwtUtil);
+		ReflectionTestUtils.setField(tokenRevocationService, "revokedTokens", new RevocationList(300, 10_000));
+		for (int i = 0; i < REVOKED_TOKENS; i++) {
+			tokenRevocationService.revokeToken(jwtUtil.extractAllClaims(jwtUtil.generateAccessToken("user" + i, "ADMIN")));
+		}
+
+		filter = new JwtAuthenticationFilter();
+		ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+		ReflectionTestUtils.setField(filter, "tokenRevocationService", tokenRevocationService);
+
+		request = new MockHttpServletRequest("GET", "/api/schedules/available");
+		request.addHeader("Authorization", "Bearer " + jwtUtil.generateAccessToken("prakashpandey", "ADMIN"));
+		response = new MockHttpServletResponse();
+	}
+
+	@Benchmark
+	public Authentication doFilter() throws Exception {
+		try {
+			filter.doFilter(request, response, new MockFilterChain());
+			return SecurityContextHolder.getContext().getAuthentication();
+		} finally {
+			SecurityContextHolder.clearContext();
+		}
+	}
+}
@@ -0,0 +1,67 @@
+package com.busmanagement.BusManagementSystem.benchmark;
+
+import com.busmanagement.BusManagementSystem.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class JwtBenchmark {
+
+	static final String SECRET = "busManagementSystemSecretKey2024ForJWTTokenGenerationAndValidation";
+
+	private JwtUtil jwtUtil;
+	private String accessToken;
+	private UserDetails userDetails;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		jwtUtil = jwtUtil();
+		accessToken = jwtUtil.generateAccessToken("prakashpandey", "ADMIN");
+		userDetails = new User("prakashpandey", "", List.of());
+	}
+
+	static JwtUtil jwtUtil() {
+		JwtUtil jwtUtil = new JwtUtil();
+		ReflectionTestUtils.setField(jwtUtil, "secretKey", SECRET);
+		ReflectionTestUtils.setField(jwtUtil, "accessTokenValidity", 900_000L);
+		ReflectionTestUtils.setField(jwtUtil, "refreshTokenValidity", 604_800_000L);
+		jwtUtil.init();
+		return jwtUtil;
+	}
+
+	@Benchmark
+	public String generateAccessToken() {
+		return jwtUtil.generateAccessToken("prakashpandey", "ADMIN");
+	}
+
+	@Benchmark
+	public Claims extractAllClaims() {
+		return jwtUtil.extractAllClaims(accessToken);
+	}
+
+	// Parses the token twice (subject, then expiry), as callers of validateToken pay today
+	@Benchmark
+	public Boolean validateToken() {
+		return jwtUtil.validateToken(accessToken, userDetails);
+	}
+}
@@ -0,0 +1,35 @@
+package com.busmanagement.BusManagementSystem.benchmark;
+
+import com.busmanagement.BusManagementSystem.model.Booking;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+// The booking round trip of BookingServiceBenchmark.createBookingEmbedded under the old logging setup
+// (show-sql, format_sql, DEBUG, synchronous) and under the prod profile (asynchronous JSON, sampled and
+// slow-only statement logging). The difference between the two, and between either and
+// createBookingEmbedded itself, is what logging costs the booking path. Each mode needs its own fork
+// because logging is configured once per JVM.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LoggingBenchmark {
+
+	@Benchmark
+	@Fork(value = 1, jvmArgsAppend = "-Dbenchmark.logging=legacy")
+	public Booking createBookingLegacyLogging(BookingServiceBenchmark.Embedded state) {
+		return state.bookingService.createBooking(state.request());
+	}
+
+	@Benchmark
+	@Fork(value = 1, jvmArgsAppend = "-Dbenchmark.logging=production")
+	public Booking createBookingProductionLogging(BookingServiceBenchmark.Embedded state) {
+		return state.bookingService.createBooking(state.request());
+	}
+}
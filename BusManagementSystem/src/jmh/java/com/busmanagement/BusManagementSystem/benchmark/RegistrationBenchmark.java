@@ -0,0 +1,96 @@
+package com.busmanagement.BusManagementSystem.benchmark;
+
+import com.busmanagement.BusManagementSystem.model.Passenger;
+import com.busmanagement.BusManagementSystem.service.PassengerService;
+import com.busmanagement.BusManagementSystem.service.UniqueKeyFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// A registration storm: eight threads creating passengers against the embedded database, with and without
+// the uniqueness filters. A share of the requests reuses the email of a generated passenger and is
+// rejected. H2 runs in-process, so a skipped exists query saves far less here than a MySQL round trip.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class RegistrationBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class Storm {
+
+		@Param({"true", "false"})
+		boolean filter;
+
+		@Param({"0", "0.05"})
+		double duplicateRatio;
+
+		PassengerService passengerService;
+		JdbcTemplate jdbcTemplate;
+		String[] existingEmails;
+		String emailPrefix;
+		final AtomicLong sequence = new AtomicLong();
+
+		@Setup(Level.Trial)
+		public void setUp(EmbeddedApplication application) {
+			passengerService = application.bean(PassengerService.class);
+			jdbcTemplate = application.jdbcTemplate();
+			ReflectionTestUtils.setField(application.bean(UniqueKeyFilter.class), "enabled", filter);
+			existingEmails = jdbcTemplate.queryForList("SELECT email FROM passengers ORDER BY id LIMIT 10000", String.class)
+					.toArray(String[]::new);
+			emailPrefix = "jmh" + System.currentTimeMillis() + ".";
+		}
+
+		// The registrations of an iteration are removed after it, outside the measurement
+		@TearDown(Level.Iteration)
+		public void restore() {
+			jdbcTemplate.update("DELETE FROM passengers WHERE email LIKE ?", emailPrefix + "%");
+		}
+
+		Passenger request(SplittableRandom random) {
+			long n = sequence.incrementAndGet();
+			Passenger passenger = new Passenger();
+			passenger.setFirstName("Storm");
+			passenger.setLastName("Rider");
+			passenger.setEmail(random.nextDouble() < duplicateRatio
+					? existingEmails[random.nextInt(existingEmails.length)]
+					: emailPrefix + n + "@storm.np");
+			passenger.setPhoneNumber(String.format("95%08d", n));
+			return passenger;
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class Client {
+
+		final SplittableRandom random = new SplittableRandom();
+	}
+
+	@Benchmark
+	public Object register(Storm storm, Client client) {
+		Passenger passenger = storm.request(client.random);
+		try {
+			return storm.passengerService.createPassenger(passenger);
+		} catch (RuntimeException e) {
+			return e;
+		}
+	}
+}
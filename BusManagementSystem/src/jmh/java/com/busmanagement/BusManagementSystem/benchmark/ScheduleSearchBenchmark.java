@@ -0,0 +1,52 @@
+package com.busmanagement.BusManagementSystem.benchmark;
+
+import com.busmanagement.BusManagementSystem.model.Schedule;
+import com.busmanagement.BusManagementSystem.service.ScheduleService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// getAvailableSchedules on the generated dataset: the hottest corridor, a mid-ranked one and one from the
+// long tail, so both large and near-empty result sets are covered. The search is only meaningful against
+// the real query, so there is no in-memory variant.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ScheduleSearchBenchmark {
+
+	@Param({"Kathmandu:Pokhara", "Pokhara:Butwal", "Dharan:Ilam"})
+	public String route;
+
+	private ScheduleService scheduleService;
+	private String source;
+	private String destination;
+	private LocalDateTime departureTime;
+
+	@Setup(Level.Trial)
+	public void setUp(EmbeddedApplication application) {
+		scheduleService = application.bean(ScheduleService.class);
+		source = route.substring(0, route.indexOf(':'));
+		destination = route.substring(route.indexOf(':') + 1);
+		departureTime = LocalDateTime.now();
+	}
+
+	@Benchmark
+	public List<Schedule> getAvailableSchedules() {
+		return scheduleService.getAvailableSchedules(source, destination, departureTime);
+	}
+}
@@ -0,0 +1,70 @@
+package com.busmanagement.BusManagementSystem.benchmark;
+
+import com.busmanagement.BusManagementSystem.model.Booking;
+import com.busmanagement.BusManagementSystem.model.Bus;
+import com.busmanagement.BusManagementSystem.model.Passenger;
+import com.busmanagement.BusManagementSystem.model.Route;
+import com.busmanagement.BusManagementSystem.model.Schedule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Response serialization of Schedule and Booking lists (a search result page, a passenger's bookings)
+// with the ObjectMapper settings Spring Boot applies.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SerializationBenchmark {
+
+	@Param({"1", "50"})
+	public int size;
+
+	private ObjectMapper objectMapper;
+	private List<Schedule> schedules;
+	private List<Booking> bookings;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		objectMapper = Jackson2ObjectMapperBuilder.json()
+				.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+				.build();
+		Route route = Fixtures.route(1);
+		Passenger passenger = Fixtures.passenger(1);
+		schedules = new ArrayList<>();
+		bookings = new ArrayList<>();
+		for (int i = 1; i <= size; i++) {
+			Bus bus = Fixtures.bus(i, 40);
+			Schedule schedule = Fixtures.schedule(i, route, bus, Fixtures.driver(i, bus));
+			schedules.add(schedule);
+			bookings.add(Fixtures.booking(i, passenger, schedule));
+		}
+	}
+
+	@Benchmark
+	public byte[] serializeSchedules() throws Exception {
+		return objectMapper.writeValueAsBytes(schedules);
+	}
+
+	@Benchmark
+	public byte[] serializeBookings() throws Exception {
+		return objectMapper.writeValueAsBytes(bookings);
+	}
+}
@@ -0,0 +1,90 @@
+package com.busmanagement.BusManagementSystem.benchmark;
+
+import com.busmanagement.BusManagementSystem.model.Bus;
+import com.busmanagement.BusManagementSystem.model.Route;
+import com.busmanagement.BusManagementSystem.model.Schedule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+// A 10k-schedule list in each response format: serialization time per list here, bytes on the wire
+// printed at the end of each trial. gzip=true adds the cost and saving of response compression.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class WireFormatBenchmark {
+
+	private static final int SCHEDULES = 10_000;
+
+	@Param({"json", "json-blackbird", "cbor", "cbor-blackbird"})
+	public String format;
+
+	@Param({"false", "true"})
+	public boolean gzip;
+
+	private ObjectMapper objectMapper;
+	private List<Schedule> schedules;
+	private int bytes;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Jackson2ObjectMapperBuilder builder = format.startsWith("cbor")
+				? Jackson2ObjectMapperBuilder.cbor() : Jackson2ObjectMapperBuilder.json();
+		builder.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+		if (format.endsWith("blackbird")) {
+			builder.modulesToInstall(new BlackbirdModule());
+		}
+		objectMapper = builder.build();
+		List<Route> routes = new ArrayList<>();
+		for (int i = 1; i <= 50; i++) {
+			routes.add(Fixtures.route(i));
+		}
+		schedules = new ArrayList<>(SCHEDULES);
+		for (int i = 1; i <= SCHEDULES; i++) {
+			Bus bus = Fixtures.bus(i % 500 + 1, 40);
+			schedules.add(Fixtures.schedule(i, routes.get(i % routes.size()), bus, Fixtures.driver(i % 500 + 1, bus)));
+		}
+	}
+
+	@Benchmark
+	public byte[] serializeSchedules() throws IOException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream(1 << 20);
+		if (gzip) {
+			try (GZIPOutputStream out = new GZIPOutputStream(buffer, 1 << 16)) {
+				objectMapper.writeValue(out, schedules);
+			}
+		} else {
+			objectMapper.writeValue(buffer, schedules);
+		}
+		bytes = buffer.size();
+		return buffer.toByteArray();
+	}
+
+	@TearDown(Level.Trial)
+	public void report() {
+		System.out.printf("%n%s gzip=%s: %,d bytes per %,d schedules%n", format, gzip, bytes, SCHEDULES);
+	}
+}
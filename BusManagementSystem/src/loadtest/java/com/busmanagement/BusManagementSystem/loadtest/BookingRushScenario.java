@@ -0,0 +1,172 @@
+package com.busmanagement.BusManagementSystem.loadtest;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+// One passenger in a booking rush: search a route, book a seat on one of the results and sometimes
+// cancel again. Every call blocks its own virtual thread.
+final class BookingRushScenario {
+
+	private static final ObjectMapper JSON = new ObjectMapper();
+	private static final int MAX_CANDIDATES = 20;
+
+	private final LoadTestConfig config;
+	private final HttpClient client;
+	private final AtomicReference<String> token = new AtomicReference<>();
+	private final double totalRouteWeight;
+
+	BookingRushScenario(LoadTestConfig config) {
+		this.config = config;
+		this.client = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(config.timeout)
+				.executor(Executors.newVirtualThreadPerTaskExecutor())
+				.build();
+		this.totalRouteWeight = config.routes.stream().mapToDouble(LoadTestConfig.WeightedRoute::weight).sum();
+	}
+
+	// Logs in once for the whole run; one client IP would otherwise hit the per-IP login throttle
+	long login(Map<String, OperationStats> stats) throws IOException, InterruptedException {
+		String body = JSON.writeValueAsString(Map.of("username", config.username, "password", config.password));
+		long start = System.nanoTime();
+		HttpResponse<String> response = client.send(request("/api/auth/login")
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(body))
+				.build(), HttpResponse.BodyHandlers.ofString());
+		stats.get("login").record(start, start, System.nanoTime(), response.statusCode());
+		if (response.statusCode() != 200) {
+			throw new IllegalStateException("Login failed with " + response.statusCode() + ": " + response.body());
+		}
+		JsonNode json = JSON.readTree(response.body());
+		token.set(json.path("token").asText());
+		return json.path("expiresIn").asLong(900);
+	}
+
+	void run(long intendedStartNanos, SplittableRandom random, Map<String, OperationStats> stats) {
+		LoadTestConfig.WeightedRoute route = pickRoute(random);
+		List<Long> schedules = search(route, intendedStartNanos, stats.get("search"));
+		if (schedules.isEmpty() || random.nextDouble() >= config.bookRatio) {
+			return;
+		}
+		Long booking = book(schedules.get(random.nextInt(schedules.size())), 1 + random.nextInt(config.passengers),
+				stats.get("book"));
+		if (booking != null && random.nextDouble() < config.cancelRatio) {
+			cancel(booking, stats.get("cancel"));
+		}
+	}
+
+	private List<Long> search(LoadTestConfig.WeightedRoute route, long intendedStartNanos, OperationStats stats) {
+		String query = "?source=" + encode(route.source()) + "&destination=" + encode(route.destination())
+				+ "&departureTime=" + encode(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+		HttpRequest request = request("/api/schedules/available" + query).GET().build();
+		long sent = System.nanoTime();
+		List<Long> ids = new ArrayList<>();
+		int status = 0;
+		try {
+			HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+			status = response.statusCode();
+			// Reads the whole body, as a browser would, but keeps only the top-level schedule ids
+			try (InputStream body = response.body(); JsonParser parser = JSON.createParser(body)) {
+				if (status == 200 && parser.nextToken() == JsonToken.START_ARRAY) {
+					while (parser.nextToken() == JsonToken.START_OBJECT) {
+						while (parser.nextToken() == JsonToken.FIELD_NAME) {
+							String field = parser.currentName();
+							parser.nextToken();
+							if ("id".equals(field) && ids.size() < MAX_CANDIDATES) {
+								ids.add(parser.getLongValue());
+							} else {
+								parser.skipChildren();
+							}
+						}
+					}
+				} else {
+					body.transferTo(OutputStream.nullOutputStream());
+				}
+			}
+		} catch (IOException e) {
+			status = 0;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		stats.record(intendedStartNanos, sent, System.nanoTime(), status);
+		return status == 200 ? ids : List.of();
+	}
+
+	private Long book(long scheduleId, long passengerId, OperationStats stats) {
+		String body = "{\"passenger\":{\"id\":" + passengerId + "},\"schedule\":{\"id\":" + scheduleId
+				+ "},\"numberOfSeats\":1,\"seatNumbers\":\"A1\"}";
+		HttpResponse<String> response = send(request("/api/bookings")
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(body))
+				.build(), stats);
+		if (response == null || response.statusCode() != 200) {
+			return null;
+		}
+		try {
+			return JSON.readTree(response.body()).path("id").asLong();
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	private void cancel(long bookingId, OperationStats stats) {
+		send(request("/api/bookings/" + bookingId + "/cancel").POST(HttpRequest.BodyPublishers.noBody()).build(), stats);
+	}
+
+	// Follow-up calls in a session are sent as soon as the previous one returns, so their intended
+	// start is their actual start
+	private HttpResponse<String> send(HttpRequest request, OperationStats stats) {
+		long sent = System.nanoTime();
+		try {
+			HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+			stats.record(sent, sent, System.nanoTime(), response.statusCode());
+			return response;
+		} catch (IOException e) {
+			stats.record(sent, sent, System.nanoTime(), 0);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			stats.record(sent, sent, System.nanoTime(), 0);
+		}
+		return null;
+	}
+
+	private HttpRequest.Builder request(String path) {
+		HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(config.baseUrl + path)).timeout(config.timeout);
+		String jwt = token.get();
+		return jwt != null ? builder.header("Authorization", "Bearer " + jwt) : builder;
+	}
+
+	private LoadTestConfig.WeightedRoute pickRoute(SplittableRandom random) {
+		double pick = random.nextDouble() * totalRouteWeight;
+		for (LoadTestConfig.WeightedRoute route : config.routes) {
+			pick -= route.weight();
+			if (pick < 0) {
+				return route;
+			}
+		}
+		return config.routes.get(config.routes.size() - 1);
+	}
+
+	private static String encode(String value) {
+		return URLEncoder.encode(value, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,117 @@
+package com.busmanagement.BusManagementSystem.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+// Result of one run as written to <results-dir>/<name>.json, and the side-by-side comparison of runs.
+// Latencies are in milliseconds; each operation also carries its compressed response-time histogram
+// (base64) so the raw distribution can be re-analysed with HdrHistogram tooling. Closed-model phases
+// carry their number of clients and show it as the offered load, e.g. 5000c.
+record LoadReport(String name, String startedAt, Map<String, String> config, List<Phase> phases) {
+
+	private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+	private static final String[] OPERATIONS = {"search", "book", "cancel", "login"};
+
+	record Phase(double offeredRate, int clients, double achievedRate, long seconds, Map<String, Operation> operations) {
+	}
+
+	record Operation(long count, long ok, long clientErrors, long throttled, long serverErrors, long failures,
+					 double okPerSecond, Latency responseTime, Latency serviceTime, String histogram) {
+	}
+
+	record Latency(double p50, double p90, double p99, double p999, double max, double mean) {
+
+		static Latency of(Histogram micros) {
+			return new Latency(millis(micros.getValueAtPercentile(50)), millis(micros.getValueAtPercentile(90)),
+					millis(micros.getValueAtPercentile(99)), millis(micros.getValueAtPercentile(99.9)),
+					millis(micros.getMaxValue()), Math.round(micros.getMean()) / 1000.0);
+		}
+
+		private static double millis(long micros) {
+			return micros / 1000.0;
+		}
+	}
+
+	Path write(Path directory) throws IOException {
+		Files.createDirectories(directory);
+		Path file = directory.resolve(name + ".json");
+		JSON.writeValue(file.toFile(), this);
+		return file;
+	}
+
+	static LoadReport read(Path file) throws IOException {
+		return JSON.readValue(file.toFile(), LoadReport.class);
+	}
+
+	void print(PrintStream out, double sloMillis) {
+		out.printf("%nRun %s (%s)%n", name, startedAt);
+		out.printf("%8s %8s  %-7s %8s %8s %9s %9s %9s %9s %9s %8s%n", "offered", "achieved", "op", "count", "ok/s",
+				"p50", "p90", "p99", "p99.9", "max", "errors");
+		for (Phase phase : phases) {
+			for (String operation : OPERATIONS) {
+				Operation op = phase.operations().get(operation);
+				if (op == null || op.count() == 0) {
+					continue;
+				}
+				Latency latency = op.responseTime();
+				out.printf("%8s %8.1f  %-7s %8d %8.1f %9.2f %9.2f %9.2f %9.2f %9.2f %8d%n", offered(phase),
+						phase.achievedRate(), operation, op.count(), op.okPerSecond(), latency.p50(), latency.p90(),
+						latency.p99(), latency.p999(), latency.max(),
+						op.clientErrors() + op.throttled() + op.serverErrors() + op.failures());
+			}
+		}
+		out.printf("Sustained bookings/s with p99 <= %.0f ms: %.1f%n", sloMillis, sustainedBookingRate(sloMillis));
+	}
+
+	// Highest successful booking rate among the phases whose booking p99 stayed within the SLO
+	double sustainedBookingRate(double sloMillis) {
+		double best = 0;
+		for (Phase phase : phases) {
+			Operation book = phase.operations().get("book");
+			if (book != null && book.count() > 0 && book.responseTime().p99() <= sloMillis) {
+				best = Math.max(best, book.okPerSecond());
+			}
+		}
+		return best;
+	}
+
+	// Phase-by-phase comparison against the first run; phases are matched by position
+	static void compare(List<LoadReport> runs, PrintStream out, double sloMillis) {
+		LoadReport base = runs.get(0);
+		out.printf("%-24s %8s  %-7s %10s %10s %10s %9s%n", "run", "offered", "op", "ok/s", "p99", "p99.9", "p99 diff");
+		for (int i = 0; i < base.phases().size(); i++) {
+			for (String operation : OPERATIONS) {
+				Operation baseOp = base.phases().get(i).operations().get(operation);
+				if (baseOp == null || baseOp.count() == 0) {
+					continue;
+				}
+				for (LoadReport run : runs) {
+					if (run.phases().size() <= i || run.phases().get(i).operations().get(operation) == null) {
+						continue;
+					}
+					Operation op = run.phases().get(i).operations().get(operation);
+					double diff = (op.responseTime().p99() - baseOp.responseTime().p99()) / baseOp.responseTime().p99() * 100;
+					out.printf("%-24s %8s  %-7s %10.1f %10.2f %10.2f %8s%n", run.name(), offered(run.phases().get(i)),
+							operation, op.okPerSecond(), op.responseTime().p99(), op.responseTime().p999(),
+							run == base ? "" : String.format("%+.1f%%", diff));
+				}
+			}
+		}
+		out.println();
+		for (LoadReport run : runs) {
+			out.printf("%-24s sustained bookings/s with p99 <= %.0f ms: %.1f%n", run.name(), sloMillis,
+					run.sustainedBookingRate(sloMillis));
+		}
+	}
+
+	private static String offered(Phase phase) {
+		return phase.clients() > 0 ? phase.clients() + "c" : String.format("%.1f", phase.offeredRate());
+	}
+}
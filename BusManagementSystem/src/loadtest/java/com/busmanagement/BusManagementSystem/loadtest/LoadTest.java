@@ -0,0 +1,192 @@
+package com.busmanagement.BusManagementSystem.loadtest;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Open-model load generator for the booking rush. Sessions arrive on a fixed schedule (Poisson or evenly
+// spaced) regardless of how fast the server answers, each on its own virtual thread, so queueing in the
+// server shows up as latency rather than as a lower arrival rate.
+//
+// Start the application on the embedded database first, with admission control off unless load
+// shedding is what is being measured:
+//   ./mvnw spring-boot:run -Dspring-boot.run.profiles=perf -Dspring-boot.run.arguments=--admission.enabled=false
+// then run and compare:
+//   ./mvnw -Ploadtest verify -DskipTests -Dloadtest.name=before
+//   ./mvnw -Ploadtest verify -DskipTests -Dloadtest.name=after
+//   ./mvnw -Ploadtest verify -DskipTests -Dloadtest.compare=before,after
+// Platform against virtual threads at fixed concurrency: run once per mode with the same clients,
+//   --spring.threads.virtual.enabled=false, then -Dloadtest.name=platform -Dloadtest.clients=1000:60,2500:60,5000:60,10000:60
+//   --spring.threads.virtual.enabled=true,  then -Dloadtest.name=virtual  -Dloadtest.clients=1000:60,2500:60,5000:60,10000:60
+//   ./mvnw -Ploadtest verify -DskipTests -Dloadtest.compare=platform,virtual
+public final class LoadTest {
+
+	private static final String[] OPERATIONS = {"search", "book", "cancel", "login"};
+
+	private LoadTest() {
+	}
+
+	public static void main(String[] args) throws Exception {
+		LoadTestConfig config = LoadTestConfig.parse(args);
+		String compare = config.values.get("compare");
+		if (compare != null) {
+			List<LoadReport> runs = new ArrayList<>();
+			for (String name : compare.split(",")) {
+				runs.add(LoadReport.read(Path.of(config.resultsDir, name.trim() + ".json")));
+			}
+			LoadReport.compare(runs, System.out, config.sloMillis);
+			return;
+		}
+
+		BookingRushScenario scenario = new BookingRushScenario(config);
+		AtomicReference<Map<String, OperationStats>> current = new AtomicReference<>(newStats());
+		long tokenSeconds = scenario.login(current.get());
+		Thread refresher = Thread.ofVirtual().start(() -> refreshToken(scenario, current, tokenSeconds));
+
+		String startedAt = LocalDateTime.now().toString();
+		SplittableRandom random = new SplittableRandom(config.seed);
+		AtomicInteger inFlight = new AtomicInteger();
+		System.out.printf("Warming up at %.1f sessions/s for %d s%n", config.warmup.rate(), config.warmup.duration().toSeconds());
+		runPhase(config, scenario, config.warmup, random, inFlight, current.get());
+
+		List<Map<String, OperationStats>> phaseStats = new ArrayList<>();
+		List<Long> phaseSessions = new ArrayList<>();
+		for (LoadTestConfig.Phase phase : config.phases) {
+			Map<String, OperationStats> stats = newStats();
+			current.set(stats);
+			phaseStats.add(stats);
+			if (phase.clients() > 0) {
+				System.out.printf("Running %d clients for %d s%n", phase.clients(), phase.duration().toSeconds());
+				phaseSessions.add(runClosedPhase(scenario, phase, random, inFlight, stats));
+			} else {
+				System.out.printf("Offering %.1f sessions/s for %d s%n", phase.rate(), phase.duration().toSeconds());
+				phaseSessions.add(runPhase(config, scenario, phase, random, inFlight, stats));
+			}
+		}
+		// Sessions still running at a phase boundary finish into the stats of the phase they started in
+		drain(inFlight, config.timeout.toNanos() * 2);
+		refresher.interrupt();
+
+		List<LoadReport.Phase> phases = new ArrayList<>();
+		for (int i = 0; i < config.phases.size(); i++) {
+			LoadTestConfig.Phase phase = config.phases.get(i);
+			double seconds = phase.duration().toNanos() / 1e9;
+			Map<String, LoadReport.Operation> operations = new LinkedHashMap<>();
+			phaseStats.get(i).forEach((operation, stats) -> operations.put(operation, stats.summarize(seconds)));
+			phases.add(new LoadReport.Phase(phase.rate(), phase.clients(), phaseSessions.get(i) / seconds, phase.duration().toSeconds(),
+					operations));
+		}
+
+		LoadReport report = new LoadReport(config.name, startedAt, config.values, phases);
+		Path file = report.write(Path.of(config.resultsDir));
+		report.print(System.out, config.sloMillis);
+		System.out.println("Report written to " + file);
+	}
+
+	// Dispatches the phase's arrivals and returns how many sessions were started
+	private static long runPhase(LoadTestConfig config, BookingRushScenario scenario, LoadTestConfig.Phase phase,
+								 SplittableRandom random, AtomicInteger inFlight, Map<String, OperationStats> stats) {
+		double meanGapNanos = 1e9 / phase.rate();
+		long end = System.nanoTime() + phase.duration().toNanos();
+		double next = System.nanoTime();
+		long started = 0;
+		while (true) {
+			next += config.poisson ? -Math.log(1 - random.nextDouble()) * meanGapNanos : meanGapNanos;
+			long intended = (long) next;
+			if (intended >= end) {
+				return started;
+			}
+			long wait;
+			while ((wait = intended - System.nanoTime()) > 0) {
+				LockSupport.parkNanos(wait);
+			}
+			// A dispatch that runs late keeps its intended start, so the delay is charged to the session.
+			// Past max-in-flight the session is dropped and counted as a timed-out search.
+			if (inFlight.get() >= config.maxInFlight) {
+				stats.get("search").recordDropped(config.timeout.toNanos());
+				continue;
+			}
+			SplittableRandom sessionRandom = random.split();
+			inFlight.incrementAndGet();
+			Thread.ofVirtual().start(() -> {
+				try {
+					scenario.run(intended, sessionRandom, stats);
+				} finally {
+					inFlight.decrementAndGet();
+				}
+			});
+			started++;
+		}
+	}
+
+	// Closed model: every client starts its next session as soon as the last one ends, so the load is the
+	// number of clients and the achieved rate is what the server sustains at that concurrency
+	private static long runClosedPhase(BookingRushScenario scenario, LoadTestConfig.Phase phase, SplittableRandom random,
+									   AtomicInteger inFlight, Map<String, OperationStats> stats) throws InterruptedException {
+		long end = System.nanoTime() + phase.duration().toNanos();
+		LongAdder sessions = new LongAdder();
+		List<Thread> clients = new ArrayList<>(phase.clients());
+		for (int i = 0; i < phase.clients(); i++) {
+			SplittableRandom clientRandom = random.split();
+			inFlight.incrementAndGet();
+			clients.add(Thread.ofVirtual().start(() -> {
+				try {
+					while (System.nanoTime() < end) {
+						scenario.run(System.nanoTime(), clientRandom, stats);
+						sessions.increment();
+					}
+				} finally {
+					inFlight.decrementAndGet();
+				}
+			}));
+		}
+		for (Thread client : clients) {
+			client.join();
+		}
+		return sessions.sum();
+	}
+
+	private static void drain(AtomicInteger inFlight, long maxWaitNanos) throws InterruptedException {
+		long deadline = System.nanoTime() + maxWaitNanos;
+		while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+			TimeUnit.MILLISECONDS.sleep(50);
+		}
+		if (inFlight.get() > 0) {
+			System.out.println(inFlight.get() + " sessions still running after the drain timeout, not counted");
+		}
+	}
+
+	// Logs in again a minute before the access token expires; login latency is recorded in the current phase
+	private static void refreshToken(BookingRushScenario scenario, AtomicReference<Map<String, OperationStats>> current,
+									 long tokenSeconds) {
+		long seconds = tokenSeconds;
+		while (!Thread.currentThread().isInterrupted()) {
+			try {
+				TimeUnit.SECONDS.sleep(Math.max(10, seconds - 60));
+				seconds = scenario.login(current.get());
+			} catch (InterruptedException e) {
+				return;
+			} catch (Exception e) {
+				System.err.println("Token refresh failed, retrying: " + e.getMessage());
+				seconds = 70;
+			}
+		}
+	}
+
+	private static Map<String, OperationStats> newStats() {
+		Map<String, OperationStats> stats = new LinkedHashMap<>();
+		for (String operation : OPERATIONS) {
+			stats.put(operation, new OperationStats());
+		}
+		return stats;
+	}
+}
@@ -0,0 +1,116 @@
+package com.busmanagement.BusManagementSystem.loadtest;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Settings for one run, given as key=value arguments. Rates are session arrivals per second; a session
+// searches, then books and possibly cancels. Phases run back to back, e.g. phases=50:60,100:60,200:60
+// is one minute each at 50, 100 and 200 sessions per second. clients=1000:60,5000:60 switches to a
+// closed model instead: one minute each with 1000 and then 5000 clients, each running sessions back to
+// back, for comparing throughput and tail latency at a given concurrency.
+final class LoadTestConfig {
+
+	record Phase(double rate, int clients, Duration duration) {
+	}
+
+	record WeightedRoute(String source, String destination, double weight) {
+	}
+
+	final Map<String, String> values;
+	final String name;
+	final URI baseUrl;
+	final String username;
+	final String password;
+	final Phase warmup;
+	final List<Phase> phases;
+	final List<WeightedRoute> routes;
+	final int passengers;
+	final double bookRatio;
+	final double cancelRatio;
+	final boolean poisson;
+	final int maxInFlight;
+	final Duration timeout;
+	final long seed;
+	final String resultsDir;
+	final double sloMillis;
+
+	private LoadTestConfig(Map<String, String> values) {
+		this.values = values;
+		this.name = values.get("name");
+		this.baseUrl = URI.create(values.get("base-url"));
+		this.username = values.get("username");
+		this.password = values.get("password");
+		this.warmup = parsePhase(values.get("warmup"));
+		this.phases = new ArrayList<>();
+		if (values.get("clients").isEmpty()) {
+			for (String phase : values.get("phases").split(",")) {
+				phases.add(parsePhase(phase));
+			}
+		} else {
+			for (String phase : values.get("clients").split(",")) {
+				String[] parts = phase.trim().split(":");
+				phases.add(new Phase(0, Integer.parseInt(parts[0]), Duration.ofSeconds(Long.parseLong(parts[1]))));
+			}
+		}
+		this.routes = new ArrayList<>();
+		for (String route : values.get("routes").split(",")) {
+			String[] pair = route.trim().split("=");
+			String[] cities = pair[0].split(":");
+			routes.add(new WeightedRoute(cities[0], cities[1], pair.length > 1 ? Double.parseDouble(pair[1]) : 1));
+		}
+		this.passengers = Integer.parseInt(values.get("passengers"));
+		this.bookRatio = Double.parseDouble(values.get("book-ratio"));
+		this.cancelRatio = Double.parseDouble(values.get("cancel-ratio"));
+		this.poisson = "poisson".equals(values.get("arrivals"));
+		this.maxInFlight = Integer.parseInt(values.get("max-in-flight"));
+		this.timeout = Duration.ofMillis(Long.parseLong(values.get("timeout-ms")));
+		this.seed = Long.parseLong(values.get("seed"));
+		this.resultsDir = values.get("results-dir");
+		this.sloMillis = Double.parseDouble(values.get("slo-ms"));
+	}
+
+	static LoadTestConfig parse(String[] args) {
+		Map<String, String> values = new LinkedHashMap<>();
+		values.put("name", "run");
+		values.put("base-url", "http://localhost:8080");
+		values.put("username", "prakashpandey");
+		values.put("password", "prakashpandey");
+		values.put("warmup", "20:30");
+		values.put("phases", "50:60,100:60,200:60,400:60");
+		values.put("clients", "");
+		values.put("routes", "Kathmandu:Pokhara=6,Pokhara:Kathmandu=3,Kathmandu:Chitwan=2,Kathmandu:Butwal=1");
+		values.put("passengers", "100000");
+		values.put("book-ratio", "0.6");
+		values.put("cancel-ratio", "0.1");
+		values.put("arrivals", "poisson");
+		values.put("max-in-flight", "10000");
+		values.put("timeout-ms", "10000");
+		values.put("seed", "42");
+		values.put("results-dir", "loadtest-results");
+		values.put("slo-ms", "500");
+		for (String arg : args) {
+			int eq = arg.indexOf('=');
+			if (eq < 0) {
+				throw new IllegalArgumentException("Expected key=value, got " + arg);
+			}
+			String key = arg.substring(0, eq);
+			if (!values.containsKey(key) && !"compare".equals(key)) {
+				throw new IllegalArgumentException("Unknown setting " + key + ", expected one of " + values.keySet());
+			}
+			// Blank values come from unset Maven properties and keep the default
+			if (!arg.substring(eq + 1).isBlank()) {
+				values.put(key, arg.substring(eq + 1));
+			}
+		}
+		return new LoadTestConfig(values);
+	}
+
+	private static Phase parsePhase(String phase) {
+		String[] parts = phase.trim().split(":");
+		return new Phase(Double.parseDouble(parts[0]), 0, Duration.ofSeconds(Long.parseLong(parts[1])));
+	}
+}
@@ -0,0 +1,60 @@
+package com.busmanagement.BusManagementSystem.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Outcomes and latencies of one operation within one phase. Response time runs from when the request
+// should have been sent according to the arrival schedule, so a stalled server or a lagging client
+// shows up as latency instead of silently lowering the offered rate (coordinated omission). Service
+// time runs from when it was actually sent.
+final class OperationStats {
+
+	private static final long MAX_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+	private final Histogram responseTime = new ConcurrentHistogram(MAX_MICROS, 3);
+	private final Histogram serviceTime = new ConcurrentHistogram(MAX_MICROS, 3);
+	private final LongAdder ok = new LongAdder();
+	private final LongAdder clientErrors = new LongAdder();
+	private final LongAdder throttled = new LongAdder();
+	private final LongAdder serverErrors = new LongAdder();
+	private final LongAdder failures = new LongAdder();
+
+	void record(long intendedStartNanos, long sentNanos, long endNanos, int status) {
+		responseTime.recordValue(Math.min(MAX_MICROS, (endNanos - intendedStartNanos) / 1000));
+		serviceTime.recordValue(Math.min(MAX_MICROS, (endNanos - sentNanos) / 1000));
+		if (status == 429 || status == 503) {
+			throttled.increment();
+		} else if (status >= 500) {
+			serverErrors.increment();
+		} else if (status >= 400) {
+			clientErrors.increment();
+		} else if (status > 0) {
+			ok.increment();
+		} else {
+			failures.increment();
+		}
+	}
+
+	// Requests never sent because too many were in flight count as failures that took the whole timeout
+	void recordDropped(long timeoutNanos) {
+		responseTime.recordValue(Math.min(MAX_MICROS, timeoutNanos / 1000));
+		failures.increment();
+	}
+
+	LoadReport.Operation summarize(double seconds) {
+		return new LoadReport.Operation(responseTime.getTotalCount(), ok.sum(), clientErrors.sum(), throttled.sum(),
+				serverErrors.sum(), failures.sum(), ok.sum() / seconds,
+				LoadReport.Latency.of(responseTime), LoadReport.Latency.of(serviceTime), encode(responseTime));
+	}
+
+	private static String encode(Histogram histogram) {
+		ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+		int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+		return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+	}
+}
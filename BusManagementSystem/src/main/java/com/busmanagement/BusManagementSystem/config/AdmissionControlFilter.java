@@ -0,0 +1,196 @@
+package com.busmanagement.BusManagementSystem.config;
+
+import com.busmanagement.BusManagementSystem.util.AdaptiveConcurrencyLimiter;
+import com.busmanagement.BusManagementSystem.util.TokenBucketRateLimiter;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    public enum EndpointClass {
+        AUTH(120, 20, 16, 64),
+        BOOKING(120, 20, 32, 200),
+        SEARCH(600, 60, 64, 400),
+        READ(600, 60, 64, 400),
+        WRITE(120, 20, 32, 200),
+        // Fleet gateways post position batches every second or so from a handful of addresses
+        POSITIONS(6000, 300, 32, 200);
+
+        private final int ratePerMinute;
+        private final int burst;
+        private final int initialConcurrency;
+        private final int maxConcurrency;
+
+        EndpointClass(int ratePerMinute, int burst, int initialConcurrency, int maxConcurrency) {
+            this.ratePerMinute = ratePerMinute;
+            this.burst = burst;
+            this.initialConcurrency = initialConcurrency;
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        public static EndpointClass of(HttpServletRequest request) {
+            String path = request.getRequestURI();
+            boolean read = "GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod());
+            if (path.startsWith("/api/auth/")) {
+                return AUTH;
+            }
+            if (path.startsWith("/api/schedules/available") || path.startsWith("/api/schedules/upcoming")
+                    || path.startsWith("/api/routes/search")) {
+                return SEARCH;
+            }
+            if (path.startsWith("/api/bookings") && !read) {
+                return BOOKING;
+            }
+            if (path.startsWith("/api/buses/positions") && !read) {
+                return POSITIONS;
+            }
+            return read ? READ : WRITE;
+        }
+
+        private String propertyPrefix() {
+            return "admission." + name().toLowerCase() + ".";
+        }
+    }
+
+    @Autowired
+    private Environment environment;
+
+    private final Map<EndpointClass, TokenBucketRateLimiter> clientLimiters = new EnumMap<>(EndpointClass.class);
+    private final Map<EndpointClass, AdaptiveConcurrencyLimiter> concurrencyLimiters = new EnumMap<>(EndpointClass.class);
+    private boolean enabled;
+
+    @PostConstruct
+    public void init() {
+        enabled = environment.getProperty("admission.enabled", Boolean.class, true);
+        int maxClients = environment.getProperty("admission.max-tracked-clients", Integer.class, 100000);
+        int minConcurrency = environment.getProperty("admission.min-concurrency", Integer.class, 8);
+        double tolerance = environment.getProperty("admission.latency-tolerance", Double.class, 3.0);
+
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            String prefix = endpointClass.propertyPrefix();
+            clientLimiters.put(endpointClass, new TokenBucketRateLimiter(
+                    environment.getProperty(prefix + "client-burst", Integer.class, endpointClass.burst),
+                    environment.getProperty(prefix + "client-rate-per-minute", Integer.class, endpointClass.ratePerMinute),
+                    maxClients));
+            concurrencyLimiters.put(endpointClass, new AdaptiveConcurrencyLimiter(
+                    environment.getProperty(prefix + "initial-concurrency", Integer.class, endpointClass.initialConcurrency),
+                    minConcurrency,
+                    environment.getProperty(prefix + "max-concurrency", Integer.class, endpointClass.maxConcurrency),
+                    tolerance));
+        }
+    }
+
+    public AdaptiveConcurrencyLimiter getConcurrencyLimiter(EndpointClass endpointClass) {
+        return concurrencyLimiters.get(endpointClass);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        EndpointClass endpointClass = EndpointClass.of(request);
+
+        long waitNanos = clientLimiters.get(endpointClass).tryAcquire(request.getRemoteAddr());
+        if (waitNanos > 0) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1,
+                    "Rate limit exceeded, please slow down");
+            return;
+        }
+
+        AdaptiveConcurrencyLimiter limiter = concurrencyLimiters.get(endpointClass);
+        if (!limiter.tryAcquire()) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1, "Server is at capacity, please retry shortly");
+            return;
+        }
+
+        long start = System.nanoTime();
+        AtomicBoolean released = new AtomicBoolean();
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            if (released.compareAndSet(false, true)) {
+                limiter.onDropped();
+            }
+            throw e;
+        }
+
+        if (request.isAsyncStarted() && request.getRequestURI().endsWith("/seats/stream")) {
+            // A seat stream stays open for many minutes without using a thread; holding a permit that long
+            // would let a few hundred idle subscribers shut out every other read
+            if (released.compareAndSet(false, true)) {
+                limiter.onIgnored();
+            }
+        } else if (request.isAsyncStarted()) {
+            // Async handlers (login, exports) hold their permit until the response is actually done
+            request.getAsyncContext().addListener(new AsyncListener() {
+                @Override
+                public void onComplete(AsyncEvent event) {
+                    release(limiter, released, start, response.getStatus());
+                }
+
+                @Override
+                public void onTimeout(AsyncEvent event) {
+                    if (released.compareAndSet(false, true)) {
+                        limiter.onDropped();
+                    }
+                }
+
+                @Override
+                public void onError(AsyncEvent event) {
+                    if (released.compareAndSet(false, true)) {
+                        limiter.onDropped();
+                    }
+                }
+
+                @Override
+                public void onStartAsync(AsyncEvent event) {
+                }
+            });
+        } else {
+            release(limiter, released, start, response.getStatus());
+        }
+    }
+
+    private void release(AdaptiveConcurrencyLimiter limiter, AtomicBoolean released, long start, int status) {
+        if (!released.compareAndSet(false, true)) {
+            return;
+        }
+        if (status >= 500) {
+            limiter.onDropped();
+        } else if (status >= 400) {
+            // Fast client errors say nothing about downstream latency and would skew the baseline
+            limiter.onIgnored();
+        } else {
+            limiter.onSuccess(System.nanoTime() - start);
+        }
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfterSeconds)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"" + message + "\"}");
+    }
+}
@@ -0,0 +1,55 @@
+package com.busmanagement.BusManagementSystem.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+import javax.sql.DataSource;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+// Permit gauges per pool, next to Hikari's own hikaricp.* meters. A growing datasource.permits.waiting with
+// idle database CPU means the pool is too small; with busy database CPU, that the database is the limit.
+@Component
+public class ConnectionPermitMetrics {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private List<DataSource> dataSources;
+
+    @PostConstruct
+    public void init() {
+        // Walks wrapper chains but stops at the routing DataSource, which would pick a pool per call
+        Set<ConnectionPermitDataSource> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (DataSource dataSource : dataSources) {
+            DataSource current = dataSource;
+            while (current instanceof DelegatingDataSource delegating && !(current instanceof ConnectionPermitDataSource)) {
+                current = delegating.getTargetDataSource();
+            }
+            if (current instanceof ConnectionPermitDataSource permits) {
+                seen.add(permits);
+            }
+        }
+        for (ConnectionPermitDataSource permits : seen) {
+            Gauge.builder("datasource.permits.waiting", permits, ConnectionPermitDataSource::getWaiting)
+                    .description("Callers waiting for a connection permit")
+                    .tag("pool", permits.getName())
+                    .register(meterRegistry);
+            Gauge.builder("datasource.permits.available", permits, ConnectionPermitDataSource::getAvailablePermits)
+                    .description("Connection permits not in use")
+                    .tag("pool", permits.getName())
+                    .register(meterRegistry);
+            FunctionCounter.builder("datasource.permits.timeouts", permits, ConnectionPermitDataSource::getTimeouts)
+                    .description("Callers that gave up waiting for a connection permit")
+                    .tag("pool", permits.getName())
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.busmanagement.BusManagementSystem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+// Puts a ConnectionPermitDataSource directly on top of every Hikari pool: Boot's single pool, or the
+// primary and replica pools from ReadReplicaConfig. Runs before StatementCountingPostProcessor so the
+// statement counter ends up outside the permits.
+@Component
+public class ConnectionPermitPostProcessor implements BeanPostProcessor, EnvironmentAware, Ordered {
+
+    private boolean enabled;
+    private int maxPermits;
+    private long timeoutMillis;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        enabled = environment.getProperty("datasource.permits.enabled", Boolean.class, false);
+        maxPermits = environment.getProperty("datasource.permits.max", Integer.class, 0);
+        timeoutMillis = environment.getProperty("datasource.permits.timeout-ms", Long.class, 2000L);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (enabled && bean instanceof HikariDataSource pool) {
+            // One permit per connection unless configured lower; more permits than connections would
+            // only move the queue back into the pool
+            int permits = maxPermits > 0 ? Math.min(maxPermits, pool.getMaximumPoolSize()) : pool.getMaximumPoolSize();
+            String name = pool.getPoolName() != null ? pool.getPoolName() : beanName;
+            return new ConnectionPermitDataSource(pool, name, permits, timeoutMillis);
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -17,6 +17,7 @@ public class CorsConfig {
                         .allowedOrigins("http://localhost:3000")
                         .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                         .allowedHeaders("*")
+                        .exposedHeaders(SqlBudgetFilter.COUNT_HEADER, SqlBudgetFilter.TIME_HEADER, "ETag")
                         .allowCredentials(true);
             }
         };
@@ -2,6 +2,8 @@ package com.busmanagement.BusManagementSystem.config;
 
 import com.busmanagement.BusManagementSystem.model.Admin;
 import com.busmanagement.BusManagementSystem.repository.AdminRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -10,6 +12,8 @@ import org.springframework.stereotype.Component;
 @Component
 public class DataInitializer implements CommandLineRunner {
 
+    private static final Logger logger = LoggerFactory.getLogger(DataInitializer.class);
+
     @Autowired
     private AdminRepository adminRepository;
 
@@ -30,7 +34,7 @@ public class DataInitializer implements CommandLineRunner {
             admin.setPassword(passwordEncoder.encode(password));
             admin.setRole("ADMIN");
             adminRepository.save(admin);
-            System.out.println("Admin user seeded: " + username);
+            logger.info("Admin user seeded: {}", username);
         }
     }
 }
@@ -0,0 +1,30 @@
+package com.busmanagement.BusManagementSystem.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.NativeDetector;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@Configuration
+public class JacksonConfig {
+
+    // Replaces the reflective getter and setter calls with generated lambdas; Boot registers every
+    // Module bean with the ObjectMapper it builds. A native image cannot define classes at runtime, so
+    // there it stays with reflection.
+    @Bean
+    public Module blackbirdModule() {
+        return NativeDetector.inNativeImage() ? new SimpleModule("blackbird-unavailable") : new BlackbirdModule();
+    }
+
+    // Accept: application/cbor gets the same object graph in CBOR. Built from Boot's builder so dates,
+    // modules and features match the JSON responses
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
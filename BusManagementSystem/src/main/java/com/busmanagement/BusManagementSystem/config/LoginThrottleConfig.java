@@ -0,0 +1,46 @@
+package com.busmanagement.BusManagementSystem.config;
+
+import com.busmanagement.BusManagementSystem.util.TokenBucketRateLimiter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class LoginThrottleConfig {
+
+    // BCrypt is CPU bound, so login work gets its own small pool instead of Tomcat's threads
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolExecutor loginExecutor(
+            @Value("${auth.login.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int threads,
+            @Value("${auth.login.queue-capacity:200}") int queueCapacity) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "login-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Bean
+    public TokenBucketRateLimiter loginIpRateLimiter(
+            @Value("${auth.login.ip.capacity:20}") int capacity,
+            @Value("${auth.login.ip.refill-per-minute:30}") int refillPerMinute,
+            @Value("${auth.login.max-tracked-keys:100000}") int maxKeys) {
+        return new TokenBucketRateLimiter(capacity, refillPerMinute, maxKeys);
+    }
+
+    @Bean
+    public TokenBucketRateLimiter loginUserRateLimiter(
+            @Value("${auth.login.user.capacity:5}") int capacity,
+            @Value("${auth.login.user.refill-per-minute:5}") int refillPerMinute,
+            @Value("${auth.login.max-tracked-keys:100000}") int maxKeys) {
+        return new TokenBucketRateLimiter(capacity, refillPerMinute, maxKeys);
+    }
+}
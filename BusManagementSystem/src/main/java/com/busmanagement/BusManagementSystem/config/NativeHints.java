@@ -0,0 +1,55 @@
+package com.busmanagement.BusManagementSystem.config;
+
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.util.ClassUtils;
+
+// Reflection a native image cannot discover on its own; read while the application is processed ahead
+// of time, never at runtime. Spring's AOT pass covers beans, JPA metadata and controller signatures,
+// but entities and DTOs also reach Jackson as Object (ResponseEntity<?>, the reference-data cache, SSE
+// payloads), so every type in model and dto gets binding hints, including the accessors Lombok
+// generates. JJWT 0.11 creates its builders, parser and claims by class name and finds its Jackson
+// serializer through ServiceLoader.
+public class NativeHints implements RuntimeHintsRegistrar {
+
+    private static final String[] BINDING_PACKAGES = {
+            "com.busmanagement.BusManagementSystem.model",
+            "com.busmanagement.BusManagementSystem.dto"
+    };
+
+    private static final String[] JJWT_TYPES = {
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.DefaultClaims",
+            "io.jsonwebtoken.impl.DefaultHeader",
+            "io.jsonwebtoken.impl.DefaultJwsHeader",
+            "io.jsonwebtoken.impl.compression.DefaultCompressionCodecResolver",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer"
+    };
+
+    private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter((reader, factory) -> true);
+        for (String basePackage : BINDING_PACKAGES) {
+            for (BeanDefinition candidate : scanner.findCandidateComponents(basePackage)) {
+                bindingRegistrar.registerReflectionHints(hints.reflection(),
+                        ClassUtils.resolveClassName(candidate.getBeanClassName(), classLoader));
+            }
+        }
+        for (String type : JJWT_TYPES) {
+            hints.reflection().registerType(TypeReference.of(type), MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+    }
+}
@@ -0,0 +1,599 @@
+package com.busmanagement.BusManagementSystem.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// Fills an empty database with a synthetic Nepal-wide network for the perf profile. Everything is
+// drawn from one seeded generator and dated relative to an anchor day, so the same settings always
+// produce the same rows. Route and passenger popularity follow a Zipf distribution, with the
+// trunk routes out of Kathmandu (Kathmandu-Pokhara first) at the head.
+@Component
+@Profile("perf")
+public class PerfDataGenerator implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(PerfDataGenerator.class);
+
+    // name, latitude, longitude, population in thousands
+    private static final Object[][] CITIES = {
+            {"Kathmandu", 27.7172, 85.3240, 1442}, {"Pokhara", 28.2096, 83.9856, 518},
+            {"Chitwan", 27.6833, 84.4333, 369}, {"Birgunj", 27.0104, 84.8774, 272},
+            {"Biratnagar", 26.4525, 87.2718, 244}, {"Dhangadhi", 28.6833, 80.6000, 204},
+            {"Itahari", 26.6646, 87.2718, 198}, {"Butwal", 27.7006, 83.4484, 195},
+            {"Hetauda", 27.4287, 85.0322, 195}, {"Dharan", 26.8147, 87.2769, 173},
+            {"Janakpur", 26.7288, 85.9263, 173}, {"Nepalgunj", 28.0500, 81.6167, 164},
+            {"Ghorahi", 28.0333, 82.4833, 156}, {"Birendranagar", 28.6019, 81.6339, 153},
+            {"Tulsipur", 28.1300, 82.3000, 141}, {"Mahendranagar", 28.9667, 80.1833, 128},
+            {"Damak", 26.6667, 87.7000, 121}, {"Bhairahawa", 27.5000, 83.4500, 115},
+            {"Lahan", 26.7167, 86.4833, 90}, {"Kohalpur", 28.2000, 81.6833, 80},
+            {"Gulariya", 28.2333, 81.3500, 70}, {"Tikapur", 28.5000, 81.1333, 60},
+            {"Chandrapur", 27.0000, 85.3667, 60}, {"Baglung", 28.2667, 83.5833, 50},
+            {"Gorkha", 28.0000, 84.6333, 50}, {"Ilam", 26.9167, 87.9333, 50},
+            {"Rajbiraj", 26.5333, 86.7500, 50}, {"Waling", 27.9833, 83.7667, 50},
+            {"Kalaiya", 27.0333, 85.0000, 50}, {"Kakarvitta", 26.6500, 88.1667, 40},
+            {"Gaur", 26.7667, 85.2667, 40}, {"Tansen", 27.8667, 83.5500, 30},
+            {"Dhulikhel", 27.6167, 85.5500, 30}, {"Malangwa", 26.8667, 85.5667, 30},
+            {"Jaleshwar", 26.6500, 85.8000, 30}, {"Besisahar", 28.2333, 84.3833, 20},
+            {"Lumbini", 27.4833, 83.2667, 20}, {"Beni", 28.3500, 83.5667, 20},
+            {"Syangja", 28.1000, 83.8667, 20}, {"Dadeldhura", 29.3000, 80.5833, 20},
+            {"Bandipur", 27.9333, 84.4167, 15}, {"Jiri", 27.6333, 86.2333, 15},
+            {"Jumla", 29.2747, 82.1838, 10}, {"Taplejung", 27.3500, 87.6667, 10},
+            {"Charikot", 27.6667, 86.0500, 10}
+    };
+
+    // Busiest corridors, most popular first; the rest are ranked by a gravity model
+    private static final String[][] HOT_ROUTES = {
+            {"Kathmandu", "Pokhara"}, {"Pokhara", "Kathmandu"}, {"Kathmandu", "Chitwan"}, {"Chitwan", "Kathmandu"},
+            {"Kathmandu", "Butwal"}, {"Butwal", "Kathmandu"}, {"Kathmandu", "Biratnagar"}, {"Biratnagar", "Kathmandu"},
+            {"Kathmandu", "Birgunj"}, {"Birgunj", "Kathmandu"}, {"Pokhara", "Chitwan"}, {"Kathmandu", "Janakpur"},
+            {"Kathmandu", "Nepalgunj"}, {"Kathmandu", "Dhangadhi"}, {"Pokhara", "Butwal"}, {"Kathmandu", "Dharan"}
+    };
+
+    private static final String[] FIRST_NAMES = {
+            "Aarav", "Aasha", "Bikash", "Binita", "Deepak", "Gita", "Hari", "Kabita", "Krishna", "Laxmi",
+            "Manish", "Nabin", "Nisha", "Prakash", "Puja", "Rajesh", "Ram", "Sabina", "Santosh", "Sita",
+            "Sunil", "Sushma", "Suresh", "Anita", "Bishnu", "Dipendra", "Kamala", "Mina", "Ramesh", "Sarita"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Adhikari", "Bhandari", "Basnet", "Chaudhary", "Gurung", "Karki", "Khadka", "KC", "Lama", "Magar",
+            "Maharjan", "Pandey", "Poudel", "Rai", "Sharma", "Shrestha", "Tamang", "Thapa", "Yadav", "Limbu"
+    };
+
+    // Departure hour weights from 05:00 to 22:00; early morning and night buses dominate
+    private static final int[] HOUR_WEIGHTS = {6, 10, 9, 7, 5, 4, 4, 3, 3, 3, 3, 4, 5, 6, 8, 9, 7, 4};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${perf.generator.enabled:true}")
+    private boolean enabled;
+
+    @Value("${perf.generator.seed:42}")
+    private long seed;
+
+    @Value("${perf.db-dir:./target/perf-db}")
+    private String dbDir;
+
+    @Value("${perf.generator.anchor-date:}")
+    private String anchorDate;
+
+    @Value("${perf.generator.routes:1500}")
+    private int routeCount;
+
+    @Value("${perf.generator.buses:5000}")
+    private int busCount;
+
+    @Value("${perf.generator.drivers:5000}")
+    private int driverCount;
+
+    @Value("${perf.generator.passengers:1000000}")
+    private int passengerCount;
+
+    @Value("${perf.generator.schedules:1000000}")
+    private int scheduleCount;
+
+    @Value("${perf.generator.bookings:8000000}")
+    private int bookingCount;
+
+    @Value("${perf.generator.route-skew:1.1}")
+    private double routeSkew;
+
+    @Value("${perf.generator.passenger-skew:0.8}")
+    private double passengerSkew;
+
+    @Value("${perf.generator.history-days:365}")
+    private int historyDays;
+
+    @Value("${perf.generator.horizon-days:60}")
+    private int horizonDays;
+
+    @Value("${perf.generator.batch-size:5000}")
+    private int batchSize;
+
+    @Override
+    public void run(String... args) {
+        if (!enabled) {
+            return;
+        }
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM schedules", Long.class);
+        if (existing != null && existing > 0) {
+            if (existing != scheduleCount) {
+                // An interrupted run leaves a partial dataset behind; numbers measured on it are meaningless
+                logger.warn("Perf dataset looks incomplete ({} of {} schedules); delete {} to regenerate",
+                        existing, scheduleCount, dbDir);
+            }
+            logger.info("Perf dataset already present ({} schedules), skipping generation", existing);
+            return;
+        }
+        generate();
+    }
+
+    public Map<String, Long> generate() {
+        long start = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(seed);
+        LocalDateTime anchor = (anchorDate.isBlank() ? LocalDate.now() : LocalDate.parse(anchorDate)).atStartOfDay();
+        setReferentialIntegrity(false);
+        try {
+            Map<String, Long> counts = generate(random, anchor);
+            logger.info("Generated perf dataset {} in {} s", counts, (System.nanoTime() - start) / 1_000_000_000);
+            return counts;
+        } finally {
+            setReferentialIntegrity(true);
+        }
+    }
+
+    private Map<String, Long> generate(SplittableRandom random, LocalDateTime anchor) {
+        List<int[]> routes = rankRoutes(Math.min(routeCount, CITIES.length * (CITIES.length - 1)));
+        double[] routeDistances = insertRoutes(routes);
+        int[] busSeats = new int[busCount];
+        double[] busFares = new double[busCount];
+        insertBuses(random, busSeats, busFares);
+        insertDrivers(random);
+        insertPassengers(random, anchor);
+
+        // Schedules are laid out in memory first so bookings can be capped at each bus's capacity
+        int[] scheduleRoute = new int[scheduleCount];
+        int[] scheduleBus = new int[scheduleCount];
+        int[] scheduleDeparture = new int[scheduleCount]; // minutes from the anchor
+        ZipfSampler routeSampler = new ZipfSampler(routes.size(), routeSkew);
+        int firstMinute = -historyDays * 1440;
+        int spanDays = historyDays + horizonDays;
+        for (int i = 0; i < scheduleCount; i++) {
+            scheduleRoute[i] = routeSampler.sample(random);
+            scheduleBus[i] = random.nextInt(busCount);
+            scheduleDeparture[i] = firstMinute + random.nextInt(spanDays) * 1440
+                    + (5 + weightedIndex(random, HOUR_WEIGHTS)) * 60 + random.nextInt(4) * 15;
+        }
+        int[] seatsTaken = assignBookings(random, routeSampler, scheduleRoute, scheduleBus, busSeats);
+
+        // Maintaining the query indexes row by row thrashes the page cache once the tables outgrow it;
+        // building them once over the loaded tables is several times faster
+        List<String> deferredIndexes = dropQueryIndexes("schedules", "bookings");
+        BitSet cancelled = insertSchedules(random, anchor, routeDistances, busSeats, busFares,
+                scheduleRoute, scheduleBus, scheduleDeparture, seatsTaken);
+        long bookings = insertBookings(anchor, routeDistances, busFares, scheduleRoute, scheduleBus, scheduleDeparture,
+                seatsTaken, cancelled);
+        for (String ddl : deferredIndexes) {
+            jdbcTemplate.execute(ddl);
+        }
+        logger.info("Rebuilt {} query indexes", deferredIndexes.size());
+
+        for (String table : new String[] {"routes", "buses", "drivers", "passengers", "schedules", "bookings"}) {
+            restartIdentity(table);
+        }
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("routes", (long) routes.size());
+        counts.put("buses", (long) busCount);
+        counts.put("drivers", (long) driverCount);
+        counts.put("passengers", (long) passengerCount);
+        counts.put("schedules", (long) scheduleCount);
+        counts.put("bookings", bookings);
+        return counts;
+    }
+
+    private List<int[]> rankRoutes(int limit) {
+        List<int[]> ranked = new ArrayList<>();
+        for (String[] hot : HOT_ROUTES) {
+            ranked.add(new int[] {cityIndex(hot[0]), cityIndex(hot[1])});
+        }
+        List<int[]> others = new ArrayList<>();
+        for (int a = 0; a < CITIES.length; a++) {
+            for (int b = 0; b < CITIES.length; b++) {
+                int[] pair = {a, b};
+                if (a != b && ranked.stream().noneMatch(r -> Arrays.equals(r, pair))) {
+                    others.add(pair);
+                }
+            }
+        }
+        others.sort(Comparator.comparingDouble((int[] pair) -> -gravity(pair[0], pair[1]))
+                .thenComparingInt(pair -> pair[0]).thenComparingInt(pair -> pair[1]));
+        ranked.addAll(others);
+        return ranked.subList(0, Math.min(limit, ranked.size()));
+    }
+
+    private double[] insertRoutes(List<int[]> routes) {
+        double[] distances = new double[routes.size()];
+        BatchWriter writer = new BatchWriter("INSERT INTO routes (id, source, destination, distance, estimated_travel_time, "
+                + "description, source_latitude, source_longitude, destination_latitude, destination_longitude) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        for (int i = 0; i < routes.size(); i++) {
+            int[] route = routes.get(i);
+            distances[i] = Math.round(roadDistance(route[0], route[1]) * 10) / 10.0;
+            String source = (String) CITIES[route[0]][0];
+            String destination = (String) CITIES[route[1]][0];
+            writer.add(i + 1, source, destination, distances[i], travelMinutes(distances[i]),
+                    "Route from " + source + " to " + destination, CITIES[route[0]][1], CITIES[route[0]][2],
+                    CITIES[route[1]][1], CITIES[route[1]][2]);
+        }
+        writer.flush();
+        return distances;
+    }
+
+    private void insertBuses(SplittableRandom random, int[] busSeats, double[] busFares) {
+        int[] cityWeights = new int[CITIES.length];
+        for (int i = 0; i < CITIES.length; i++) {
+            cityWeights[i] = (Integer) CITIES[i][3];
+        }
+        // Depots are spread over a few kilometres around the city centre, drawn from their own generator
+        // so the rest of the dataset stays what it was before buses had coordinates
+        SplittableRandom depots = new SplittableRandom(~seed);
+        BatchWriter writer = new BatchWriter("INSERT INTO buses (id, bus_number, bus_type, total_seats, available_seats, "
+                + "fare_per_km, is_available, current_location, latitude, longitude) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        for (int i = 0; i < busCount; i++) {
+            int kind = random.nextInt(10);
+            String type = kind < 3 ? "AC" : kind < 8 ? "Non-AC" : "Sleeper";
+            busSeats[i] = kind < 3 ? 35 + random.nextInt(6) : kind < 8 ? 45 + random.nextInt(11) : 30;
+            busFares[i] = kind < 3 ? 2.5 : kind < 8 ? 1.8 : 3.2;
+            Object[] city = CITIES[weightedIndex(random, cityWeights)];
+            double latitude = (Double) city[1] + (depots.nextDouble() - 0.5) * 0.05;
+            double longitude = (Double) city[2] + (depots.nextDouble() - 0.5) * 0.05;
+            writer.add(i + 1, String.format("BA-%d-KHA-%04d", 1 + i / 10000, i % 10000), type, busSeats[i], busSeats[i],
+                    busFares[i], random.nextInt(20) != 0, city[0] + " Depot", latitude, longitude);
+        }
+        writer.flush();
+    }
+
+    private void insertDrivers(SplittableRandom random) {
+        BatchWriter writer = new BatchWriter("INSERT INTO drivers (id, name, license_number, contact_number, email, address, "
+                + "date_of_birth, experience_years, is_available, bus_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        for (int i = 0; i < driverCount; i++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            // The first drivers are assigned one bus each; the rest are spares
+            Long bus = i < busCount ? (long) i + 1 : null;
+            writer.add(i + 1, first + " " + last, String.format("DL%08d", i + 1), String.format("+977-98%08d", i + 1),
+                    (first + "." + last + "." + (i + 1) + "@drivers.np").toLowerCase(),
+                    CITIES[random.nextInt(CITIES.length)][0], LocalDate.of(1965 + random.nextInt(35), 1 + random.nextInt(12), 1 + random.nextInt(28)),
+                    1 + random.nextInt(30), bus == null, bus);
+        }
+        writer.flush();
+    }
+
+    private void insertPassengers(SplittableRandom random, LocalDateTime anchor) {
+        BatchWriter writer = new BatchWriter("INSERT INTO passengers (id, first_name, last_name, email, phone_number, address, "
+                + "registration_date) VALUES (?, ?, ?, ?, ?, ?, ?)");
+        for (int i = 0; i < passengerCount; i++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            writer.add(i + 1, first, last, (first + "." + last + "." + (i + 1) + "@mail.np").toLowerCase(),
+                    String.format("97%08d", i + 1), CITIES[random.nextInt(CITIES.length)][0],
+                    Timestamp.valueOf(anchor.minusMinutes(random.nextInt(1000 * 1440))));
+            if ((i + 1) % 250_000 == 0) {
+                logger.info("Generated {} passengers", i + 1);
+            }
+        }
+        writer.flush();
+    }
+
+    // Draws bookings against popular routes and returns the seats taken per schedule. A booking that
+    // lands on a full bus moves to the route's next schedule; the booking count itself is not stored,
+    // insertBookings replays the same per-schedule seat sequence.
+    private int[] assignBookings(SplittableRandom random, ZipfSampler routeSampler,
+                                 int[] scheduleRoute, int[] scheduleBus, int[] busSeats) {
+        int routes = routeSampler.size();
+        int[] offsets = new int[routes + 1];
+        for (int route : scheduleRoute) {
+            offsets[route + 1]++;
+        }
+        for (int r = 0; r < routes; r++) {
+            offsets[r + 1] += offsets[r];
+        }
+        int[] byRoute = new int[scheduleRoute.length];
+        int[] fill = Arrays.copyOf(offsets, routes);
+        for (int i = 0; i < scheduleRoute.length; i++) {
+            byRoute[fill[scheduleRoute[i]]++] = i;
+        }
+
+        int[] seatsTaken = new int[scheduleRoute.length];
+        int[] bookingsPerSchedule = new int[scheduleRoute.length];
+        long assigned = 0;
+        for (long attempt = 0; assigned < bookingCount && attempt < bookingCount * 2L; attempt++) {
+            int route = routeSampler.sample(random);
+            int count = offsets[route + 1] - offsets[route];
+            if (count == 0) {
+                continue;
+            }
+            int pick = random.nextInt(count);
+            for (int probe = 0; probe < Math.min(count, 8); probe++) {
+                int schedule = byRoute[offsets[route] + (pick + probe) % count];
+                int seats = seatsFor(schedule, bookingsPerSchedule[schedule]);
+                if (seatsTaken[schedule] + seats <= busSeats[scheduleBus[schedule]]) {
+                    seatsTaken[schedule] += seats;
+                    bookingsPerSchedule[schedule]++;
+                    assigned++;
+                    break;
+                }
+            }
+        }
+        if (assigned < bookingCount) {
+            logger.warn("Only {} of {} bookings fit into the generated schedules", assigned, bookingCount);
+        }
+        return seatsTaken;
+    }
+
+    private BitSet insertSchedules(SplittableRandom random, LocalDateTime anchor, double[] routeDistances, int[] busSeats,
+                                 double[] busFares, int[] scheduleRoute, int[] scheduleBus, int[] scheduleDeparture,
+                                 int[] seatsTaken) {
+        BatchWriter writer = new BatchWriter("INSERT INTO schedules (id, bus_id, route_id, driver_id, departure_time, "
+                + "arrival_time, fare, available_seats, status, actual_departure_time, actual_arrival_time) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        // Actual times of the trips that ran come from their own generator: up to 20 minutes late away,
+        // and slower on daytime departures, when the highways are busiest
+        SplittableRandom actuals = new SplittableRandom(seed ^ 0x2545F4914F6CDD1DL);
+        BitSet cancelledSchedules = new BitSet(scheduleRoute.length);
+        for (int i = 0; i < scheduleRoute.length; i++) {
+            int bus = scheduleBus[i];
+            double distance = routeDistances[scheduleRoute[i]];
+            LocalDateTime departure = anchor.plusMinutes(scheduleDeparture[i]);
+            boolean cancelled = random.nextInt(50) == 0;
+            cancelledSchedules.set(i, cancelled);
+            String status = cancelled ? "CANCELLED" : scheduleDeparture[i] < 0 ? "ARRIVED" : "SCHEDULED";
+            Timestamp departed = null;
+            Timestamp arrived = null;
+            if ("ARRIVED".equals(status)) {
+                LocalDateTime actualDeparture = departure.plusMinutes(actuals.nextInt(21));
+                double congestion = departure.getHour() >= 9 && departure.getHour() < 18 ? 1.15 : 0.95;
+                double minutes = travelMinutes(distance) * congestion * (0.9 + actuals.nextDouble() * 0.25);
+                departed = Timestamp.valueOf(actualDeparture);
+                arrived = Timestamp.valueOf(actualDeparture.plusSeconds(Math.round(minutes * 60)));
+            }
+            writer.add(i + 1, bus + 1, scheduleRoute[i] + 1, bus < driverCount ? Long.valueOf(bus + 1) : null,
+                    Timestamp.valueOf(departure), Timestamp.valueOf(departure.plusMinutes(travelMinutes(distance))),
+                    distance * busFares[bus], busSeats[bus] - seatsTaken[i], status, departed, arrived);
+            if ((i + 1) % 250_000 == 0) {
+                logger.info("Generated {} schedules", i + 1);
+            }
+        }
+        writer.flush();
+        return cancelledSchedules;
+    }
+
+    private long insertBookings(LocalDateTime anchor, double[] routeDistances, double[] busFares, int[] scheduleRoute,
+                                int[] scheduleBus, int[] scheduleDeparture, int[] seatsTaken, BitSet cancelledSchedules) {
+        SplittableRandom random = new SplittableRandom(seed ^ 0x5DEECE66DL);
+        ZipfSampler passengerSampler = new ZipfSampler(passengerCount, passengerSkew);
+        int[] passengerOrder = shuffledIds(random, passengerCount);
+        BatchWriter writer = new BatchWriter("INSERT INTO bookings (id, booking_number, passenger_id, schedule_id, "
+                + "number_of_seats, total_amount, payment_status, booking_status, booking_date, seat_numbers) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        long id = 0;
+        for (int schedule = 0; schedule < seatsTaken.length; schedule++) {
+            double fare = routeDistances[scheduleRoute[schedule]] * busFares[scheduleBus[schedule]];
+            int seat = 0;
+            for (int n = 0; seat < seatsTaken[schedule]; n++) {
+                int seats = seatsFor(schedule, n);
+                StringBuilder seatNumbers = new StringBuilder();
+                for (int s = 0; s < seats; s++) {
+                    seatNumbers.append(s == 0 ? "" : ",").append('A').append(++seat);
+                }
+                boolean past = scheduleDeparture[schedule] < 0;
+                boolean cancelled = cancelledSchedules.get(schedule) || random.nextInt(33) == 0;
+                int bookedMinutesAhead = 30 + random.nextInt(30 * 1440);
+                LocalDateTime bookingDate = anchor.plusMinutes(Math.min(scheduleDeparture[schedule] - bookedMinutesAhead, -1));
+                id++;
+                writer.add(id, String.format("BMS%010d", id), passengerOrder[passengerSampler.sample(random)], schedule + 1,
+                        seats, Math.round(fare * seats * 100) / 100.0,
+                        cancelled ? "REFUNDED" : past || random.nextInt(7) != 0 ? "PAID" : "PENDING",
+                        cancelled ? "CANCELLED" : "CONFIRMED", Timestamp.valueOf(bookingDate), seatNumbers.toString());
+            }
+            if ((schedule + 1) % 250_000 == 0) {
+                logger.info("Generated bookings for {} schedules ({} bookings)", schedule + 1, id);
+            }
+        }
+        writer.flush();
+        return id;
+    }
+
+    // Foreign keys are checked per row otherwise; the generator only writes ids it has just created.
+    // H2 is the database this profile targets, so the switch is H2's.
+    private void setReferentialIntegrity(boolean enabled) {
+        if (isH2()) {
+            jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY " + enabled);
+        }
+    }
+
+    private boolean isH2() {
+        String product = jdbcTemplate.execute((Connection connection) -> connection.getMetaData().getDatabaseProductName());
+        return "H2".equals(product);
+    }
+
+    // Drops the idx_* indexes from the migrations (not the primary or foreign key ones) and returns the
+    // statements that recreate them
+    private List<String> dropQueryIndexes(String... tables) {
+        if (!isH2()) {
+            return List.of();
+        }
+        Map<String, String> columnsByIndex = new LinkedHashMap<>();
+        Map<String, String> tableByIndex = new LinkedHashMap<>();
+        for (String table : tables) {
+            jdbcTemplate.query("SELECT i.index_name, c.column_name FROM information_schema.indexes i "
+                            + "JOIN information_schema.index_columns c ON c.index_schema = i.index_schema "
+                            + "AND c.index_name = i.index_name "
+                            + "WHERE i.table_name = ? AND LOWER(i.index_name) LIKE 'idx\\_%' "
+                            + "ORDER BY i.index_name, c.ordinal_position",
+                    rs -> {
+                        String index = rs.getString(1);
+                        columnsByIndex.merge(index, rs.getString(2), (a, b) -> a + ", " + b);
+                        tableByIndex.put(index, table);
+                    },
+                    table);
+        }
+        List<String> ddl = new ArrayList<>();
+        for (Map.Entry<String, String> index : columnsByIndex.entrySet()) {
+            jdbcTemplate.execute("DROP INDEX " + index.getKey());
+            ddl.add("CREATE INDEX " + index.getKey() + " ON " + tableByIndex.get(index.getKey())
+                    + " (" + index.getValue() + ")");
+        }
+        return ddl;
+    }
+
+    private void restartIdentity(String table) {
+        Long next = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table, Long.class);
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+    }
+
+    // Seats for the n-th booking on a schedule: 1 to 3, weighted towards single travellers.
+    // A pure function so the assignment and insert passes agree without storing every booking.
+    private int seatsFor(int schedule, int n) {
+        long h = (seed * 0x9E3779B97F4A7C15L) ^ ((long) schedule << 20) ^ n;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        int bucket = (int) ((h >>> 1) % 10);
+        return bucket < 6 ? 1 : bucket < 9 ? 2 : 3;
+    }
+
+    // Popularity rank -> passenger id, so frequent travellers are spread over the id range
+    private static int[] shuffledIds(SplittableRandom random, int count) {
+        int[] ids = new int[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = i + 1;
+        }
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = ids[i];
+            ids[i] = ids[j];
+            ids[j] = tmp;
+        }
+        return ids;
+    }
+
+    private static int weightedIndex(SplittableRandom random, int[] weights) {
+        int total = 0;
+        for (int weight : weights) {
+            total += weight;
+        }
+        int pick = random.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            pick -= weights[i];
+            if (pick < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private static int cityIndex(String name) {
+        for (int i = 0; i < CITIES.length; i++) {
+            if (CITIES[i][0].equals(name)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown city: " + name);
+    }
+
+    private static double gravity(int a, int b) {
+        return (Integer) CITIES[a][3] * (double) (Integer) CITIES[b][3] / Math.pow(roadDistance(a, b), 2);
+    }
+
+    // Great-circle distance with a winding factor for hill roads
+    private static double roadDistance(int a, int b) {
+        double lat1 = Math.toRadians((Double) CITIES[a][1]);
+        double lat2 = Math.toRadians((Double) CITIES[b][1]);
+        double dLat = lat2 - lat1;
+        double dLon = Math.toRadians((Double) CITIES[b][2] - (Double) CITIES[a][2]);
+        double h = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(lat1) * Math.cos(lat2) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 6371 * 2 * Math.asin(Math.sqrt(h)) * 1.4;
+    }
+
+    private static int travelMinutes(double distance) {
+        return (int) Math.round(distance / 35 * 60); // ~35 km/h average on Nepali highways
+    }
+
+    // Inverse-CDF sampling over ranks 0..n-1 with P(rank) proportional to 1 / (rank + 1)^skew
+    static final class ZipfSampler {
+        private final double[] cumulative;
+
+        ZipfSampler(int n, double skew) {
+            cumulative = new double[n];
+            double sum = 0;
+            for (int i = 0; i < n; i++) {
+                sum += 1 / Math.pow(i + 1, skew);
+                cumulative[i] = sum;
+            }
+            for (int i = 0; i < n; i++) {
+                cumulative[i] /= sum;
+            }
+        }
+
+        int size() {
+            return cumulative.length;
+        }
+
+        int sample(SplittableRandom random) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(index < 0 ? -index - 1 : index, cumulative.length - 1);
+        }
+    }
+
+    // Collects rows and writes them with one JDBC batch per transaction
+    private final class BatchWriter {
+        private final String sql;
+        private final List<Object[]> rows = new ArrayList<>();
+        private final TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        private BatchWriter(String sql) {
+            this.sql = sql;
+        }
+
+        private void add(Object... row) {
+            rows.add(row);
+            if (rows.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (rows.isEmpty()) {
+                return;
+            }
+            transaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, rows));
+            rows.clear();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.busmanagement.BusManagementSystem.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+import javax.sql.DataSource;
+
+// Only active when a replica is configured; otherwise Boot's single DataSource is used as before
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.jdbc-url")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean(initMethod = "init")
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primary,
+                                               @Qualifier("replicaDataSource") DataSource replica,
+                                               @Value("${datasource.routing.max-lag-ms:2000}") long maxLagMillis) {
+        return new ReplicaLagMonitor(primary, replica, maxLagMillis);
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                                       @Qualifier("replicaDataSource") DataSource replica,
+                                                       ReplicaLagMonitor replicaLagMonitor,
+                                                       @Value("${datasource.routing.stickiness-ms:5000}") long stickinessMillis) {
+        return new ReadWriteRoutingDataSource(primary, replica, replicaLagMonitor, stickinessMillis);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public ReplicaLagScheduler replicaLagScheduler(ReplicaLagMonitor replicaLagMonitor, ReadWriteRoutingDataSource routingDataSource) {
+        return new ReplicaLagScheduler(replicaLagMonitor, routingDataSource);
+    }
+
+    public static class ReplicaLagScheduler {
+
+        private final ReplicaLagMonitor replicaLagMonitor;
+        private final ReadWriteRoutingDataSource routingDataSource;
+
+        public ReplicaLagScheduler(ReplicaLagMonitor replicaLagMonitor, ReadWriteRoutingDataSource routingDataSource) {
+            this.replicaLagMonitor = replicaLagMonitor;
+            this.routingDataSource = routingDataSource;
+        }
+
+        @Scheduled(fixedDelayString = "${datasource.routing.check-interval-ms:1000}")
+        public void check() {
+            replicaLagMonitor.check();
+            routingDataSource.expireStickiness();
+        }
+    }
+}
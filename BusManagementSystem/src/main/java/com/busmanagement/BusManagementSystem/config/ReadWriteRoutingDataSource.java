@@ -0,0 +1,83 @@
+package com.busmanagement.BusManagementSystem.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Sends read-only transactions to the replica and everything else to the primary.
+// Must sit behind a LazyConnectionDataSourceProxy so the read-only flag is known
+// by the time a physical connection is chosen.
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target { PRIMARY, REPLICA }
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final long stickinessMillis;
+    private final Supplier<String> clientKeySupplier;
+    private final Map<String, Long> lastWriteByClient = new ConcurrentHashMap<>();
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                      long stickinessMillis) {
+        this(primary, replica, lagMonitor, stickinessMillis, ReadWriteRoutingDataSource::currentClientKey);
+    }
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                      long stickinessMillis, Supplier<String> clientKeySupplier) {
+        this.lagMonitor = lagMonitor;
+        this.stickinessMillis = stickinessMillis;
+        this.clientKeySupplier = clientKeySupplier;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String client = clientKeySupplier.get();
+        long now = System.currentTimeMillis();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (client != null && TransactionSynchronizationManager.isActualTransactionActive()) {
+                lastWriteByClient.put(client, now);
+            }
+            return Target.PRIMARY;
+        }
+        if (!lagMonitor.isReplicaHealthy()) {
+            return Target.PRIMARY;
+        }
+
+        // Read-your-writes: stay on the primary until the replica has had time to catch up
+        Long lastWrite = client != null ? lastWriteByClient.get(client) : null;
+        if (lastWrite != null && now - lastWrite < Math.max(stickinessMillis, lagMonitor.getLagMillis())) {
+            return Target.PRIMARY;
+        }
+        return Target.REPLICA;
+    }
+
+    public void expireStickiness() {
+        long cutoff = System.currentTimeMillis() - Math.max(stickinessMillis, lagMonitor.getLagMillis());
+        lastWriteByClient.values().removeIf(lastWrite -> lastWrite < cutoff);
+    }
+
+    private static String currentClientKey() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()) {
+            return "user:" + authentication.getName();
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletRequest request = servletAttributes.getRequest();
+            return "ip:" + request.getRemoteAddr();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,63 @@
+package com.busmanagement.BusManagementSystem.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import javax.sql.DataSource;
+
+// Heartbeat based lag check: the primary stamps a row, the replica is asked for the newest
+// stamp it has. Works for any replication technology and for two plain local databases in tests.
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxLagMillis;
+
+    private volatile long lagMillis = Long.MAX_VALUE;
+    private volatile boolean healthy;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, long maxLagMillis) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    public void init() {
+        primary.execute("CREATE TABLE IF NOT EXISTS replication_heartbeat (id INT PRIMARY KEY, beat BIGINT NOT NULL)");
+    }
+
+    public void check() {
+        long now = System.currentTimeMillis();
+        try {
+            if (primary.update("UPDATE replication_heartbeat SET beat = ? WHERE id = 1", now) == 0) {
+                primary.update("INSERT INTO replication_heartbeat (id, beat) VALUES (1, ?)", now);
+            }
+        } catch (Exception e) {
+            logger.warn("Could not write replication heartbeat on primary", e);
+        }
+
+        try {
+            Long beat = replica.queryForObject("SELECT beat FROM replication_heartbeat WHERE id = 1", Long.class);
+            lagMillis = beat == null ? Long.MAX_VALUE : Math.max(0, now - beat);
+        } catch (Exception e) {
+            lagMillis = Long.MAX_VALUE;
+        }
+
+        boolean nowHealthy = lagMillis <= maxLagMillis;
+        if (nowHealthy != healthy) {
+            logger.warn("Replica {}: lag {} ms (limit {} ms)", nowHealthy ? "back in rotation" : "taken out of rotation",
+                    lagMillis == Long.MAX_VALUE ? "unknown" : lagMillis, maxLagMillis);
+        }
+        healthy = nowHealthy;
+    }
+
+    public boolean isReplicaHealthy() {
+        return healthy;
+    }
+
+    public long getLagMillis() {
+        return lagMillis == Long.MAX_VALUE ? 0 : lagMillis;
+    }
+}
@@ -1,8 +1,11 @@
 package com.busmanagement.BusManagementSystem.config;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -12,6 +15,9 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 @Configuration
 @EnableWebSecurity
@@ -20,21 +26,47 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    private AdmissionControlFilter admissionControlFilter;
+
+    @Value("${server.port:8080}")
+    private int serverPort;
+
+    // -1 when the actuator shares the application port
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http.csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth
+                // The dispatch that finishes a streamed response carries no token; the request was checked when it started
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/", "/index.html", "/buses.html", "/routes.html", "/passengers.html", "/passenger-dashboard.html", "/book-ticket.html", "/my-bookings.html", "/login.html", "/register.html", "/auth-test.html", "/script-test.html", "/*.css", "/*.js", "/static/**", "/css/**", "/js/**", "/images/**", "/favicon.ico").permitAll()
                 .requestMatchers("/api/auth/**", "/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
                 .requestMatchers("/api/admins/register").permitAll()
+                .requestMatchers("/actuator/health").permitAll()
+                // Scrapes need no token only on a separate management port; on the application port they do
+                .requestMatchers(new AndRequestMatcher(onManagementPort(), AntPathRequestMatcher.antMatcher("/actuator/prometheus"))).permitAll()
+                // Every schedule's seat changes feed the admin dashboard, which reads them with fetch
+                .requestMatchers(HttpMethod.GET, "/api/schedules/seats/stream").hasRole("ADMIN")
+                // Seat streams are read by EventSource, which cannot send an Authorization header
+                .requestMatchers(HttpMethod.GET, "/api/schedules/*/seats/stream", "/api/schedules/route/*/seats/stream").permitAll()
                 .anyRequest().authenticated()
             )
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            // Shed load before any token parsing or database work happens
+            .addFilterBefore(admissionControlFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
 
+    private RequestMatcher onManagementPort() {
+        boolean separate = managementPort > 0 && managementPort != serverPort;
+        return request -> separate && request.getLocalPort() == managementPort;
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -0,0 +1,21 @@
+package com.busmanagement.BusManagementSystem.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Most JDBC statements one request to the annotated handler may run, serialization included. Checked by
+// SqlBudgetFilter: a warning in production, a failed request when sql.budget.fail-on-violation is set
+// (as in the tests). sql.budget.endpoints.<Controller>.<method> overrides the value without a release.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SqlBudget {
+
+    int value();
+
+    // Most executions of any single statement; -1 falls back to sql.budget.repeat-threshold
+    int maxRepeats() default -1;
+}
@@ -0,0 +1,148 @@
+package com.busmanagement.BusManagementSystem.config;
+
+import com.busmanagement.BusManagementSystem.util.SqlStatementStats;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+// Counts the JDBC statements and driver time of every /api request (see StatementCountingDataSource),
+// reports them as X-SQL-Count / X-SQL-Time-Ms and in the debug log, and warns when the handler's
+// budget is exceeded or one statement repeats often enough to look like an N+1. Runs ahead of the
+// security chain so authentication queries are part of the count.
+@Component
+// Just inside RequestIdFilter, so budget warnings carry the request id
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class SqlBudgetFilter extends OncePerRequestFilter {
+
+    public static final String COUNT_HEADER = "X-SQL-Count";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+
+    @Autowired
+    private Environment environment;
+
+    private boolean enabled;
+    private int defaultBudget;
+    private int repeatThreshold;
+    private boolean failOnViolation;
+
+    @PostConstruct
+    public void init() {
+        enabled = environment.getProperty("sql.budget.enabled", Boolean.class, true);
+        defaultBudget = environment.getProperty("sql.budget.default", Integer.class, 50);
+        repeatThreshold = environment.getProperty("sql.budget.repeat-threshold", Integer.class, 10);
+        failOnViolation = environment.getProperty("sql.budget.fail-on-violation", Boolean.class, false);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementStats stats = SqlStatementStats.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementStats.end();
+        }
+
+        // Async handlers (login, streams) do their database work on other threads, which are not tracked
+        if (request.isAsyncStarted()) {
+            return;
+        }
+        // Large bodies are already on the wire by now and keep the headers set before serialization
+        if (!response.isCommitted()) {
+            writeHeaders(stats, response::setHeader);
+        }
+        check(request, stats);
+    }
+
+    private void check(HttpServletRequest request, SqlStatementStats stats) {
+        HandlerMethod handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod h
+                ? h : null;
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+
+        SqlBudget annotation = handler != null ? handler.getMethodAnnotation(SqlBudget.class) : null;
+        Integer override = handler != null ? environment.getProperty("sql.budget.endpoints."
+                + handler.getBeanType().getSimpleName() + "." + handler.getMethod().getName(), Integer.class) : null;
+        int budget = override != null ? override : annotation != null ? annotation.value() : defaultBudget;
+        int maxRepeats = annotation != null && annotation.maxRepeats() >= 0 ? annotation.maxRepeats() : repeatThreshold;
+
+        if (logger.isDebugEnabled()) {
+            logger.debug(String.format(Locale.ROOT, "%s ran %d statements in %.1f ms", endpoint, stats.getCount(), stats.getMillis()));
+        }
+
+        List<String> violations = new ArrayList<>();
+        if (stats.getCount() > budget) {
+            violations.add(stats.getCount() + " statements against a budget of " + budget);
+        }
+        Map.Entry<String, Integer> repeated = stats.mostRepeated();
+        if (repeated != null && repeated.getValue() > maxRepeats) {
+            violations.add("possible N+1, ran " + repeated.getValue() + " times: " + repeated.getKey());
+        }
+        if (violations.isEmpty()) {
+            return;
+        }
+
+        String message = endpoint + " exceeded its SQL budget: " + String.join("; ", violations);
+        // Only a declared budget fails; the default is a guard rail, not a contract
+        if (failOnViolation && (annotation != null || override != null)) {
+            throw new IllegalStateException(message);
+        }
+        logger.warn(message);
+    }
+
+    private static void writeHeaders(SqlStatementStats stats, BiConsumer<String, String> setHeader) {
+        setHeader.accept(COUNT_HEADER, String.valueOf(stats.getCount()));
+        setHeader.accept(TIME_HEADER, String.format(Locale.ROOT, "%.1f", stats.getMillis()));
+    }
+
+    // Sets the headers just before the body is written, while they can still be sent. Lazy loads
+    // triggered by serialization itself only reach the headers when the body fits in the response
+    // buffer; the log line and the budget check always include them.
+    @ControllerAdvice
+    public static class HeaderAdvice implements ResponseBodyAdvice<Object> {
+
+        @Override
+        public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+            return true;
+        }
+
+        @Override
+        public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                      Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                      ServerHttpRequest request, ServerHttpResponse response) {
+            SqlStatementStats stats = SqlStatementStats.current();
+            if (stats != null) {
+                writeHeaders(stats, response.getHeaders()::set);
+            }
+            return body;
+        }
+    }
+}
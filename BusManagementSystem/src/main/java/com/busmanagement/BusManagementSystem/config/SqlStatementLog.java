@@ -0,0 +1,39 @@
+package com.busmanagement.BusManagementSystem.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Per-statement logging for StatementCountingDataSource, replacing spring.jpa.show-sql: statements at or
+// over the slow threshold are always logged, the rest only at the sample rate. The request id comes
+// from the MDC, so a sampled or slow statement can be tied back to its request.
+public class SqlStatementLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementLog.class);
+
+    private final double sampleRate;
+    private final long slowNanos;
+
+    // A negative threshold turns slow-statement logging off
+    public SqlStatementLog(double sampleRate, long slowThresholdMillis) {
+        this.sampleRate = sampleRate;
+        this.slowNanos = slowThresholdMillis < 0 ? Long.MAX_VALUE : TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+    }
+
+    public boolean isActive() {
+        return sampleRate > 0 || slowNanos != Long.MAX_VALUE;
+    }
+
+    void executed(String sql, long elapsedNanos) {
+        if (elapsedNanos >= slowNanos) {
+            double millis = elapsedNanos / 1_000_000.0;
+            logger.atWarn().addKeyValue("durationMs", millis).addKeyValue("sql", sql)
+                    .log("Slow SQL statement took {} ms: {}", millis, sql);
+        } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            double millis = elapsedNanos / 1_000_000.0;
+            logger.atInfo().addKeyValue("durationMs", millis).addKeyValue("sql", sql)
+                    .log("SQL statement took {} ms: {}", millis, sql);
+        }
+    }
+}
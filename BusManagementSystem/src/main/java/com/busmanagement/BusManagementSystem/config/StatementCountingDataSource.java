@@ -0,0 +1,80 @@
+package com.busmanagement.BusManagementSystem.config;
+
+import com.busmanagement.BusManagementSystem.util.SqlStatementStats;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Times every execute* call on statements handed out by the wrapped DataSource and reports it to
+// SqlStatementStats and SqlStatementLog. Sits below Hibernate and JdbcTemplate alike, so both are
+// counted, and the time is what the driver spent, not what the ORM spent around it. A batch counts as
+// one statement.
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    private final SqlStatementLog statementLog;
+
+    public StatementCountingDataSource(DataSource targetDataSource, SqlStatementLog statementLog) {
+        super(targetDataSource);
+        this.statementLog = statementLog;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement) {
+                        String sql = method.getName().startsWith("prepare") ? (String) args[0] : null;
+                        return wrap(statement, sql);
+                    }
+                    return result;
+                });
+    }
+
+    private Statement wrap(Statement statement, String preparedSql) {
+        Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (!method.getName().startsWith("execute")) {
+                return invoke(statement, method, args);
+            }
+            String sql = preparedSql != null ? preparedSql
+                    : args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+            long start = System.nanoTime();
+            try {
+                return invoke(statement, method, args);
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                SqlStatementStats.record(sql, elapsed);
+                statementLog.executed(sql, elapsed);
+            }
+        };
+        return (Statement) Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.busmanagement.BusManagementSystem.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import javax.sql.DataSource;
+
+// Wraps the DataSource the application queries through so SqlBudgetFilter can count statements per
+// request and SqlStatementLog can sample and time them. That is the bean named dataSource: Boot's pool, or the routing proxy from ReadReplicaConfig.
+// The pools underneath stay unwrapped, so a statement is never counted twice.
+@Component
+public class StatementCountingPostProcessor implements BeanPostProcessor, EnvironmentAware {
+
+    private boolean enabled;
+    private SqlStatementLog statementLog;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        statementLog = new SqlStatementLog(environment.getProperty("sql.log.sample-rate", Double.class, 0.0),
+                environment.getProperty("sql.log.slow-threshold-ms", Long.class, 250L));
+        enabled = environment.getProperty("sql.budget.enabled", Boolean.class, true) || statementLog.isActive();
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (enabled && "dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                && !(bean instanceof StatementCountingDataSource)) {
+            return new StatementCountingDataSource(dataSource, statementLog);
+        }
+        return bean;
+    }
+}
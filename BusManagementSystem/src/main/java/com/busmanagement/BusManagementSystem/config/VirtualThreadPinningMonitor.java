@@ -0,0 +1,127 @@
+package com.busmanagement.BusManagementSystem.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Pinning audit for the virtual-thread mode. A virtual thread that blocks inside a synchronized block
+// or a native frame keeps its carrier thread, and with a few carriers per core a handful of those stall
+// every request. This streams the JVM's own jdk.VirtualThreadPinned events (the ones JFR records)
+// in-process: each pin longer than threads.pinning.threshold-ms is timed in jvm.threads.virtual.pinned,
+// and the first pin at every call site is logged with its stack, whether the site is ours or a library's.
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final String PINNED = "jdk.VirtualThreadPinned";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${threads.pinning.threshold-ms:20}")
+    private long thresholdMillis;
+
+    @Value("${threads.pinning.max-sites:100}")
+    private int maxSites;
+
+    @Value("${threads.pinning.stack-depth:16}")
+    private int stackDepth;
+
+    private final Map<String, LongAdder> sites = new ConcurrentHashMap<>();
+    private Timer pinned;
+    private RecordingStream stream;
+
+    @PostConstruct
+    public void start() {
+        pinned = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier thread")
+                .register(meterRegistry);
+        stream = new RecordingStream();
+        stream.enable(PINNED).withThreshold(Duration.ofMillis(thresholdMillis)).withStackTrace();
+        stream.onEvent(PINNED, this::pinned);
+        stream.startAsync();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    void pinned(RecordedEvent event) {
+        pinned.record(event.getDuration());
+        RecordedStackTrace stack = event.getStackTrace();
+        String site = site(stack);
+        LongAdder count = sites.get(site);
+        if (count == null) {
+            // Distinct sites are bounded so a pathological library cannot grow the map without limit
+            if (sites.size() >= maxSites) {
+                return;
+            }
+            LongAdder created = new LongAdder();
+            count = sites.putIfAbsent(site, created);
+            if (count == null) {
+                count = created;
+                logger.warn("Virtual thread pinned for {} ms at {}{}", event.getDuration().toMillis(), site, frames(stack));
+            }
+        }
+        count.increment();
+    }
+
+    // Pins seen so far per call site, for diagnostics
+    public Map<String, Long> getSites() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        sites.forEach((site, count) -> snapshot.put(site, count.sum()));
+        return snapshot;
+    }
+
+    // The first frame outside the JDK: the code that blocked while holding the carrier
+    static String site(RecordedStackTrace stack) {
+        if (stack == null) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : stack.getFrames()) {
+            if (!frame.isJavaFrame()) {
+                continue;
+            }
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            }
+        }
+        return "jdk";
+    }
+
+    private String frames(RecordedStackTrace stack) {
+        if (stack == null) {
+            return "";
+        }
+        StringBuilder text = new StringBuilder();
+        List<RecordedFrame> frames = stack.getFrames();
+        for (int i = 0; i < Math.min(stackDepth, frames.size()); i++) {
+            RecordedFrame frame = frames.get(i);
+            text.append("\n\tat ").append(frame.getMethod().getType().getName()).append('.')
+                    .append(frame.getMethod().getName()).append(':').append(frame.getLineNumber());
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,35 @@
+package com.busmanagement.BusManagementSystem.controller;
+
+import com.busmanagement.BusManagementSystem.model.ArchivePartition;
+import com.busmanagement.BusManagementSystem.service.ArchiveService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/archive")
+public class ArchiveController {
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @GetMapping("/partitions")
+    public List<ArchivePartition> getPartitions() {
+        return archiveService.getPartitions();
+    }
+
+    @PostMapping("/run")
+    public ResponseEntity<?> runArchival(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before) {
+        try {
+            int moved = archiveService.archiveOlderThan(before);
+            return ResponseEntity.ok(Map.of("schedulesArchived", moved));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
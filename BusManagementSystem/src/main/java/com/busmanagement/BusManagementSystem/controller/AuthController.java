@@ -1,23 +1,31 @@
 package com.busmanagement.BusManagementSystem.controller;
 
+import com.busmanagement.BusManagementSystem.exception.RateLimitExceededException;
 import com.busmanagement.BusManagementSystem.model.Admin;
 import com.busmanagement.BusManagementSystem.service.AdminService;
+import com.busmanagement.BusManagementSystem.service.AdminUserDetails;
+import com.busmanagement.BusManagementSystem.service.AuthService;
+import com.busmanagement.BusManagementSystem.service.TokenRevocationService;
 import com.busmanagement.BusManagementSystem.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.web.bind.annotation.*;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
 
     @Autowired
-    private AuthenticationManager authenticationManager;
+    private AuthService authService;
 
     @Autowired
     private UserDetailsService userDetailsService;
@@ -28,42 +36,105 @@ public class AuthController {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody Map<String, String> loginRequest) {
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody Map<String, String> loginRequest, HttpServletRequest request) {
         try {
             String username = loginRequest.get("username");
             String password = loginRequest.get("password");
 
-            
-            authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(username, password)
-            );
-
-          
-            final UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-            final String jwt = jwtUtil.generateToken(userDetails.getUsername());
-
-            
-            Admin admin = adminService.getAdminByIdentifier(username);
-
-            Map<String, Object> response = new java.util.HashMap<>();
-            response.put("message", "Login successful");
-            response.put("token", jwt);
-            
-            Map<String, Object> adminData = new java.util.HashMap<>();
-            adminData.put("id", admin.getId());
-            adminData.put("username", admin.getUsername());
-            adminData.put("email", admin.getEmail());
-            adminData.put("fullName", admin.getFullName());
-            adminData.put("role", admin.getRole());
-            
-            response.put("admin", adminData);
-            return ResponseEntity.ok(response);
+            // Password check runs on the login pool; the request thread is released meanwhile
+            return authService.login(username, password, request.getRemoteAddr())
+                    .<ResponseEntity<?>>thenApply(this::loginResponse)
+                    .exceptionally(e -> {
+                        Throwable cause = e.getCause() != null ? e.getCause() : e;
+                        return ResponseEntity.badRequest().body(Map.of("error", cause.getMessage() != null ? cause.getMessage() : "Invalid credentials"));
+                    });
+        } catch (RateLimitExceededException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .body(Map.of("error", e.getMessage())));
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Map.of("error", "Login service is busy, please try again shortly")));
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(Map.of("error", e.getMessage() != null ? e.getMessage() : "Invalid credentials")));
+        }
+    }
+
+    private ResponseEntity<?> loginResponse(Admin admin) {
+        Map<String, Object> response = new java.util.HashMap<>(issueTokens(admin));
+        response.put("message", "Login successful");
+
+        Map<String, Object> adminData = new java.util.HashMap<>();
+        adminData.put("id", admin.getId());
+        adminData.put("username", admin.getUsername());
+        adminData.put("email", admin.getEmail());
+        adminData.put("fullName", admin.getFullName());
+        adminData.put("role", admin.getRole());
+
+        response.put("admin", adminData);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody Map<String, String> request) {
+        try {
+            Claims claims = jwtUtil.extractAllClaims(request.get("refreshToken"));
+            if (!JwtUtil.REFRESH_TOKEN.equals(claims.get(JwtUtil.TYPE_CLAIM))) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Invalid refresh token"));
+            }
+
+            // The only database read in the token lifecycle: a removed admin cannot refresh
+            Admin admin = adminService.getAdminByUsername(claims.getSubject());
+
+            // Refresh tokens are single use: revoking the old one is the check, so concurrent refreshes
+            // with one token get one new pair between them
+            Map<String, Object> tokens = tokenRevocationService.rotate(claims, () -> issueTokens(admin));
+            if (tokens == null) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Invalid refresh token"));
+            }
+            return ResponseEntity.ok(tokens);
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage() != null ? e.getMessage() : "Invalid credentials"));
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Invalid refresh token"));
         }
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(value = "Authorization", required = false) String token,
+                                    @RequestBody(required = false) Map<String, Object> request) {
+        String refreshToken = request != null ? (String) request.get("refreshToken") : null;
+        boolean allSessions = request != null && Boolean.TRUE.equals(request.get("allSessions"));
+
+        for (String jwt : new String[] { token != null && token.startsWith("Bearer ") ? token.substring(7) : null, refreshToken }) {
+            if (jwt == null) {
+                continue;
+            }
+            try {
+                Claims claims = jwtUtil.extractAllClaims(jwt);
+                if (allSessions) {
+                    tokenRevocationService.revokeSubject(claims.getSubject());
+                    break;
+                }
+                tokenRevocationService.revokeToken(claims);
+            } catch (Exception e) {
+                // Expired or malformed tokens are already unusable
+            }
+        }
+        return ResponseEntity.ok(Map.of("message", "Logged out successfully"));
+    }
+
+    private Map<String, Object> issueTokens(Admin admin) {
+        return Map.of(
+            "token", jwtUtil.generateAccessToken(admin.getUsername(), admin.getRole()),
+            "refreshToken", jwtUtil.generateRefreshToken(admin.getUsername()),
+            "expiresIn", jwtUtil.getAccessTokenValidity() / 1000
+        );
+    }
+
     @PostMapping("/register")
     public ResponseEntity<?> register(@RequestBody Admin admin) {
         try {
@@ -88,11 +159,15 @@ public class AuthController {
         try {
             if (token != null && token.startsWith("Bearer ")) {
                 String jwt = token.substring(7);
-                String username = jwtUtil.extractUsername(jwt);
-                
+                Claims claims = jwtUtil.extractAllClaims(jwt);
+                if (tokenRevocationService.isRevoked(claims)) {
+                    return ResponseEntity.ok(Map.of("valid", false));
+                }
+                String username = claims.getSubject();
+
                 UserDetails userDetails = userDetailsService.loadUserByUsername(username);
                 if (jwtUtil.validateToken(jwt, userDetails)) {
-                    Admin admin = adminService.getAdminByIdentifier(username);
+                    Admin admin = ((AdminUserDetails) userDetails).getAdmin();
                     return ResponseEntity.ok(Map.of(
                         "valid", true,
                         "admin", Map.of(
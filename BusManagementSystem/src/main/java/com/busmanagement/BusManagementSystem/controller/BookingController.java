@@ -1,5 +1,6 @@
 package com.busmanagement.BusManagementSystem.controller;
 
+import com.busmanagement.BusManagementSystem.config.SqlBudget;
 import com.busmanagement.BusManagementSystem.model.Booking;
 import com.busmanagement.BusManagementSystem.service.BookingService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,6 +24,7 @@ public class BookingController {
     }
 
     @GetMapping("/{id}")
+    @SqlBudget(10)
     public ResponseEntity<Booking> getBookingById(@PathVariable Long id) {
         try {
             Booking booking = bookingService.getBookingById(id);
@@ -43,6 +45,7 @@ public class BookingController {
     }
 
     @PostMapping
+    @SqlBudget(20)
     public ResponseEntity<?> createBooking(@RequestBody Booking booking) {
         try {
             Booking createdBooking = bookingService.createBooking(booking);
@@ -73,8 +76,9 @@ public class BookingController {
     }
 
     @GetMapping("/passenger/{passengerId}")
-    public List<Booking> getBookingsByPassenger(@PathVariable Long passengerId) {
-        return bookingService.getBookingsByPassenger(passengerId);
+    public List<Booking> getBookingsByPassenger(@PathVariable Long passengerId,
+                                                @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return bookingService.getBookingsByPassenger(passengerId, includeArchived);
     }
 
     @GetMapping("/schedule/{scheduleId}")
@@ -93,6 +97,7 @@ public class BookingController {
     }
 
     @PostMapping("/{id}/cancel")
+    @SqlBudget(20)
     public ResponseEntity<?> cancelBooking(@PathVariable Long id) {
         try {
             Booking cancelledBooking = bookingService.cancelBooking(id);
@@ -126,7 +131,8 @@ public class BookingController {
     @GetMapping("/date-range")
     public List<Booking> getBookingsBetweenDates(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
-        return bookingService.getBookingsBetweenDates(start, end);
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return bookingService.getBookingsBetweenDates(start, end, includeArchived);
     }
 }
\ No newline at end of file
@@ -2,7 +2,11 @@ package com.busmanagement.BusManagementSystem.controller;
 
 import com.busmanagement.BusManagementSystem.model.Bus;
 import com.busmanagement.BusManagementSystem.service.BusService;
+import com.busmanagement.BusManagementSystem.service.FleetLocator;
+import com.busmanagement.BusManagementSystem.service.ReferenceDataCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
@@ -15,9 +19,18 @@ public class BusController {
     @Autowired
     private BusService busService;
 
+    @Autowired
+    private FleetLocator fleetLocator;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    // Seat counts move with every booking, so clients always revalidate; unchanged lists still cost a 304
     @GetMapping
-    public List<Bus> getAllBuses() {
-        return busService.getAllBuses();
+    public ResponseEntity<byte[]> getAllBuses(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return referenceDataCache.respond("buses", accept, ifNoneMatch, CacheControl.noCache().cachePrivate(),
+                busService::getAllBuses, ReferenceDataCache.Aggregate.BUSES);
     }
 
     @GetMapping("/{id}")
@@ -85,6 +98,22 @@ public class BusController {
         return busService.getBusesByLocation(location);
     }
 
+    // Nearest buses to a point or a named place, e.g. ?near=Chitwan&radiusKm=20
+    @GetMapping("/nearby")
+    public ResponseEntity<?> getNearbyBuses(@RequestParam(required = false) Double latitude,
+                                            @RequestParam(required = false) Double longitude,
+                                            @RequestParam(required = false) String near,
+                                            @RequestParam(defaultValue = "20") double radiusKm,
+                                            @RequestParam(defaultValue = "10") int limit,
+                                            @RequestParam(defaultValue = "true") boolean availableOnly) {
+        try {
+            double[] point = fleetLocator.resolve(latitude, longitude, near);
+            return ResponseEntity.ok(fleetLocator.findNearbyBuses(point, radiusKm, limit, availableOnly));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @PatchMapping("/{id}/availability")
     public ResponseEntity<?> updateBusAvailability(@PathVariable Long id, @RequestBody Map<String, Boolean> request) {
         try {
@@ -0,0 +1,39 @@
+package com.busmanagement.BusManagementSystem.controller;
+
+import com.busmanagement.BusManagementSystem.service.BusPositionService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/buses/positions")
+public class BusPositionController {
+
+    @Autowired
+    private BusPositionService busPositionService;
+
+    // Batched pings as compact arrays: [[busId, latitude, longitude, recordedAtEpochMillis, speedKmh?, heading?], ...]
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> ingestPositions(InputStream body) throws IOException {
+        try {
+            return ResponseEntity.ok(busPositionService.ingest(body));
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    // Latest known position of every bus in one document
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> getPositions() {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(busPositionService::writeSnapshot);
+    }
+}
@@ -0,0 +1,20 @@
+package com.busmanagement.BusManagementSystem.controller;
+
+import com.busmanagement.BusManagementSystem.dto.DashboardSummary;
+import com.busmanagement.BusManagementSystem.service.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    // Up to dashboard.cache-ttl-ms old; generatedAt says when it was computed
+    @GetMapping("/summary")
+    public DashboardSummary getSummary() {
+        return dashboardService.getSummary();
+    }
+}
@@ -2,7 +2,11 @@ package com.busmanagement.BusManagementSystem.controller;
 
 import com.busmanagement.BusManagementSystem.model.Driver;
 import com.busmanagement.BusManagementSystem.service.DriverService;
+import com.busmanagement.BusManagementSystem.service.FleetLocator;
+import com.busmanagement.BusManagementSystem.service.ReferenceDataCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
@@ -15,9 +19,18 @@ public class DriverController {
     @Autowired
     private DriverService driverService;
 
+    @Autowired
+    private FleetLocator fleetLocator;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    // Each driver embeds the assigned bus, so the list also changes with the buses
     @GetMapping
-    public List<Driver> getAllDrivers() {
-        return driverService.getAllDrivers();
+    public ResponseEntity<byte[]> getAllDrivers(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return referenceDataCache.respond("drivers", accept, ifNoneMatch, CacheControl.noCache().cachePrivate(),
+                driverService::getAllDrivers, ReferenceDataCache.Aggregate.DRIVERS, ReferenceDataCache.Aggregate.BUSES);
     }
 
     @GetMapping("/{id}")
@@ -75,6 +88,22 @@ public class DriverController {
         return driverService.getAvailableDrivers();
     }
 
+    // Drivers of the nearest buses to a point or a named place
+    @GetMapping("/nearby")
+    public ResponseEntity<?> getNearbyDrivers(@RequestParam(required = false) Double latitude,
+                                              @RequestParam(required = false) Double longitude,
+                                              @RequestParam(required = false) String near,
+                                              @RequestParam(defaultValue = "20") double radiusKm,
+                                              @RequestParam(defaultValue = "10") int limit,
+                                              @RequestParam(defaultValue = "true") boolean availableOnly) {
+        try {
+            double[] point = fleetLocator.resolve(latitude, longitude, near);
+            return ResponseEntity.ok(fleetLocator.findNearbyDrivers(point, radiusKm, limit, availableOnly));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @PostMapping("/{driverId}/assign-bus/{busId}")
     public ResponseEntity<?> assignBusToDriver(@PathVariable Long driverId, @PathVariable Long busId) {
         try {
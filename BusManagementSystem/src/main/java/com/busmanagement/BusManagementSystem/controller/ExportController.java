@@ -0,0 +1,82 @@
+package com.busmanagement.BusManagementSystem.controller;
+
+import com.busmanagement.BusManagementSystem.service.ExportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Value("${export.timeout:30m}")
+    private Duration timeout;
+
+    @GetMapping("/bookings")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletRequest request) {
+        ExportService.Format exportFormat = format(format);
+        StreamingResponseBody body = out -> exportService.exportBookings(start, end, exportFormat, gzip, out);
+        return streaming(request, "bookings", exportFormat, gzip, body);
+    }
+
+    @GetMapping("/schedules")
+    public ResponseEntity<StreamingResponseBody> exportSchedules(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletRequest request) {
+        ExportService.Format exportFormat = format(format);
+        StreamingResponseBody body = out -> exportService.exportSchedules(start, end, exportFormat, gzip, out);
+        return streaming(request, "schedules", exportFormat, gzip, body);
+    }
+
+    // Bad formats are answered here so the endpoints can declare StreamingResponseBody: with ResponseEntity<?>
+    // Spring hands the body to a JSON converter instead of streaming it
+    @ExceptionHandler(UnsupportedFormatException.class)
+    public ResponseEntity<?> unsupportedFormat(UnsupportedFormatException e) {
+        return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+    }
+
+    private static ExportService.Format format(String format) {
+        try {
+            return ExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new UnsupportedFormatException("Unsupported format: " + format);
+        }
+    }
+
+    private ResponseEntity<StreamingResponseBody> streaming(HttpServletRequest request, String name, ExportService.Format format,
+                                                            boolean gzip, StreamingResponseBody body) {
+        // Large exports run well past the default async timeout; only these requests get the longer one
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(timeout.toMillis());
+        String filename = name + "." + format.getExtension() + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, gzip ? "application/gzip" : format.getContentType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
+
+    static class UnsupportedFormatException extends RuntimeException {
+        UnsupportedFormatException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.busmanagement.BusManagementSystem.controller;
+
+import com.busmanagement.BusManagementSystem.dto.ImportReport;
+import com.busmanagement.BusManagementSystem.service.BulkImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+@RestController
+@RequestMapping("/api/import")
+public class ImportController {
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    // Body is read straight from the request stream: text/csv with a header row, or
+    // application/x-ndjson with one JSON object per line, optionally gzip encoded
+    @PostMapping("/{entity}")
+    public ResponseEntity<?> importEntities(@PathVariable String entity,
+                                            @RequestParam(required = false) Integer chunkSize,
+                                            HttpServletRequest request) {
+        try {
+            String contentType = request.getContentType() != null ? request.getContentType() : "text/csv";
+            boolean ndjson = contentType.contains("json");
+
+            InputStream input = request.getInputStream();
+            if ("gzip".equalsIgnoreCase(request.getHeader(HttpHeaders.CONTENT_ENCODING))) {
+                input = new GZIPInputStream(input, 1 << 16);
+            }
+
+            ImportReport report = bulkImportService.importStream(entity, input, ndjson, chunkSize);
+            return ResponseEntity.ok(report);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+}
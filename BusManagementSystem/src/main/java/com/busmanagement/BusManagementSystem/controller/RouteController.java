@@ -1,10 +1,17 @@
 package com.busmanagement.BusManagementSystem.controller;
 
+import com.busmanagement.BusManagementSystem.dto.TravelTimeProposal;
 import com.busmanagement.BusManagementSystem.model.Route;
+import com.busmanagement.BusManagementSystem.service.ReferenceDataCache;
 import com.busmanagement.BusManagementSystem.service.RouteService;
+import com.busmanagement.BusManagementSystem.service.TravelTimePredictor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
@@ -15,9 +22,23 @@ public class RouteController {
     @Autowired
     private RouteService routeService;
 
+    @Autowired
+    private TravelTimePredictor travelTimePredictor;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Value("${http-cache.routes.max-age-seconds:60}")
+    private long routesMaxAge;
+
+    @Value("${http-cache.places.max-age-seconds:300}")
+    private long placesMaxAge;
+
     @GetMapping
-    public List<Route> getAllRoutes() {
-        return routeService.getAllRoutes();
+    public ResponseEntity<byte[]> getAllRoutes(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return referenceDataCache.respond("routes", accept, ifNoneMatch, maxAge(routesMaxAge), routeService::getAllRoutes,
+                ReferenceDataCache.Aggregate.ROUTES);
     }
 
     @GetMapping("/{id}")
@@ -84,12 +105,27 @@ public class RouteController {
     }
 
     @GetMapping("/sources")
-    public List<String> getAllUniqueSources() {
-        return routeService.getAllUniqueSources();
+    public ResponseEntity<byte[]> getAllUniqueSources(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return referenceDataCache.respond("routes/sources", accept, ifNoneMatch, maxAge(placesMaxAge),
+                routeService::getAllUniqueSources, ReferenceDataCache.Aggregate.ROUTES);
     }
 
     @GetMapping("/destinations")
-    public List<String> getAllUniqueDestinations() {
-        return routeService.getAllUniqueDestinations();
+    public ResponseEntity<byte[]> getAllUniqueDestinations(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return referenceDataCache.respond("routes/destinations", accept, ifNoneMatch, maxAge(placesMaxAge),
+                routeService::getAllUniqueDestinations, ReferenceDataCache.Aggregate.ROUTES);
+    }
+
+    // Suggested estimatedTravelTime values from recorded trips; applied by updating the route
+    @GetMapping("/travel-time-proposals")
+    public List<TravelTimeProposal> getTravelTimeProposals() {
+        return travelTimePredictor.proposeTravelTimes();
+    }
+
+    // Per user, since every API call is authenticated
+    private static CacheControl maxAge(long seconds) {
+        return CacheControl.maxAge(Duration.ofSeconds(seconds)).cachePrivate();
     }
 }
\ No newline at end of file
@@ -1,11 +1,17 @@
 package com.busmanagement.BusManagementSystem.controller;
 
+import com.busmanagement.BusManagementSystem.config.SqlBudget;
+import com.busmanagement.BusManagementSystem.dto.EtaPrediction;
 import com.busmanagement.BusManagementSystem.model.Schedule;
 import com.busmanagement.BusManagementSystem.service.ScheduleService;
+import com.busmanagement.BusManagementSystem.service.SeatAvailabilityBroadcaster;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -17,12 +23,16 @@ public class ScheduleController {
     @Autowired
     private ScheduleService scheduleService;
 
+    @Autowired
+    private SeatAvailabilityBroadcaster seatAvailabilityBroadcaster;
+
     @GetMapping
     public List<Schedule> getAllSchedules() {
         return scheduleService.getAllSchedules();
     }
 
     @GetMapping("/{id}")
+    @SqlBudget(10)
     public ResponseEntity<Schedule> getScheduleById(@PathVariable Long id) {
         try {
             Schedule schedule = scheduleService.getScheduleById(id);
@@ -90,11 +100,46 @@ public class ScheduleController {
         return scheduleService.getAvailableSchedules(source, destination, departureTime);
     }
 
+    @GetMapping("/date-range")
+    public List<Schedule> getSchedulesBetweenDates(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return scheduleService.getSchedulesBetweenDates(start, end, includeArchived);
+    }
+
     @GetMapping("/upcoming")
     public List<Schedule> getUpcomingSchedules() {
         return scheduleService.getUpcomingSchedules();
     }
 
+    // Seat availability as Server-Sent Events: the current count first, then every change. Open without a
+    // token (EventSource cannot send one); seat counts are public. Streams are limited per client address.
+    @GetMapping(value = "/{id}/seats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamScheduleSeats(@PathVariable Long id, HttpServletRequest request) {
+        return seatAvailabilityBroadcaster.subscribeToSchedule(id, request.getRemoteAddr(),
+                () -> List.of(scheduleService.getScheduleById(id)));
+    }
+
+    @GetMapping(value = "/route/{routeId}/seats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamRouteSeats(@PathVariable Long routeId, HttpServletRequest request) {
+        return seatAvailabilityBroadcaster.subscribeToRoute(routeId, request.getRemoteAddr(),
+                () -> scheduleService.getUpcomingSchedulesByRoute(routeId));
+    }
+
+    // Changes on every schedule, for the admin dashboard; no snapshot. Admins only
+    @GetMapping(value = "/seats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAllSeats(HttpServletRequest request) {
+        return seatAvailabilityBroadcaster.subscribeToAll(request.getRemoteAddr());
+    }
+
+    // Arrival predicted from recorded trips on the route at that hour of the week
+    @GetMapping("/{id}/eta")
+    @SqlBudget(10)
+    public EtaPrediction getScheduleEta(@PathVariable Long id) {
+        return scheduleService.predictArrival(id);
+    }
+
     @PatchMapping("/{id}/status")
     public ResponseEntity<?> updateScheduleStatus(@PathVariable Long id, @RequestBody Map<String, String> request) {
         try {
@@ -0,0 +1,29 @@
+package com.busmanagement.BusManagementSystem.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Everything the admin dashboard shows on load. today and lastSevenDays come from the booking rollups;
+// generatedAt tells how old a cached summary is.
+public record DashboardSummary(LocalDateTime generatedAt, Counts counts, RollupTotals today,
+                               List<RollupTotals> lastSevenDays, List<Departure> todaysDepartures,
+                               List<RecentBooking> recentBookings, List<Alert> alerts) {
+
+    public record Counts(long buses, long availableBuses, long routes, long drivers, long availableDrivers,
+                         long passengers, long departuresToday, long bookingsToday) {
+    }
+
+    public record Departure(Long scheduleId, LocalDateTime departureTime, String status, Long busId, String busNumber,
+                            String busType, Integer totalSeats, Integer availableSeats, String source,
+                            String destination, String driverName) {
+    }
+
+    public record RecentBooking(Long bookingId, String bookingNumber, LocalDateTime bookingDate, String passengerName,
+                                String source, String destination, LocalDateTime departureTime, Integer numberOfSeats,
+                                Double totalAmount, String bookingStatus) {
+    }
+
+    // level is danger, warning or info
+    public record Alert(String level, String title, String message) {
+    }
+}
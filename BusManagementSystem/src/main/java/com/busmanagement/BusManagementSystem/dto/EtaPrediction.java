@@ -0,0 +1,9 @@
+package com.busmanagement.BusManagementSystem.dto;
+
+import java.time.LocalDateTime;
+
+// basis: HOUR_OF_WEEK, ROUTE (too few trips at that hour) or PLANNED (no trips recorded for the route yet)
+public record EtaPrediction(Long scheduleId, Long routeId, LocalDateTime departureTime, LocalDateTime plannedArrivalTime,
+                            LocalDateTime predictedArrivalTime, LocalDateTime latestLikelyArrivalTime,
+                            double predictedMinutes, double observedTrips, String basis) {
+}
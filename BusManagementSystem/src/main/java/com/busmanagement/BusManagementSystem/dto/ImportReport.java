@@ -0,0 +1,24 @@
+package com.busmanagement.BusManagementSystem.dto;
+
+import lombok.Data;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ImportReport {
+    private String entity;
+    private long rowsRead;
+    private long rowsImported;
+    private long rowsFailed;
+    private int chunksCommitted;
+    private long elapsedMillis;
+    private double rowsPerSecond;
+    private boolean errorsTruncated;
+    private List<RowError> errors = new ArrayList<>();
+
+    @Data
+    public static class RowError {
+        private final long row;
+        private final String message;
+    }
+}
@@ -0,0 +1,5 @@
+package com.busmanagement.BusManagementSystem.dto;
+
+// A bus found by a proximity search, at its last known position
+public record NearbyBus(long busId, double latitude, double longitude, double distanceKm) {
+}
@@ -0,0 +1,5 @@
+package com.busmanagement.BusManagementSystem.dto;
+
+// A driver found by a proximity search, located by their assigned bus
+public record NearbyDriver(long driverId, String name, String contactNumber, long busId, double distanceKm) {
+}
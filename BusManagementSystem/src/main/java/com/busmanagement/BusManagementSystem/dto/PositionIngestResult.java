@@ -0,0 +1,6 @@
+package com.busmanagement.BusManagementSystem.dto;
+
+// Outcome of one ingested batch: stale pings are older than what the store already holds for the bus,
+// rejected ones have an unknown bus id, coordinates out of range or a timestamp in the future
+public record PositionIngestResult(int accepted, int stale, int rejected) {
+}
@@ -0,0 +1,16 @@
+package com.busmanagement.BusManagementSystem.dto;
+
+import java.time.LocalDate;
+
+// Booking and occupancy totals; serviceDate, routeId and busId are null where the totals span all of them.
+// loadFactor is seats sold over seats offered on the trips that ran.
+public record RollupTotals(LocalDate serviceDate, Long routeId, Long busId, long trips, long seatsOffered,
+                           long bookings, long cancellations, long seatsSold, double revenue, double loadFactor) {
+
+    public static RollupTotals of(LocalDate serviceDate, Long routeId, Long busId, long trips, long seatsOffered,
+                                  long bookings, long cancellations, long seatsSold, double revenue) {
+        double loadFactor = seatsOffered > 0 ? Math.round(seatsSold * 10000.0 / seatsOffered) / 10000.0 : 0;
+        return new RollupTotals(serviceDate, routeId, busId, trips, seatsOffered, bookings, cancellations, seatsSold,
+                Math.round(revenue * 100) / 100.0, loadFactor);
+    }
+}
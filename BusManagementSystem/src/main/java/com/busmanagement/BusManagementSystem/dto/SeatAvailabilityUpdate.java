@@ -0,0 +1,5 @@
+package com.busmanagement.BusManagementSystem.dto;
+
+// Payload of a "seats" event on the seat availability streams
+public record SeatAvailabilityUpdate(Long scheduleId, Long routeId, Integer availableSeats) {
+}
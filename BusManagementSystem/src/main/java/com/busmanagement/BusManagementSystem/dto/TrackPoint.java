@@ -0,0 +1,6 @@
+package com.busmanagement.BusManagementSystem.dto;
+
+// One row of a bus's persisted position track
+public record TrackPoint(long busId, long recordedAtMillis, double latitude, double longitude, float speedKmh,
+                         short heading) {
+}
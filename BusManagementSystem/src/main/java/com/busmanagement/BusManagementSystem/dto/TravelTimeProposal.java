@@ -0,0 +1,6 @@
+package com.busmanagement.BusManagementSystem.dto;
+
+// A route whose recorded trips disagree with its estimatedTravelTime
+public record TravelTimeProposal(Long routeId, String source, String destination, Integer currentMinutes,
+                                 int proposedMinutes, int p90Minutes, double observedTrips) {
+}
@@ -4,7 +4,7 @@ import jakarta.persistence.*;
 import lombok.Data;
 
 @Entity
-@Table(name = "admins")
+@Table(name = "admins", indexes = @Index(name = "idx_admins_email", columnList = "email"))
 @Data
 public class Admin {
     @Id
@@ -0,0 +1,40 @@
+package com.busmanagement.BusManagementSystem.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Catalog entry for one monthly archive table
+@Entity
+@Table(name = "archive_partitions", indexes = @Index(name = "idx_archive_partitions_kind_period", columnList = "kind, periodStart"))
+@Data
+public class ArchivePartition {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(unique = true, nullable = false)
+    private String tableName;
+
+    @Column(nullable = false)
+    private String kind; // SCHEDULES, BOOKINGS
+
+    @Column(nullable = false)
+    private LocalDate periodStart; // first day of the archived month
+
+    @Column(nullable = false)
+    private Long rowCount = 0L;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime lastArchivedAt;
+
+    @PrePersist
+    public void setDefaultValues() {
+        if (this.createdAt == null) {
+            this.createdAt = LocalDateTime.now();
+        }
+    }
+}
@@ -5,7 +5,13 @@ import lombok.Data;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_passenger_date", columnList = "passenger_id, bookingDate"),
+        @Index(name = "idx_bookings_schedule_status", columnList = "schedule_id, bookingStatus"),
+        @Index(name = "idx_bookings_booking_date", columnList = "bookingDate"),
+        @Index(name = "idx_bookings_status_date", columnList = "bookingStatus, bookingDate"),
+        @Index(name = "idx_bookings_payment_status_date", columnList = "paymentStatus, bookingDate")
+})
 @Data
 public class Booking {
     @Id
@@ -1,12 +1,17 @@
 package com.busmanagement.BusManagementSystem.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "buses")
+@Table(name = "buses", indexes = {
+        @Index(name = "idx_buses_current_location", columnList = "currentLocation"),
+        @Index(name = "idx_buses_bus_type", columnList = "busType"),
+        @Index(name = "idx_buses_available_seats", columnList = "isAvailable, availableSeats")
+})
 @Data
 public class Bus {
     @Id
@@ -32,6 +37,13 @@ public class Bus {
     @Column(nullable = false)
     private String currentLocation;
 
+    // Depot position; live positions come from GPS pings and are not written back here
+    private Double latitude;
+
+    private Double longitude;
+
+    // Schedules embed their bus; serializing them back would recurse and tie /api/buses to the timetable
+    @JsonIgnore
     @OneToMany(mappedBy = "bus", cascade = CascadeType.ALL)
     private List<Schedule> schedules = new ArrayList<>();
 
@@ -5,7 +5,10 @@ import lombok.Data;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "drivers")
+@Table(name = "drivers", indexes = {
+        @Index(name = "idx_drivers_email", columnList = "email"),
+        @Index(name = "idx_drivers_available", columnList = "isAvailable")
+})
 @Data
 public class Driver {
     @Id
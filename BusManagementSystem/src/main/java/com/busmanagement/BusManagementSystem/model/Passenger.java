@@ -5,7 +5,7 @@ import lombok.Data;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "passengers")
+@Table(name = "passengers", indexes = @Index(name = "idx_passengers_phone_number", columnList = "phoneNumber"))
 @Data
 public class Passenger {
     @Id
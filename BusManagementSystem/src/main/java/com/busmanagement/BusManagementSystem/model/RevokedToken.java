@@ -0,0 +1,29 @@
+package com.busmanagement.BusManagementSystem.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revokedAt"),
+        @Index(name = "idx_revoked_tokens_expires_at", columnList = "expiresAt")
+})
+@Data
+public class RevokedToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(unique = true)
+    private String tokenId; // null when every token of the subject is revoked
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(nullable = false)
+    private LocalDateTime revokedAt; // UTC
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt; // UTC, the row is useless after this
+}
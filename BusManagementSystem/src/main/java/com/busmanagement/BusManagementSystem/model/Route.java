@@ -1,12 +1,16 @@
 package com.busmanagement.BusManagementSystem.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "routes")
+@Table(name = "routes", indexes = {
+        @Index(name = "idx_routes_source_destination", columnList = "source, destination"),
+        @Index(name = "idx_routes_destination", columnList = "destination")
+})
 @Data
 public class Route {
     @Id
@@ -27,6 +31,17 @@ public class Route {
 
     private String description;
 
+    // Endpoint coordinates, also used to resolve place names in proximity searches
+    private Double sourceLatitude;
+
+    private Double sourceLongitude;
+
+    private Double destinationLatitude;
+
+    private Double destinationLongitude;
+
+    // Left out of the JSON for the same reason as Bus.schedules
+    @JsonIgnore
     @OneToMany(mappedBy = "route", cascade = CascadeType.ALL)
     private List<Schedule> schedules = new ArrayList<>();
 }
\ No newline at end of file
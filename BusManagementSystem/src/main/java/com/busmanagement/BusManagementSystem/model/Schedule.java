@@ -5,7 +5,13 @@ import lombok.Data;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "schedules")
+@Table(name = "schedules", indexes = {
+        @Index(name = "idx_schedules_departure_seats", columnList = "departureTime, availableSeats"),
+        @Index(name = "idx_schedules_route_departure", columnList = "route_id, departureTime"),
+        @Index(name = "idx_schedules_status_departure", columnList = "status, departureTime"),
+        @Index(name = "idx_schedules_bus_departure", columnList = "bus_id, departureTime"),
+        @Index(name = "idx_schedules_driver_departure", columnList = "driver_id, departureTime")
+})
 @Data
 public class Schedule {
     @Id
@@ -37,6 +43,11 @@ public class Schedule {
 
     private String status = "SCHEDULED"; // SCHEDULED, DEPARTED, ARRIVED, CANCELLED
 
+    // Set by the DEPARTED and ARRIVED status changes
+    private LocalDateTime actualDepartureTime;
+
+    private LocalDateTime actualArrivalTime;
+
     @PrePersist
     @PreUpdate
     public void calculateFare() {
@@ -0,0 +1,15 @@
+package com.busmanagement.BusManagementSystem.repository;
+
+import com.busmanagement.BusManagementSystem.model.ArchivePartition;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchivePartitionRepository extends JpaRepository<ArchivePartition, Long> {
+    Optional<ArchivePartition> findByTableName(String tableName);
+    List<ArchivePartition> findByKindOrderByPeriodStart(String kind);
+    List<ArchivePartition> findByKindAndPeriodStartBetweenOrderByPeriodStart(String kind, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,174 @@
+package com.busmanagement.BusManagementSystem.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+// Plain JDBC access to the monthly archive tables. Table names are generated here and checked
+// against a fixed pattern before they are put into SQL, since they cannot be bound as parameters.
+@Repository
+public class ArchiveRepository {
+
+    public static final String SCHEDULES = "schedules";
+    public static final String BOOKINGS = "bookings";
+
+    private static final Pattern TABLE_NAME = Pattern.compile("(schedules|bookings)_archive_\\d{4}_\\d{2}");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private final Map<String, List<String>> columnLists = new ConcurrentHashMap<>();
+
+    public static String tableName(String kind, YearMonth month) {
+        return String.format("%s_archive_%04d_%02d", kind, month.getYear(), month.getMonthValue());
+    }
+
+    // Ids of completed schedules that departed before the cutoff, oldest first
+    public List<Long> findArchivableScheduleIds(LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM schedules WHERE status IN ('ARRIVED', 'CANCELLED') AND departure_time < ? "
+                + "ORDER BY departure_time LIMIT ?", Long.class, cutoff, limit);
+    }
+
+    public List<Map<String, Object>> findScheduleMonths(Collection<Long> scheduleIds) {
+        return namedParameterJdbcTemplate.queryForList(
+                "SELECT id, departure_time FROM schedules WHERE id IN (:ids)", new MapSqlParameterSource("ids", scheduleIds));
+    }
+
+    // Safe to run again after a partial failure: the table and each index are only created when missing
+    public void createArchiveTable(String kind, String table) {
+        checkTableName(table);
+        // Copies the column definitions only; keys and indexes are added separately so the
+        // statement works the same on MySQL and H2
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + table + " AS SELECT * FROM " + kind + " WHERE 1=0");
+        // MySQL has no CREATE INDEX IF NOT EXISTS, so the existing ones are read from the metadata
+        Set<String> indexes = indexNames(table);
+        if (SCHEDULES.equals(kind)) {
+            createIndex(indexes, table, "id", "id");
+            createIndex(indexes, table, "departure", "departure_time");
+        } else {
+            createIndex(indexes, table, "passenger", "passenger_id");
+            createIndex(indexes, table, "schedule", "schedule_id");
+            createIndex(indexes, table, "date", "booking_date");
+        }
+    }
+
+    private void createIndex(Set<String> existing, String table, String suffix, String column) {
+        String name = "idx_" + table + "_" + suffix;
+        if (!existing.contains(name)) {
+            jdbcTemplate.execute("CREATE INDEX " + name + " ON " + table + " (" + column + ")");
+        }
+    }
+
+    private Set<String> indexNames(String table) {
+        return jdbcTemplate.execute((ConnectionCallback<Set<String>>) con -> {
+            Set<String> names = new HashSet<>();
+            try (ResultSet rs = con.getMetaData().getIndexInfo(con.getCatalog(), null, table, false, true)) {
+                while (rs.next()) {
+                    String name = rs.getString("INDEX_NAME");
+                    if (name != null) {
+                        names.add(name.toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+            return names;
+        });
+    }
+
+    // Copies the schedules and their bookings into the archive tables, then deletes them from the
+    // live tables. Must run inside one transaction. Returns {schedules moved, bookings moved}.
+    public int[] moveSchedules(Collection<Long> scheduleIds, String scheduleTable, String bookingTable) {
+        checkTableName(scheduleTable);
+        checkTableName(bookingTable);
+        MapSqlParameterSource ids = new MapSqlParameterSource("ids", scheduleIds);
+        String bookingColumns = columnList(bookingTable);
+        String scheduleColumns = columnList(scheduleTable);
+
+        int bookings = namedParameterJdbcTemplate.update("INSERT INTO " + bookingTable + " (" + bookingColumns + ") "
+                + "SELECT " + bookingColumns + " FROM bookings WHERE schedule_id IN (:ids)", ids);
+        int schedules = namedParameterJdbcTemplate.update("INSERT INTO " + scheduleTable + " (" + scheduleColumns + ") "
+                + "SELECT " + scheduleColumns + " FROM schedules WHERE id IN (:ids)", ids);
+        namedParameterJdbcTemplate.update("DELETE FROM bookings WHERE schedule_id IN (:ids)", ids);
+        namedParameterJdbcTemplate.update("DELETE FROM schedules WHERE id IN (:ids)", ids);
+        return new int[] {schedules, bookings};
+    }
+
+    public List<Map<String, Object>> findSchedules(List<String> tables, LocalDateTime start, LocalDateTime end) {
+        return union(SCHEDULES, tables, "departure_time BETWEEN :start AND :end",
+                new MapSqlParameterSource("start", start).addValue("end", end));
+    }
+
+    public List<Map<String, Object>> findSchedulesByIds(List<String> tables, Collection<Long> ids) {
+        return union(SCHEDULES, tables, "id IN (:ids)", new MapSqlParameterSource("ids", ids));
+    }
+
+    public List<Map<String, Object>> findBookingsByPassenger(List<String> tables, Long passengerId) {
+        return union(BOOKINGS, tables, "passenger_id = :passengerId", new MapSqlParameterSource("passengerId", passengerId));
+    }
+
+    public List<Map<String, Object>> findBookingsBetweenDates(List<String> tables, LocalDateTime start, LocalDateTime end) {
+        return union(BOOKINGS, tables, "booking_date BETWEEN :start AND :end",
+                new MapSqlParameterSource("start", start).addValue("end", end));
+    }
+
+    // Every branch selects the live table's columns in the same order. Archive tables created before the
+    // live table gained a column return NULL for it, so old and new months can be read together.
+    private List<Map<String, Object>> union(String kind, List<String> tables, String condition, MapSqlParameterSource params) {
+        if (tables.isEmpty()) {
+            return List.of();
+        }
+        List<String> liveColumns = columns(kind);
+        List<String> selects = new ArrayList<>(tables.size());
+        for (String table : tables) {
+            checkTableName(table);
+            List<String> archived = columns(table);
+            List<String> select = new ArrayList<>(liveColumns.size());
+            for (String column : liveColumns) {
+                select.add(archived.contains(column) ? column : "NULL AS " + column);
+            }
+            selects.add("SELECT " + String.join(", ", select) + " FROM " + table + " WHERE " + condition);
+        }
+        return namedParameterJdbcTemplate.queryForList(String.join(" UNION ALL ", selects), params);
+    }
+
+    // Column names of the archive table, so rows keep lining up if the live table later gains columns
+    private String columnList(String table) {
+        return String.join(", ", columns(table));
+    }
+
+    private List<String> columns(String table) {
+        return columnLists.computeIfAbsent(table, t -> jdbcTemplate.query("SELECT * FROM " + t + " WHERE 1=0", rs -> {
+            ResultSetMetaData metaData = rs.getMetaData();
+            List<String> columns = new ArrayList<>();
+            for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                columns.add(metaData.getColumnName(i).toLowerCase());
+            }
+            return columns;
+        }));
+    }
+
+    private static void checkTableName(String table) {
+        if (!TABLE_NAME.matcher(table).matches()) {
+            throw new IllegalArgumentException("Not an archive table: " + table);
+        }
+    }
+}
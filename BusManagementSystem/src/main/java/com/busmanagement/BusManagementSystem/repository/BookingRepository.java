@@ -1,6 +1,7 @@
 package com.busmanagement.BusManagementSystem.repository;
 
 import com.busmanagement.BusManagementSystem.model.Booking;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -11,8 +12,14 @@ import java.util.Optional;
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
     Optional<Booking> findByBookingNumber(String bookingNumber);
+
+    // Explicit queries: the derived findByXxxId forms left join the parent table and scan bookings
+    @Query("SELECT b FROM Booking b WHERE b.passenger.id = :passengerId")
     List<Booking> findByPassengerId(Long passengerId);
+
+    @Query("SELECT b FROM Booking b WHERE b.schedule.id = :scheduleId")
     List<Booking> findByScheduleId(Long scheduleId);
+
     List<Booking> findByBookingStatus(String bookingStatus);
     List<Booking> findByPaymentStatus(String paymentStatus);
     
@@ -21,4 +28,14 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     
     @Query("SELECT COUNT(b) FROM Booking b WHERE b.schedule.id = :scheduleId AND b.bookingStatus = 'CONFIRMED'")
     Integer countConfirmedBookingsBySchedule(Long scheduleId);
+
+    @Query("SELECT COUNT(b) FROM Booking b WHERE b.bookingDate >= :start AND b.bookingDate < :end")
+    long countBookedBetween(LocalDateTime start, LocalDateTime end);
+
+    // booking id, number, date, passenger first and last name, source, destination, departure, seats,
+    // amount, status of the latest bookings, newest first
+    @Query("SELECT b.id, b.bookingNumber, b.bookingDate, p.firstName, p.lastName, r.source, r.destination, s.departureTime, "
+            + "b.numberOfSeats, b.totalAmount, b.bookingStatus FROM Booking b JOIN b.passenger p JOIN b.schedule s JOIN s.route r "
+            + "WHERE b.bookingDate >= :since ORDER BY b.bookingDate DESC")
+    List<Object[]> findRecentBookingRows(LocalDateTime since, Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,155 @@
+package com.busmanagement.BusManagementSystem.repository;
+
+import com.busmanagement.BusManagementSystem.dto.RollupTotals;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Plain JDBC for booking_rollups: rows are upserted with deltas, replaced a day at a time by rebuilds
+// and only ever read as sums, so there is no entity behind them
+@Repository
+public class BookingRollupRepository {
+
+    private static final String TOTALS = "SUM(trips), SUM(seats_offered), SUM(bookings), SUM(cancellations), "
+            + "SUM(seats_sold), SUM(revenue)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Adds each row's counts to the stored row, creating it when missing
+    public void addDeltas(List<RollupTotals> deltas) {
+        jdbcTemplate.batchUpdate("INSERT INTO booking_rollups (service_date, route_id, bus_id, trips, seats_offered, "
+                + "bookings, cancellations, seats_sold, revenue) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) "
+                + "ON DUPLICATE KEY UPDATE trips = trips + ?, seats_offered = seats_offered + ?, bookings = bookings + ?, "
+                + "cancellations = cancellations + ?, seats_sold = seats_sold + ?, revenue = revenue + ?",
+                deltas, deltas.size(), (statement, delta) -> {
+                    statement.setDate(1, Date.valueOf(delta.serviceDate()));
+                    statement.setLong(2, delta.routeId());
+                    statement.setLong(3, delta.busId());
+                    for (int offset : new int[] {4, 10}) {
+                        statement.setLong(offset, delta.trips());
+                        statement.setLong(offset + 1, delta.seatsOffered());
+                        statement.setLong(offset + 2, delta.bookings());
+                        statement.setLong(offset + 3, delta.cancellations());
+                        statement.setLong(offset + 4, delta.seatsSold());
+                        statement.setDouble(offset + 5, delta.revenue());
+                    }
+                });
+    }
+
+    // Recomputes one service date from the live schedules and bookings: one pass for the trips, one
+    // for their bookings, both driven by the schedules' departure-time index
+    public List<RollupTotals> aggregateDay(LocalDate serviceDate) {
+        Timestamp start = Timestamp.valueOf(serviceDate.atStartOfDay());
+        Timestamp end = Timestamp.valueOf(serviceDate.plusDays(1).atStartOfDay());
+        Map<List<Long>, long[]> trips = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT s.route_id, s.bus_id, COUNT(*), SUM(b.total_seats) FROM schedules s "
+                + "JOIN buses b ON b.id = s.bus_id WHERE s.departure_time >= ? AND s.departure_time < ? "
+                + "AND s.status <> 'CANCELLED' GROUP BY s.route_id, s.bus_id", resultSet -> {
+            trips.put(List.of(resultSet.getLong(1), resultSet.getLong(2)), new long[] {resultSet.getLong(3), resultSet.getLong(4)});
+        }, start, end);
+
+        Map<List<Long>, RollupTotals> rows = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT s.route_id, s.bus_id, COUNT(*), "
+                + "SUM(CASE WHEN k.booking_status = 'CANCELLED' THEN 1 ELSE 0 END), "
+                + "SUM(CASE WHEN k.booking_status = 'CANCELLED' THEN 0 ELSE k.number_of_seats END), "
+                + "SUM(CASE WHEN k.booking_status = 'CANCELLED' THEN 0 ELSE k.total_amount END) "
+                + "FROM schedules s JOIN bookings k ON k.schedule_id = s.id "
+                + "WHERE s.departure_time >= ? AND s.departure_time < ? GROUP BY s.route_id, s.bus_id", resultSet -> {
+            List<Long> key = List.of(resultSet.getLong(1), resultSet.getLong(2));
+            long[] ran = trips.remove(key);
+            rows.put(key, new RollupTotals(serviceDate, key.get(0), key.get(1), ran != null ? ran[0] : 0,
+                    ran != null ? ran[1] : 0, resultSet.getLong(3), resultSet.getLong(4), resultSet.getLong(5),
+                    resultSet.getDouble(6), 0));
+        }, start, end);
+        trips.forEach((key, ran) -> rows.put(key,
+                new RollupTotals(serviceDate, key.get(0), key.get(1), ran[0], ran[1], 0, 0, 0, 0, 0)));
+        return new ArrayList<>(rows.values());
+    }
+
+    // Call inside a transaction so readers never see the day half replaced
+    public void replaceDay(LocalDate serviceDate, List<RollupTotals> rows) {
+        jdbcTemplate.update("DELETE FROM booking_rollups WHERE service_date = ?", Date.valueOf(serviceDate));
+        jdbcTemplate.batchUpdate("INSERT INTO booking_rollups (service_date, route_id, bus_id, trips, seats_offered, "
+                + "bookings, cancellations, seats_sold, revenue) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                rows, 1000, (statement, row) -> {
+                    statement.setDate(1, Date.valueOf(serviceDate));
+                    statement.setLong(2, row.routeId());
+                    statement.setLong(3, row.busId());
+                    statement.setLong(4, row.trips());
+                    statement.setLong(5, row.seatsOffered());
+                    statement.setLong(6, row.bookings());
+                    statement.setLong(7, row.cancellations());
+                    statement.setLong(8, row.seatsSold());
+                    statement.setDouble(9, row.revenue());
+                });
+    }
+
+    // First and last departure date in the live schedules, or null when there are none
+    public LocalDate[] scheduleDateRange() {
+        return jdbcTemplate.queryForObject("SELECT MIN(departure_time), MAX(departure_time) FROM schedules",
+                (resultSet, rowNum) -> {
+                    Timestamp first = resultSet.getTimestamp(1);
+                    Timestamp last = resultSet.getTimestamp(2);
+                    return first == null ? null
+                            : new LocalDate[] {first.toLocalDateTime().toLocalDate(), last.toLocalDateTime().toLocalDate()};
+                });
+    }
+
+    public boolean isEmpty() {
+        return jdbcTemplate.queryForList("SELECT 1 FROM booking_rollups LIMIT 1").isEmpty();
+    }
+
+    // Totals per service date, optionally for one route and/or one bus
+    public List<RollupTotals> findDailyTotals(LocalDate from, LocalDate to, Long routeId, Long busId) {
+        StringBuilder sql = new StringBuilder("SELECT service_date, " + TOTALS
+                + " FROM booking_rollups WHERE service_date >= ? AND service_date <= ?");
+        List<Object> args = new ArrayList<>(List.of(Date.valueOf(from), Date.valueOf(to)));
+        if (routeId != null) {
+            sql.append(" AND route_id = ?");
+            args.add(routeId);
+        }
+        if (busId != null) {
+            sql.append(" AND bus_id = ?");
+            args.add(busId);
+        }
+        sql.append(" GROUP BY service_date ORDER BY service_date");
+        return jdbcTemplate.query(sql.toString(), totals(rs -> rs.getDate(1).toLocalDate(), rs -> routeId, rs -> busId),
+                args.toArray());
+    }
+
+    // Top routes by revenue over the range
+    public List<RollupTotals> findRouteTotals(LocalDate from, LocalDate to, int limit) {
+        return jdbcTemplate.query("SELECT route_id, " + TOTALS + " FROM booking_rollups "
+                        + "WHERE service_date >= ? AND service_date <= ? GROUP BY route_id ORDER BY SUM(revenue) DESC LIMIT ?",
+                totals(rs -> null, rs -> rs.getLong(1), rs -> null), Date.valueOf(from), Date.valueOf(to), limit);
+    }
+
+    // Top buses by revenue over the range
+    public List<RollupTotals> findBusTotals(LocalDate from, LocalDate to, int limit) {
+        return jdbcTemplate.query("SELECT bus_id, " + TOTALS + " FROM booking_rollups "
+                        + "WHERE service_date >= ? AND service_date <= ? GROUP BY bus_id ORDER BY SUM(revenue) DESC LIMIT ?",
+                totals(rs -> null, rs -> null, rs -> rs.getLong(1)), Date.valueOf(from), Date.valueOf(to), limit);
+    }
+
+    private interface Column<T> {
+        T read(ResultSet resultSet) throws SQLException;
+    }
+
+    // The six sums always follow the one grouping column
+    private static RowMapper<RollupTotals> totals(Column<LocalDate> serviceDate, Column<Long> routeId, Column<Long> busId) {
+        return (resultSet, rowNum) -> RollupTotals.of(serviceDate.read(resultSet), routeId.read(resultSet),
+                busId.read(resultSet), resultSet.getLong(2), resultSet.getLong(3), resultSet.getLong(4),
+                resultSet.getLong(5), resultSet.getLong(6), resultSet.getDouble(7));
+    }
+}
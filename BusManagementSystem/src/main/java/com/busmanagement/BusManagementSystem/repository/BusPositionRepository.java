@@ -0,0 +1,29 @@
+package com.busmanagement.BusManagementSystem.repository;
+
+import com.busmanagement.BusManagementSystem.dto.TrackPoint;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import java.sql.Timestamp;
+import java.util.List;
+
+// Plain JDBC for the down-sampled position track: rows are only ever appended in batches and read
+// back by bus and time, so there is no entity behind them
+@Repository
+public class BusPositionRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void insertBatch(List<TrackPoint> points) {
+        jdbcTemplate.batchUpdate("INSERT INTO bus_positions (bus_id, recorded_at, latitude, longitude, speed_kmh, heading) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", points, points.size(), (statement, point) -> {
+            statement.setLong(1, point.busId());
+            statement.setTimestamp(2, new Timestamp(point.recordedAtMillis()));
+            statement.setDouble(3, point.latitude());
+            statement.setDouble(4, point.longitude());
+            statement.setFloat(5, point.speedKmh());
+            statement.setShort(6, point.heading());
+        });
+    }
+}
@@ -18,4 +18,10 @@ public interface BusRepository extends JpaRepository<Bus, Long> {
     List<Bus> findAvailableBusesWithSeats();
     
     boolean existsByBusNumber(String busNumber);
+
+    long countByIsAvailableTrue();
+
+    // id, latitude, longitude, isAvailable for the spatial index; the whole fleet without hydrating entities
+    @Query("SELECT b.id, b.latitude, b.longitude, b.isAvailable FROM Bus b WHERE b.latitude IS NOT NULL AND b.longitude IS NOT NULL")
+    List<Object[]> findAllCoordinates();
 }
\ No newline at end of file
@@ -2,7 +2,9 @@ package com.busmanagement.BusManagementSystem.repository;
 
 import com.busmanagement.BusManagementSystem.model.Driver;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,7 +12,15 @@ import java.util.Optional;
 public interface DriverRepository extends JpaRepository<Driver, Long> {
     Optional<Driver> findByLicenseNumber(String licenseNumber);
     List<Driver> findByIsAvailableTrue();
+    long countByIsAvailableTrue();
+
+    // Explicit query: the derived form left joins buses and scans drivers
+    @Query("SELECT d FROM Driver d WHERE d.assignedBus.id = :busId")
     Optional<Driver> findByAssignedBusId(Long busId);
+
+    @Query("SELECT d FROM Driver d WHERE d.assignedBus.id IN :busIds")
+    List<Driver> findByAssignedBusIdIn(Collection<Long> busIds);
+
     boolean existsByLicenseNumber(String licenseNumber);
     boolean existsByEmail(String email);
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.busmanagement.BusManagementSystem.repository;
+
+import com.busmanagement.BusManagementSystem.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+    List<RevokedToken> findByRevokedAtAfterAndExpiresAtAfter(LocalDateTime revokedAfter, LocalDateTime expiresAfter);
+
+    @Transactional
+    long deleteByExpiresAtBefore(LocalDateTime cutoff);
+
+    Optional<RevokedToken> findByTokenId(String tokenId);
+}
@@ -18,4 +18,9 @@ public interface RouteRepository extends JpaRepository<Route, Long> {
     
     @Query("SELECT DISTINCT r.destination FROM Route r")
     List<String> findAllUniqueDestinations();
+
+    // source, its latitude and longitude, then the same for the destination
+    @Query("SELECT r.source, r.sourceLatitude, r.sourceLongitude, r.destination, r.destinationLatitude, r.destinationLongitude "
+            + "FROM Route r")
+    List<Object[]> findAllEndpointCoordinates();
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.busmanagement.BusManagementSystem.repository;
 
 import com.busmanagement.BusManagementSystem.model.Schedule;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -9,9 +10,16 @@ import java.util.List;
 
 @Repository
 public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
+    // Explicit queries: the derived findByXxxId forms left join the parent table and scan schedules
+    @Query("SELECT s FROM Schedule s WHERE s.bus.id = :busId")
     List<Schedule> findByBusId(Long busId);
+
+    @Query("SELECT s FROM Schedule s WHERE s.route.id = :routeId")
     List<Schedule> findByRouteId(Long routeId);
+
+    @Query("SELECT s FROM Schedule s WHERE s.driver.id = :driverId")
     List<Schedule> findByDriverId(Long driverId);
+
     List<Schedule> findByStatus(String status);
     
     @Query("SELECT s FROM Schedule s WHERE s.departureTime BETWEEN :start AND :end")
@@ -21,4 +29,36 @@ public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
     List<Schedule> findAvailableSchedules(String source, String destination, LocalDateTime departureTime);
     
     List<Schedule> findByDepartureTimeAfterAndAvailableSeatsGreaterThan(LocalDateTime departureTime, Integer availableSeats);
+
+    // Seats only, so the metrics refresh does not load the bus, route and driver of every row
+    @Query("SELECT s.availableSeats FROM Schedule s WHERE s.status = :status AND s.departureTime > :departureTime ORDER BY s.departureTime")
+    List<Integer> findUpcomingAvailableSeats(String status, LocalDateTime departureTime, Pageable pageable);
+
+    // route id, actual departure, actual arrival of the trips the travel-time model is rebuilt from
+    @Query("SELECT s.route.id, s.actualDepartureTime, s.actualArrivalTime FROM Schedule s WHERE s.status = :status "
+            + "AND s.departureTime >= :departedAfter AND s.actualDepartureTime IS NOT NULL AND s.actualArrivalTime IS NOT NULL "
+            + "ORDER BY s.actualArrivalTime")
+    List<Object[]> findCompletedTripTimes(String status, LocalDateTime departedAfter);
+
+    // Dashboard counts, all ranges over the departure-time indexes
+    @Query("SELECT COUNT(s) FROM Schedule s WHERE s.departureTime >= :start AND s.departureTime < :end")
+    long countDepartures(LocalDateTime start, LocalDateTime end);
+
+    @Query("SELECT COUNT(s) FROM Schedule s WHERE s.status = :status AND s.departureTime >= :start AND s.departureTime < :end")
+    long countDeparturesByStatus(String status, LocalDateTime start, LocalDateTime end);
+
+    @Query("SELECT COUNT(s) FROM Schedule s WHERE s.departureTime >= :start AND s.departureTime < :end "
+            + "AND s.availableSeats <= :seats AND s.status <> 'CANCELLED'")
+    long countNearlyFullDepartures(LocalDateTime start, LocalDateTime end, Integer seats);
+
+    @Query("SELECT COUNT(s) FROM Schedule s WHERE s.departureTime >= :start AND s.departureTime < :end "
+            + "AND s.driver IS NULL AND s.status <> 'CANCELLED'")
+    long countDeparturesWithoutDriver(LocalDateTime start, LocalDateTime end);
+
+    // schedule id, departure, status, bus id, bus number, bus type, total seats, available seats, source,
+    // destination, driver name: one row a departure instead of four entities
+    @Query("SELECT s.id, s.departureTime, s.status, b.id, b.busNumber, b.busType, b.totalSeats, s.availableSeats, "
+            + "r.source, r.destination, d.name FROM Schedule s JOIN s.bus b JOIN s.route r LEFT JOIN s.driver d "
+            + "WHERE s.departureTime >= :start AND s.departureTime < :end ORDER BY s.departureTime")
+    List<Object[]> findDepartureRows(LocalDateTime start, LocalDateTime end, Pageable pageable);
 }
\ No newline at end of file
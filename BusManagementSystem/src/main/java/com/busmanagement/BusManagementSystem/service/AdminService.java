@@ -3,14 +3,18 @@ package com.busmanagement.BusManagementSystem.service;
 import com.busmanagement.BusManagementSystem.model.Admin;
 import com.busmanagement.BusManagementSystem.repository.AdminRepository;
 import com.busmanagement.BusManagementSystem.exception.ResourceNotFoundException;
+import com.busmanagement.BusManagementSystem.service.UniqueKeyFilter.Key;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@Transactional
 public class AdminService {
 
     @Autowired
@@ -19,24 +23,34 @@ public class AdminService {
     @Autowired
     private PasswordEncoder passwordEncoder; // Use autowired encoder only
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private UniqueKeyFilter uniqueKeyFilter;
+
     // Get all admins
+    @Transactional(readOnly = true)
     public List<Admin> getAllAdmins() {
         return adminRepository.findAll();
     }
 
     // Get admin by ID
+    @Transactional(readOnly = true)
     public Admin getAdminById(Long id) {
         return adminRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Admin not found with id: " + id));
     }
 
     // Get admin by username
+    @Transactional(readOnly = true)
     public Admin getAdminByUsername(String username) {
         return adminRepository.findByUsername(username)
                 .orElseThrow(() -> new ResourceNotFoundException("Admin not found with username: " + username));
     }
 
     // Get admin by username or email
+    @Transactional(readOnly = true)
     public Admin getAdminByIdentifier(String identifier) {
         return adminRepository.findByUsername(identifier)
                 .or(() -> adminRepository.findByEmail(identifier))
@@ -45,7 +59,7 @@ public class AdminService {
 
     // Create new admin
     public Admin createAdmin(Admin admin) {
-        if (adminRepository.existsByUsername(admin.getUsername())) {
+        if (uniqueKeyFilter.exists(Key.ADMIN_USERNAME, admin.getUsername(), adminRepository::existsByUsername)) {
             throw new RuntimeException("Username already exists");
         }
         if (adminRepository.existsByEmail(admin.getEmail())) {
@@ -54,7 +68,18 @@ public class AdminService {
 
         // Encrypt password
         admin.setPassword(passwordEncoder.encode(admin.getPassword()));
-        return adminRepository.save(admin);
+        Admin saved;
+        try {
+            saved = adminRepository.save(admin);
+        } catch (DataIntegrityViolationException e) {
+            // Taken on another node since the filter's last sync
+            if (UniqueKeyFilter.violates(e, "uk_admins_username")) {
+                throw new RuntimeException("Username already exists");
+            }
+            throw e;
+        }
+        uniqueKeyFilter.add(Key.ADMIN_USERNAME, saved.getUsername());
+        return saved;
     }
 
     // Update existing admin
@@ -75,9 +100,12 @@ public class AdminService {
     public void deleteAdmin(Long id) {
         Admin admin = getAdminById(id);
         adminRepository.delete(admin);
+        // Outstanding tokens would otherwise stay valid until they expire
+        tokenRevocationService.revokeSubject(admin.getUsername());
     }
 
     // Validate admin login
+    @Transactional(readOnly = true)
     public boolean validateAdmin(String username, String password) {
         Optional<Admin> adminOpt = adminRepository.findByUsername(username);
         if (adminOpt.isPresent()) {
@@ -0,0 +1,20 @@
+package com.busmanagement.BusManagementSystem.service;
+
+import com.busmanagement.BusManagementSystem.model.Admin;
+import org.springframework.security.core.userdetails.User;
+import java.util.ArrayList;
+
+// Carries the loaded Admin through authentication so callers don't have to query it again
+public class AdminUserDetails extends User {
+
+    private final Admin admin;
+
+    public AdminUserDetails(Admin admin) {
+        super(admin.getUsername(), admin.getPassword(), new ArrayList<>());
+        this.admin = admin;
+    }
+
+    public Admin getAdmin() {
+        return admin;
+    }
+}
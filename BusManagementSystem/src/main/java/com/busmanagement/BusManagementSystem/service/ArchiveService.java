@@ -0,0 +1,261 @@
+package com.busmanagement.BusManagementSystem.service;
+
+import com.busmanagement.BusManagementSystem.model.ArchivePartition;
+import com.busmanagement.BusManagementSystem.model.Booking;
+import com.busmanagement.BusManagementSystem.model.Bus;
+import com.busmanagement.BusManagementSystem.model.Driver;
+import com.busmanagement.BusManagementSystem.model.Passenger;
+import com.busmanagement.BusManagementSystem.model.Route;
+import com.busmanagement.BusManagementSystem.model.Schedule;
+import com.busmanagement.BusManagementSystem.repository.ArchivePartitionRepository;
+import com.busmanagement.BusManagementSystem.repository.ArchiveRepository;
+import com.busmanagement.BusManagementSystem.repository.BusRepository;
+import com.busmanagement.BusManagementSystem.repository.DriverRepository;
+import com.busmanagement.BusManagementSystem.repository.PassengerRepository;
+import com.busmanagement.BusManagementSystem.repository.RouteRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+// Moves ARRIVED/CANCELLED schedules older than the horizon, together with their bookings, into
+// monthly archive tables so the live tables only hold recent and upcoming trips. Work is done in
+// small batches with a pause in between to keep lock time and replication lag low.
+@Service
+public class ArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArchiveService.class);
+
+    @Autowired
+    private ArchiveRepository archiveRepository;
+
+    @Autowired
+    private ArchivePartitionRepository archivePartitionRepository;
+
+    @Autowired
+    private PassengerRepository passengerRepository;
+
+    @Autowired
+    private BusRepository busRepository;
+
+    @Autowired
+    private RouteRepository routeRepository;
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${archive.enabled:true}")
+    private boolean enabled;
+
+    @Value("${archive.horizon-days:90}")
+    private int horizonDays;
+
+    @Value("${archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${archive.batch-pause-ms:200}")
+    private long batchPauseMillis;
+
+    @Value("${archive.max-batches-per-run:200}")
+    private int maxBatchesPerRun;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Scheduled(initialDelayString = "${archive.initial-delay-ms:600000}", fixedDelayString = "${archive.interval-ms:3600000}")
+    public void scheduledArchive() {
+        if (enabled) {
+            archiveOlderThan(LocalDateTime.now().minusDays(horizonDays));
+        }
+    }
+
+    // Returns the number of schedules moved
+    public int archiveOlderThan(LocalDateTime cutoff) {
+        if (!running.compareAndSet(false, true)) {
+            logger.info("Archival already running, skipping");
+            return 0;
+        }
+        int moved = 0;
+        int bookings = 0;
+        try {
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                List<Long> ids = archiveRepository.findArchivableScheduleIds(cutoff, batchSize);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                for (Map.Entry<YearMonth, List<Long>> month : groupByMonth(ids).entrySet()) {
+                    ArchivePartition schedulePartition = partition(ArchiveRepository.SCHEDULES, month.getKey());
+                    ArchivePartition bookingPartition = partition(ArchiveRepository.BOOKINGS, month.getKey());
+                    int[] counts = transaction.execute(status -> {
+                        int[] result = archiveRepository.moveSchedules(month.getValue(),
+                                schedulePartition.getTableName(), bookingPartition.getTableName());
+                        record(schedulePartition, result[0]);
+                        record(bookingPartition, result[1]);
+                        return result;
+                    });
+                    moved += counts[0];
+                    bookings += counts[1];
+                }
+                if (ids.size() < batchSize) {
+                    break;
+                }
+                Thread.sleep(batchPauseMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            running.set(false);
+        }
+        if (moved > 0) {
+            logger.info("Archived {} schedules and {} bookings older than {}", moved, bookings, cutoff);
+        }
+        return moved;
+    }
+
+    public List<ArchivePartition> getPartitions() {
+        return archivePartitionRepository.findAll();
+    }
+
+    public List<Schedule> findArchivedSchedules(LocalDateTime start, LocalDateTime end) {
+        List<String> tables = tables(archivePartitionRepository.findByKindAndPeriodStartBetweenOrderByPeriodStart(
+                ArchiveRepository.SCHEDULES, YearMonth.from(start).atDay(1), YearMonth.from(end).atDay(1)));
+        return toSchedules(archiveRepository.findSchedules(tables, start, end));
+    }
+
+    public List<Booking> findArchivedBookingsByPassenger(Long passengerId) {
+        return toBookings(archiveRepository.findBookingsByPassenger(bookingTables(), passengerId));
+    }
+
+    public List<Booking> findArchivedBookingsBetweenDates(LocalDateTime start, LocalDateTime end) {
+        // Bookings are filed under their schedule's month, which can be later than the booking date
+        return toBookings(archiveRepository.findBookingsBetweenDates(bookingTables(), start, end));
+    }
+
+    private Map<YearMonth, List<Long>> groupByMonth(List<Long> ids) {
+        Map<YearMonth, List<Long>> months = new TreeMap<>();
+        for (Map<String, Object> row : archiveRepository.findScheduleMonths(ids)) {
+            YearMonth month = YearMonth.from(toDateTime(row.get("departure_time")));
+            months.computeIfAbsent(month, m -> new ArrayList<>()).add(((Number) row.get("id")).longValue());
+        }
+        return months;
+    }
+
+    private ArchivePartition partition(String kind, YearMonth month) {
+        String table = ArchiveRepository.tableName(kind, month);
+        return archivePartitionRepository.findByTableName(table).orElseGet(() -> {
+            archiveRepository.createArchiveTable(kind, table);
+            ArchivePartition partition = new ArchivePartition();
+            partition.setTableName(table);
+            partition.setKind(kind);
+            partition.setPeriodStart(month.atDay(1));
+            return archivePartitionRepository.save(partition);
+        });
+    }
+
+    private void record(ArchivePartition partition, int rows) {
+        partition.setRowCount(partition.getRowCount() + rows);
+        partition.setLastArchivedAt(LocalDateTime.now());
+        archivePartitionRepository.save(partition);
+    }
+
+    private List<String> bookingTables() {
+        return tables(archivePartitionRepository.findByKindOrderByPeriodStart(ArchiveRepository.BOOKINGS));
+    }
+
+    private static List<String> tables(List<ArchivePartition> partitions) {
+        return partitions.stream().map(ArchivePartition::getTableName).toList();
+    }
+
+    private List<Booking> toBookings(List<Map<String, Object>> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        List<Long> scheduleIds = rows.stream().map(row -> id(row, "schedule_id")).distinct().toList();
+        Map<Long, Schedule> schedules = new HashMap<>();
+        List<String> scheduleTables = tables(archivePartitionRepository.findByKindOrderByPeriodStart(ArchiveRepository.SCHEDULES));
+        for (Schedule schedule : toSchedules(archiveRepository.findSchedulesByIds(scheduleTables, scheduleIds))) {
+            schedules.put(schedule.getId(), schedule);
+        }
+        Map<Long, Passenger> passengers = new HashMap<>();
+
+        List<Booking> bookings = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            Booking booking = new Booking();
+            booking.setId(id(row, "id"));
+            booking.setBookingNumber((String) row.get("booking_number"));
+            booking.setPassenger(lookup(passengers, id(row, "passenger_id"), id -> passengerRepository.findById(id).orElse(null)));
+            booking.setSchedule(schedules.get(id(row, "schedule_id")));
+            booking.setNumberOfSeats(((Number) row.get("number_of_seats")).intValue());
+            booking.setTotalAmount(((Number) row.get("total_amount")).doubleValue());
+            booking.setPaymentStatus((String) row.get("payment_status"));
+            booking.setBookingStatus((String) row.get("booking_status"));
+            booking.setBookingDate(toDateTime(row.get("booking_date")));
+            booking.setSeatNumbers((String) row.get("seat_numbers"));
+            bookings.add(booking);
+        }
+        return bookings;
+    }
+
+    // Archived rows keep their foreign keys; buses, routes and drivers are never archived,
+    // so they are resolved from the live tables once per distinct id
+    private List<Schedule> toSchedules(List<Map<String, Object>> rows) {
+        Map<Long, Bus> buses = new HashMap<>();
+        Map<Long, Route> routes = new HashMap<>();
+        Map<Long, Driver> drivers = new HashMap<>();
+
+        List<Schedule> schedules = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            Schedule schedule = new Schedule();
+            schedule.setId(id(row, "id"));
+            schedule.setBus(lookup(buses, id(row, "bus_id"), id -> busRepository.findById(id).orElse(null)));
+            schedule.setRoute(lookup(routes, id(row, "route_id"), id -> routeRepository.findById(id).orElse(null)));
+            schedule.setDriver(lookup(drivers, id(row, "driver_id"), id -> driverRepository.findById(id).orElse(null)));
+            schedule.setDepartureTime(toDateTime(row.get("departure_time")));
+            schedule.setArrivalTime(toDateTime(row.get("arrival_time")));
+            schedule.setFare(((Number) row.get("fare")).doubleValue());
+            Object availableSeats = row.get("available_seats");
+            schedule.setAvailableSeats(availableSeats == null ? null : ((Number) availableSeats).intValue());
+            schedule.setStatus((String) row.get("status"));
+            schedule.setActualDepartureTime(toDateTime(row.get("actual_departure_time")));
+            schedule.setActualArrivalTime(toDateTime(row.get("actual_arrival_time")));
+            schedules.add(schedule);
+        }
+        return schedules;
+    }
+
+    private static <T> T lookup(Map<Long, T> cache, Long id, Function<Long, T> loader) {
+        if (id == null) {
+            return null;
+        }
+        return cache.computeIfAbsent(id, loader);
+    }
+
+    private static Long id(Map<String, Object> row, String column) {
+        Object value = row.get(column);
+        return value == null ? null : ((Number) value).longValue();
+    }
+
+    private static LocalDateTime toDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+}
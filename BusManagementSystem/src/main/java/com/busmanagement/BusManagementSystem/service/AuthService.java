@@ -0,0 +1,57 @@
+package com.busmanagement.BusManagementSystem.service;
+
+import com.busmanagement.BusManagementSystem.exception.RateLimitExceededException;
+import com.busmanagement.BusManagementSystem.model.Admin;
+import com.busmanagement.BusManagementSystem.util.TokenBucketRateLimiter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Service;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class AuthService {
+
+    @Autowired
+    private AuthenticationManager authenticationManager;
+
+    @Autowired
+    @Qualifier("loginExecutor")
+    private ThreadPoolExecutor loginExecutor;
+
+    @Autowired
+    @Qualifier("loginIpRateLimiter")
+    private TokenBucketRateLimiter loginIpRateLimiter;
+
+    @Autowired
+    @Qualifier("loginUserRateLimiter")
+    private TokenBucketRateLimiter loginUserRateLimiter;
+
+    // Throttles per client and per account, then runs the password check on the login pool.
+    // A full pool surfaces as RejectedExecutionException straight away instead of queueing callers.
+    public CompletableFuture<Admin> login(String username, String password, String clientAddress) {
+        if (username == null || password == null) {
+            throw new IllegalArgumentException("Username and password are required");
+        }
+        checkRate(loginIpRateLimiter, "ip:" + clientAddress);
+        checkRate(loginUserRateLimiter, "user:" + username.toLowerCase());
+
+        return CompletableFuture.supplyAsync(() -> {
+            Authentication authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(username, password));
+            return ((AdminUserDetails) authentication.getPrincipal()).getAdmin();
+        }, loginExecutor);
+    }
+
+    private void checkRate(TokenBucketRateLimiter limiter, String key) {
+        long waitNanos = limiter.tryAcquire(key);
+        if (waitNanos > 0) {
+            long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+            throw new RateLimitExceededException("Too many login attempts, try again later", retryAfter);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.busmanagement.BusManagementSystem.service;
+
+import com.busmanagement.BusManagementSystem.repository.ScheduleRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Domain counters for the booking flow and seat gauges for the next departures. Every tag has a fixed,
+// small set of values (entity, rank); schedule and passenger ids never become tags.
+@Component
+public class BookingMetrics {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Value("${metrics.upcoming-schedules.count:10}")
+    private int upcomingSchedules;
+
+    private Counter created;
+    private Counter cancelled;
+    private Counter soldOutRejections;
+    private Counter scheduleSeatConflicts;
+    private Counter busSeatConflicts;
+    private AtomicInteger[] upcomingSeats;
+
+    @PostConstruct
+    public void init() {
+        created = Counter.builder("bookings.created").description("Bookings confirmed").register(meterRegistry);
+        cancelled = Counter.builder("bookings.cancelled").description("Bookings cancelled").register(meterRegistry);
+        soldOutRejections = Counter.builder("bookings.sold.out")
+                .description("Booking requests rejected because the schedule had too few seats left")
+                .register(meterRegistry);
+        scheduleSeatConflicts = seatConflicts("schedule");
+        busSeatConflicts = seatConflicts("bus");
+
+        // Rank 1 is the next departure; a rank without a schedule reports -1
+        upcomingSeats = new AtomicInteger[upcomingSchedules];
+        for (int i = 0; i < upcomingSchedules; i++) {
+            upcomingSeats[i] = new AtomicInteger(-1);
+            Gauge.builder("schedules.upcoming.seats.available", upcomingSeats[i], AtomicInteger::get)
+                    .description("Seats left on the upcoming scheduled departures, by departure order")
+                    .tag("rank", String.valueOf(i + 1))
+                    .register(meterRegistry);
+        }
+    }
+
+    private Counter seatConflicts(String entity) {
+        return Counter.builder("seats.update.conflicts")
+                .description("Seat decrements that found fewer seats than checked for when the booking started")
+                .tag("entity", entity)
+                .register(meterRegistry);
+    }
+
+    public void bookingCreated() {
+        created.increment();
+    }
+
+    public void bookingCancelled() {
+        cancelled.increment();
+    }
+
+    public void soldOut() {
+        soldOutRejections.increment();
+    }
+
+    public void scheduleSeatConflict() {
+        scheduleSeatConflicts.increment();
+    }
+
+    public void busSeatConflict() {
+        busSeatConflicts.increment();
+    }
+
+    // One index range read for N rows; scrapes read the cached values
+    @Scheduled(fixedDelayString = "${metrics.upcoming-schedules.refresh-ms:15000}")
+    public void refreshUpcomingSeats() {
+        if (upcomingSchedules == 0) {
+            return;
+        }
+        List<Integer> seats = scheduleRepository.findUpcomingAvailableSeats("SCHEDULED", LocalDateTime.now(),
+                PageRequest.of(0, upcomingSchedules));
+        for (int i = 0; i < upcomingSeats.length; i++) {
+            Integer available = i < seats.size() ? seats.get(i) : null;
+            upcomingSeats[i].set(available != null ? available : -1);
+        }
+    }
+}
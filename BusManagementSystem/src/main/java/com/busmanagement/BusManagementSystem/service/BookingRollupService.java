@@ -0,0 +1,317 @@
+package com.busmanagement.BusManagementSystem.service;
+
+import com.busmanagement.BusManagementSystem.dto.RollupTotals;
+import com.busmanagement.BusManagementSystem.model.Booking;
+import com.busmanagement.BusManagementSystem.model.Schedule;
+import com.busmanagement.BusManagementSystem.repository.BookingRollupRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+// Revenue and occupancy per service date, route and bus in booking_rollups. Bookings, cancellations
+// and trips add deltas after their transaction commits; the deltas are merged in memory and upserted
+// every rollups.flush-ms, so a booking rush never queues on one rollup row. Edits the deltas do not
+// follow (booking updates and deletes, schedule moves) are reconciled by the nightly rebuild of
+// recent and upcoming days, which recomputes each day from the live tables in parallel.
+// The rebuild only fences this node's flushes. With several nodes, deltas another node still holds in
+// memory for bookings the rebuild has already counted are added on top when that node flushes, so the
+// nightly and startup rebuilds are off by default and only single-node deployments should turn them on
+// (rollups.rebuild.cron, rollups.rebuild.on-startup) or call POST /api/rollups/rebuild.
+@Service
+public class BookingRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingRollupService.class);
+
+    @Autowired
+    private BookingRollupRepository bookingRollupRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${rollups.rebuild.on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    @Value("${rollups.rebuild.parallelism:4}")
+    private int rebuildParallelism;
+
+    @Value("${rollups.rebuild.lookback-days:3}")
+    private int lookbackDays;
+
+    @Value("${rollups.rebuild.lookahead-days:60}")
+    private int lookaheadDays;
+
+    @Value("${rollups.max-range-days:3660}")
+    private int maxRangeDays;
+
+    @Value("${archive.enabled:true}")
+    private boolean archiveEnabled;
+
+    @Value("${archive.horizon-days:90}")
+    private int archiveHorizonDays;
+
+    @Value("${rollups.max-results:100}")
+    private int maxResults;
+
+    private final Map<Key, Delta> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    // Flushes take it exclusively and rebuilt days shared, so a failed flush can put its deltas back
+    // without adding them to a day that was rebuilt in the meantime
+    private final ReentrantReadWriteLock flushLock = new ReentrantReadWriteLock();
+
+    private record Key(LocalDate serviceDate, long routeId, long busId) {
+    }
+
+    // Only touched inside ConcurrentHashMap.compute, which serialises writers and the flush per key
+    private static final class Delta {
+        long trips;
+        long seatsOffered;
+        long bookings;
+        long cancellations;
+        long seatsSold;
+        double revenue;
+
+        private Delta add(Delta other) {
+            trips += other.trips;
+            seatsOffered += other.seatsOffered;
+            bookings += other.bookings;
+            cancellations += other.cancellations;
+            seatsSold += other.seatsSold;
+            revenue += other.revenue;
+            return this;
+        }
+    }
+
+    // With rollups.rebuild.on-startup, an empty table on a database that already has schedules is filled
+    // in the background, from the oldest day that cannot have been archived yet
+    @PostConstruct
+    public void init() {
+        if (!rebuildOnStartup) {
+            return;
+        }
+        LocalDate[] range = bookingRollupRepository.isEmpty() ? bookingRollupRepository.scheduleDateRange() : null;
+        if (range == null) {
+            return;
+        }
+        LocalDate oldest = archiveEnabled ? LocalDate.now().minusDays(archiveHorizonDays) : range[0];
+        LocalDate from = range[0].isBefore(oldest) ? oldest : range[0];
+        LocalDate to = range[1].isAfter(from.plusDays(maxRangeDays - 1)) ? from.plusDays(maxRangeDays - 1) : range[1];
+        if (to.isBefore(from)) {
+            return;
+        }
+        Thread.ofVirtual().name("rollup-rebuild").start(() -> {
+            try {
+                rebuild(from, to);
+            } catch (RuntimeException e) {
+                logger.warn("Initial rollup rebuild failed", e);
+            }
+        });
+    }
+
+    public void bookingCreated(Booking booking) {
+        Schedule schedule = booking.getSchedule();
+        int seats = booking.getNumberOfSeats();
+        double amount = booking.getTotalAmount();
+        afterCommit(schedule, delta -> {
+            delta.bookings++;
+            delta.seatsSold += seats;
+            delta.revenue += amount;
+        });
+    }
+
+    public void bookingCancelled(Booking booking) {
+        Schedule schedule = booking.getSchedule();
+        int seats = booking.getNumberOfSeats();
+        double amount = booking.getTotalAmount();
+        afterCommit(schedule, delta -> {
+            delta.cancellations++;
+            delta.seatsSold -= seats;
+            delta.revenue -= amount;
+        });
+    }
+
+    // A trip counts towards seats offered from creation until it is cancelled
+    public void tripAdded(Schedule schedule) {
+        int seats = schedule.getBus().getTotalSeats();
+        afterCommit(schedule, delta -> {
+            delta.trips++;
+            delta.seatsOffered += seats;
+        });
+    }
+
+    public void tripCancelled(Schedule schedule) {
+        int seats = schedule.getBus().getTotalSeats();
+        afterCommit(schedule, delta -> {
+            delta.trips--;
+            delta.seatsOffered -= seats;
+        });
+    }
+
+    private void afterCommit(Schedule schedule, Consumer<Delta> change) {
+        Key key = new Key(schedule.getDepartureTime().toLocalDate(), schedule.getRoute().getId(), schedule.getBus().getId());
+        Runnable apply = () -> pending.compute(key, (k, delta) -> {
+            Delta target = delta != null ? delta : new Delta();
+            change.accept(target);
+            return target;
+        });
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    // Deltas that fail to write are merged back into pending and retried with the next flush
+    @Scheduled(fixedDelayString = "${rollups.flush-ms:5000}")
+    public void flush() {
+        flushLock.writeLock().lock();
+        try {
+            Map<Key, Delta> taken = new HashMap<>();
+            List<RollupTotals> deltas = new ArrayList<>();
+            for (Key key : pending.keySet()) {
+                Delta delta = pending.remove(key);
+                if (delta != null) {
+                    taken.put(key, delta);
+                    deltas.add(new RollupTotals(key.serviceDate(), key.routeId(), key.busId(), delta.trips, delta.seatsOffered,
+                            delta.bookings, delta.cancellations, delta.seatsSold, delta.revenue, 0));
+                }
+            }
+            if (deltas.isEmpty()) {
+                return;
+            }
+            try {
+                bookingRollupRepository.addDeltas(deltas);
+            } catch (RuntimeException e) {
+                taken.forEach((key, delta) -> pending.merge(key, delta, Delta::add));
+                logger.warn("Could not flush {} rollup deltas, keeping them for the next flush", deltas.size(), e);
+            }
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+    }
+
+    @Scheduled(cron = "${rollups.rebuild.cron:-}")
+    public void rebuildRecent() {
+        LocalDate today = LocalDate.now();
+        rebuild(today.minusDays(lookbackDays), today.plusDays(lookaheadDays));
+    }
+
+    // Recomputes every service date in the range, rollups.rebuild.parallelism days at a time, each
+    // replaced in its own transaction. A day's pending deltas are dropped as it is read; bookings that
+    // commit while its queries run may be counted twice until the next rebuild. Archived days are
+    // refused: their schedules have left the live tables and a rebuild would zero them.
+    public int rebuild(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        if (archiveEnabled && from.isBefore(LocalDate.now().minusDays(archiveHorizonDays))) {
+            throw new IllegalArgumentException("Days before " + LocalDate.now().minusDays(archiveHorizonDays)
+                    + " may already be archived and cannot be rebuilt");
+        }
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new IllegalStateException("A rollup rebuild is already running");
+        }
+        long start = System.nanoTime();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        try (ExecutorService executor = Executors.newFixedThreadPool(rebuildParallelism)) {
+            List<Future<?>> days = new ArrayList<>();
+            for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                LocalDate serviceDate = day;
+                days.add(executor.submit(() -> {
+                    flushLock.readLock().lock();
+                    try {
+                        transaction.executeWithoutResult(status -> {
+                            pending.keySet().removeIf(key -> key.serviceDate().equals(serviceDate));
+                            bookingRollupRepository.replaceDay(serviceDate, bookingRollupRepository.aggregateDay(serviceDate));
+                        });
+                    } finally {
+                        flushLock.readLock().unlock();
+                    }
+                }));
+            }
+            for (Future<?> day : days) {
+                day.get();
+            }
+            logger.info("Rebuilt rollups for {} days ({} to {}) in {} ms", days.size(), from, to,
+                    (System.nanoTime() - start) / 1_000_000);
+            return days.size();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Rollup rebuild interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Rollup rebuild failed", e.getCause());
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    public List<RollupTotals> getDailyTotals(LocalDate from, LocalDate to, Long routeId, Long busId) {
+        checkRange(from, to);
+        return bookingRollupRepository.findDailyTotals(from, to, routeId, busId);
+    }
+
+    public RollupTotals getSummary(LocalDate from, LocalDate to) {
+        long trips = 0, seatsOffered = 0, bookings = 0, cancellations = 0, seatsSold = 0;
+        double revenue = 0;
+        for (RollupTotals day : getDailyTotals(from, to, null, null)) {
+            trips += day.trips();
+            seatsOffered += day.seatsOffered();
+            bookings += day.bookings();
+            cancellations += day.cancellations();
+            seatsSold += day.seatsSold();
+            revenue += day.revenue();
+        }
+        return RollupTotals.of(null, null, null, trips, seatsOffered, bookings, cancellations, seatsSold, revenue);
+    }
+
+    public List<RollupTotals> getRouteTotals(LocalDate from, LocalDate to, int limit) {
+        checkRange(from, to);
+        checkLimit(limit);
+        return bookingRollupRepository.findRouteTotals(from, to, limit);
+    }
+
+    public List<RollupTotals> getBusTotals(LocalDate from, LocalDate to, int limit) {
+        checkRange(from, to);
+        checkLimit(limit);
+        return bookingRollupRepository.findBusTotals(from, to, limit);
+    }
+
+    private void checkLimit(int limit) {
+        if (limit <= 0 || limit > maxResults) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxResults);
+        }
+    }
+
+    private void checkRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxRangeDays) {
+            throw new IllegalArgumentException("Range is limited to " + maxRangeDays + " days");
+        }
+    }
+}
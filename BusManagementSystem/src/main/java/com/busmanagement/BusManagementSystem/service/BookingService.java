@@ -7,14 +7,17 @@ import com.busmanagement.BusManagementSystem.repository.BookingRepository;
 import com.busmanagement.BusManagementSystem.repository.PassengerRepository;
 import com.busmanagement.BusManagementSystem.repository.ScheduleRepository;
 import com.busmanagement.BusManagementSystem.exception.ResourceNotFoundException;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
 @Transactional
+@Timed("booking.service")
 public class BookingService {
 
     @Autowired
@@ -32,15 +35,27 @@ public class BookingService {
     @Autowired
     private ScheduleService scheduleService;
 
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Autowired
+    private BookingMetrics bookingMetrics;
+
+    @Autowired
+    private BookingRollupService bookingRollupService;
+
+    @Transactional(readOnly = true)
     public List<Booking> getAllBookings() {
         return bookingRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Booking getBookingById(Long id) {
         return bookingRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found with id: " + id));
     }
 
+    @Transactional(readOnly = true)
     public Booking getBookingByNumber(String bookingNumber) {
         return bookingRepository.findByBookingNumber(bookingNumber)
                 .orElseThrow(() -> new ResourceNotFoundException("Booking not found with number: " + bookingNumber));
@@ -57,6 +72,7 @@ public class BookingService {
         
         // Check available seats
         if (schedule.getAvailableSeats() < booking.getNumberOfSeats()) {
+            bookingMetrics.soldOut();
             throw new RuntimeException("Not enough seats available. Available: " + schedule.getAvailableSeats() + ", Requested: " + booking.getNumberOfSeats());
         }
         
@@ -73,7 +89,9 @@ public class BookingService {
         // Update available seats in schedule and bus
         scheduleService.updateAvailableSeats(schedule.getId(), booking.getNumberOfSeats());
         busService.updateBusSeats(schedule.getBus().getId(), booking.getNumberOfSeats());
-        
+
+        bookingMetrics.bookingCreated();
+        bookingRollupService.bookingCreated(savedBooking);
         return savedBooking;
     }
 
@@ -99,18 +117,28 @@ public class BookingService {
         bookingRepository.delete(booking);
     }
 
-    public List<Booking> getBookingsByPassenger(Long passengerId) {
-        return bookingRepository.findByPassengerId(passengerId);
+    @Transactional(readOnly = true)
+    public List<Booking> getBookingsByPassenger(Long passengerId, boolean includeArchived) {
+        List<Booking> bookings = bookingRepository.findByPassengerId(passengerId);
+        if (!includeArchived) {
+            return bookings;
+        }
+        List<Booking> all = new ArrayList<>(bookings);
+        all.addAll(archiveService.findArchivedBookingsByPassenger(passengerId));
+        return all;
     }
 
+    @Transactional(readOnly = true)
     public List<Booking> getBookingsBySchedule(Long scheduleId) {
         return bookingRepository.findByScheduleId(scheduleId);
     }
 
+    @Transactional(readOnly = true)
     public List<Booking> getBookingsByStatus(String bookingStatus) {
         return bookingRepository.findByBookingStatus(bookingStatus);
     }
 
+    @Transactional(readOnly = true)
     public List<Booking> getBookingsByPaymentStatus(String paymentStatus) {
         return bookingRepository.findByPaymentStatus(paymentStatus);
     }
@@ -128,7 +156,9 @@ public class BookingService {
         Schedule schedule = booking.getSchedule();
         scheduleService.updateAvailableSeats(schedule.getId(), -booking.getNumberOfSeats());
         busService.updateBusSeats(schedule.getBus().getId(), -booking.getNumberOfSeats());
-        
+
+        bookingMetrics.bookingCancelled();
+        bookingRollupService.bookingCancelled(booking);
         return bookingRepository.save(booking);
     }
 
@@ -138,11 +168,19 @@ public class BookingService {
         return bookingRepository.save(booking);
     }
 
+    @Transactional(readOnly = true)
     public Integer getConfirmedBookingsCountBySchedule(Long scheduleId) {
         return bookingRepository.countConfirmedBookingsBySchedule(scheduleId);
     }
 
-    public List<Booking> getBookingsBetweenDates(LocalDateTime start, LocalDateTime end) {
-        return bookingRepository.findBookingsBetweenDates(start, end);
+    @Transactional(readOnly = true)
+    public List<Booking> getBookingsBetweenDates(LocalDateTime start, LocalDateTime end, boolean includeArchived) {
+        List<Booking> bookings = bookingRepository.findBookingsBetweenDates(start, end);
+        if (!includeArchived) {
+            return bookings;
+        }
+        List<Booking> all = new ArrayList<>(bookings);
+        all.addAll(archiveService.findArchivedBookingsBetweenDates(start, end));
+        return all;
     }
 }
\ No newline at end of file
@@ -0,0 +1,429 @@
+package com.busmanagement.BusManagementSystem.service;
+
+import com.busmanagement.BusManagementSystem.dto.ImportReport;
+import com.busmanagement.BusManagementSystem.util.CsvReader;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import jakarta.annotation.PostConstruct;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+// Streams CSV or NDJSON rows into the database chunk by chunk: uniqueness is checked against
+// the keys of the current chunk loaded in one query per constraint, inserts go out as one JDBC
+// batch per chunk, and each chunk commits on its own so memory stays flat whatever the input size.
+@Service
+public class BulkImportService {
+
+    private static final int MAX_IN_LIST = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Value("${import.chunk-size:1000}")
+    private int defaultChunkSize;
+
+    @Value("${import.max-reported-errors:10000}")
+    private int maxReportedErrors;
+
+    private TransactionTemplate transactionTemplate;
+    private final Map<String, EntityImporter> importers = new HashMap<>();
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        importers.put("buses", new EntityImporter("buses",
+                "INSERT INTO buses (bus_number, bus_type, total_seats, available_seats, fare_per_km, is_available, current_location) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                List.of(new UniqueKey("busNumber", new String[] { "bus_number" }, new int[] { 0 }))) {
+            @Override
+            Object[] toParams(Map<String, String> row) {
+                Integer totalSeats = requiredInt(row, "totalSeats");
+                return new Object[] { required(row, "busNumber"), required(row, "busType"), totalSeats, totalSeats,
+                        requiredDouble(row, "farePerKm"), optionalBoolean(row, "isAvailable", true), required(row, "currentLocation") };
+            }
+        });
+
+        importers.put("routes", new EntityImporter("routes",
+                "INSERT INTO routes (source, destination, distance, estimated_travel_time, description) VALUES (?, ?, ?, ?, ?)",
+                List.of(new UniqueKey("route", new String[] { "source", "destination" }, new int[] { 0, 1 }))) {
+            @Override
+            Object[] toParams(Map<String, String> row) {
+                return new Object[] { required(row, "source"), required(row, "destination"), requiredDouble(row, "distance"),
+                        requiredInt(row, "estimatedTravelTime"), row.get("description") };
+            }
+        });
+
+        importers.put("drivers", new EntityImporter("drivers",
+                "INSERT INTO drivers (name, license_number, contact_number, email, address, date_of_birth, experience_years, is_available) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                List.of(new UniqueKey("licenseNumber", new String[] { "license_number" }, new int[] { 1 }),
+                        new UniqueKey("email", new String[] { "email" }, new int[] { 3 }))) {
+            @Override
+            Object[] toParams(Map<String, String> row) {
+                String experience = row.get(normalizeField("experienceYears"));
+                return new Object[] { required(row, "name"), required(row, "licenseNumber"), required(row, "contactNumber"),
+                        required(row, "email"), row.get("address"), LocalDate.parse(required(row, "dateOfBirth")),
+                        experience == null || experience.isBlank() ? null : Integer.valueOf(experience.trim()),
+                        optionalBoolean(row, "isAvailable", true) };
+            }
+        });
+
+        importers.put("passengers", new EntityImporter("passengers",
+                "INSERT INTO passengers (first_name, last_name, email, phone_number, address, registration_date) VALUES (?, ?, ?, ?, ?, ?)",
+                List.of(new UniqueKey("email", new String[] { "email" }, new int[] { 2 }),
+                        new UniqueKey("phoneNumber", new String[] { "phone_number" }, new int[] { 3 }))) {
+            @Override
+            Object[] toParams(Map<String, String> row) {
+                return new Object[] { required(row, "firstName"), required(row, "lastName"), required(row, "email"),
+                        required(row, "phoneNumber"), row.get("address"), Timestamp.valueOf(LocalDateTime.now()) };
+            }
+        });
+    }
+
+    public Set<String> getSupportedEntities() {
+        return Collections.unmodifiableSet(importers.keySet());
+    }
+
+    public ImportReport importStream(String entity, InputStream input, boolean ndjson, Integer chunkSize) throws IOException {
+        EntityImporter importer = importers.get(entity);
+        if (importer == null) {
+            throw new IllegalArgumentException("Unsupported import entity: " + entity + ", expected one of " + importers.keySet());
+        }
+        int size = chunkSize != null && chunkSize > 0 ? chunkSize : defaultChunkSize;
+
+        ImportReport report = new ImportReport();
+        report.setEntity(entity);
+        long start = System.nanoTime();
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 1 << 16);
+        RowSource source = ndjson ? new NdjsonRowSource(reader) : new CsvRowSource(reader);
+
+        List<PendingRow> chunk = new ArrayList<>(size);
+        long rowNumber = 0;
+        while (true) {
+            Map<String, String> row;
+            try {
+                row = source.next();
+            } catch (IllegalArgumentException e) {
+                rowNumber++;
+                report.setRowsRead(rowNumber);
+                addError(report, rowNumber, e.getMessage());
+                continue;
+            }
+            if (row == null) {
+                break;
+            }
+            rowNumber++;
+            chunk.add(new PendingRow(rowNumber, row));
+            if (chunk.size() == size) {
+                processChunk(importer, chunk, report);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(importer, chunk, report);
+        }
+
+        report.setRowsRead(rowNumber);
+        if (report.getRowsImported() > 0) {
+            switch (entity) {
+                case "buses" -> referenceDataCache.changed(ReferenceDataCache.Aggregate.BUSES);
+                case "routes" -> referenceDataCache.changed(ReferenceDataCache.Aggregate.ROUTES);
+                case "drivers" -> referenceDataCache.changed(ReferenceDataCache.Aggregate.DRIVERS);
+                default -> { }
+            }
+        }
+        report.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+        report.setRowsPerSecond(report.getElapsedMillis() == 0 ? report.getRowsImported()
+                : report.getRowsImported() * 1000.0 / report.getElapsedMillis());
+        return report;
+    }
+
+    private void processChunk(EntityImporter importer, List<PendingRow> chunk, ImportReport report) {
+        List<PendingRow> valid = new ArrayList<>(chunk.size());
+        for (PendingRow row : chunk) {
+            try {
+                row.params = importer.toParams(row.values);
+                valid.add(row);
+            } catch (RuntimeException e) {
+                addError(report, row.number, e.getMessage() != null ? e.getMessage() : e.toString());
+            }
+        }
+
+        // Preload which keys of this chunk already exist, then drop clashes with the table or earlier rows
+        for (UniqueKey key : importer.uniqueKeys) {
+            Set<String> existing = findExisting(importer.table, key, valid);
+            Set<String> seen = new HashSet<>();
+            Iterator<PendingRow> it = valid.iterator();
+            while (it.hasNext()) {
+                PendingRow row = it.next();
+                String value = key.valueOf(row.params);
+                if (existing.contains(value) || !seen.add(value)) {
+                    addError(report, row.number, "Duplicate " + key.name + ": " + key.display(row.params));
+                    it.remove();
+                }
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> batch = new ArrayList<>(valid.size());
+        for (PendingRow row : valid) {
+            batch.add(row.params);
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(importer.insertSql, batch));
+            report.setRowsImported(report.getRowsImported() + batch.size());
+            report.setChunksCommitted(report.getChunksCommitted() + 1);
+        } catch (DataAccessException e) {
+            // A concurrent writer or a constraint we don't pre-check; fall back to row by row to pin the culprits
+            for (PendingRow row : valid) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(importer.insertSql, row.params));
+                    report.setRowsImported(report.getRowsImported() + 1);
+                } catch (DataAccessException rowError) {
+                    addError(report, row.number, NestedExceptionUtils.getMostSpecificCause(rowError).getMessage());
+                }
+            }
+            report.setChunksCommitted(report.getChunksCommitted() + 1);
+        }
+    }
+
+    private Set<String> findExisting(String table, UniqueKey key, List<PendingRow> rows) {
+        Set<String> existing = new HashSet<>();
+        for (int from = 0; from < rows.size(); from += MAX_IN_LIST) {
+            List<PendingRow> slice = rows.subList(from, Math.min(rows.size(), from + MAX_IN_LIST));
+            String tuple = key.columns.length == 1 ? "?" : "(" + String.join(", ", Collections.nCopies(key.columns.length, "?")) + ")";
+            String columns = key.columns.length == 1 ? key.columns[0] : "(" + String.join(", ", key.columns) + ")";
+            String sql = "SELECT " + String.join(", ", key.columns) + " FROM " + table + " WHERE " + columns
+                    + " IN (" + String.join(", ", Collections.nCopies(slice.size(), tuple)) + ")";
+
+            List<Object> args = new ArrayList<>(slice.size() * key.columns.length);
+            for (PendingRow row : slice) {
+                for (int index : key.paramIndexes) {
+                    args.add(row.params[index]);
+                }
+            }
+            jdbcTemplate.query(sql, rs -> {
+                Object[] values = new Object[key.columns.length];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = rs.getString(i + 1);
+                }
+                existing.add(UniqueKey.normalize(values));
+            }, args.toArray());
+        }
+        return existing;
+    }
+
+    private void addError(ImportReport report, long row, String message) {
+        report.setRowsFailed(report.getRowsFailed() + 1);
+        if (report.getErrors().size() < maxReportedErrors) {
+            report.getErrors().add(new ImportReport.RowError(row, message));
+        } else {
+            report.setErrorsTruncated(true);
+        }
+    }
+
+    // Header names are matched loosely so "busNumber", "bus_number" and "BusNumber" all work
+    private static String normalizeField(String name) {
+        return name.replace("_", "").replace("-", "").trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String required(Map<String, String> row, String field) {
+        String value = row.get(normalizeField(field));
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing required field: " + field);
+        }
+        return value.trim();
+    }
+
+    private static Integer requiredInt(Map<String, String> row, String field) {
+        try {
+            return Integer.valueOf(required(row, field));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for " + field + ": " + row.get(normalizeField(field)));
+        }
+    }
+
+    private static Double requiredDouble(Map<String, String> row, String field) {
+        try {
+            return Double.valueOf(required(row, field));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for " + field + ": " + row.get(normalizeField(field)));
+        }
+    }
+
+    private static Boolean optionalBoolean(Map<String, String> row, String field, boolean defaultValue) {
+        String value = row.get(normalizeField(field));
+        return value == null || value.isBlank() ? defaultValue : Boolean.valueOf(value.trim());
+    }
+
+    private interface RowSource {
+        Map<String, String> next() throws IOException;
+    }
+
+    private static final class CsvRowSource implements RowSource {
+        private final CsvReader csv;
+        private List<String> header;
+
+        private CsvRowSource(BufferedReader reader) {
+            this.csv = new CsvReader(reader);
+        }
+
+        @Override
+        public Map<String, String> next() throws IOException {
+            if (header == null) {
+                List<String> names = csv.readRecord();
+                if (names == null) {
+                    return null;
+                }
+                header = new ArrayList<>(names.size());
+                for (String name : names) {
+                    header.add(normalizeField(name.replace("\uFEFF", "")));
+                }
+            }
+            List<String> record = csv.readRecord();
+            if (record == null) {
+                return null;
+            }
+            if (record.size() != header.size()) {
+                throw new IllegalArgumentException("Expected " + header.size() + " columns but found " + record.size());
+            }
+            Map<String, String> row = new HashMap<>(header.size() * 2);
+            for (int i = 0; i < header.size(); i++) {
+                row.put(header.get(i), record.get(i));
+            }
+            return row;
+        }
+    }
+
+    private final class NdjsonRowSource implements RowSource {
+        private final BufferedReader reader;
+
+        private NdjsonRowSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public Map<String, String> next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Malformed JSON line");
+            }
+            if (!node.isObject()) {
+                throw new IllegalArgumentException("Expected a JSON object per line");
+            }
+            Map<String, String> row = new HashMap<>();
+            node.fields().forEachRemaining(field -> {
+                if (!field.getValue().isNull()) {
+                    row.put(normalizeField(field.getKey()), field.getValue().asText());
+                }
+            });
+            return row;
+        }
+    }
+
+    private static final class PendingRow {
+        private final long number;
+        private final Map<String, String> values;
+        private Object[] params;
+
+        private PendingRow(long number, Map<String, String> values) {
+            this.number = number;
+            this.values = values;
+        }
+    }
+
+    private static final class UniqueKey {
+        private final String name;
+        private final String[] columns;
+        private final int[] paramIndexes;
+
+        private UniqueKey(String name, String[] columns, int[] paramIndexes) {
+            this.name = name;
+            this.columns = columns;
+            this.paramIndexes = paramIndexes;
+        }
+
+        private String valueOf(Object[] params) {
+            Object[] values = new Object[paramIndexes.length];
+            for (int i = 0; i < paramIndexes.length; i++) {
+                values[i] = params[paramIndexes[i]];
+            }
+            return normalize(values);
+        }
+
+        private String display(Object[] params) {
+            List<String> values = new ArrayList<>();
+            for (int index : paramIndexes) {
+                values.add(String.valueOf(params[index]));
+            }
+            return String.join(" -> ", values);
+        }
+
+        // Unique indexes compare case-insensitively under MySQL's default collation
+        private static String normalize(Object[] values) {
+            StringBuilder key = new StringBuilder();
+            for (Object value : values) {
+                key.append(String.valueOf(value).toLowerCase(Locale.ROOT)).append('\u0000');
+            }
+            return key.toString();
+        }
+    }
+
+    private abstract static class EntityImporter {
+        private final String table;
+        private final String insertSql;
+        private final List<UniqueKey> uniqueKeys;
+
+        private EntityImporter(String table, String insertSql, List<UniqueKey> uniqueKeys) {
+            this.table = table;
+            this.insertSql = insertSql;
+            this.uniqueKeys = uniqueKeys;
+        }
+
+        abstract Object[] toParams(Map<String, String> row);
+    }
+}
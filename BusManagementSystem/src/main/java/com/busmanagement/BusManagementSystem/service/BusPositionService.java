@@ -0,0 +1,200 @@
+package com.busmanagement.BusManagementSystem.service;
+
+import com.busmanagement.BusManagementSystem.dto.PositionIngestResult;
+import com.busmanagement.BusManagementSystem.dto.TrackPoint;
+import com.busmanagement.BusManagementSystem.repository.BusPositionRepository;
+import com.busmanagement.BusManagementSystem.util.BusPositionStore;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// GPS pings from the fleet. The latest position per bus lives only in memory (BusPositionStore); the
+// database gets a down-sampled track, at most one point per bus per track interval, written in batches
+// by a scheduled flush. Pings are read straight off the request stream, so a batch of thousands costs
+// no objects beyond the occasional track point.
+@Service
+public class BusPositionService {
+
+    private static final long MAX_CLOCK_SKEW_MILLIS = 60_000;
+
+    @Autowired
+    private BusPositionRepository busPositionRepository;
+
+    @Autowired
+    private FleetLocator fleetLocator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${positions.max-bus-id:100000}")
+    private int maxBusId;
+
+    @Value("${positions.track.interval-ms:30000}")
+    private long trackIntervalMillis;
+
+    @Value("${positions.track.queue-capacity:100000}")
+    private int trackQueueCapacity;
+
+    @Value("${positions.track.batch-size:1000}")
+    private int trackBatchSize;
+
+    private BusPositionStore store;
+    private AtomicLongArray lastTracked;
+    private BlockingQueue<TrackPoint> trackQueue;
+    private Counter accepted;
+    private Counter stale;
+    private Counter rejected;
+    private Counter trackDropped;
+
+    @PostConstruct
+    public void init() {
+        store = new BusPositionStore(maxBusId + 1);
+        lastTracked = new AtomicLongArray(maxBusId + 1);
+        trackQueue = new ArrayBlockingQueue<>(trackQueueCapacity);
+        accepted = pings("accepted");
+        stale = pings("stale");
+        rejected = pings("rejected");
+        trackDropped = Counter.builder("positions.track.dropped")
+                .description("Track points not persisted because the write queue was full")
+                .register(meterRegistry);
+        Gauge.builder("positions.track.queued", trackQueue, BlockingQueue::size)
+                .description("Track points waiting to be written")
+                .register(meterRegistry);
+    }
+
+    private Counter pings(String result) {
+        return Counter.builder("positions.pings").description("GPS pings received").tag("result", result)
+                .register(meterRegistry);
+    }
+
+    public BusPositionStore getStore() {
+        return store;
+    }
+
+    // Body: [[busId, latitude, longitude, recordedAtEpochMillis, speedKmh?, heading?], ...]
+    public PositionIngestResult ingest(InputStream body) throws IOException {
+        int acceptedCount = 0;
+        int staleCount = 0;
+        int rejectedCount = 0;
+        long latest = System.currentTimeMillis() + MAX_CLOCK_SKEW_MILLIS;
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            expect(parser.nextToken(), JsonToken.START_ARRAY);
+            while (parser.nextToken() == JsonToken.START_ARRAY) {
+                long busId = nextLong(parser);
+                double latitude = nextDouble(parser);
+                double longitude = nextDouble(parser);
+                long recordedAt = nextLong(parser);
+                float speed = 0;
+                short heading = 0;
+                JsonToken token = parser.nextToken();
+                if (token != JsonToken.END_ARRAY) {
+                    speed = (float) number(parser, token).getDoubleValue();
+                    token = parser.nextToken();
+                    if (token != JsonToken.END_ARRAY) {
+                        heading = (short) number(parser, token).getIntValue();
+                        expect(parser.nextToken(), JsonToken.END_ARRAY);
+                    }
+                }
+
+                if (!store.accepts(busId) || latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180
+                        || recordedAt <= 0 || recordedAt > latest) {
+                    rejectedCount++;
+                } else if (store.update(busId, latitude, longitude, recordedAt, speed, heading)) {
+                    acceptedCount++;
+                    fleetLocator.busMoved(busId, latitude, longitude);
+                    track(busId, recordedAt, latitude, longitude, speed, heading);
+                } else {
+                    staleCount++;
+                }
+            }
+            expect(parser.currentToken(), JsonToken.END_ARRAY);
+        }
+        accepted.increment(acceptedCount);
+        stale.increment(staleCount);
+        rejected.increment(rejectedCount);
+        return new PositionIngestResult(acceptedCount, staleCount, rejectedCount);
+    }
+
+    private void track(long busId, long recordedAt, double latitude, double longitude, float speed, short heading) {
+        int slot = (int) busId;
+        long last = lastTracked.get(slot);
+        if (recordedAt - last < trackIntervalMillis || !lastTracked.compareAndSet(slot, last, recordedAt)) {
+            return;
+        }
+        if (!trackQueue.offer(new TrackPoint(busId, recordedAt, latitude, longitude, speed, heading))) {
+            trackDropped.increment();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${positions.track.flush-ms:1000}")
+    public void flushTrack() {
+        List<TrackPoint> batch = new ArrayList<>(trackBatchSize);
+        while (trackQueue.drainTo(batch, trackBatchSize) > 0) {
+            busPositionRepository.insertBatch(batch);
+            batch.clear();
+        }
+    }
+
+    // {"asOf": epochMillis, "positions": [[busId, latitude, longitude, recordedAt, speedKmh, heading], ...]}
+    public void writeSnapshot(OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            generator.writeNumberField("asOf", System.currentTimeMillis());
+            generator.writeArrayFieldStart("positions");
+            store.forEach((busId, latitude, longitude, recordedAt, speed, heading) -> {
+                generator.writeStartArray();
+                generator.writeNumber(busId);
+                generator.writeNumber(latitude);
+                generator.writeNumber(longitude);
+                generator.writeNumber(recordedAt);
+                generator.writeNumber(speed);
+                generator.writeNumber(heading);
+                generator.writeEndArray();
+            });
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
+    private static long nextLong(JsonParser parser) throws IOException {
+        return number(parser, parser.nextToken()).getLongValue();
+    }
+
+    private static double nextDouble(JsonParser parser) throws IOException {
+        return number(parser, parser.nextToken()).getDoubleValue();
+    }
+
+    private static JsonParser number(JsonParser parser, JsonToken token) {
+        if (token != JsonToken.VALUE_NUMBER_INT && token != JsonToken.VALUE_NUMBER_FLOAT) {
+            throw new IllegalArgumentException("Expected a number but found " + token);
+        }
+        return parser;
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) {
+        if (actual != expected) {
+            throw new IllegalArgumentException("Expected " + expected + " but found " + actual);
+        }
+    }
+}
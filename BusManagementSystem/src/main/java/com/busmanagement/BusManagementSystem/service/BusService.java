@@ -5,24 +5,38 @@ import com.busmanagement.BusManagementSystem.repository.BusRepository;
 import com.busmanagement.BusManagementSystem.exception.ResourceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@Transactional
 public class BusService {
 
     @Autowired
     private BusRepository busRepository;
 
+    @Autowired
+    private BookingMetrics bookingMetrics;
+
+    @Autowired
+    private FleetLocator fleetLocator;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Transactional(readOnly = true)
     public List<Bus> getAllBuses() {
         return busRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Bus getBusById(Long id) {
         return busRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Bus not found with id: " + id));
     }
 
+    @Transactional(readOnly = true)
     public Bus getBusByBusNumber(String busNumber) {
         return busRepository.findByBusNumber(busNumber)
                 .orElseThrow(() -> new ResourceNotFoundException("Bus not found with number: " + busNumber));
@@ -35,7 +49,10 @@ public class BusService {
         
         // Set available seats equal to total seats initially
         bus.setAvailableSeats(bus.getTotalSeats());
-        return busRepository.save(bus);
+        Bus saved = busRepository.save(bus);
+        fleetLocator.busSaved(saved);
+        referenceDataCache.changed(ReferenceDataCache.Aggregate.BUSES);
+        return saved;
     }
 
     public Bus updateBus(Long id, Bus busDetails) {
@@ -53,6 +70,8 @@ public class BusService {
         bus.setFarePerKm(busDetails.getFarePerKm());
         bus.setIsAvailable(busDetails.getIsAvailable());
         bus.setCurrentLocation(busDetails.getCurrentLocation());
+        bus.setLatitude(busDetails.getLatitude());
+        bus.setLongitude(busDetails.getLongitude());
         
         // Update available seats if total seats changed
         if (!bus.getTotalSeats().equals(busDetails.getTotalSeats())) {
@@ -60,22 +79,30 @@ public class BusService {
             bus.setAvailableSeats(Math.max(0, bus.getAvailableSeats() + seatDifference));
         }
         
-        return busRepository.save(bus);
+        Bus saved = busRepository.save(bus);
+        fleetLocator.busSaved(saved);
+        referenceDataCache.changed(ReferenceDataCache.Aggregate.BUSES);
+        return saved;
     }
 
     public void deleteBus(Long id) {
         Bus bus = getBusById(id);
         busRepository.delete(bus);
+        fleetLocator.busDeleted(id);
+        referenceDataCache.changed(ReferenceDataCache.Aggregate.BUSES);
     }
 
+    @Transactional(readOnly = true)
     public List<Bus> getAvailableBuses() {
         return busRepository.findByIsAvailableTrue();
     }
 
+    @Transactional(readOnly = true)
     public List<Bus> getBusesByType(String busType) {
         return busRepository.findByBusType(busType);
     }
 
+    @Transactional(readOnly = true)
     public List<Bus> getBusesByLocation(String location) {
         return busRepository.findByCurrentLocation(location);
     }
@@ -83,16 +110,21 @@ public class BusService {
     public Bus updateBusAvailability(Long id, Boolean isAvailable) {
         Bus bus = getBusById(id);
         bus.setIsAvailable(isAvailable);
-        return busRepository.save(bus);
+        Bus saved = busRepository.save(bus);
+        fleetLocator.busSaved(saved);
+        referenceDataCache.changed(ReferenceDataCache.Aggregate.BUSES);
+        return saved;
     }
 
     public Bus updateBusSeats(Long id, Integer seatsBooked) {
         Bus bus = getBusById(id);
         int newAvailableSeats = bus.getAvailableSeats() - seatsBooked;
         if (newAvailableSeats < 0) {
+            bookingMetrics.busSeatConflict();
             throw new RuntimeException("Not enough seats available");
         }
         bus.setAvailableSeats(newAvailableSeats);
+        referenceDataCache.changed(ReferenceDataCache.Aggregate.BUSES);
         return busRepository.save(bus);
     }
 }
\ No newline at end of file
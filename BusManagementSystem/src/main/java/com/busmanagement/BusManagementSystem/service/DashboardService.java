@@ -0,0 +1,202 @@
+package com.busmanagement.BusManagementSystem.service;
+
+import com.busmanagement.BusManagementSystem.dto.DashboardSummary;
+import com.busmanagement.BusManagementSystem.dto.RollupTotals;
+import com.busmanagement.BusManagementSystem.repository.BookingRepository;
+import com.busmanagement.BusManagementSystem.repository.BusRepository;
+import com.busmanagement.BusManagementSystem.repository.DriverRepository;
+import com.busmanagement.BusManagementSystem.repository.PassengerRepository;
+import com.busmanagement.BusManagementSystem.repository.RouteRepository;
+import com.busmanagement.BusManagementSystem.repository.ScheduleRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+// The admin dashboard in one response. Each figure is a count or a limited query, run side by side
+// on virtual threads, so a summary costs a few of the slowest queries rather than the sum of them. At
+// most dashboard.query-parallelism run at once, so a summary never takes more than that many pooled
+// connections away from requests. The result is kept for dashboard.cache-ttl-ms and concurrent misses
+// share one computation: a room full of admins refreshing at once costs the database one summary.
+@Service
+public class DashboardService {
+
+    private static final String SCHEDULED = "SCHEDULED";
+
+    @Autowired
+    private BusRepository busRepository;
+
+    @Autowired
+    private RouteRepository routeRepository;
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Autowired
+    private PassengerRepository passengerRepository;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingRollupService bookingRollupService;
+
+    @Value("${dashboard.cache-ttl-ms:5000}")
+    private long cacheTtlMillis;
+
+    @Value("${dashboard.query-parallelism:3}")
+    private int queryParallelism;
+
+    @Value("${dashboard.departures-limit:20}")
+    private int departuresLimit;
+
+    @Value("${dashboard.recent-bookings-limit:10}")
+    private int recentBookingsLimit;
+
+    @Value("${dashboard.recent-bookings-hours:24}")
+    private int recentBookingsHours;
+
+    @Value("${dashboard.alerts.late-minutes:15}")
+    private int lateMinutes;
+
+    @Value("${dashboard.alerts.nearly-full-seats:5}")
+    private int nearlyFullSeats;
+
+    private record Cached(DashboardSummary summary, long expiresAt) {
+    }
+
+    private volatile Cached cached;
+    private final AtomicReference<CompletableFuture<DashboardSummary>> inFlight = new AtomicReference<>();
+
+    public DashboardSummary getSummary() {
+        Cached current = cached;
+        if (current != null && System.nanoTime() - current.expiresAt() < 0) {
+            return current.summary();
+        }
+        CompletableFuture<DashboardSummary> mine = new CompletableFuture<>();
+        CompletableFuture<DashboardSummary> running = inFlight.compareAndExchange(null, mine);
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        try {
+            DashboardSummary summary = compute();
+            cached = new Cached(summary, System.nanoTime() + cacheTtlMillis * 1_000_000);
+            mine.complete(summary);
+            return summary;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.set(null);
+        }
+    }
+
+    DashboardSummary compute() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+        LocalDateTime startOfDay = today.atStartOfDay();
+        LocalDateTime endOfDay = startOfDay.plusDays(1);
+        try (ExecutorService executor = Executors.newFixedThreadPool(queryParallelism, Thread.ofVirtual().factory())) {
+            Future<Long> buses = executor.submit(() -> busRepository.count());
+            Future<Long> availableBuses = executor.submit(() -> busRepository.countByIsAvailableTrue());
+            Future<Long> routes = executor.submit(() -> routeRepository.count());
+            Future<Long> drivers = executor.submit(() -> driverRepository.count());
+            Future<Long> availableDrivers = executor.submit(() -> driverRepository.countByIsAvailableTrue());
+            Future<Long> passengers = executor.submit(() -> passengerRepository.count());
+            Future<Long> departuresToday = executor.submit(() -> scheduleRepository.countDepartures(startOfDay, endOfDay));
+            Future<Long> bookingsToday = executor.submit(() -> bookingRepository.countBookedBetween(startOfDay, endOfDay));
+            Future<Long> late = executor.submit(() -> scheduleRepository.countDeparturesByStatus(SCHEDULED, startOfDay,
+                    now.minusMinutes(lateMinutes)));
+            Future<Long> nearlyFull = executor.submit(() -> scheduleRepository.countNearlyFullDepartures(now, endOfDay,
+                    nearlyFullSeats));
+            Future<Long> withoutDriver = executor.submit(() -> scheduleRepository.countDeparturesWithoutDriver(now, endOfDay));
+            Future<List<Object[]>> departures = executor.submit(() -> scheduleRepository.findDepartureRows(startOfDay,
+                    endOfDay, PageRequest.of(0, departuresLimit)));
+            Future<List<Object[]>> bookings = executor.submit(() -> bookingRepository.findRecentBookingRows(
+                    now.minusHours(recentBookingsHours), PageRequest.of(0, recentBookingsLimit)));
+            Future<RollupTotals> todayTotals = executor.submit(() -> bookingRollupService.getSummary(today, today));
+            Future<List<RollupTotals>> lastSevenDays = executor.submit(() -> bookingRollupService.getDailyTotals(
+                    today.minusDays(6), today, null, null));
+
+            DashboardSummary.Counts counts = new DashboardSummary.Counts(get(buses), get(availableBuses), get(routes),
+                    get(drivers), get(availableDrivers), get(passengers), get(departuresToday), get(bookingsToday));
+            return new DashboardSummary(now, counts, get(todayTotals), get(lastSevenDays), departures(get(departures)),
+                    recentBookings(get(bookings)), alerts(counts, get(late), get(nearlyFull), get(withoutDriver)));
+        }
+    }
+
+    private List<DashboardSummary.Departure> departures(List<Object[]> rows) {
+        List<DashboardSummary.Departure> departures = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            departures.add(new DashboardSummary.Departure((Long) row[0], (LocalDateTime) row[1], (String) row[2],
+                    (Long) row[3], (String) row[4], (String) row[5], (Integer) row[6], (Integer) row[7], (String) row[8],
+                    (String) row[9], (String) row[10]));
+        }
+        return departures;
+    }
+
+    private List<DashboardSummary.RecentBooking> recentBookings(List<Object[]> rows) {
+        List<DashboardSummary.RecentBooking> bookings = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            bookings.add(new DashboardSummary.RecentBooking((Long) row[0], (String) row[1], (LocalDateTime) row[2],
+                    row[3] + " " + row[4], (String) row[5], (String) row[6], (LocalDateTime) row[7], (Integer) row[8],
+                    (Double) row[9], (String) row[10]));
+        }
+        return bookings;
+    }
+
+    private List<DashboardSummary.Alert> alerts(DashboardSummary.Counts counts, long late, long nearlyFull, long withoutDriver) {
+        List<DashboardSummary.Alert> alerts = new ArrayList<>();
+        if (late > 0) {
+            alerts.add(new DashboardSummary.Alert("danger", "Late Departures",
+                    late + " departures today are more than " + lateMinutes + " mins past their time"));
+        }
+        if (withoutDriver > 0) {
+            alerts.add(new DashboardSummary.Alert("danger", "Drivers Missing",
+                    withoutDriver + " departures later today have no driver assigned"));
+        }
+        if (nearlyFull > 0) {
+            alerts.add(new DashboardSummary.Alert("warning", "Nearly Full",
+                    nearlyFull + " departures later today have " + nearlyFullSeats + " seats or fewer left"));
+        }
+        long outOfService = counts.buses() - counts.availableBuses();
+        if (outOfService > 0) {
+            alerts.add(new DashboardSummary.Alert("warning", "Buses Out of Service",
+                    outOfService + " of " + counts.buses() + " buses are unavailable"));
+        }
+        if (alerts.isEmpty()) {
+            alerts.add(new DashboardSummary.Alert("info", "All Clear", "No late, unstaffed or nearly full departures"));
+        }
+        return alerts;
+    }
+
+    private static <T> T get(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while building the dashboard summary", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause
+                    : new IllegalStateException("Dashboard query failed", e.getCause());
+        }
+    }
+}
@@ -7,10 +7,12 @@ import com.busmanagement.BusManagementSystem.repository.BusRepository;
 import com.busmanagement.BusManagementSystem.exception.ResourceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@Transactional
 public class DriverService {
 
     @Autowired
@@ -19,15 +21,21 @@ public class DriverService {
     @Autowired
     private BusRepository busRepository;
 
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Transactional(readOnly = true)
     public List<Driver> getAllDrivers() {
         return driverRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Driver getDriverById(Long id) {
         return driverRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Driver not found with id: " + id));
     }
 
+    @Transactional(readOnly = true)
     public Driver getDriverByLicense(String licenseNumber) {
         return driverRepository.findByLicenseNumber(licenseNumber)
                 .orElseThrow(() -> new ResourceNotFoundException("Driver not found with license: " + licenseNumber));
@@ -40,6 +48,7 @@ public class DriverService {
         if (driverRepository.existsByEmail(driver.getEmail())) {
             throw new RuntimeException("Driver with email " + driver.getEmail() + " already exists");
         }
+        referenceDataCache.changed(ReferenceDataCache.Aggregate.DRIVERS);
         return driverRepository.save(driver);
     }
 
@@ -67,14 +76,17 @@ public class DriverService {
         driver.setExperienceYears(driverDetails.getExperienceYears());
         driver.setIsAvailable(driverDetails.getIsAvailable());
         
+        referenceDataCache.changed(ReferenceDataCache.Aggregate.DRIVERS);
         return driverRepository.save(driver);
     }
 
     public void deleteDriver(Long id) {
         Driver driver = getDriverById(id);
         driverRepository.delete(driver);
+        referenceDataCache.changed(ReferenceDataCache.Aggregate.DRIVERS);
     }
 
+    @Transactional(readOnly = true)
     public List<Driver> getAvailableDrivers() {
         return driverRepository.findByIsAvailableTrue();
     }
@@ -85,18 +97,21 @@ public class DriverService {
                 .orElseThrow(() -> new ResourceNotFoundException("Bus not found with id: " + busId));
         
         driver.setAssignedBus(bus);
+        referenceDataCache.changed(ReferenceDataCache.Aggregate.DRIVERS);
         return driverRepository.save(driver);
     }
 
     public Driver removeBusFromDriver(Long driverId) {
         Driver driver = getDriverById(driverId);
         driver.setAssignedBus(null);
+        referenceDataCache.changed(ReferenceDataCache.Aggregate.DRIVERS);
         return driverRepository.save(driver);
     }
 
     public Driver updateDriverAvailability(Long id, Boolean isAvailable) {
         Driver driver = getDriverById(id);
         driver.setIsAvailable(isAvailable);
+        referenceDataCache.changed(ReferenceDataCache.Aggregate.DRIVERS);
         return driverRepository.save(driver);
     }
 }
\ No newline at end of file
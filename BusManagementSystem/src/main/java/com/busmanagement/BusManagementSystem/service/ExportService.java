@@ -0,0 +1,262 @@
+package com.busmanagement.BusManagementSystem.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import jakarta.annotation.PostConstruct;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+// Writes query results straight from a forward-only cursor to the response: one flat row
+// at a time, no entities, no intermediate list, so heap use does not depend on row count.
+@Service
+public class ExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportService.class);
+
+    private static final String BOOKINGS_SQL =
+            "SELECT b.id, b.booking_number, b.booking_date, b.booking_status, b.payment_status, b.number_of_seats, "
+            + "b.total_amount, b.seat_numbers, p.id AS passenger_id, p.first_name, p.last_name, p.email, "
+            + "s.id AS schedule_id, s.departure_time, r.source, r.destination, bu.bus_number "
+            + "FROM bookings b "
+            + "JOIN passengers p ON p.id = b.passenger_id "
+            + "JOIN schedules s ON s.id = b.schedule_id "
+            + "JOIN routes r ON r.id = s.route_id "
+            + "JOIN buses bu ON bu.id = s.bus_id "
+            + "WHERE b.booking_date BETWEEN ? AND ?";
+
+    private static final String SCHEDULES_SQL =
+            "SELECT s.id, s.departure_time, s.arrival_time, s.status, s.fare, s.available_seats, "
+            + "r.source, r.destination, r.distance, bu.bus_number, bu.bus_type, bu.total_seats, d.name AS driver_name "
+            + "FROM schedules s "
+            + "JOIN routes r ON r.id = s.route_id "
+            + "JOIN buses bu ON bu.id = s.bus_id "
+            + "LEFT JOIN drivers d ON d.id = s.driver_id "
+            + "WHERE s.departure_time BETWEEN ? AND ?";
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${export.fetch-size:1000}")
+    private int fetchSize;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    public void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    public long exportBookings(LocalDateTime start, LocalDateTime end, Format format, boolean gzip, OutputStream out) throws IOException {
+        return export(BOOKINGS_SQL, start, end, format, gzip, out);
+    }
+
+    public long exportSchedules(LocalDateTime start, LocalDateTime end, Format format, boolean gzip, OutputStream out) throws IOException {
+        return export(SCHEDULES_SQL, start, end, format, gzip, out);
+    }
+
+    private long export(String sql, LocalDateTime start, LocalDateTime end, Format format, boolean gzip, OutputStream out) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(out, 1 << 16) : out;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 1 << 16);
+        RowWriter rowWriter = format == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+        long[] rows = new long[1];
+
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                ps.setTimestamp(1, Timestamp.valueOf(start));
+                ps.setTimestamp(2, Timestamp.valueOf(end));
+                return ps;
+            }, (ResultSetExtractor<Void>) rs -> {
+                try {
+                    // Written before the first row, so an empty export still tells the reader its columns
+                    rowWriter.header(rs.getMetaData());
+                    while (rs.next()) {
+                        rowWriter.row(rs);
+                        rows[0]++;
+                    }
+                } catch (IOException e) {
+                    // Client went away: abandon the cursor instead of reading the rest of the table
+                    throw new UncheckedIOException(e);
+                }
+                return null;
+            }));
+            rowWriter.finish();
+            writer.flush();
+            if (gzip) {
+                ((GZIPOutputStream) target).finish();
+            }
+        } catch (UncheckedIOException e) {
+            logger.info("Export cancelled by client after {} rows", rows[0]);
+            throw e.getCause();
+        }
+        return rows[0];
+    }
+
+    private interface RowWriter {
+        void header(ResultSetMetaData metaData) throws SQLException, IOException;
+
+        void row(ResultSet rs) throws SQLException, IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static Object value(ResultSet rs, int column) throws SQLException {
+        Object value = rs.getObject(column);
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        return value;
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+        private int columns;
+
+        private CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void header(ResultSetMetaData metaData) throws SQLException, IOException {
+            columns = metaData.getColumnCount();
+            for (int i = 1; i <= columns; i++) {
+                if (i > 1) {
+                    writer.write(',');
+                }
+                writer.write(metaData.getColumnLabel(i).toLowerCase());
+            }
+            writer.write('\n');
+        }
+
+        @Override
+        public void row(ResultSet rs) throws SQLException, IOException {
+            for (int i = 1; i <= columns; i++) {
+                if (i > 1) {
+                    writer.write(',');
+                }
+                Object value = value(rs, i);
+                if (value != null) {
+                    write(value.toString());
+                }
+            }
+            writer.write('\n');
+        }
+
+        private void write(String value) throws IOException {
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void finish() {
+        }
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+        private String[] names;
+
+        private NdjsonRowWriter(Writer writer) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(writer);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void header(ResultSetMetaData metaData) throws SQLException {
+            names = new String[metaData.getColumnCount()];
+            for (int i = 0; i < names.length; i++) {
+                names[i] = toCamelCase(metaData.getColumnLabel(i + 1));
+            }
+        }
+
+        @Override
+        public void row(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < names.length; i++) {
+                generator.writeFieldName(names[i]);
+                generator.writeObject(value(rs, i + 1));
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+
+        private String toCamelCase(String column) {
+            StringBuilder name = new StringBuilder();
+            boolean upper = false;
+            for (char c : column.toLowerCase().toCharArray()) {
+                if (c == '_') {
+                    upper = true;
+                } else {
+                    name.append(upper ? Character.toUpperCase(c) : c);
+                    upper = false;
+                }
+            }
+            return name.toString();
+        }
+    }
+}
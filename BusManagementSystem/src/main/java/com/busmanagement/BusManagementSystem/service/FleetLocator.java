@@ -0,0 +1,222 @@
+package com.busmanagement.BusManagementSystem.service;
+
+import com.busmanagement.BusManagementSystem.dto.NearbyBus;
+import com.busmanagement.BusManagementSystem.dto.NearbyDriver;
+import com.busmanagement.BusManagementSystem.model.Bus;
+import com.busmanagement.BusManagementSystem.model.Driver;
+import com.busmanagement.BusManagementSystem.model.Route;
+import com.busmanagement.BusManagementSystem.repository.BusRepository;
+import com.busmanagement.BusManagementSystem.repository.DriverRepository;
+import com.busmanagement.BusManagementSystem.repository.RouteRepository;
+import com.busmanagement.BusManagementSystem.util.GeoGridIndex;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Where the fleet is. Buses sit in a GeoGridIndex at their depot coordinates until their first GPS
+// ping and follow the pings from then on; named places come from the route endpoints. Queries never
+// touch the database except to load the drivers of the buses found. Changes made through this node
+// are applied after commit; the periodic reload picks up buses and routes changed elsewhere.
+@Service
+public class FleetLocator {
+
+    private static final String DEPOT_SUFFIX = " depot";
+
+    @Autowired
+    private BusRepository busRepository;
+
+    @Autowired
+    private RouteRepository routeRepository;
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Value("${positions.max-bus-id:100000}")
+    private int maxBusId;
+
+    @Value("${geo.cell-km:5}")
+    private double cellKm;
+
+    @Value("${geo.max-radius-km:500}")
+    private double maxRadiusKm;
+
+    @Value("${geo.max-results:100}")
+    private int maxResults;
+
+    private GeoGridIndex index;
+    private final Map<String, double[]> places = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        index = new GeoGridIndex(maxBusId + 1, cellKm);
+        reload();
+    }
+
+    public GeoGridIndex getIndex() {
+        return index;
+    }
+
+    // Buses that already report live positions keep them; only their availability is refreshed
+    @Scheduled(fixedDelayString = "${geo.reload-ms:60000}", initialDelayString = "${geo.reload-ms:60000}")
+    public void reload() {
+        for (Object[] row : busRepository.findAllCoordinates()) {
+            long busId = (Long) row[0];
+            if (!index.accepts(busId)) {
+                continue;
+            }
+            boolean isAvailable = Boolean.TRUE.equals(row[3]);
+            if (index.contains(busId)) {
+                index.setAvailable(busId, isAvailable);
+            } else {
+                index.put(busId, (Double) row[1], (Double) row[2], isAvailable);
+            }
+        }
+        for (Object[] row : routeRepository.findAllEndpointCoordinates()) {
+            addPlace((String) row[0], (Double) row[1], (Double) row[2]);
+            addPlace((String) row[3], (Double) row[4], (Double) row[5]);
+        }
+    }
+
+    // Called for every accepted GPS ping
+    public void busMoved(long busId, double latitude, double longitude) {
+        if (index.accepts(busId)) {
+            index.put(busId, latitude, longitude);
+        }
+    }
+
+    public void busSaved(Bus bus) {
+        Long busId = bus.getId();
+        boolean isAvailable = Boolean.TRUE.equals(bus.getIsAvailable());
+        Double latitude = bus.getLatitude();
+        Double longitude = bus.getLongitude();
+        afterCommit(() -> {
+            if (index.contains(busId)) {
+                index.setAvailable(busId, isAvailable);
+            } else if (latitude != null && longitude != null && index.accepts(busId)) {
+                index.put(busId, latitude, longitude, isAvailable);
+            }
+        });
+    }
+
+    public void busDeleted(Long busId) {
+        afterCommit(() -> index.remove(busId));
+    }
+
+    public void routeSaved(Route route) {
+        afterCommit(() -> {
+            addPlace(route.getSource(), route.getSourceLatitude(), route.getSourceLongitude());
+            addPlace(route.getDestination(), route.getDestinationLatitude(), route.getDestinationLongitude());
+        });
+    }
+
+    // Coordinates win over a place name; "Chitwan Depot" resolves like "Chitwan"
+    public double[] resolve(Double latitude, Double longitude, String near) {
+        if (latitude != null && longitude != null) {
+            if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+                throw new IllegalArgumentException("Coordinates out of range: " + latitude + ", " + longitude);
+            }
+            return new double[] {latitude, longitude};
+        }
+        if (near == null || near.isBlank()) {
+            throw new IllegalArgumentException("Either latitude and longitude or a place name is required");
+        }
+        String key = near.trim().toLowerCase(Locale.ROOT);
+        double[] place = places.get(key);
+        if (place == null && key.endsWith(DEPOT_SUFFIX)) {
+            place = places.get(key.substring(0, key.length() - DEPOT_SUFFIX.length()).trim());
+        }
+        if (place == null) {
+            throw new IllegalArgumentException("No coordinates known for " + near);
+        }
+        return place;
+    }
+
+    public List<NearbyBus> findNearbyBuses(double[] point, double radiusKm, int limit, boolean availableOnly) {
+        List<NearbyBus> buses = new ArrayList<>();
+        for (GeoGridIndex.Hit hit : search(point, radiusKm, limit, availableOnly)) {
+            buses.add(new NearbyBus(hit.id(), hit.latitude(), hit.longitude(), round(hit.distanceKm())));
+        }
+        return buses;
+    }
+
+    // Drivers have no position of their own; they are where their assigned bus is. Many of the nearest
+    // buses may have no driver, or no available one, so the search widens until limit drivers are found
+    // or every bus within the radius has been looked at. Each bus's driver is loaded once.
+    public List<NearbyDriver> findNearbyDrivers(double[] point, double radiusKm, int limit, boolean availableOnly) {
+        checkSearch(radiusKm, limit);
+        Map<Long, Driver> drivers = new HashMap<>();
+        Set<Long> loaded = new HashSet<>();
+        for (int k = limit; ; k = (int) Math.min(Integer.MAX_VALUE, 2L * k)) {
+            List<GeoGridIndex.Hit> hits = index.nearest(point[0], point[1], radiusKm, k, false);
+            List<Long> unseen = hits.stream().map(GeoGridIndex.Hit::id).filter(loaded::add).toList();
+            if (!unseen.isEmpty()) {
+                for (Driver driver : driverRepository.findByAssignedBusIdIn(unseen)) {
+                    drivers.put(driver.getAssignedBus().getId(), driver);
+                }
+            }
+            List<NearbyDriver> nearby = new ArrayList<>();
+            for (GeoGridIndex.Hit hit : hits) {
+                Driver driver = drivers.get(hit.id());
+                if (driver != null && (!availableOnly || Boolean.TRUE.equals(driver.getIsAvailable()))) {
+                    nearby.add(new NearbyDriver(driver.getId(), driver.getName(), driver.getContactNumber(), hit.id(),
+                            round(hit.distanceKm())));
+                    if (nearby.size() == limit) {
+                        return nearby;
+                    }
+                }
+            }
+            if (hits.size() < k) {
+                return nearby;
+            }
+        }
+    }
+
+    private List<GeoGridIndex.Hit> search(double[] point, double radiusKm, int limit, boolean availableOnly) {
+        checkSearch(radiusKm, limit);
+        return index.nearest(point[0], point[1], radiusKm, limit, availableOnly);
+    }
+
+    private void checkSearch(double radiusKm, int limit) {
+        if (radiusKm <= 0 || radiusKm > maxRadiusKm) {
+            throw new IllegalArgumentException("Radius must be between 0 and " + maxRadiusKm + " km");
+        }
+        if (limit <= 0 || limit > maxResults) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxResults);
+        }
+    }
+
+    private void addPlace(String name, Double latitude, Double longitude) {
+        if (name != null && latitude != null && longitude != null) {
+            places.put(name.trim().toLowerCase(Locale.ROOT), new double[] {latitude, longitude});
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static double round(double km) {
+        return Math.round(km * 1000) / 1000.0;
+    }
+}
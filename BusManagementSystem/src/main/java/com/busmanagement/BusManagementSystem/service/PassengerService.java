@@ -3,39 +3,60 @@ package com.busmanagement.BusManagementSystem.service;
 import com.busmanagement.BusManagementSystem.model.Passenger;
 import com.busmanagement.BusManagementSystem.repository.PassengerRepository;
 import com.busmanagement.BusManagementSystem.exception.ResourceNotFoundException;
+import com.busmanagement.BusManagementSystem.service.UniqueKeyFilter.Key;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@Transactional
 public class PassengerService {
 
     @Autowired
     private PassengerRepository passengerRepository;
 
+    @Autowired
+    private UniqueKeyFilter uniqueKeyFilter;
+
+    @Transactional(readOnly = true)
     public List<Passenger> getAllPassengers() {
         return passengerRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Passenger getPassengerById(Long id) {
         return passengerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Passenger not found with id: " + id));
     }
 
+    @Transactional(readOnly = true)
     public Passenger getPassengerByEmail(String email) {
         return passengerRepository.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("Passenger not found with email: " + email));
     }
 
     public Passenger createPassenger(Passenger passenger) {
-        if (passengerRepository.existsByEmail(passenger.getEmail())) {
+        if (uniqueKeyFilter.exists(Key.PASSENGER_EMAIL, passenger.getEmail(), passengerRepository::existsByEmail)) {
             throw new RuntimeException("Passenger with email " + passenger.getEmail() + " already exists");
         }
         if (passengerRepository.existsByPhoneNumber(passenger.getPhoneNumber())) {
             throw new RuntimeException("Passenger with phone number " + passenger.getPhoneNumber() + " already exists");
         }
-        return passengerRepository.save(passenger);
+        Passenger saved;
+        try {
+            saved = passengerRepository.save(passenger);
+        } catch (DataIntegrityViolationException e) {
+            // Registered on another node since the filter's last sync
+            if (UniqueKeyFilter.violates(e, "uk_passengers_email")) {
+                throw new RuntimeException("Passenger with email " + passenger.getEmail() + " already exists");
+            }
+            throw e;
+        }
+        uniqueKeyFilter.add(Key.PASSENGER_EMAIL, saved.getEmail());
+        return saved;
     }
 
     public Passenger updatePassenger(Long id, Passenger passengerDetails) {
@@ -43,7 +64,7 @@ public class PassengerService {
         
         // Check if email is being changed and if it already exists
         if (!passenger.getEmail().equals(passengerDetails.getEmail()) && 
-            passengerRepository.existsByEmail(passengerDetails.getEmail())) {
+            uniqueKeyFilter.exists(Key.PASSENGER_EMAIL, passengerDetails.getEmail(), passengerRepository::existsByEmail)) {
             throw new RuntimeException("Passenger with email " + passengerDetails.getEmail() + " already exists");
         }
         
@@ -58,8 +79,18 @@ public class PassengerService {
         passenger.setEmail(passengerDetails.getEmail());
         passenger.setPhoneNumber(passengerDetails.getPhoneNumber());
         passenger.setAddress(passengerDetails.getAddress());
-        
-        return passengerRepository.save(passenger);
+        uniqueKeyFilter.add(Key.PASSENGER_EMAIL, passenger.getEmail());
+
+        try {
+            // Flushed here: an email the filter has not heard of (changed on another node, or equal to
+            // this one only under the collation) is caught by the constraint and reported like the check
+            return passengerRepository.saveAndFlush(passenger);
+        } catch (DataIntegrityViolationException e) {
+            if (UniqueKeyFilter.violates(e, "uk_passengers_email")) {
+                throw new RuntimeException("Passenger with email " + passengerDetails.getEmail() + " already exists");
+            }
+            throw e;
+        }
     }
 
     public void deletePassenger(Long id) {
@@ -67,6 +98,7 @@ public class PassengerService {
         passengerRepository.delete(passenger);
     }
 
+    @Transactional(readOnly = true)
     public boolean passengerExists(String email) {
         return passengerRepository.existsByEmail(email);
     }
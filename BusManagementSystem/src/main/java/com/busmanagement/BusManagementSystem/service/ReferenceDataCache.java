@@ -0,0 +1,148 @@
+package com.busmanagement.BusManagementSystem.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+// Conditional GETs for the reference-data lists. The serialized body is kept per endpoint with an ETag
+// that is a hash of its bytes, so every node serving the same data hands out the same tag and
+// If-None-Match is answered from the cached entry without a query or Jackson. Routes, buses and drivers
+// each carry a local version that the services bump after every committed change, which drops the
+// entries built from them. Changes committed by other nodes or straight to the database bump nothing
+// here, so a body older than http-cache.revalidate-ms is rebuilt and rehashed. JSON and CBOR bodies are
+// cached and tagged separately; tags are weak so the server may still gzip the body.
+@Service
+public class ReferenceDataCache {
+
+    public enum Aggregate { ROUTES, BUSES, DRIVERS }
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Value("${http-cache.revalidate-ms:30000}")
+    private long revalidateMillis;
+
+    private final AtomicLongArray versions = new AtomicLongArray(Aggregate.values().length);
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private record Entry(String versions, String etag, byte[] body, long loadedAt) {
+    }
+
+    public void changed(Aggregate aggregate) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versions.incrementAndGet(aggregate.ordinal());
+                }
+            });
+        } else {
+            versions.incrementAndGet(aggregate.ordinal());
+        }
+    }
+
+    // 304 when If-None-Match names the current tag, otherwise the cached body or a freshly built one.
+    // The versions are read before loading, so a change committed mid-load leaves the entry already stale.
+    public ResponseEntity<byte[]> respond(String key, String accept, String ifNoneMatch, CacheControl cacheControl,
+                                          Supplier<?> loader, Aggregate... dependsOn) {
+        boolean cbor = prefersCbor(accept);
+        String entryKey = cbor ? key + ";cbor" : key;
+        String current = versions(dependsOn);
+        Entry entry = entries.get(entryKey);
+        boolean fresh = entry != null && entry.versions().equals(current)
+                && System.currentTimeMillis() - entry.loadedAt() < revalidateMillis;
+        if (!fresh) {
+            entry = load(entryKey, cbor, current, loader);
+        }
+        if (matches(ifNoneMatch, entry.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(entry.etag()).cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT).build();
+        }
+        return ResponseEntity.ok().eTag(entry.etag()).cacheControl(cacheControl).varyBy(HttpHeaders.ACCEPT)
+                .contentType(cbor ? MediaType.APPLICATION_CBOR : MediaType.APPLICATION_JSON).body(entry.body());
+    }
+
+    private Entry load(String key, boolean cbor, String versions, Supplier<?> loader) {
+        byte[] body;
+        try {
+            ObjectMapper mapper = cbor ? cborConverter.getObjectMapper() : objectMapper;
+            body = mapper.writeValueAsBytes(loader.get());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        Entry entry = new Entry(versions, "W/\"" + DigestUtils.md5DigestAsHex(body) + "\"", body, System.currentTimeMillis());
+        entries.put(key, entry);
+        return entry;
+    }
+
+    private String versions(Aggregate... dependsOn) {
+        StringBuilder key = new StringBuilder();
+        for (Aggregate aggregate : dependsOn) {
+            key.append(versions.get(aggregate.ordinal())).append('-');
+        }
+        return key.toString();
+    }
+
+    // CBOR only when the client ranks it above JSON; wildcards and unparseable headers get JSON
+    static boolean prefersCbor(String accept) {
+        if (accept == null) {
+            return false;
+        }
+        double json = 0;
+        double cbor = 0;
+        try {
+            for (MediaType type : MediaType.parseMediaTypes(accept)) {
+                if (type.isWildcardType()) {
+                    continue;
+                }
+                if (type.includes(MediaType.APPLICATION_CBOR)) {
+                    cbor = Math.max(cbor, type.getQualityValue());
+                }
+                if (type.includes(MediaType.APPLICATION_JSON)) {
+                    json = Math.max(json, type.getQualityValue());
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        return cbor > json;
+    }
+
+    // If-None-Match uses the weak comparison: W/ prefixes are ignored, * matches anything
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String opaque = etag.startsWith("W/") ? etag.substring(2) : etag;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
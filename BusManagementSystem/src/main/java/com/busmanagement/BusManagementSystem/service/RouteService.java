@@ -5,19 +5,29 @@ import com.busmanagement.BusManagementSystem.repository.RouteRepository;
 import com.busmanagement.BusManagementSystem.exception.ResourceNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@Transactional
 public class RouteService {
 
     @Autowired
     private RouteRepository routeRepository;
 
+    @Autowired
+    private FleetLocator fleetLocator;
+
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+
+    @Transactional(readOnly = true)
     public List<Route> getAllRoutes() {
         return routeRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Route getRouteById(Long id) {
         return routeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Route not found with id: " + id));
@@ -30,7 +40,10 @@ public class RouteService {
         if (existingRoute.isPresent()) {
             throw new RuntimeException("Route from " + route.getSource() + " to " + route.getDestination() + " already exists");
         }
-        return routeRepository.save(route);
+        Route saved = routeRepository.save(route);
+        fleetLocator.routeSaved(saved);
+        referenceDataCache.changed(ReferenceDataCache.Aggregate.ROUTES);
+        return saved;
     }
 
     public Route updateRoute(Long id, Route routeDetails) {
@@ -51,31 +64,44 @@ public class RouteService {
         route.setDistance(routeDetails.getDistance());
         route.setEstimatedTravelTime(routeDetails.getEstimatedTravelTime());
         route.setDescription(routeDetails.getDescription());
+        route.setSourceLatitude(routeDetails.getSourceLatitude());
+        route.setSourceLongitude(routeDetails.getSourceLongitude());
+        route.setDestinationLatitude(routeDetails.getDestinationLatitude());
+        route.setDestinationLongitude(routeDetails.getDestinationLongitude());
         
-        return routeRepository.save(route);
+        Route saved = routeRepository.save(route);
+        fleetLocator.routeSaved(saved);
+        referenceDataCache.changed(ReferenceDataCache.Aggregate.ROUTES);
+        return saved;
     }
 
     public void deleteRoute(Long id) {
         Route route = getRouteById(id);
         routeRepository.delete(route);
+        referenceDataCache.changed(ReferenceDataCache.Aggregate.ROUTES);
     }
 
+    @Transactional(readOnly = true)
     public List<Route> getRoutesBySource(String source) {
         return routeRepository.findBySource(source);
     }
 
+    @Transactional(readOnly = true)
     public List<Route> getRoutesByDestination(String destination) {
         return routeRepository.findByDestination(destination);
     }
 
+    @Transactional(readOnly = true)
     public Optional<Route> getRouteBySourceAndDestination(String source, String destination) {
         return routeRepository.findBySourceAndDestination(source, destination);
     }
 
+    @Transactional(readOnly = true)
     public List<String> getAllUniqueSources() {
         return routeRepository.findAllUniqueSources();
     }
 
+    @Transactional(readOnly = true)
     public List<String> getAllUniqueDestinations() {
         return routeRepository.findAllUniqueDestinations();
     }
@@ -1,5 +1,6 @@
 package com.busmanagement.BusManagementSystem.service;
 
+import com.busmanagement.BusManagementSystem.dto.EtaPrediction;
 import com.busmanagement.BusManagementSystem.model.Schedule;
 import com.busmanagement.BusManagementSystem.model.Bus;
 import com.busmanagement.BusManagementSystem.model.Route;
@@ -9,13 +10,18 @@ import com.busmanagement.BusManagementSystem.repository.BusRepository;
 import com.busmanagement.BusManagementSystem.repository.RouteRepository;
 import com.busmanagement.BusManagementSystem.repository.DriverRepository;
 import com.busmanagement.BusManagementSystem.exception.ResourceNotFoundException;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 @Service
+@Transactional
+@Timed("schedule.service")
 public class ScheduleService {
 
     @Autowired
@@ -30,10 +36,27 @@ public class ScheduleService {
     @Autowired
     private DriverRepository driverRepository;
 
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Autowired
+    private BookingMetrics bookingMetrics;
+
+    @Autowired
+    private SeatAvailabilityBroadcaster seatAvailabilityBroadcaster;
+
+    @Autowired
+    private TravelTimePredictor travelTimePredictor;
+
+    @Autowired
+    private BookingRollupService bookingRollupService;
+
+    @Transactional(readOnly = true)
     public List<Schedule> getAllSchedules() {
         return scheduleRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
     public Schedule getScheduleById(Long id) {
         return scheduleRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Schedule not found with id: " + id));
@@ -61,7 +84,11 @@ public class ScheduleService {
         // Set available seats from bus
         schedule.setAvailableSeats(bus.getTotalSeats());
         
-        return scheduleRepository.save(schedule);
+        Schedule savedSchedule = scheduleRepository.save(schedule);
+        if (!"CANCELLED".equals(savedSchedule.getStatus())) {
+            bookingRollupService.tripAdded(savedSchedule);
+        }
+        return savedSchedule;
     }
 
     public Schedule updateSchedule(Long id, Schedule scheduleDetails) {
@@ -102,44 +129,103 @@ public class ScheduleService {
         scheduleRepository.delete(schedule);
     }
 
+    @Transactional(readOnly = true)
     public List<Schedule> getSchedulesByBus(Long busId) {
         return scheduleRepository.findByBusId(busId);
     }
 
+    @Transactional(readOnly = true)
     public List<Schedule> getSchedulesByRoute(Long routeId) {
         return scheduleRepository.findByRouteId(routeId);
     }
 
+    // What a route's seat stream opens with: departures still ahead, sold out or not
+    @Transactional(readOnly = true)
+    public List<Schedule> getUpcomingSchedulesByRoute(Long routeId) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Schedule> upcoming = new ArrayList<>();
+        for (Schedule schedule : scheduleRepository.findByRouteId(routeId)) {
+            if (schedule.getDepartureTime().isAfter(now) && "SCHEDULED".equals(schedule.getStatus())) {
+                upcoming.add(schedule);
+            }
+        }
+        return upcoming;
+    }
+
+    @Transactional(readOnly = true)
     public List<Schedule> getSchedulesByDriver(Long driverId) {
         return scheduleRepository.findByDriverId(driverId);
     }
 
+    @Transactional(readOnly = true)
     public List<Schedule> getSchedulesByStatus(String status) {
         return scheduleRepository.findByStatus(status);
     }
 
+    @Transactional(readOnly = true)
     public List<Schedule> getAvailableSchedules(String source, String destination, LocalDateTime departureTime) {
         return scheduleRepository.findAvailableSchedules(source, destination, departureTime);
     }
 
+    @Transactional(readOnly = true)
+    public List<Schedule> getSchedulesBetweenDates(LocalDateTime start, LocalDateTime end, boolean includeArchived) {
+        List<Schedule> schedules = scheduleRepository.findSchedulesBetweenDates(start, end);
+        if (!includeArchived) {
+            return schedules;
+        }
+        List<Schedule> all = new ArrayList<>(schedules);
+        all.addAll(archiveService.findArchivedSchedules(start, end));
+        return all;
+    }
+
+    @Transactional(readOnly = true)
     public List<Schedule> getUpcomingSchedules() {
         return scheduleRepository.findByDepartureTimeAfterAndAvailableSeatsGreaterThan(
                 LocalDateTime.now(), 0);
     }
 
+    // Actual times are stamped on the first DEPARTED and ARRIVED; repeating a status does not move them
     public Schedule updateScheduleStatus(Long id, String status) {
         Schedule schedule = getScheduleById(id);
+        LocalDateTime now = LocalDateTime.now();
+        boolean arrived = false;
+        boolean wasCancelled = "CANCELLED".equals(schedule.getStatus());
+        if ("DEPARTED".equals(status) && schedule.getActualDepartureTime() == null) {
+            schedule.setActualDepartureTime(now);
+        } else if ("ARRIVED".equals(status) && schedule.getActualArrivalTime() == null) {
+            schedule.setActualArrivalTime(now);
+            arrived = true;
+        }
         schedule.setStatus(status);
-        return scheduleRepository.save(schedule);
+        Schedule savedSchedule = scheduleRepository.save(schedule);
+        if (arrived) {
+            travelTimePredictor.tripArrived(savedSchedule);
+        }
+        if (wasCancelled != "CANCELLED".equals(status)) {
+            if (wasCancelled) {
+                bookingRollupService.tripAdded(savedSchedule);
+            } else {
+                bookingRollupService.tripCancelled(savedSchedule);
+            }
+        }
+        return savedSchedule;
+    }
+
+    @Transactional(readOnly = true)
+    public EtaPrediction predictArrival(Long id) {
+        return travelTimePredictor.predict(getScheduleById(id));
     }
 
     public Schedule updateAvailableSeats(Long id, Integer seatsBooked) {
         Schedule schedule = getScheduleById(id);
         int newAvailableSeats = schedule.getAvailableSeats() - seatsBooked;
         if (newAvailableSeats < 0) {
+            bookingMetrics.scheduleSeatConflict();
             throw new RuntimeException("Not enough seats available in schedule");
         }
         schedule.setAvailableSeats(newAvailableSeats);
-        return scheduleRepository.save(schedule);
+        Schedule savedSchedule = scheduleRepository.save(schedule);
+        seatAvailabilityBroadcaster.seatsChanged(savedSchedule);
+        return savedSchedule;
     }
 }
\ No newline at end of file
@@ -0,0 +1,323 @@
+package com.busmanagement.BusManagementSystem.service;
+
+import com.busmanagement.BusManagementSystem.dto.SeatAvailabilityUpdate;
+import com.busmanagement.BusManagementSystem.exception.RateLimitExceededException;
+import com.busmanagement.BusManagementSystem.model.Schedule;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// Pushes seat-count changes to Server-Sent Event subscribers of a schedule, of a route, or of every
+// schedule. Changes are coalesced: each flush sends at most one event per schedule, carrying the last
+// committed count, so a booking rush on one departure costs subscribers one event per interval. An event
+// is serialized once and the same frame is queued to every subscriber; each subscriber has its own
+// virtual thread that blocks on the socket, so a slow client delays nobody else. A subscriber that falls
+// a whole queue behind is disconnected and re-syncs from the snapshot sent on reconnect. The writer also
+// sends a heartbeat comment when idle, which is how connections that went away silently are found.
+// A subscriber is registered before its snapshot is read, so no change committed in between is lost.
+@Component
+public class SeatAvailabilityBroadcaster {
+
+    private static final Set<ResponseBodyEmitter.DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("").build();
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${seats.stream.heartbeat-ms:15000}")
+    private long heartbeatMillis;
+
+    @Value("${seats.stream.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    @Value("${seats.stream.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Value("${seats.stream.max-subscribers:20000}")
+    private int maxSubscribers;
+
+    @Value("${seats.stream.max-per-client:20}")
+    private int maxPerClient;
+
+    @Value("${seats.stream.reconnect-ms:3000}")
+    private long reconnectMillis;
+
+    private final Map<Long, Set<Subscriber>> scheduleSubscribers = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Subscriber>> routeSubscribers = new ConcurrentHashMap<>();
+    private final Set<Subscriber> allSubscribers = ConcurrentHashMap.newKeySet();
+    private final Map<Long, SeatAvailabilityUpdate> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Map<String, Integer> streamsByClient = new ConcurrentHashMap<>();
+    private final ThreadFactory writers = Thread.ofVirtual().name("seat-stream-", 0).factory();
+
+    @PostConstruct
+    public void init() {
+        Gauge.builder("seats.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open seat availability streams")
+                .register(meterRegistry);
+    }
+
+    // Stops the writer threads; the connections themselves are closed by the server shutting down
+    @PreDestroy
+    public void shutdown() {
+        allSubscribers.forEach(Subscriber::close);
+        scheduleSubscribers.values().forEach(subscribers -> subscribers.forEach(Subscriber::close));
+        routeSubscribers.values().forEach(subscribers -> subscribers.forEach(Subscriber::close));
+    }
+
+    // Called with the new count; published only once the surrounding transaction commits, so a booking
+    // that rolls back never shows up on the streams
+    public void seatsChanged(Schedule schedule) {
+        SeatAvailabilityUpdate update = new SeatAvailabilityUpdate(schedule.getId(),
+                schedule.getRoute() != null ? schedule.getRoute().getId() : null, schedule.getAvailableSeats());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pending.put(update.scheduleId(), update);
+                }
+            });
+        } else {
+            pending.put(update.scheduleId(), update);
+        }
+    }
+
+    // snapshot reads the current counts; client is whoever the per-client stream limit applies to
+    public SseEmitter subscribeToSchedule(Long scheduleId, String client, Supplier<List<Schedule>> snapshot) {
+        return subscribe(client, snapshot, subscriber -> register(scheduleSubscribers, scheduleId, subscriber),
+                subscriber -> unregister(scheduleSubscribers, scheduleId, subscriber));
+    }
+
+    public SseEmitter subscribeToRoute(Long routeId, String client, Supplier<List<Schedule>> snapshot) {
+        return subscribe(client, snapshot, subscriber -> register(routeSubscribers, routeId, subscriber),
+                subscriber -> unregister(routeSubscribers, routeId, subscriber));
+    }
+
+    public SseEmitter subscribeToAll(String client) {
+        return subscribe(client, List::of, allSubscribers::add, allSubscribers::remove);
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @Scheduled(fixedDelayString = "${seats.stream.coalesce-ms:250}")
+    public void flush() {
+        for (Long scheduleId : pending.keySet()) {
+            SeatAvailabilityUpdate update = pending.remove(scheduleId);
+            if (update == null) {
+                continue;
+            }
+            Set<Subscriber> bySchedule = scheduleSubscribers.get(scheduleId);
+            Set<Subscriber> byRoute = update.routeId() != null ? routeSubscribers.get(update.routeId()) : null;
+            if (isEmpty(bySchedule) && isEmpty(byRoute) && allSubscribers.isEmpty()) {
+                continue;
+            }
+            Set<ResponseBodyEmitter.DataWithMediaType> frame = frame(update, false);
+            deliver(bySchedule, frame);
+            deliver(byRoute, frame);
+            deliver(allSubscribers, frame);
+        }
+    }
+
+    // Overridden in tests to capture what would go over the wire
+    SseEmitter createEmitter() {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private SseEmitter subscribe(String client, Supplier<List<Schedule>> snapshot, Consumer<Subscriber> register,
+                                 Consumer<Subscriber> unregister) {
+        if (!acquire(client)) {
+            throw new RateLimitExceededException("Too many open seat streams from this client", 5);
+        }
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            release(client);
+            throw new RateLimitExceededException("Too many open seat streams, please retry shortly", 5);
+        }
+        SseEmitter emitter = createEmitter();
+        Subscriber subscriber = new Subscriber(emitter, client, unregister);
+        register.accept(subscriber);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+
+        // Read after registering, so a change committed meanwhile is in the snapshot or sent after it
+        List<Schedule> schedules;
+        try {
+            schedules = snapshot.get();
+        } catch (RuntimeException e) {
+            subscriber.close();
+            throw e;
+        }
+        List<Set<ResponseBodyEmitter.DataWithMediaType>> frames = new ArrayList<>(schedules.size());
+        for (Schedule schedule : schedules) {
+            frames.add(frame(new SeatAvailabilityUpdate(schedule.getId(),
+                    schedule.getRoute() != null ? schedule.getRoute().getId() : null, schedule.getAvailableSeats()),
+                    frames.isEmpty()));
+        }
+        subscriber.offerSnapshot(frames);
+        writers.newThread(subscriber::run).start();
+        return emitter;
+    }
+
+    private static void register(Map<Long, Set<Subscriber>> groups, Long key, Subscriber subscriber) {
+        groups.compute(key, (k, subscribers) -> {
+            Set<Subscriber> group = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            group.add(subscriber);
+            return group;
+        });
+    }
+
+    // Drops the group with its last subscriber, so schedules nobody watches any more leave no entry behind
+    private static void unregister(Map<Long, Set<Subscriber>> groups, Long key, Subscriber subscriber) {
+        groups.computeIfPresent(key, (k, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private boolean acquire(String client) {
+        boolean[] acquired = new boolean[1];
+        streamsByClient.compute(client, (k, streams) -> {
+            int open = streams != null ? streams : 0;
+            if (open >= maxPerClient) {
+                return streams;
+            }
+            acquired[0] = true;
+            return open + 1;
+        });
+        return acquired[0];
+    }
+
+    private void release(String client) {
+        streamsByClient.computeIfPresent(client, (k, streams) -> streams > 1 ? streams - 1 : null);
+    }
+
+    private Set<ResponseBodyEmitter.DataWithMediaType> frame(SeatAvailabilityUpdate update, boolean withReconnect) {
+        try {
+            SseEmitter.SseEventBuilder event = SseEmitter.event()
+                    .name("seats")
+                    .data(objectMapper.writeValueAsString(update));
+            return (withReconnect ? event.reconnectTime(reconnectMillis) : event).build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize seat update", e);
+        }
+    }
+
+    private static void deliver(Set<Subscriber> subscribers, Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+        if (subscribers != null) {
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(frame);
+            }
+        }
+    }
+
+    private static boolean isEmpty(Set<Subscriber> subscribers) {
+        return subscribers == null || subscribers.isEmpty();
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final String client;
+        private final Consumer<Subscriber> unregister;
+        private final BlockingDeque<Set<ResponseBodyEmitter.DataWithMediaType>> queue = new LinkedBlockingDeque<>();
+        // The snapshot does not count against the queue capacity
+        private volatile int capacity = queueCapacity;
+        private volatile boolean closed;
+        private volatile Thread writer;
+
+        Subscriber(SseEmitter emitter, String client, Consumer<Subscriber> unregister) {
+            this.emitter = emitter;
+            this.client = client;
+            this.unregister = unregister;
+        }
+
+        void offer(Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+            if (closed) {
+                return;
+            }
+            if (queue.size() >= capacity) {
+                close();
+                emitter.complete();
+                return;
+            }
+            queue.offer(frame);
+        }
+
+        // Called before the writer starts. Goes ahead of the changes queued since registering: those can be
+        // older than the snapshot, but any change newer than it is still to come as an event.
+        void offerSnapshot(List<Set<ResponseBodyEmitter.DataWithMediaType>> frames) {
+            capacity = queueCapacity + frames.size();
+            for (int i = frames.size() - 1; i >= 0; i--) {
+                queue.offerFirst(frames.get(i));
+            }
+        }
+
+        void run() {
+            writer = Thread.currentThread();
+            try {
+                while (!closed) {
+                    Set<ResponseBodyEmitter.DataWithMediaType> frame = queue.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+                    if (closed) {
+                        break;
+                    }
+                    emitter.send(frame != null ? frame : HEARTBEAT);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away or the emitter already completed
+                emitter.completeWithError(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                close();
+            }
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+            }
+            unregister.accept(this);
+            subscriberCount.decrementAndGet();
+            release(client);
+            Thread thread = writer;
+            if (thread != null && thread != Thread.currentThread()) {
+                thread.interrupt();
+            }
+        }
+    }
+}
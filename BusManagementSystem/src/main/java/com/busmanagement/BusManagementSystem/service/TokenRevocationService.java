@@ -0,0 +1,200 @@
+package com.busmanagement.BusManagementSystem.service;
+
+import com.busmanagement.BusManagementSystem.model.RevokedToken;
+import com.busmanagement.BusManagementSystem.repository.RevokedTokenRepository;
+import com.busmanagement.BusManagementSystem.util.JwtUtil;
+import com.busmanagement.BusManagementSystem.util.RevocationList;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    // Rows committed by other nodes can show up slightly out of order, so each sync looks back a little
+    private static final long SYNC_OVERLAP_SECONDS = 60;
+    private static final LocalDateTime EPOCH = LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Value("${jwt.revocation.bucket-seconds:300}")
+    private long bucketSeconds;
+
+    @Value("${jwt.revocation.expected-per-bucket:10000}")
+    private int expectedPerBucket;
+
+    @Value("${jwt.refresh.reuse-grace-ms:10000}")
+    private long reuseGraceMillis;
+
+    private RevocationList revokedTokens;
+    private final ConcurrentHashMap<String, SubjectCutoff> subjectCutoffs = new ConcurrentHashMap<>();
+    // This node's recent rotations, by the id of the refresh token they replaced
+    private final ConcurrentHashMap<String, Rotation> recentRotations = new ConcurrentHashMap<>();
+    private volatile LocalDateTime lastSync;
+
+    @PostConstruct
+    public void init() {
+        revokedTokens = new RevocationList(bucketSeconds, expectedPerBucket);
+        sync();
+    }
+
+    // Hot path: in-memory only, one bucket probe plus one map lookup
+    public boolean isRevoked(Claims claims) {
+        long expiresAt = claims.getExpiration().getTime() / 1000;
+        if (claims.getId() != null && revokedTokens.contains(claims.getId(), expiresAt)) {
+            return true;
+        }
+        return revokedBySubject(claims);
+    }
+
+    // iat has one-second precision (JWT NumericDate), so a token issued in the same second as a subject
+    // revocation is rejected too, even when issued just after it; its holder logs in again
+    private boolean revokedBySubject(Claims claims) {
+        SubjectCutoff cutoff = subjectCutoffs.get(claims.getSubject());
+        Date issuedAt = claims.getIssuedAt();
+        return cutoff != null && issuedAt != null && issuedAt.getTime() / 1000 <= cutoff.revokedAt;
+    }
+
+    public void revokeToken(Claims claims) {
+        if (claims.getId() != null) {
+            insertIfAbsent(claims);
+        }
+    }
+
+    // Single use for refresh tokens: issue runs for exactly one caller per token id, on any node. A replay
+    // within reuse-grace-ms of that rotation is a second tab or a retried request rather than a theft: on
+    // the node that rotated it gets the same pair, on another node a plain refusal. A later replay is
+    // treated as stolen and every token of the subject is revoked. Null when nothing is issued.
+    public Map<String, Object> rotate(Claims claims, Supplier<Map<String, Object>> issue) {
+        String id = claims.getId();
+        if (id != null && !revokedBySubject(claims)) {
+            Rotation rotation = new Rotation(new CompletableFuture<>(), System.currentTimeMillis());
+            Rotation earlier = recentRotations.putIfAbsent(id, rotation);
+            if (earlier == null) {
+                Map<String, Object> issued = null;
+                try {
+                    issued = insertIfAbsent(claims) ? issue.get() : null;
+                } finally {
+                    rotation.issued.complete(issued);
+                    if (issued == null) {
+                        recentRotations.remove(id, rotation);
+                    }
+                }
+                if (issued != null || rotatedWithinGrace(id)) {
+                    return issued;
+                }
+            } else if (rotation.at - earlier.at < reuseGraceMillis) {
+                // Null when the earlier attempt was refused, which it has already dealt with
+                return earlier.issued.join();
+            }
+        }
+        if (!revokedBySubject(claims)) {
+            logger.warn("Refresh token reused for {}, revoking all of its tokens", claims.getSubject());
+            revokeSubject(claims.getSubject());
+        }
+        return null;
+    }
+
+    private boolean rotatedWithinGrace(String id) {
+        LocalDateTime graceStart = LocalDateTime.now(ZoneOffset.UTC).minusNanos(reuseGraceMillis * 1_000_000);
+        return revokedTokenRepository.findByTokenId(id)
+                .map(revokedToken -> revokedToken.getRevokedAt().isAfter(graceStart))
+                .orElse(false);
+    }
+
+    // Portable insert-if-absent: the unique key on token_id decides between concurrent callers
+    private boolean insertIfAbsent(Claims claims) {
+        long expiresAt = claims.getExpiration().getTime() / 1000;
+        RevokedToken revokedToken = new RevokedToken();
+        revokedToken.setTokenId(claims.getId());
+        revokedToken.setSubject(claims.getSubject());
+        revokedToken.setRevokedAt(LocalDateTime.now(ZoneOffset.UTC));
+        revokedToken.setExpiresAt(LocalDateTime.ofEpochSecond(expiresAt, 0, ZoneOffset.UTC));
+        boolean inserted = true;
+        try {
+            revokedTokenRepository.saveAndFlush(revokedToken);
+        } catch (DataIntegrityViolationException e) {
+            if (!UniqueKeyFilter.violates(e, "uk_revoked_tokens_token_id")) {
+                throw e;
+            }
+            inserted = false;
+        }
+        revokedTokens.add(claims.getId(), expiresAt);
+        return inserted;
+    }
+
+    // Revokes every token issued to the subject so far, e.g. when an admin is removed
+    public void revokeSubject(String subject) {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        RevokedToken revokedToken = new RevokedToken();
+        revokedToken.setSubject(subject);
+        revokedToken.setRevokedAt(now);
+        revokedToken.setExpiresAt(now.plusSeconds(jwtUtil.getRefreshTokenValidity() / 1000));
+        revokedTokenRepository.save(revokedToken);
+        apply(revokedToken);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval-ms:5000}")
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+        LocalDateTime since = lastSync == null ? EPOCH : lastSync.minusSeconds(SYNC_OVERLAP_SECONDS);
+        try {
+            for (RevokedToken revokedToken : revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(since, now)) {
+                apply(revokedToken);
+            }
+            lastSync = now;
+        } catch (Exception e) {
+            logger.warn("Could not sync token revocations, keeping local state", e);
+        }
+
+        long nowSeconds = now.toEpochSecond(ZoneOffset.UTC);
+        revokedTokens.expire(nowSeconds);
+        subjectCutoffs.values().removeIf(cutoff -> cutoff.expiresAt < nowSeconds);
+        long graceStart = System.currentTimeMillis() - reuseGraceMillis;
+        recentRotations.values().removeIf(rotation -> rotation.at < graceStart);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        long removed = revokedTokenRepository.deleteByExpiresAtBefore(LocalDateTime.now(ZoneOffset.UTC));
+        if (removed > 0) {
+            logger.info("Purged {} expired token revocations", removed);
+        }
+    }
+
+    private void apply(RevokedToken revokedToken) {
+        long expiresAt = revokedToken.getExpiresAt().toEpochSecond(ZoneOffset.UTC);
+        if (revokedToken.getTokenId() != null) {
+            revokedTokens.add(revokedToken.getTokenId(), expiresAt);
+        } else {
+            long revokedAt = revokedToken.getRevokedAt().toEpochSecond(ZoneOffset.UTC);
+            subjectCutoffs.merge(revokedToken.getSubject(), new SubjectCutoff(revokedAt, expiresAt),
+                    (a, b) -> a.revokedAt >= b.revokedAt ? a : b);
+        }
+    }
+
+    private record SubjectCutoff(long revokedAt, long expiresAt) {
+    }
+
+    private record Rotation(CompletableFuture<Map<String, Object>> issued, long at) {
+    }
+}
@@ -0,0 +1,149 @@
+package com.busmanagement.BusManagementSystem.service;
+
+import com.busmanagement.BusManagementSystem.dto.EtaPrediction;
+import com.busmanagement.BusManagementSystem.dto.TravelTimeProposal;
+import com.busmanagement.BusManagementSystem.model.Route;
+import com.busmanagement.BusManagementSystem.model.Schedule;
+import com.busmanagement.BusManagementSystem.repository.RouteRepository;
+import com.busmanagement.BusManagementSystem.repository.ScheduleRepository;
+import com.busmanagement.BusManagementSystem.util.TravelTimeStats;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Travel times learnt from the trips that actually ran. Every ARRIVED trip with both actual times is
+// recorded once its status change commits; at startup the model is rebuilt from the last
+// eta.history-days of trips. Predictions read the in-memory TravelTimeStats only.
+@Service
+public class TravelTimePredictor {
+
+    private static final Logger logger = LoggerFactory.getLogger(TravelTimePredictor.class);
+
+    // Trips shorter or longer than this are data-entry mistakes, not travel times
+    private static final double MIN_TRIP_MINUTES = 1;
+    private static final double MAX_TRIP_MINUTES = 48 * 60;
+
+    @Autowired
+    private ScheduleRepository scheduleRepository;
+
+    @Autowired
+    private RouteRepository routeRepository;
+
+    @Value("${eta.half-life-days:28}")
+    private double halfLifeDays;
+
+    @Value("${eta.history-days:90}")
+    private int historyDays;
+
+    @Value("${eta.min-hour-weight:3}")
+    private double minHourWeight;
+
+    @Value("${eta.proposal.min-trips:20}")
+    private double proposalMinTrips;
+
+    @Value("${eta.proposal.min-change-percent:10}")
+    private double proposalMinChangePercent;
+
+    private TravelTimeStats stats;
+
+    @PostConstruct
+    public void init() {
+        stats = new TravelTimeStats(halfLifeDays * Duration.ofDays(1).toMillis(), ZoneId.systemDefault());
+        long start = System.nanoTime();
+        int trips = 0;
+        for (Object[] row : scheduleRepository.findCompletedTripTimes("ARRIVED", LocalDateTime.now().minusDays(historyDays))) {
+            if (record((Long) row[0], (LocalDateTime) row[1], (LocalDateTime) row[2])) {
+                trips++;
+            }
+        }
+        logger.info("Travel-time model built from {} trips in {} ms", trips, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public void tripArrived(Schedule schedule) {
+        Long routeId = schedule.getRoute().getId();
+        LocalDateTime departed = schedule.getActualDepartureTime();
+        LocalDateTime arrived = schedule.getActualArrivalTime();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    record(routeId, departed, arrived);
+                }
+            });
+        } else {
+            record(routeId, departed, arrived);
+        }
+    }
+
+    private boolean record(Long routeId, LocalDateTime departed, LocalDateTime arrived) {
+        if (routeId == null || departed == null || arrived == null) {
+            return false;
+        }
+        double minutes = Duration.between(departed, arrived).toSeconds() / 60.0;
+        if (minutes < MIN_TRIP_MINUTES || minutes > MAX_TRIP_MINUTES) {
+            return false;
+        }
+        stats.record(routeId, departed, arrived);
+        return true;
+    }
+
+    // From the actual departure once the bus has left, otherwise from the planned one
+    public EtaPrediction predict(Schedule schedule) {
+        Route route = schedule.getRoute();
+        LocalDateTime departure = schedule.getActualDepartureTime() != null
+                ? schedule.getActualDepartureTime() : schedule.getDepartureTime();
+        TravelTimeStats.Estimate estimate = stats.estimate(route.getId(), departure, minHourWeight);
+        if (estimate == null) {
+            double planned = Duration.between(schedule.getDepartureTime(), schedule.getArrivalTime()).toSeconds() / 60.0;
+            LocalDateTime arrival = departure.plusSeconds(Math.round(planned * 60));
+            return new EtaPrediction(schedule.getId(), route.getId(), departure, schedule.getArrivalTime(), arrival, arrival,
+                    planned, 0, "PLANNED");
+        }
+        return new EtaPrediction(schedule.getId(), route.getId(), departure, schedule.getArrivalTime(),
+                departure.plusSeconds(Math.round(estimate.meanMinutes() * 60)),
+                departure.plusSeconds(Math.round(estimate.p90Minutes() * 60)),
+                Math.round(estimate.meanMinutes() * 10) / 10.0, Math.round(estimate.weight() * 10) / 10.0,
+                estimate.hourOfWeek() ? "HOUR_OF_WEEK" : "ROUTE");
+    }
+
+    // Routes with enough recent trips whose mean differs from estimatedTravelTime by the configured
+    // share or more, largest relative change first. Nothing is changed; an admin applies them.
+    public List<TravelTimeProposal> proposeTravelTimes() {
+        List<Long> candidates = new ArrayList<>();
+        for (Long routeId : stats.routeIds()) {
+            TravelTimeStats.Estimate estimate = stats.routeEstimate(routeId);
+            if (estimate != null && estimate.weight() >= proposalMinTrips) {
+                candidates.add(routeId);
+            }
+        }
+        List<TravelTimeProposal> proposals = new ArrayList<>();
+        for (Route route : routeRepository.findAllById(candidates)) {
+            TravelTimeStats.Estimate estimate = stats.routeEstimate(route.getId());
+            int proposed = (int) Math.round(estimate.meanMinutes());
+            Integer current = route.getEstimatedTravelTime();
+            if (current == null || current <= 0 || Math.abs(proposed - current) * 100.0 / current >= proposalMinChangePercent) {
+                proposals.add(new TravelTimeProposal(route.getId(), route.getSource(), route.getDestination(), current,
+                        proposed, (int) Math.round(estimate.p90Minutes()), Math.round(estimate.weight() * 10) / 10.0));
+            }
+        }
+        proposals.sort(Comparator.comparingDouble(TravelTimePredictor::relativeChange).reversed());
+        return proposals;
+    }
+
+    private static double relativeChange(TravelTimeProposal proposal) {
+        Integer current = proposal.currentMinutes();
+        return current == null || current <= 0 ? Double.MAX_VALUE
+                : Math.abs(proposal.proposedMinutes() - current) / (double) current;
+    }
+}
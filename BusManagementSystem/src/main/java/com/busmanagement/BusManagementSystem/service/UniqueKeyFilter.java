@@ -0,0 +1,260 @@
+package com.busmanagement.BusManagementSystem.service;
+
+import com.busmanagement.BusManagementSystem.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+// Pre-check for the uniqueness queries run on registration. One Bloom filter per key holds every passenger
+// email and every admin username, so a key the filter has never seen skips its exists query and only a
+// "maybe" goes to the database. The filters are loaded at startup; this node adds its own writes as it
+// makes them, and rows written elsewhere (other nodes, bulk imports) arrive with the sync every
+// sync-interval-ms. Deleted and changed keys leave bits behind, which only turn "absent" into "maybe" until
+// the periodic rebuild. Only keys backed by a unique constraint belong here: a duplicate the filter has not
+// heard of yet is still rejected by the insert. Passenger phone numbers and admin emails have no constraint,
+// so their exists queries always run.
+@Service
+public class UniqueKeyFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(UniqueKeyFilter.class);
+
+    // Auto-increment ids can commit out of order, so each sync re-reads a few ids below the highest seen
+    private static final long SYNC_OVERLAP_IDS = 1000;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    public enum Key { PASSENGER_EMAIL, ADMIN_USERNAME }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${uniqueness.filter.enabled:true}")
+    private boolean enabled;
+
+    @Value("${uniqueness.filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${uniqueness.filter.min-capacity:100000}")
+    private int minCapacity;
+
+    @Value("${uniqueness.filter.fetch-size:1000}")
+    private int fetchSize;
+
+    private TransactionTemplate readOnlyTransaction;
+    private final Counter[] absent = new Counter[Key.values().length];
+    private final Counter[] duplicates = new Counter[Key.values().length];
+    private final Counter[] falsePositives = new Counter[Key.values().length];
+
+    // Null until the first load succeeds: every check then goes to the database
+    private volatile Filters filters;
+    // Set while a rebuild scans the tables, so keys added meanwhile land in the new filters too. A row
+    // inserted just before and committed after the scan is picked up by the next sync.
+    private volatile Filters rebuilding;
+
+    private static final class Filters {
+        private final BloomFilter[] byKey = new BloomFilter[Key.values().length];
+        private final int capacity;
+        private final AtomicLongArray keys = new AtomicLongArray(Key.values().length);
+        private long passengerWatermark;
+        private long adminWatermark;
+
+        private Filters(int capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            for (int i = 0; i < byKey.length; i++) {
+                byKey[i] = new BloomFilter(capacity, falsePositiveRate);
+            }
+        }
+
+        private void put(Key key, String value, boolean added) {
+            byKey[key.ordinal()].put(value);
+            if (added) {
+                keys.incrementAndGet(key.ordinal());
+            }
+        }
+
+        private boolean full() {
+            for (int i = 0; i < keys.length(); i++) {
+                if (keys.get(i) > capacity) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        for (Key key : Key.values()) {
+            String tag = key.name().toLowerCase(Locale.ROOT);
+            absent[key.ordinal()] = checks(tag, "absent", "Uniqueness checks answered by the filter without a query");
+            duplicates[key.ordinal()] = checks(tag, "duplicate", "Uniqueness checks where the filter said maybe and the key existed");
+            falsePositives[key.ordinal()] = checks(tag, "false_positive",
+                    "Uniqueness checks where the filter said maybe but the key did not exist");
+        }
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    private Counter checks(String key, String result, String description) {
+        return Counter.builder("uniqueness.filter.checks")
+                .description(description)
+                .tag("key", key)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    // Whether value is taken for key. lookup is the exists query and only runs when the filter says maybe.
+    public boolean exists(Key key, String value, Predicate<String> lookup) {
+        Filters current = filters;
+        if (!enabled || current == null || value == null) {
+            return lookup.test(value);
+        }
+        if (!current.byKey[key.ordinal()].mightContain(normalize(value))) {
+            absent[key.ordinal()].increment();
+            return false;
+        }
+        boolean exists = lookup.test(value);
+        (exists ? duplicates : falsePositives)[key.ordinal()].increment();
+        return exists;
+    }
+
+    // Called as the write is made rather than after commit: a rolled-back key only costs a query later
+    public void add(Key key, String value) {
+        if (!enabled || value == null) {
+            return;
+        }
+        String normalized = normalize(value);
+        Filters current = filters;
+        if (current != null) {
+            current.put(key, normalized, true);
+        }
+        Filters next = rebuilding;
+        if (next != null) {
+            next.put(key, normalized, true);
+        }
+    }
+
+    // Picks up keys written by other nodes and bulk imports. Rebuilds instead when the filters are over
+    // capacity or were never loaded.
+    @Scheduled(fixedDelayString = "${uniqueness.filter.sync-interval-ms:5000}",
+            initialDelayString = "${uniqueness.filter.sync-interval-ms:5000}")
+    public synchronized void sync() {
+        Filters current = filters;
+        if (!enabled) {
+            return;
+        }
+        if (current == null || current.full()) {
+            rebuild();
+            return;
+        }
+        try {
+            load(current, Math.max(0, current.passengerWatermark - SYNC_OVERLAP_IDS),
+                    Math.max(0, current.adminWatermark - SYNC_OVERLAP_IDS));
+        } catch (Exception e) {
+            logger.warn("Could not sync the uniqueness filters, keeping local state", e);
+        }
+    }
+
+    // Fresh filters sized for the current tables, which also drops the bits of deleted and changed keys
+    @Scheduled(fixedDelayString = "${uniqueness.filter.rebuild-interval-ms:3600000}",
+            initialDelayString = "${uniqueness.filter.rebuild-interval-ms:3600000}")
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            Long passengers = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM passengers", Long.class);
+            Long admins = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM admins", Long.class);
+            // Twice the current rows, so the filters keep their false-positive rate while the tables grow
+            long rows = Math.max(passengers, admins) * 2;
+            Filters next = new Filters((int) Math.min(Integer.MAX_VALUE / 2, Math.max(minCapacity, rows)), falsePositiveRate);
+            rebuilding = next;
+            load(next, 0, 0);
+            filters = next;
+            logger.info("Loaded uniqueness filters for {} passengers and {} admins in {} ms", passengers, admins,
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (Exception e) {
+            logger.warn("Could not rebuild the uniqueness filters, keeping the current ones", e);
+        } finally {
+            rebuilding = null;
+        }
+    }
+
+    private void load(Filters target, long passengersAfter, long adminsAfter) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            long[] highest = { target.passengerWatermark, target.adminWatermark };
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement("SELECT id, email FROM passengers WHERE id > ?",
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(fetchSize);
+                ps.setLong(1, passengersAfter);
+                return ps;
+            }, rs -> {
+                long id = rs.getLong(1);
+                // Rows in the overlap were counted by the previous sync
+                boolean added = id > target.passengerWatermark;
+                highest[0] = Math.max(highest[0], id);
+                put(target, Key.PASSENGER_EMAIL, rs.getString(2), added);
+            });
+            jdbcTemplate.query("SELECT id, username FROM admins WHERE id > ?", rs -> {
+                long id = rs.getLong(1);
+                boolean added = id > target.adminWatermark;
+                highest[1] = Math.max(highest[1], id);
+                put(target, Key.ADMIN_USERNAME, rs.getString(2), added);
+            }, adminsAfter);
+            target.passengerWatermark = highest[0];
+            target.adminWatermark = highest[1];
+        });
+    }
+
+    private static void put(Filters target, Key key, String value, boolean added) {
+        if (value != null) {
+            target.put(key, normalize(value), added);
+        }
+    }
+
+    // At least as coarse as MySQL's case- and accent-insensitive collation: two keys the database
+    // treats as equal always map to the same filter entry
+    static String normalize(String value) {
+        String stripped = value.strip().toLowerCase(Locale.ROOT);
+        for (int i = 0; i < stripped.length(); i++) {
+            if (stripped.charAt(i) > 0x7f) {
+                return MARKS.matcher(Normalizer.normalize(stripped, Normalizer.Form.NFD)).replaceAll("");
+            }
+        }
+        return stripped;
+    }
+
+    // Whether an insert was rejected by the named unique constraint
+    public static boolean violates(DataIntegrityViolationException e, String constraint) {
+        String message = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+        return message != null && message.toLowerCase(Locale.ROOT).contains(constraint);
+    }
+}
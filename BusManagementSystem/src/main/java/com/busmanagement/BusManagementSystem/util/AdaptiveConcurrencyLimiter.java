@@ -0,0 +1,123 @@
+package com.busmanagement.BusManagementSystem.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+// AIMD concurrency limit driven by latency, Vegas style: while requests complete near the
+// no-load round trip time the limit creeps up by one per window, once latency climbs past
+// the tolerance (queueing somewhere downstream) it is cut multiplicatively.
+// All state is in atomics so the limiter never serialises the requests it is guarding.
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double backoffRatio;
+    private final long minRttWindowNanos;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong limitBits;
+    private final AtomicLong minRttNanos = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong windowMinRttNanos = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong windowStartNanos;
+    private final AtomicLong lastDecreaseNanos = new AtomicLong();
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        this(initialLimit, minLimit, maxLimit, tolerance, 0.9, TimeUnit.SECONDS.toNanos(30));
+    }
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance,
+                                      double backoffRatio, long minRttWindowNanos) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.backoffRatio = backoffRatio;
+        this.minRttWindowNanos = minRttWindowNanos;
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(initialLimit));
+        this.windowStartNanos = new AtomicLong(System.nanoTime());
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= getLimit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void onSuccess(long rttNanos) {
+        onSuccess(rttNanos, System.nanoTime());
+    }
+
+    public void onSuccess(long rttNanos, long nowNanos) {
+        int concurrency = inFlight.getAndDecrement();
+        long baseline = updateMinRtt(rttNanos, nowNanos);
+
+        if (rttNanos > baseline * tolerance) {
+            decrease(nowNanos, baseline);
+        } else if (concurrency * 2 >= getLimit()) {
+            // Only grow while the current limit is actually being used
+            adjust(limit -> Math.min(maxLimit, limit + 1.0 / limit));
+        }
+    }
+
+    // Timeouts and downstream failures count as congestion regardless of measured latency
+    public void onDropped() {
+        inFlight.decrementAndGet();
+        decrease(System.nanoTime(), minRttNanos.get());
+    }
+
+    // Released without a usable sample, e.g. a client error that never reached the database
+    public void onIgnored() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getMinRttNanos() {
+        return minRttNanos.get();
+    }
+
+    private void decrease(long nowNanos, long baseline) {
+        // At most one cut per round trip, otherwise a burst of slow responses collapses the limit
+        long last = lastDecreaseNanos.get();
+        long spacing = baseline == Long.MAX_VALUE ? 0 : baseline;
+        if (nowNanos - last < spacing || !lastDecreaseNanos.compareAndSet(last, nowNanos)) {
+            return;
+        }
+        adjust(limit -> Math.max(minLimit, limit * backoffRatio));
+    }
+
+    private void adjust(DoubleUnaryOperator update) {
+        while (true) {
+            long bits = limitBits.get();
+            double next = update.applyAsDouble(Double.longBitsToDouble(bits));
+            if (limitBits.compareAndSet(bits, Double.doubleToLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    // The no-load RTT is the minimum seen over a sliding window so it can recover after a
+    // deploy or schema change makes every request legitimately slower
+    private long updateMinRtt(long rttNanos, long nowNanos) {
+        windowMinRttNanos.accumulateAndGet(rttNanos, Math::min);
+        long start = windowStartNanos.get();
+        if (nowNanos - start > minRttWindowNanos && windowStartNanos.compareAndSet(start, nowNanos)) {
+            minRttNanos.set(windowMinRttNanos.getAndSet(Long.MAX_VALUE));
+        }
+        return minRttNanos.accumulateAndGet(rttNanos, Math::min);
+    }
+}
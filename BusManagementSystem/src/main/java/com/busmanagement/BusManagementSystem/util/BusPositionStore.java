@@ -0,0 +1,117 @@
+package com.busmanagement.BusManagementSystem.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Latest position of every bus in parallel primitive arrays indexed by bus id: 40 bytes a bus, allocated
+// once for ids below the capacity, nothing allocated per ping. Each slot is guarded by a sequence number
+// (a seqlock): a writer makes it odd while it writes, a reader retries when it changed underneath, so
+// a reader never sees half of one ping and half of another, and readers never block writers.
+public class BusPositionStore {
+
+    private final int capacity;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final long[] recordedAt;
+    private final float[] speeds;
+    private final short[] headings;
+    private final AtomicLongArray sequences;
+
+    public record Position(long busId, double latitude, double longitude, long recordedAtMillis, float speedKmh,
+                           short heading) {
+    }
+
+    @FunctionalInterface
+    public interface PositionVisitor {
+        void visit(long busId, double latitude, double longitude, long recordedAtMillis, float speedKmh,
+                   short heading) throws IOException;
+    }
+
+    public BusPositionStore(int capacity) {
+        this.capacity = capacity;
+        this.latitudes = new double[capacity];
+        this.longitudes = new double[capacity];
+        this.recordedAt = new long[capacity];
+        this.speeds = new float[capacity];
+        this.headings = new short[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public boolean accepts(long busId) {
+        return busId > 0 && busId < capacity;
+    }
+
+    // Returns false when the store already holds a ping at least as recent; pings from a device arrive
+    // out of order after a reconnect and must not move the bus backwards
+    public boolean update(long busId, double latitude, double longitude, long recordedAtMillis, float speedKmh,
+                          short heading) {
+        if (!accepts(busId)) {
+            throw new IllegalArgumentException("Bus id out of range: " + busId);
+        }
+        int slot = (int) busId;
+        long sequence;
+        do {
+            sequence = sequences.get(slot);
+        } while ((sequence & 1) != 0 || !sequences.compareAndSet(slot, sequence, sequence + 1));
+        boolean newer = recordedAtMillis > recordedAt[slot];
+        if (newer) {
+            latitudes[slot] = latitude;
+            longitudes[slot] = longitude;
+            recordedAt[slot] = recordedAtMillis;
+            speeds[slot] = speedKmh;
+            headings[slot] = heading;
+        }
+        sequences.set(slot, sequence + 2);
+        return newer;
+    }
+
+    public Position get(long busId) {
+        if (!accepts(busId)) {
+            return null;
+        }
+        Position[] result = new Position[1];
+        try {
+            read((int) busId, (id, latitude, longitude, recorded, speed, heading) ->
+                    result[0] = new Position(id, latitude, longitude, recorded, speed, heading));
+        } catch (IOException e) {
+            // Not thrown by this visitor
+            throw new UncheckedIOException(e);
+        }
+        return result[0];
+    }
+
+    // Visits every bus that has reported, in bus id order
+    public void forEach(PositionVisitor visitor) throws IOException {
+        for (int slot = 1; slot < capacity; slot++) {
+            read(slot, visitor);
+        }
+    }
+
+    private void read(int slot, PositionVisitor visitor) throws IOException {
+        double latitude;
+        double longitude;
+        long recorded;
+        float speed;
+        short heading;
+        long before;
+        do {
+            before = sequences.get(slot);
+            latitude = latitudes[slot];
+            longitude = longitudes[slot];
+            recorded = recordedAt[slot];
+            speed = speeds[slot];
+            heading = headings[slot];
+            // Keeps the plain reads above from moving below the second sequence read
+            VarHandle.acquireFence();
+        } while ((before & 1) != 0 || before != sequences.get(slot));
+        if (recorded != 0) {
+            visitor.visit(slot, latitude, longitude, recorded, speed, heading);
+        }
+    }
+}
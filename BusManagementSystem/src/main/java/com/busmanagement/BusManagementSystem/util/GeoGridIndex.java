@@ -0,0 +1,280 @@
+package com.busmanagement.BusManagementSystem.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Points keyed by id below the capacity, bucketed into a fixed latitude/longitude grid. A move touches
+// at most two cells; a query walks rings of cells outward from the query point and stops once the
+// nearest unvisited ring is farther away than the radius or, with enough hits, than the k-th best one.
+// Each cell guards its members and their coordinates with its own lock, so moves in different cells
+// never contend and a query holds one cell at a time. The grid does not wrap at the antimeridian.
+public class GeoGridIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+    private static final long NO_CELL = -1;
+    private static final int LOCK_STRIPES = 256;
+
+    private final int capacity;
+    private final double cellDegrees;
+    private final int columns;
+    private final int rows;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final boolean[] available;
+    private final long[] cellOf;
+    private final int[] slotInCell;
+    private final ConcurrentHashMap<Long, Cell> grid = new ConcurrentHashMap<>();
+    private final Object[] idLocks = new Object[LOCK_STRIPES];
+
+    public record Hit(long id, double latitude, double longitude, double distanceKm) {
+    }
+
+    public GeoGridIndex(int capacity, double cellKm) {
+        if (cellKm <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive: " + cellKm);
+        }
+        this.capacity = capacity;
+        this.cellDegrees = cellKm / KM_PER_DEGREE;
+        this.columns = (int) Math.ceil(360 / cellDegrees) + 1;
+        this.rows = (int) Math.ceil(180 / cellDegrees) + 1;
+        this.latitudes = new double[capacity];
+        this.longitudes = new double[capacity];
+        this.available = new boolean[capacity];
+        this.cellOf = new long[capacity];
+        this.slotInCell = new int[capacity];
+        Arrays.fill(cellOf, NO_CELL);
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            idLocks[i] = new Object();
+        }
+    }
+
+    public boolean accepts(long id) {
+        return id > 0 && id < capacity;
+    }
+
+    public boolean contains(long id) {
+        if (!accepts(id)) {
+            return false;
+        }
+        synchronized (idLock(id)) {
+            return cellOf[(int) id] != NO_CELL;
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Cell cell : grid.values()) {
+            synchronized (cell) {
+                size += cell.size;
+            }
+        }
+        return size;
+    }
+
+    // Adds the point or moves it; availability is kept from before unless the point is new
+    public void put(long id, double latitude, double longitude) {
+        put(id, latitude, longitude, null);
+    }
+
+    public void put(long id, double latitude, double longitude, Boolean isAvailable) {
+        if (!accepts(id)) {
+            throw new IllegalArgumentException("Id out of range: " + id);
+        }
+        int slot = (int) id;
+        long target = cellKey(latitude, longitude);
+        synchronized (idLock(id)) {
+            long current = cellOf[slot];
+            if (current == target) {
+                Cell cell = grid.get(current);
+                synchronized (cell) {
+                    latitudes[slot] = latitude;
+                    longitudes[slot] = longitude;
+                    if (isAvailable != null) {
+                        available[slot] = isAvailable;
+                    }
+                }
+                return;
+            }
+            boolean keep = current != NO_CELL ? availableOf(slot) : true;
+            if (current != NO_CELL) {
+                removeFromCell(slot, current);
+            }
+            Cell cell = grid.computeIfAbsent(target, key -> new Cell());
+            synchronized (cell) {
+                latitudes[slot] = latitude;
+                longitudes[slot] = longitude;
+                available[slot] = isAvailable != null ? isAvailable : keep;
+                slotInCell[slot] = cell.add(slot);
+            }
+            cellOf[slot] = target;
+        }
+    }
+
+    public void setAvailable(long id, boolean isAvailable) {
+        if (!accepts(id)) {
+            return;
+        }
+        int slot = (int) id;
+        synchronized (idLock(id)) {
+            if (cellOf[slot] == NO_CELL) {
+                return;
+            }
+            Cell cell = grid.get(cellOf[slot]);
+            synchronized (cell) {
+                available[slot] = isAvailable;
+            }
+        }
+    }
+
+    public void remove(long id) {
+        if (!accepts(id)) {
+            return;
+        }
+        int slot = (int) id;
+        synchronized (idLock(id)) {
+            if (cellOf[slot] != NO_CELL) {
+                removeFromCell(slot, cellOf[slot]);
+                cellOf[slot] = NO_CELL;
+            }
+        }
+    }
+
+    // Up to limit points within radiusKm of the point, nearest first
+    public List<Hit> nearest(double latitude, double longitude, double radiusKm, int limit, boolean availableOnly) {
+        if (limit <= 0 || radiusKm < 0) {
+            return List.of();
+        }
+        PriorityQueue<Hit> best = new PriorityQueue<>(Comparator.comparingDouble(Hit::distanceKm).reversed());
+        int row = row(latitude);
+        int column = column(longitude);
+        int maxRing = Math.max(rows, columns);
+        for (int ring = 0; ring <= maxRing; ring++) {
+            double ringKm = ringDistanceKm(latitude, ring);
+            if (ringKm > radiusKm || (best.size() == limit && ringKm > best.peek().distanceKm())) {
+                break;
+            }
+            for (int r = row - ring; r <= row + ring; r++) {
+                if (r < 0 || r >= rows) {
+                    continue;
+                }
+                // Inner rows of the ring only contribute their two edge cells
+                int step = r == row - ring || r == row + ring ? 1 : Math.max(1, 2 * ring);
+                for (int c = column - ring; c <= column + ring; c += step) {
+                    if (c >= 0 && c < columns) {
+                        scan(grid.get((long) r * columns + c), latitude, longitude, radiusKm, limit, availableOnly, best);
+                    }
+                }
+            }
+        }
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(Comparator.comparingDouble(Hit::distanceKm));
+        return hits;
+    }
+
+    private void scan(Cell cell, double latitude, double longitude, double radiusKm, int limit, boolean availableOnly,
+                      PriorityQueue<Hit> best) {
+        if (cell == null) {
+            return;
+        }
+        synchronized (cell) {
+            for (int i = 0; i < cell.size; i++) {
+                int slot = cell.members[i];
+                if (availableOnly && !available[slot]) {
+                    continue;
+                }
+                double distance = distanceKm(latitude, longitude, latitudes[slot], longitudes[slot]);
+                if (distance > radiusKm || (best.size() == limit && distance >= best.peek().distanceKm())) {
+                    continue;
+                }
+                if (best.size() == limit) {
+                    best.poll();
+                }
+                best.add(new Hit(slot, latitudes[slot], longitudes[slot], distance));
+            }
+        }
+    }
+
+    // Lower bound on the distance from the point to anything in the given ring: ring - 1 whole cells,
+    // with the east-west extent measured at the ring's latitude farthest from the equator
+    private double ringDistanceKm(double latitude, int ring) {
+        if (ring <= 1) {
+            return 0;
+        }
+        double widest = Math.min(90, Math.abs(latitude) + ring * cellDegrees);
+        return (ring - 1) * cellDegrees * KM_PER_DEGREE * Math.cos(Math.toRadians(widest));
+    }
+
+    public static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double dLat = Math.toRadians(latitude2 - latitude1);
+        double dLon = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) + Math.cos(Math.toRadians(latitude1))
+                * Math.cos(Math.toRadians(latitude2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private boolean availableOf(int slot) {
+        Cell cell = grid.get(cellOf[slot]);
+        synchronized (cell) {
+            return available[slot];
+        }
+    }
+
+    private void removeFromCell(int slot, long key) {
+        Cell cell = grid.get(key);
+        synchronized (cell) {
+            int moved = cell.remove(slotInCell[slot]);
+            if (moved >= 0) {
+                slotInCell[moved] = slotInCell[slot];
+            }
+        }
+    }
+
+    private long cellKey(double latitude, double longitude) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Coordinates out of range: " + latitude + ", " + longitude);
+        }
+        return (long) row(latitude) * columns + column(longitude);
+    }
+
+    private int row(double latitude) {
+        return Math.min(rows - 1, Math.max(0, (int) ((latitude + 90) / cellDegrees)));
+    }
+
+    private int column(double longitude) {
+        return Math.min(columns - 1, Math.max(0, (int) ((longitude + 180) / cellDegrees)));
+    }
+
+    private Object idLock(long id) {
+        return idLocks[(int) (id % LOCK_STRIPES)];
+    }
+
+    // Unordered members of one cell; removal swaps the last member into the freed position
+    private static final class Cell {
+
+        private int[] members = new int[4];
+        private int size;
+
+        int add(int slot) {
+            if (size == members.length) {
+                members = Arrays.copyOf(members, size * 2);
+            }
+            members[size] = slot;
+            return size++;
+        }
+
+        // Returns the member that moved into the position, or -1 when the last one was removed
+        int remove(int position) {
+            int last = members[--size];
+            if (position == size) {
+                return -1;
+            }
+            members[position] = last;
+            return last;
+        }
+    }
+}
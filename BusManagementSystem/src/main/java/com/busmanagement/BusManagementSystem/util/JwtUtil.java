@@ -2,22 +2,43 @@ package com.busmanagement.BusManagementSystem.util;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 @Component
 public class JwtUtil {
 
-    private final String SECRET_KEY = "busManagementSystemSecretKey2024ForJWTTokenGenerationAndValidation";
-    private final long JWT_TOKEN_VALIDITY = 5 * 60 * 60 * 1000; // 5 hours
+    public static final String TYPE_CLAIM = "typ";
+    public static final String ROLE_CLAIM = "role";
+    public static final String ACCESS_TOKEN = "access";
+    public static final String REFRESH_TOKEN = "refresh";
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+    @Value("${jwt.secret}")
+    private String secretKey;
+
+    @Value("${jwt.access-expiration:900000}")
+    private long accessTokenValidity; // 15 minutes
+
+    @Value("${jwt.refresh-expiration:604800000}")
+    private long refreshTokenValidity; // 7 days
+
+    private Key signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    public void init() {
+        // Key and parser are immutable and thread-safe, build them once instead of per request
+        signingKey = Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
     }
 
     public String extractUsername(String token) {
@@ -33,12 +54,9 @@ public class JwtUtil {
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    // Verifies the signature and expiry; throws JwtException when either fails
+    public Claims extractAllClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 
     private Boolean isTokenExpired(String token) {
@@ -46,17 +64,41 @@ public class JwtUtil {
     }
 
     public String generateToken(String username) {
+        return generateAccessToken(username, null);
+    }
+
+    public String generateAccessToken(String username, String role) {
         Map<String, Object> claims = new HashMap<>();
-        return createToken(claims, username);
+        claims.put(TYPE_CLAIM, ACCESS_TOKEN);
+        if (role != null) {
+            claims.put(ROLE_CLAIM, role);
+        }
+        return createToken(claims, username, accessTokenValidity);
+    }
+
+    public String generateRefreshToken(String username) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(TYPE_CLAIM, REFRESH_TOKEN);
+        return createToken(claims, username, refreshTokenValidity);
+    }
+
+    public long getAccessTokenValidity() {
+        return accessTokenValidity;
+    }
+
+    public long getRefreshTokenValidity() {
+        return refreshTokenValidity;
     }
 
-    private String createToken(Map<String, Object> claims, String subject) {
+    private String createToken(Map<String, Object> claims, String subject, long validity) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(subject)
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + JWT_TOKEN_VALIDITY))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + validity))
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -64,4 +106,4 @@ public class JwtUtil {
         final String username = extractUsername(token);
         return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,60 @@
+package com.busmanagement.BusManagementSystem.util;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Revoked token ids grouped by the time bucket their token expires in. A lookup only ever
+// touches one bucket: the Bloom filter answers the common "not revoked" case, the exact set
+// settles its false positives. Whole buckets are dropped once every token in them has expired.
+public class RevocationList {
+
+    private final long bucketSeconds;
+    private final int expectedPerBucket;
+    private final ConcurrentHashMap<Long, Bucket> buckets = new ConcurrentHashMap<>();
+
+    public RevocationList(long bucketSeconds, int expectedPerBucket) {
+        this.bucketSeconds = bucketSeconds;
+        this.expectedPerBucket = expectedPerBucket;
+    }
+
+    public void add(String tokenId, long expiresAtEpochSecond) {
+        buckets.computeIfAbsent(expiresAtEpochSecond / bucketSeconds, key -> new Bucket(expectedPerBucket))
+                .add(tokenId);
+    }
+
+    public boolean contains(String tokenId, long expiresAtEpochSecond) {
+        Bucket bucket = buckets.get(expiresAtEpochSecond / bucketSeconds);
+        return bucket != null && bucket.contains(tokenId);
+    }
+
+    public void expire(long nowEpochSecond) {
+        long currentBucket = nowEpochSecond / bucketSeconds;
+        buckets.keySet().removeIf(bucket -> bucket < currentBucket);
+    }
+
+    public int bucketCount() {
+        return buckets.size();
+    }
+
+    public int size() {
+        return buckets.values().stream().mapToInt(bucket -> bucket.exact.size()).sum();
+    }
+
+    private static final class Bucket {
+        private final BloomFilter bloom;
+        private final Set<String> exact = ConcurrentHashMap.newKeySet();
+
+        private Bucket(int expected) {
+            this.bloom = new BloomFilter(expected, 0.01);
+        }
+
+        private void add(String tokenId) {
+            exact.add(tokenId);
+            bloom.put(tokenId);
+        }
+
+        private boolean contains(String tokenId) {
+            return bloom.mightContain(tokenId) && exact.contains(tokenId);
+        }
+    }
+}
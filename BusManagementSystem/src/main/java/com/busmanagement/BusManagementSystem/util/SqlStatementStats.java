@@ -0,0 +1,67 @@
+package com.busmanagement.BusManagementSystem.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// JDBC statements executed by the current thread between begin() and end(). Outside a tracked request
+// record() costs a single ThreadLocal read, so the counting wrapper can stay on in production.
+public final class SqlStatementStats {
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> executions = new HashMap<>();
+    private int count;
+    private long nanos;
+
+    public static SqlStatementStats begin() {
+        SqlStatementStats stats = new SqlStatementStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static SqlStatementStats end() {
+        SqlStatementStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    public static void record(String sql, long elapsedNanos) {
+        SqlStatementStats stats = CURRENT.get();
+        if (stats == null) {
+            return;
+        }
+        stats.count++;
+        stats.nanos += elapsedNanos;
+        if (sql != null) {
+            stats.executions.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    public double getMillis() {
+        return nanos / 1_000_000.0;
+    }
+
+    // Hibernate binds every value as a parameter, so the same SQL text running many times in one
+    // request is a per-row lookup: the N+1 signature
+    public Map.Entry<String, Integer> mostRepeated() {
+        Map.Entry<String, Integer> most = null;
+        for (Map.Entry<String, Integer> entry : executions.entrySet()) {
+            if (most == null || entry.getValue() > most.getValue()) {
+                most = entry;
+            }
+        }
+        return most;
+    }
+}
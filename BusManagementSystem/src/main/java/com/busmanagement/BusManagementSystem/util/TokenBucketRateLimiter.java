@@ -0,0 +1,127 @@
+package com.busmanagement.BusManagementSystem.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class TokenBucketRateLimiter {
+
+    private static final int STRIPES = 64;
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final int maxKeysPerStripe;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public TokenBucketRateLimiter(int capacity, int refillPerMinute, int maxKeys) {
+        this.capacity = capacity;
+        this.tokensPerNano = refillPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        this.maxKeysPerStripe = Math.max(1, maxKeys / STRIPES);
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    // Returns 0 when a token was taken, otherwise the nanos until one becomes available
+    public long tryAcquire(String key) {
+        return tryAcquire(key, System.nanoTime());
+    }
+
+    public long tryAcquire(String key, long nowNanos) {
+        Stripe stripe = stripes[(key.hashCode() & 0x7fffffff) % STRIPES];
+        stripe.lock.lock();
+        try {
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                if (stripe.buckets.size() >= maxKeysPerStripe) {
+                    evictIdle(stripe, nowNanos);
+                }
+                if (stripe.buckets.size() < maxKeysPerStripe) {
+                    bucket = new Bucket(capacity, nowNanos);
+                    stripe.buckets.put(key, bucket);
+                } else {
+                    // Every tracked key still holds state: new keys share one bucket until some refill, so a
+                    // flood of fresh keys throttles itself instead of resetting keys being enforced
+                    bucket = stripe.overflow(capacity, nowNanos);
+                }
+            }
+            refill(bucket, nowNanos);
+            if (bucket.tokens >= 1.0) {
+                bucket.tokens -= 1.0;
+                return 0;
+            }
+            return (long) Math.ceil((1.0 - bucket.tokens) / tokensPerNano);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.buckets.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    private void refill(Bucket bucket, long nowNanos) {
+        long elapsed = nowNanos - bucket.lastRefillNanos;
+        if (elapsed > 0) {
+            bucket.tokens = Math.min(capacity, bucket.tokens + elapsed * tokensPerNano);
+            bucket.lastRefillNanos = nowNanos;
+        }
+    }
+
+    // A full bucket carries no state worth keeping, so it is safe to drop. Buckets are visited least
+    // recently used first; a sweep that frees nothing is not repeated before the first bucket can be full.
+    private void evictIdle(Stripe stripe, long nowNanos) {
+        if (stripe.sweepDeferred && nowNanos - stripe.nextSweepNanos < 0) {
+            return;
+        }
+        long soonestFull = Long.MAX_VALUE;
+        Iterator<Map.Entry<String, Bucket>> it = stripe.buckets.entrySet().iterator();
+        while (it.hasNext()) {
+            Bucket bucket = it.next().getValue();
+            refill(bucket, nowNanos);
+            if (bucket.tokens >= capacity) {
+                it.remove();
+            } else {
+                soonestFull = Math.min(soonestFull, (long) Math.ceil((capacity - bucket.tokens) / tokensPerNano));
+            }
+        }
+        stripe.sweepDeferred = stripe.buckets.size() >= maxKeysPerStripe;
+        stripe.nextSweepNanos = nowNanos + soonestFull;
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Bucket> buckets = new LinkedHashMap<>(16, 0.75f, true);
+        private Bucket overflow;
+        private boolean sweepDeferred;
+        private long nextSweepNanos;
+
+        private Bucket overflow(double capacity, long nowNanos) {
+            if (overflow == null) {
+                overflow = new Bucket(capacity, nowNanos);
+            }
+            return overflow;
+        }
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long lastRefillNanos;
+
+        private Bucket(double tokens, long lastRefillNanos) {
+            this.tokens = tokens;
+            this.lastRefillNanos = lastRefillNanos;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.busmanagement.BusManagementSystem.util;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Observed travel times per route, bucketed by the hour of the week the trip departed, plus one bucket
+// for the route as a whole. Each bucket keeps an exponentially decayed mean and variance, so a trip
+// counts half as much after every half-life and the model follows roadworks and seasons without ever
+// storing the trips themselves. Recording and reading are O(1): 169 fixed buckets a route.
+public class TravelTimeStats {
+
+    public static final int HOURS_PER_WEEK = 168;
+    private static final int ROUTE_BUCKET = HOURS_PER_WEEK;
+    // One-sided 90th percentile of a normal distribution, in standard deviations
+    private static final double Z_90 = 1.2816;
+
+    private final double halfLifeMillis;
+    private final ZoneId zone;
+    private final ConcurrentHashMap<Long, RouteBuckets> routes = new ConcurrentHashMap<>();
+
+    // weight is the decayed number of trips behind the estimate
+    public record Estimate(double meanMinutes, double p90Minutes, double weight, boolean hourOfWeek) {
+    }
+
+    public TravelTimeStats(double halfLifeMillis, ZoneId zone) {
+        if (halfLifeMillis <= 0) {
+            throw new IllegalArgumentException("Half-life must be positive: " + halfLifeMillis);
+        }
+        this.halfLifeMillis = halfLifeMillis;
+        this.zone = zone;
+    }
+
+    public static int hourOfWeek(LocalDateTime time) {
+        return (time.getDayOfWeek().getValue() - 1) * 24 + time.getHour();
+    }
+
+    public void record(long routeId, LocalDateTime departure, LocalDateTime arrival) {
+        double minutes = Duration.between(departure, arrival).toSeconds() / 60.0;
+        long observedAt = arrival.atZone(zone).toInstant().toEpochMilli();
+        RouteBuckets buckets = routes.computeIfAbsent(routeId, id -> new RouteBuckets());
+        synchronized (buckets) {
+            buckets.add(hourOfWeek(departure), minutes, observedAt, halfLifeMillis);
+            buckets.add(ROUTE_BUCKET, minutes, observedAt, halfLifeMillis);
+        }
+    }
+
+    // The departure hour's bucket when it has at least minWeight behind it, else the whole route;
+    // null when the route has no trips at all
+    public Estimate estimate(long routeId, LocalDateTime departure, double minWeight) {
+        RouteBuckets buckets = routes.get(routeId);
+        if (buckets == null) {
+            return null;
+        }
+        synchronized (buckets) {
+            int hour = hourOfWeek(departure);
+            if (buckets.weight[hour] >= minWeight) {
+                return buckets.estimate(hour, true);
+            }
+            return buckets.weight[ROUTE_BUCKET] > 0 ? buckets.estimate(ROUTE_BUCKET, false) : null;
+        }
+    }
+
+    public Estimate routeEstimate(long routeId) {
+        RouteBuckets buckets = routes.get(routeId);
+        if (buckets == null) {
+            return null;
+        }
+        synchronized (buckets) {
+            return buckets.weight[ROUTE_BUCKET] > 0 ? buckets.estimate(ROUTE_BUCKET, false) : null;
+        }
+    }
+
+    public Iterable<Long> routeIds() {
+        return routes.keySet();
+    }
+
+    private static final class RouteBuckets {
+
+        private final double[] weight = new double[HOURS_PER_WEEK + 1];
+        private final double[] mean = new double[HOURS_PER_WEEK + 1];
+        private final double[] squares = new double[HOURS_PER_WEEK + 1];
+        private final long[] observedAt = new long[HOURS_PER_WEEK + 1];
+
+        // Weighted incremental mean and variance (West's algorithm) where the older state is decayed
+        // to the newer observation; a trip recorded out of order is decayed instead
+        void add(int bucket, double minutes, long at, double halfLifeMillis) {
+            double sampleWeight = 1;
+            if (weight[bucket] > 0) {
+                long age = at - observedAt[bucket];
+                double decay = Math.pow(0.5, Math.abs(age) / halfLifeMillis);
+                if (age >= 0) {
+                    weight[bucket] *= decay;
+                    squares[bucket] *= decay;
+                    observedAt[bucket] = at;
+                } else {
+                    sampleWeight = decay;
+                }
+            } else {
+                observedAt[bucket] = at;
+            }
+            double total = weight[bucket] + sampleWeight;
+            double delta = minutes - mean[bucket];
+            mean[bucket] += sampleWeight / total * delta;
+            squares[bucket] += sampleWeight * delta * (minutes - mean[bucket]);
+            weight[bucket] = total;
+        }
+
+        Estimate estimate(int bucket, boolean hourOfWeek) {
+            double deviation = Math.sqrt(Math.max(0, squares[bucket] / weight[bucket]));
+            return new Estimate(mean[bucket], mean[bucket] + Z_90 * deviation, weight[bucket], hourOfWeek);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+-- Tables and indexes the application gained before the schema moved to Flyway. Databases baselined at
+-- V1 predate them, so they are created here rather than in the baseline.
+
+-- DriverRepository.findByEmail
+CREATE INDEX idx_drivers_email ON drivers (email);
+-- PassengerRepository.findByPhoneNumber, existsByPhoneNumber
+CREATE INDEX idx_passengers_phone_number ON passengers (phone_number);
+
+CREATE TABLE revoked_tokens (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    token_id VARCHAR(255),
+    subject VARCHAR(255) NOT NULL,
+    revoked_at DATETIME(6) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_revoked_tokens_revoked_at ON revoked_tokens (revoked_at);
+
+CREATE TABLE archive_partitions (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    table_name VARCHAR(255) NOT NULL,
+    kind VARCHAR(255) NOT NULL,
+    period_start DATE NOT NULL,
+    row_count BIGINT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    last_archived_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_archive_partitions_table_name UNIQUE (table_name)
+) ENGINE=InnoDB;
+
+-- Written by ReplicaLagMonitor when a read replica is configured
+CREATE TABLE replication_heartbeat (
+    id INT NOT NULL,
+    beat BIGINT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
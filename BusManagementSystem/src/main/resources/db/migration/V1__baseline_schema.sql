@@ -0,0 +1,98 @@
+-- Schema as previously generated by ddl-auto=update. Existing databases are baselined at this
+-- version (spring.flyway.baseline-on-migrate) and only receive the migrations after it.
+
+CREATE TABLE admins (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    username VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    full_name VARCHAR(255) NOT NULL,
+    role VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_admins_username UNIQUE (username)
+) ENGINE=InnoDB;
+
+CREATE TABLE buses (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    bus_number VARCHAR(255) NOT NULL,
+    bus_type VARCHAR(255) NOT NULL,
+    total_seats INT NOT NULL,
+    available_seats INT,
+    fare_per_km DOUBLE NOT NULL,
+    is_available BOOLEAN,
+    current_location VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_buses_bus_number UNIQUE (bus_number)
+) ENGINE=InnoDB;
+
+CREATE TABLE routes (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    source VARCHAR(255) NOT NULL,
+    destination VARCHAR(255) NOT NULL,
+    distance DOUBLE NOT NULL,
+    estimated_travel_time INT NOT NULL,
+    description VARCHAR(255),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE drivers (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(255) NOT NULL,
+    license_number VARCHAR(255) NOT NULL,
+    contact_number VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    address VARCHAR(255),
+    date_of_birth DATE NOT NULL,
+    experience_years INT,
+    is_available BOOLEAN,
+    bus_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_drivers_license_number UNIQUE (license_number),
+    CONSTRAINT uk_drivers_bus_id UNIQUE (bus_id),
+    CONSTRAINT fk_drivers_bus FOREIGN KEY (bus_id) REFERENCES buses (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE passengers (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    phone_number VARCHAR(255) NOT NULL,
+    address VARCHAR(255),
+    registration_date DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_passengers_email UNIQUE (email)
+) ENGINE=InnoDB;
+
+CREATE TABLE schedules (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    bus_id BIGINT NOT NULL,
+    route_id BIGINT NOT NULL,
+    driver_id BIGINT,
+    departure_time DATETIME(6) NOT NULL,
+    arrival_time DATETIME(6) NOT NULL,
+    fare DOUBLE NOT NULL,
+    available_seats INT,
+    status VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_schedules_bus FOREIGN KEY (bus_id) REFERENCES buses (id),
+    CONSTRAINT fk_schedules_route FOREIGN KEY (route_id) REFERENCES routes (id),
+    CONSTRAINT fk_schedules_driver FOREIGN KEY (driver_id) REFERENCES drivers (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE bookings (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    booking_number VARCHAR(255) NOT NULL,
+    passenger_id BIGINT NOT NULL,
+    schedule_id BIGINT NOT NULL,
+    number_of_seats INT NOT NULL,
+    total_amount DOUBLE NOT NULL,
+    payment_status VARCHAR(255) NOT NULL,
+    booking_status VARCHAR(255) NOT NULL,
+    booking_date DATETIME(6) NOT NULL,
+    seat_numbers VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_bookings_booking_number UNIQUE (booking_number),
+    CONSTRAINT fk_bookings_passenger FOREIGN KEY (passenger_id) REFERENCES passengers (id),
+    CONSTRAINT fk_bookings_schedule FOREIGN KEY (schedule_id) REFERENCES schedules (id)
+) ENGINE=InnoDB;
@@ -0,0 +1,49 @@
+-- One index per repository access path. Column order follows the queries: equality columns
+-- first, then the range or sort column. Keep in sync with the @Index declarations on the
+-- entities and with QueryPlanTest.
+
+-- findByDepartureTimeAfterAndAvailableSeatsGreaterThan, findSchedulesBetweenDates
+CREATE INDEX idx_schedules_departure_seats ON schedules (departure_time, available_seats);
+-- findAvailableSchedules (after the route lookup), findByRouteId
+CREATE INDEX idx_schedules_route_departure ON schedules (route_id, departure_time);
+-- findByStatus, archival candidates
+CREATE INDEX idx_schedules_status_departure ON schedules (status, departure_time);
+-- findByBusId
+CREATE INDEX idx_schedules_bus_departure ON schedules (bus_id, departure_time);
+-- findByDriverId
+CREATE INDEX idx_schedules_driver_departure ON schedules (driver_id, departure_time);
+
+-- findByPassengerId
+CREATE INDEX idx_bookings_passenger_date ON bookings (passenger_id, booking_date);
+-- findByScheduleId, countConfirmedBookingsBySchedule
+CREATE INDEX idx_bookings_schedule_status ON bookings (schedule_id, booking_status);
+-- findBookingsBetweenDates, exports
+CREATE INDEX idx_bookings_booking_date ON bookings (booking_date);
+-- findByBookingStatus
+CREATE INDEX idx_bookings_status_date ON bookings (booking_status, booking_date);
+-- findByPaymentStatus
+CREATE INDEX idx_bookings_payment_status_date ON bookings (payment_status, booking_date);
+
+-- findBySourceAndDestination, findBySource, findAllUniqueSources, findAvailableSchedules
+CREATE INDEX idx_routes_source_destination ON routes (source, destination);
+-- findByDestination, findAllUniqueDestinations
+CREATE INDEX idx_routes_destination ON routes (destination);
+
+-- findByCurrentLocation
+CREATE INDEX idx_buses_current_location ON buses (current_location);
+-- findByBusType
+CREATE INDEX idx_buses_bus_type ON buses (bus_type);
+-- findByIsAvailableTrue, findAvailableBusesWithSeats
+CREATE INDEX idx_buses_available_seats ON buses (is_available, available_seats);
+
+-- findByIsAvailableTrue
+CREATE INDEX idx_drivers_available ON drivers (is_available);
+
+-- findByEmail, existsByEmail
+CREATE INDEX idx_admins_email ON admins (email);
+
+-- purgeExpired
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
+
+-- findByKindOrderByPeriodStart, findByKindAndPeriodStartBetweenOrderByPeriodStart
+CREATE INDEX idx_archive_partitions_kind_period ON archive_partitions (kind, period_start);
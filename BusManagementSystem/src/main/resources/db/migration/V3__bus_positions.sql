@@ -0,0 +1,14 @@
+-- Down-sampled GPS track written by BusPositionService. Append-only and written in batches; there is
+-- deliberately no foreign key to buses so a batch never fails on one ping from a decommissioned bus.
+CREATE TABLE bus_positions (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    bus_id BIGINT NOT NULL,
+    recorded_at DATETIME(3) NOT NULL,
+    latitude DOUBLE NOT NULL,
+    longitude DOUBLE NOT NULL,
+    speed_kmh FLOAT,
+    heading SMALLINT,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE INDEX idx_bus_positions_bus_time ON bus_positions (bus_id, recorded_at);
@@ -0,0 +1,11 @@
+-- Coordinates for the spatial index (FleetLocator). A bus carries its depot position until it starts
+-- reporting GPS pings; routes carry the coordinates of both endpoints, which double as the named
+-- places ("Chitwan") that proximity searches resolve. All nullable: rows without coordinates are
+-- simply not indexed.
+ALTER TABLE buses ADD COLUMN latitude DOUBLE;
+ALTER TABLE buses ADD COLUMN longitude DOUBLE;
+
+ALTER TABLE routes ADD COLUMN source_latitude DOUBLE;
+ALTER TABLE routes ADD COLUMN source_longitude DOUBLE;
+ALTER TABLE routes ADD COLUMN destination_latitude DOUBLE;
+ALTER TABLE routes ADD COLUMN destination_longitude DOUBLE;
@@ -0,0 +1,4 @@
+-- When a trip actually left and arrived, stamped by the DEPARTED and ARRIVED status changes. The
+-- travel-time model (TravelTimePredictor) learns from these; the planned times stay untouched.
+ALTER TABLE schedules ADD COLUMN actual_departure_time DATETIME(6);
+ALTER TABLE schedules ADD COLUMN actual_arrival_time DATETIME(6);
@@ -0,0 +1,20 @@
+-- Pre-aggregated bookings and occupancy per service date (the trip's departure date), route and bus,
+-- maintained by BookingRollupService. One row per route and bus that ran that day, however many
+-- bookings it had, so dashboard ranges read a bounded number of rows. No foreign keys: rollups outlive
+-- the schedules and bookings that archival moves out of the live tables.
+CREATE TABLE booking_rollups (
+    service_date DATE NOT NULL,
+    route_id BIGINT NOT NULL,
+    bus_id BIGINT NOT NULL,
+    trips INT NOT NULL DEFAULT 0,
+    seats_offered INT NOT NULL DEFAULT 0,
+    bookings INT NOT NULL DEFAULT 0,
+    cancellations INT NOT NULL DEFAULT 0,
+    seats_sold INT NOT NULL DEFAULT 0,
+    revenue DOUBLE NOT NULL DEFAULT 0,
+    PRIMARY KEY (service_date, route_id, bus_id)
+) ENGINE=InnoDB;
+
+-- Per-route and per-bus ranges
+CREATE INDEX idx_booking_rollups_route_date ON booking_rollups (route_id, service_date);
+CREATE INDEX idx_booking_rollups_bus_date ON booking_rollups (bus_id, service_date);
@@ -0,0 +1,8 @@
+-- Refresh tokens are consumed by inserting their id (RevokedTokenRepository.insertIfAbsent), so two
+-- concurrent refreshes with one token cannot both succeed. Repeated logouts may have stored an id twice;
+-- the oldest row is kept. Subject-wide revocations have no id and stay unconstrained.
+DELETE FROM revoked_tokens WHERE token_id IS NOT NULL AND id NOT IN (
+    SELECT id FROM (SELECT MIN(id) AS id FROM revoked_tokens WHERE token_id IS NOT NULL GROUP BY token_id) kept
+);
+
+ALTER TABLE revoked_tokens ADD CONSTRAINT uk_revoked_tokens_token_id UNIQUE (token_id);
@@ -13,6 +13,8 @@ const state = {
     drivers: [],
     bookings: [],
     passengers: [],
+    dashboard: null,
+    dailyRollups: [],
     activities: [],
     notifications: [],
     activeTab: 'dashboard',
@@ -47,7 +49,15 @@ async function initApp() {
                 return;
             }
 
-            const data = await response.json();
+            let data = await response.json();
+
+            // Access tokens are short lived; swap an expired one for a fresh pair before giving up
+            if (!data.valid && await refreshAccessToken()) {
+                const retry = await fetch(`${API_BASE}/auth/validate`, {
+                    headers: { 'Authorization': `Bearer ${currentToken}` }
+                });
+                data = await retry.json();
+            }
             console.log('🔍 [AUTH DEBUG] Validation response data:', data);
             
             if (data.valid) {
@@ -109,11 +119,79 @@ async function initApp() {
     }
 }
 
+// One refresh at a time: parallel 401 retries in this tab share the request in flight, and other tabs
+// wait on a Web Lock, so a refresh token is never sent twice (a second use logs the user out everywhere)
+let refreshInFlight = null;
+
+function refreshAccessToken() {
+    if (!refreshInFlight) {
+        const used = localStorage.getItem('refreshToken');
+        const refresh = () => requestTokenRefresh(used);
+        refreshInFlight = (navigator.locks ? navigator.locks.request('bus-auth-refresh', refresh) : refresh())
+            .finally(() => { refreshInFlight = null; });
+    }
+    return refreshInFlight;
+}
+
+async function requestTokenRefresh(used) {
+    const refreshToken = localStorage.getItem('refreshToken');
+    if (!refreshToken) return false;
+    // Another tab rotated the pair while this one waited
+    if (refreshToken !== used) return adoptStoredToken();
+
+    try {
+        const response = await fetch(`${API_BASE}/auth/refresh`, {
+            method: 'POST',
+            headers: { 'Content-Type': 'application/json' },
+            body: JSON.stringify({ refreshToken })
+        });
+        if (!response.ok) {
+            // Without Web Locks another tab can win the race; its pair lands in localStorage
+            return localStorage.getItem('refreshToken') !== refreshToken && adoptStoredToken();
+        }
+
+        const data = await response.json();
+        localStorage.setItem('token', data.token);
+        localStorage.setItem('refreshToken', data.refreshToken);
+        currentToken = data.token;
+        return true;
+    } catch (e) {
+        console.error('❌ [AUTH DEBUG] Token refresh failed:', e);
+        return false;
+    }
+}
+
+function adoptStoredToken() {
+    currentToken = localStorage.getItem('token');
+    return !!currentToken;
+}
+
+// Pairs rotated in other tabs
+window.addEventListener('storage', (event) => {
+    if (event.key === 'token' && event.newValue) {
+        currentToken = event.newValue;
+    }
+});
+
+async function logout() {
+    try {
+        await fetch(`${API_BASE}/auth/logout`, {
+            method: 'POST',
+            headers: { 'Content-Type': 'application/json', 'Authorization': `Bearer ${currentToken}` },
+            body: JSON.stringify({ refreshToken: localStorage.getItem('refreshToken') })
+        });
+    } catch (e) {
+        console.error('❌ [AUTH DEBUG] Logout request failed:', e);
+    }
+    handleUnauthenticated();
+}
+
 function handleUnauthenticated() {
     console.log('🚫 [AUTH DEBUG] handleUnauthenticated called - clearing token and redirecting');
     console.log('🚫 [AUTH DEBUG] Current page:', state.currentPage);
     console.log('🚫 [AUTH DEBUG] Current path:', window.location.pathname);
     localStorage.removeItem('token');
+    localStorage.removeItem('refreshToken');
     const path = window.location.pathname;
     const adminPages = ['index.html', 'buses.html', 'routes.html', 'passengers.html'];
     const passengerPages = ['passenger-dashboard.html', 'book-ticket.html', 'my-bookings.html'];
@@ -317,6 +395,7 @@ async function searchSchedules() {
         }
         
         container.innerHTML = '';
+        watchSeats([...new Set(filtered.map(s => s.route.id))]);
         filtered.forEach(s => {
             const card = document.createElement('div');
             card.className = 'schedule-card fade-in';
@@ -328,7 +407,7 @@ async function searchSchedules() {
                 <div class="trip-duration">
                     <span>${s.route.estimatedTravelTime} mins</span>
                     <div class="trip-line"></div>
-                    <span class="seats-info">${s.bus.totalSeats} seats available</span>
+                    <span class="seats-info" data-schedule-id="${s.id}">${s.availableSeats} seats available</span>
                 </div>
                 <div class="trip-point">
                     <h3>${new Date(new Date(s.departureTime).getTime() + s.route.estimatedTravelTime*60000).toLocaleTimeString([], {hour: '2-digit', minute:'2-digit'})}</h3>
@@ -346,6 +425,24 @@ async function searchSchedules() {
     }
 }
 
+// Live seat counts for the search results, one stream per route shown
+let seatStreams = [];
+
+function watchSeats(routeIds) {
+    seatStreams.forEach(stream => stream.close());
+    seatStreams = routeIds.map(routeId => {
+        const stream = new EventSource(`${API_BASE}/schedules/route/${routeId}/seats/stream`);
+        stream.addEventListener('seats', event => {
+            const update = JSON.parse(event.data);
+            const label = document.querySelector(`.seats-info[data-schedule-id="${update.scheduleId}"]`);
+            if (label) {
+                label.textContent = `${update.availableSeats} seats available`;
+            }
+        });
+        return stream;
+    });
+}
+
 window.bookNow = async (scheduleId) => {
     // Basic auto-book for now
     if (confirm('Proceed with booking this seat?')) {
@@ -430,32 +527,22 @@ async function initializeRoutePlanningPage() {
 
 async function loadDashboardData() {
     try {
-        // Fetch all necessary data in parallel
-        const [buses, routes, schedules, drivers, bookings, passengers] = await Promise.all([
-            apiFetch('/buses'),
-            apiFetch('/routes'),
-            apiFetch('/schedules'),
-            apiFetch('/drivers'),
-            apiFetch('/bookings'),
-            apiFetch('/passengers')
-        ]);
-        
-        state.buses = buses;
-        state.routes = routes;
-        state.schedules = schedules;
-        state.drivers = drivers;
-        state.bookings = bookings;
-        state.passengers = passengers;
+        // One request for counts, today's departures, recent bookings and alerts; cached briefly server-side
+        state.dashboard = await apiFetch('/dashboard/summary');
+        state.dailyRollups = state.dashboard.lastSevenDays;
         
         // Map data for display
         updateStats();
         populateBusTable(); // Dashboard table
-        populateBusManagement(); // Bus Management view
         updateActiveBusesList();
         
-        // Mock some activities and notifications for now
-        // In a real app, these would come from the backend too
-        state.activities = generateMockActivities();
+        state.activities = state.dashboard.recentBookings.map(b => ({
+            time: new Date(b.bookingDate).toLocaleTimeString([], { hour: '2-digit', minute: '2-digit' }),
+            activity: b.bookingStatus === 'CANCELLED' ? 'Booking Cancelled' : 'New Booking',
+            busId: b.bookingNumber,
+            details: `${b.passengerName}: ${b.numberOfSeats} seat(s), ${b.source} → ${b.destination}`
+        }));
+        // Mock notifications for now
         state.notifications = generateMockNotifications();
         
         populateActivityTable();
@@ -472,44 +559,43 @@ async function loadDashboardData() {
 }
 
 function updateStats() {
-    document.getElementById('totalBuses').textContent = state.buses.length || 0;
-    document.getElementById('totalRoutes').textContent = state.routes.length || 0;
-    document.getElementById('totalPassengers').textContent = state.passengers.length.toLocaleString() || '0';
-    
-    // Calculate total revenue from bookings
-    const totalRevenue = state.bookings.reduce((sum, b) => sum + (b.totalAmount || 0), 0);
-    document.getElementById('dailyRevenue').textContent = '$' + totalRevenue.toLocaleString();
+    const counts = state.dashboard.counts;
+    document.getElementById('totalBuses').textContent = counts.buses;
+    document.getElementById('totalRoutes').textContent = counts.routes;
+    document.getElementById('totalPassengers').textContent = counts.passengers.toLocaleString();
     
-    // Efficiency mockup
-    document.getElementById('fleetEfficiency').textContent = '94.2%';
-    document.getElementById('activeIncidents').textContent = '3';
+    // Revenue and seat load of today's departures
+    const today = state.dashboard.today;
+    document.getElementById('dailyRevenue').textContent = '$' + today.revenue.toLocaleString();
+    document.getElementById('fleetEfficiency').textContent = (today.loadFactor * 100).toFixed(1) + '%';
+    document.getElementById('activeIncidents').textContent =
+        state.dashboard.alerts.filter(a => a.level !== 'info').length;
 }
 
+// Today's departures, earliest first
 function populateBusTable() {
     const tableBody = document.getElementById('busTableBody');
     if (!tableBody) return;
     
     tableBody.innerHTML = '';
     
-    const displayBuses = state.buses.slice(0, 10); // Show first 10
+    const departures = state.dashboard.todaysDepartures.slice(0, 10); // Show first 10
     
-    displayBuses.forEach(bus => {
+    departures.forEach(departure => {
         const tr = document.createElement('tr');
         
-        // Find if this bus has a schedule/route
-        const busSchedule = state.schedules.find(s => s.bus && s.bus.busNumber === bus.busNumber);
-        const routeName = busSchedule ? `${busSchedule.route.source} → ${busSchedule.route.destination}` : 'Unassigned';
-        
-        // Find driver
-        const driverName = busSchedule && busSchedule.driver ? busSchedule.driver.fullName : 'To be assigned';
+        const routeName = `${departure.source} → ${departure.destination}`;
+        const driverName = departure.driverName || 'To be assigned';
         
-        const statusClass = bus.isAvailable ? 'status-active' : 'status-maintenance';
-        const statusText = bus.isAvailable ? 'Available' : 'Maintenance';
+        const statusClass = departure.status === 'CANCELLED' ? 'status-maintenance' : 'status-active';
+        const statusText = departure.status.charAt(0) + departure.status.slice(1).toLowerCase();
+        const load = departure.totalSeats
+            ? Math.round((departure.totalSeats - departure.availableSeats) * 100 / departure.totalSeats) : 0;
         
         tr.innerHTML = `
-            <td style="font-weight: 700;">${bus.busNumber}</td>
-            <td><div class="bus-type">${bus.busType}</div></td>
-            <td>${bus.totalSeats} seats</td>
+            <td style="font-weight: 700;">${departure.busNumber}</td>
+            <td><div class="bus-type">${departure.busType}</div></td>
+            <td>${departure.totalSeats} seats</td>
             <td>${routeName}</td>
             <td>${driverName}</td>
             <td>
@@ -517,16 +603,16 @@ function populateBusTable() {
                     <i class="fas fa-circle"></i> ${statusText}
                 </span>
             </td>
-            <td><div class="efficiency-mini">95%</div></td>
+            <td><div class="efficiency-mini">${load}%</div></td>
             <td>
                 <div class="d-flex gap-10">
-                    <button class="btn btn-sm btn-icon btn-outline" onclick="viewBusDetails('${bus.id}')" title="View Details">
+                    <button class="btn btn-sm btn-icon btn-outline" onclick="viewBusDetails('${departure.busId}')" title="View Details">
                         <i class="fas fa-eye"></i>
                     </button>
-                    <button class="btn btn-sm btn-icon btn-outline" onclick="editBus('${bus.id}')" title="Edit">
+                    <button class="btn btn-sm btn-icon btn-outline" onclick="editBus('${departure.busId}')" title="Edit">
                         <i class="fas fa-edit"></i>
                     </button>
-                    <button class="btn btn-sm btn-icon btn-outline" onclick="deleteBus('${bus.id}')" title="Delete" style="color: var(--danger); border-color: var(--danger);">
+                    <button class="btn btn-sm btn-icon btn-outline" onclick="deleteBus('${departure.busId}')" title="Delete" style="color: var(--danger); border-color: var(--danger);">
                         <i class="fas fa-trash"></i>
                     </button>
                 </div>
@@ -542,24 +628,25 @@ function updateActiveBusesList() {
     
     list.innerHTML = '';
     
-    // Only show "Available" buses as active in the tracking list
-    const activeBuses = state.buses.filter(b => b.isAvailable).slice(0, 5);
+    // Buses on the road now, then the next to leave
+    const active = state.dashboard.todaysDepartures
+        .filter(d => d.status === 'DEPARTED' || d.status === 'SCHEDULED')
+        .sort((a, b) => (a.status === 'DEPARTED' ? 0 : 1) - (b.status === 'DEPARTED' ? 0 : 1))
+        .slice(0, 5);
     
-    activeBuses.forEach(bus => {
-        const busSchedule = state.schedules.find(s => s.bus && s.bus.busNumber === bus.busNumber);
-        const routeName = busSchedule ? busSchedule.route.source + '...' : 'Standby';
-        
+    active.forEach(departure => {
+        const onRoute = departure.status === 'DEPARTED';
         const item = document.createElement('div');
         item.className = 'tracking-item';
         item.innerHTML = `
             <div class="tracking-bus-info">
-                <div class="tracking-bus-id">${bus.busNumber}</div>
-                <div class="tracking-route">${routeName}</div>
+                <div class="tracking-bus-id">${departure.busNumber}</div>
+                <div class="tracking-route">${departure.source}...</div>
             </div>
             <div class="tracking-status status-on-route">
-                <i class="fas fa-circle"></i> Active
+                <i class="fas fa-circle"></i> ${onRoute ? 'Active' : 'Standby'}
             </div>
-            <button class="btn btn-sm btn-icon" onclick="trackBus('${bus.id}')">
+            <button class="btn btn-sm btn-icon" onclick="trackBus('${departure.busId}')">
                 <i class="fas fa-crosshairs"></i>
             </button>
         `;
@@ -626,7 +713,7 @@ function setupEventListeners() {
     if (logoutBtn) {
         logoutBtn.addEventListener('click', (e) => {
             e.preventDefault();
-            handleUnauthenticated();
+            logout();
         });
     }
 
@@ -849,7 +936,13 @@ async function saveNewBus() {
         
         showToast(`Bus ${busData.busNumber} added successfully!`, 'success');
         closeAllModals();
-        await loadDashboardData(); // Refresh data
+        // Refresh data
+        if (state.activeTab === 'dashboard') {
+            await loadDashboardData();
+        } else {
+            state.buses = await apiFetch('/buses');
+            populateBusManagement();
+        }
         
     } catch (e) {
         console.error('Save failed:', e);
@@ -884,13 +977,20 @@ function initializeCharts() {
 
     const revenueCtx = document.getElementById('revenueChart');
     if (revenueCtx) {
+        // Last seven days; days without departures have no rollup row
+        const revenueByDay = new Map(state.dailyRollups.map(day => [day.serviceDate, day.revenue]));
+        const days = [];
+        for (let i = 6; i >= 0; i--) {
+            const now = new Date();
+            days.push(new Date(now.getFullYear(), now.getMonth(), now.getDate() - i));
+        }
         new Chart(revenueCtx, {
             type: 'bar',
             data: {
-                labels: ['Mon', 'Tue', 'Wed', 'Thu', 'Fri', 'Sat', 'Sun'],
+                labels: days.map(day => day.toLocaleDateString(undefined, { weekday: 'short' })),
                 datasets: [{
                     label: 'Revenue',
-                    data: [1200, 1900, 1500, 2100, 2400, 1800, 1300],
+                    data: days.map(day => revenueByDay.get(isoDate(day)) || 0),
                     backgroundColor: '#7209b7',
                     borderRadius: 5
                 }]
@@ -904,14 +1004,22 @@ function initializeCharts() {
     }
 }
 
+// yyyy-MM-dd in local time, as the rollup endpoints expect
+function isoDate(date) {
+    return `${date.getFullYear()}-${String(date.getMonth() + 1).padStart(2, '0')}-${String(date.getDate()).padStart(2, '0')}`;
+}
+
 // Utility API Link
-async function apiFetch(endpoint, options = {}) {
+async function apiFetch(endpoint, options = {}, retried = false) {
     const headers = {
         'Content-Type': 'application/json',
         'Authorization': `Bearer ${currentToken}`
     };
     
     const response = await fetch(`${API_BASE}${endpoint}`, { ...options, headers });
+    if ((response.status === 401 || response.status === 403) && !retried && await refreshAccessToken()) {
+        return apiFetch(endpoint, options, true);
+    }
     if (!response.ok) {
         if (response.status === 403 || response.status === 401) {
             handleUnauthenticated();
@@ -923,14 +1031,6 @@ async function apiFetch(endpoint, options = {}) {
 }
 
 // Mock Data Generators
-function generateMockActivities() {
-    return [
-        { time: '10:45 AM', activity: 'Schedule Updated', busId: 'BUS-102', details: 'Route change confirmed' },
-        { time: '09:30 AM', activity: 'Maintenance Log', busId: 'BUS-055', details: 'Oil change completed' },
-        { time: '08:15 AM', activity: 'New Driver', busId: 'N/A', details: 'Added: Sarah Smith' }
-    ];
-}
-
 function generateMockNotifications() {
     return [
         { id: 1, text: 'New booking on Route 5', time: '5m ago', read: false },
@@ -973,14 +1073,62 @@ function applySavedPreferences() {
 }
 
 function initializeRealTimeUpdates() {
-    // Simulated updates every 20 seconds
-    setInterval(() => {
-        if (state.activeTab === 'dashboard') {
-            // Randomly update a stat to show "life"
-            const passCount = parseInt(document.getElementById('totalPassengers').textContent.replace(',', ''));
-            document.getElementById('totalPassengers').textContent = (passCount + Math.floor(Math.random() * 5)).toLocaleString();
+    // Seat changes on every schedule, pushed by the server. The stream is for admins only and EventSource
+    // cannot send a token, so it is read with fetch
+    readEventStream('/schedules/seats/stream', 'seats', update => {
+        const departure = state.dashboard && state.dashboard.todaysDepartures.find(d => d.scheduleId === update.scheduleId);
+        if (departure) {
+            departure.availableSeats = update.availableSeats;
+            if (state.activeTab === 'dashboard') {
+                populateBusTable();
+            }
         }
-    }, 20000);
+    });
+}
+
+// A minimal EventSource over fetch, for streams that need the Authorization header. Reconnects after the
+// server's retry interval; gives up once a refreshed token is still refused.
+async function readEventStream(endpoint, eventName, onEvent) {
+    let retryMs = 3000;
+    let refreshed = false;
+    for (;;) {
+        try {
+            const response = await fetch(`${API_BASE}${endpoint}`, {
+                headers: { 'Accept': 'text/event-stream', 'Authorization': `Bearer ${currentToken}` }
+            });
+            if (response.status === 401 || response.status === 403) {
+                if (refreshed || !await refreshAccessToken()) return;
+                refreshed = true;
+                continue;
+            }
+            refreshed = false;
+            if (response.ok) {
+                const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+                let buffer = '';
+                for (;;) {
+                    const { value, done } = await reader.read();
+                    if (done) break;
+                    buffer += value;
+                    let end;
+                    while ((end = buffer.indexOf('\n\n')) >= 0) {
+                        const frame = buffer.slice(0, end);
+                        buffer = buffer.slice(end + 2);
+                        let name = 'message';
+                        const data = [];
+                        for (const line of frame.split('\n')) {
+                            if (line.startsWith('event:')) name = line.slice(6).trim();
+                            else if (line.startsWith('data:')) data.push(line.slice(5).replace(/^ /, ''));
+                            else if (line.startsWith('retry:')) retryMs = Number(line.slice(6)) || retryMs;
+                        }
+                        if (name === eventName && data.length) onEvent(JSON.parse(data.join('\n')));
+                    }
+                }
+            }
+        } catch (e) {
+            console.error('❌ [STREAM] Lost', endpoint, e);
+        }
+        await new Promise(resolve => setTimeout(resolve, retryMs));
+    }
 }
 
 function populateActivityTable() {
@@ -1016,11 +1164,8 @@ function updateSystemAlerts() {
     if (!list) return;
     
     list.innerHTML = '';
-    const alerts = [
-        { type: 'danger', icon: 'exclamation-triangle', title: 'Route 5 Delay', message: 'Bus-012 is 15 mins behind schedule' },
-        { type: 'warning', icon: 'wrench', title: 'Maintenance Due', message: '3 buses require scheduled service' },
-        { type: 'info', icon: 'info-circle', title: 'System Healthy', message: 'All backend services operational' }
-    ];
+    const icons = { danger: 'exclamation-triangle', warning: 'wrench', info: 'info-circle' };
+    const alerts = state.dashboard.alerts.map(a => ({ type: a.level, icon: icons[a.level], title: a.title, message: a.message }));
     
     alerts.forEach(alert => {
         const item = document.createElement('div');
@@ -0,0 +1,268 @@
+package com.busmanagement.BusManagementSystem.startup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Starts the packaged application again and again in each mode and times two things from process
+// launch: until /actuator/health answers UP, and until a freshly started node has logged a user in,
+// searched and confirmed a booking. The second is what an autoscaled node is actually added for.
+//
+//   jvm     java -jar on the extracted jar
+//   aot     the same with -Dspring.aot.enabled=true
+//   cds     aot plus the class-data sharing archive recorded by the training run
+//   native  the GraalVM binary from ./mvnw -Pnative native:compile
+//
+// All modes share one H2 file database (the training profile) seeded with a route, bus, passenger and
+// a far-future schedule, so every run books against the same data. Run through the fast-startup profile:
+//   ./mvnw -Pfast-startup verify -DskipTests -Dstartup.modes=jvm,aot,cds -Dstartup.runs=5
+public final class StartupTimer {
+
+	private static final ObjectMapper JSON = new ObjectMapper();
+
+	private final Map<String, String> settings;
+	private final Path dir;
+	private final String baseUrl;
+	private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+	private long scheduleId;
+	private long passengerId;
+
+	private StartupTimer(Map<String, String> settings) {
+		this.settings = settings;
+		this.dir = Path.of(settings.get("dir")).toAbsolutePath();
+		this.baseUrl = "http://localhost:" + settings.get("port");
+	}
+
+	record Run(long healthyMillis, long firstBookingMillis) {
+	}
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> settings = new LinkedHashMap<>();
+		settings.put("dir", "target/fast-startup");
+		settings.put("jar", "BusManagementSystem-0.0.1-SNAPSHOT.jar");
+		settings.put("native", "target/BusManagementSystem");
+		settings.put("modes", "jvm,aot,cds");
+		settings.put("runs", "5");
+		settings.put("port", "18080");
+		settings.put("username", "prakashpandey");
+		settings.put("password", "prakashpandey");
+		settings.put("timeout-seconds", "120");
+		for (String arg : args) {
+			int eq = arg.indexOf('=');
+			if (eq < 0 || !settings.containsKey(arg.substring(0, eq))) {
+				throw new IllegalArgumentException("Expected key=value with a key from " + settings.keySet() + ", got " + arg);
+			}
+			// Blank values come from unset Maven properties and keep the default
+			if (!arg.substring(eq + 1).isBlank()) {
+				settings.put(arg.substring(0, eq), arg.substring(eq + 1));
+			}
+		}
+		new StartupTimer(settings).measure();
+	}
+
+	private void measure() throws Exception {
+		List<String> modes = Arrays.stream(settings.get("modes").split(",")).map(String::trim).toList();
+		int runs = Integer.parseInt(settings.get("runs"));
+		Files.createDirectories(dir.resolve("logs"));
+
+		// Untimed start: migrates the database, seeds the admin and warms the page cache for every mode
+		System.out.println("Preparing the database");
+		time("jvm", "prepare");
+		seed();
+
+		Map<String, List<Run>> results = new LinkedHashMap<>();
+		for (int i = 1; i <= runs; i++) {
+			for (String mode : modes) {
+				Run run = time(mode, String.valueOf(i));
+				System.out.printf("%-7s run %d: healthy %6d ms, first booking %6d ms%n", mode, i, run.healthyMillis(),
+						run.firstBookingMillis());
+				results.computeIfAbsent(mode, m -> new ArrayList<>()).add(run);
+			}
+		}
+
+		System.out.printf("%n%-7s %12s %12s %18s %18s%n", "mode", "healthy p50", "healthy min", "first booking p50",
+				"first booking min");
+		for (Map.Entry<String, List<Run>> entry : results.entrySet()) {
+			long[] healthy = entry.getValue().stream().mapToLong(Run::healthyMillis).sorted().toArray();
+			long[] booking = entry.getValue().stream().mapToLong(Run::firstBookingMillis).sorted().toArray();
+			System.out.printf("%-7s %9d ms %9d ms %15d ms %15d ms%n", entry.getKey(), healthy[healthy.length / 2],
+					healthy[0], booking[booking.length / 2], booking[0]);
+		}
+	}
+
+	private Run time(String mode, String label) throws Exception {
+		Path log = dir.resolve("logs").resolve(mode + "-" + label + ".log");
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(Long.parseLong(settings.get("timeout-seconds")));
+		long start = System.nanoTime();
+		Process process = new ProcessBuilder(command(mode)).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+		try {
+			while (!healthy()) {
+				if (!process.isAlive()) {
+					throw new IllegalStateException(mode + " exited with " + process.exitValue() + ", see " + log);
+				}
+				if (System.nanoTime() > deadline) {
+					throw new IllegalStateException(mode + " not healthy in time, see " + log);
+				}
+				TimeUnit.MILLISECONDS.sleep(10);
+			}
+			long healthy = System.nanoTime() - start;
+			// The admin is seeded by a runner that may still be going when health turns UP
+			String token;
+			while ((token = login()) == null) {
+				if (System.nanoTime() > deadline) {
+					throw new IllegalStateException(mode + " never accepted the login, see " + log);
+				}
+				TimeUnit.MILLISECONDS.sleep(10);
+			}
+			if (scheduleId == 0) {
+				return new Run(TimeUnit.NANOSECONDS.toMillis(healthy), 0);
+			}
+			book(token, search(token));
+			return new Run(TimeUnit.NANOSECONDS.toMillis(healthy), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		} finally {
+			process.destroy();
+			if (!process.waitFor(30, TimeUnit.SECONDS)) {
+				process.destroyForcibly().waitFor();
+			}
+		}
+	}
+
+	private List<String> command(String mode) {
+		List<String> command = new ArrayList<>();
+		if (mode.equals("native")) {
+			command.add(Path.of(settings.get("native")).toAbsolutePath().toString());
+		} else {
+			command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+			if (mode.equals("cds")) {
+				command.add("-XX:SharedArchiveFile=" + dir.resolve("application.jsa"));
+			}
+			if (!mode.equals("jvm")) {
+				command.add("-Dspring.aot.enabled=true");
+			}
+			command.add("-jar");
+			command.add(dir.resolve(settings.get("jar")).toString());
+		}
+		command.add("--spring.profiles.active=training");
+		command.add("--training.db-dir=" + dir.resolve("db"));
+		command.add("--server.port=" + settings.get("port"));
+		return command;
+	}
+
+	private boolean healthy() throws InterruptedException {
+		try {
+			HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health"))
+					.timeout(Duration.ofSeconds(2)).GET().build(), HttpResponse.BodyHandlers.ofString());
+			return response.statusCode() == 200 && response.body().contains("\"UP\"");
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	private String login() throws IOException, InterruptedException {
+		String body = JSON.writeValueAsString(Map.of("username", settings.get("username"), "password", settings.get("password")));
+		HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+				.header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+				HttpResponse.BodyHandlers.ofString());
+		return response.statusCode() == 200 ? JSON.readTree(response.body()).path("token").asText() : null;
+	}
+
+	private long search(String token) throws IOException, InterruptedException {
+		String query = "?source=Kathmandu&destination=Pokhara&departureTime="
+				+ URLEncoder.encode(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME), StandardCharsets.UTF_8);
+		HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/schedules/available" + query))
+				.header("Authorization", "Bearer " + token).GET().build(), HttpResponse.BodyHandlers.ofString());
+		JsonNode schedules = JSON.readTree(response.body());
+		if (response.statusCode() != 200 || schedules.isEmpty()) {
+			throw new IllegalStateException("Search failed with " + response.statusCode() + ": " + response.body());
+		}
+		return schedules.get(0).path("id").asLong();
+	}
+
+	private void book(String token, long scheduleId) throws IOException, InterruptedException {
+		String body = "{\"passenger\":{\"id\":" + passengerId + "},\"schedule\":{\"id\":" + scheduleId
+				+ "},\"numberOfSeats\":1,\"seatNumbers\":\"A1\"}";
+		HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/bookings"))
+				.header("Authorization", "Bearer " + token).header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+		if (response.statusCode() != 200) {
+			throw new IllegalStateException("Booking failed with " + response.statusCode() + ": " + response.body());
+		}
+	}
+
+	// One far-future departure with more seats than any number of runs will book
+	private void seed() throws SQLException {
+		String url = "jdbc:h2:file:" + dir.resolve("db").resolve("bus_management")
+				+ ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE";
+		try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+			scheduleId = firstId(connection, "SELECT id FROM schedules WHERE bus_id IN "
+					+ "(SELECT id FROM buses WHERE bus_number = 'STARTUP-1')");
+			passengerId = firstId(connection, "SELECT id FROM passengers WHERE email = 'startup@example.com'");
+			if (scheduleId != 0) {
+				return;
+			}
+			connection.setAutoCommit(false);
+			LocalDateTime departure = LocalDateTime.now().plusYears(1);
+			long routeId = insert(connection, "INSERT INTO routes (source, destination, distance, estimated_travel_time) "
+					+ "VALUES ('Kathmandu', 'Pokhara', 200, 300)");
+			long busId = insert(connection, "INSERT INTO buses (bus_number, bus_type, total_seats, available_seats, "
+					+ "fare_per_km, is_available, current_location) VALUES ('STARTUP-1', 'AC', 100000, 100000, 2.5, TRUE, 'Kathmandu')");
+			passengerId = insert(connection, "INSERT INTO passengers (first_name, last_name, email, phone_number, "
+					+ "registration_date) VALUES ('Startup', 'Timer', 'startup@example.com', '9800000000', CURRENT_TIMESTAMP)");
+			try (PreparedStatement statement = connection.prepareStatement("INSERT INTO schedules (bus_id, route_id, "
+					+ "departure_time, arrival_time, fare, available_seats, status) VALUES (?, ?, ?, ?, 500, 100000, 'SCHEDULED')",
+					Statement.RETURN_GENERATED_KEYS)) {
+				statement.setLong(1, busId);
+				statement.setLong(2, routeId);
+				statement.setTimestamp(3, Timestamp.valueOf(departure));
+				statement.setTimestamp(4, Timestamp.valueOf(departure.plusHours(5)));
+				statement.executeUpdate();
+				scheduleId = generatedId(statement);
+			}
+			connection.commit();
+		}
+	}
+
+	private static long firstId(Connection connection, String sql) throws SQLException {
+		try (Statement statement = connection.createStatement(); ResultSet rows = statement.executeQuery(sql)) {
+			return rows.next() ? rows.getLong(1) : 0;
+		}
+	}
+
+	private static long insert(Connection connection, String sql) throws SQLException {
+		try (Statement statement = connection.createStatement()) {
+			statement.executeUpdate(sql, Statement.RETURN_GENERATED_KEYS);
+			return generatedId(statement);
+		}
+	}
+
+	private static long generatedId(Statement statement) throws SQLException {
+		try (ResultSet keys = statement.getGeneratedKeys()) {
+			keys.next();
+			return keys.getLong(1);
+		}
+	}
+}
@@ -0,0 +1,88 @@
+package com.busmanagement.BusManagementSystem.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConnectionPermitDataSourceTest {
+
+	private DataSource pool;
+	private Connection physical;
+	private ConnectionPermitDataSource dataSource;
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		pool = mock(DataSource.class);
+		physical = mock(Connection.class);
+		when(pool.getConnection()).thenReturn(physical);
+		dataSource = new ConnectionPermitDataSource(pool, "primary", 2, 50);
+	}
+
+	@Test
+	void closingTheConnectionReturnsThePermitOnce() throws SQLException {
+		Connection connection = dataSource.getConnection();
+		assertEquals(1, dataSource.getAvailablePermits());
+
+		connection.close();
+		connection.close();
+
+		assertEquals(2, dataSource.getAvailablePermits());
+		verify(physical, times(2)).close();
+	}
+
+	@Test
+	void callersPastThePermitsTimeOut() throws SQLException {
+		dataSource.getConnection();
+		dataSource.getConnection();
+
+		SQLException e = assertThrows(SQLTransientConnectionException.class, () -> dataSource.getConnection());
+
+		assertEquals(1, dataSource.getTimeouts());
+		assertEquals(0, dataSource.getAvailablePermits());
+		verify(pool, times(2)).getConnection();
+		assertTrue(e.getMessage().startsWith("primary"));
+	}
+
+	@Test
+	void aWaitingCallerGetsTheReleasedPermit() throws Exception {
+		dataSource = new ConnectionPermitDataSource(pool, "primary", 1, 5_000);
+		Connection held = dataSource.getConnection();
+		CompletableFuture<Connection> waiting = CompletableFuture.supplyAsync(() -> {
+			try {
+				return dataSource.getConnection();
+			} catch (SQLException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+		while (dataSource.getWaiting() == 0) {
+			Thread.onSpinWait();
+		}
+
+		held.close();
+
+		waiting.get(5, TimeUnit.SECONDS).close();
+		assertEquals(1, dataSource.getAvailablePermits());
+	}
+
+	@Test
+	void aFailedCheckoutReturnsThePermit() throws SQLException {
+		when(pool.getConnection()).thenThrow(new SQLException("pool exhausted"));
+
+		assertThrows(SQLException.class, () -> dataSource.getConnection());
+
+		assertEquals(2, dataSource.getAvailablePermits());
+	}
+}
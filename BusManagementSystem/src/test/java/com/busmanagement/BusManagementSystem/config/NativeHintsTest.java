@@ -0,0 +1,38 @@
+package com.busmanagement.BusManagementSystem.config;
+
+import com.busmanagement.BusManagementSystem.dto.DashboardSummary;
+import com.busmanagement.BusManagementSystem.model.Booking;
+import com.busmanagement.BusManagementSystem.model.Schedule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NativeHintsTest {
+
+	private RuntimeHints hints;
+
+	@BeforeEach
+	void setUp() {
+		hints = new RuntimeHints();
+		new NativeHints().registerHints(hints, getClass().getClassLoader());
+	}
+
+	@Test
+	void entitiesAndDtosAreBindable() throws Exception {
+		assertTrue(RuntimeHintsPredicates.reflection().onType(Booking.class).test(hints));
+		assertTrue(RuntimeHintsPredicates.reflection().onMethod(Schedule.class.getMethod("getDepartureTime")).test(hints));
+		assertTrue(RuntimeHintsPredicates.reflection().onType(DashboardSummary.Departure.class).test(hints));
+	}
+
+	@Test
+	void jjwtImplementationsCanBeCreatedByName() {
+		assertTrue(RuntimeHintsPredicates.reflection().onType(TypeReference.of("io.jsonwebtoken.impl.DefaultJwtParserBuilder"))
+				.withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS).test(hints));
+		assertTrue(RuntimeHintsPredicates.resource().forResource("META-INF/services/io.jsonwebtoken.io.Serializer").test(hints));
+	}
+}
@@ -0,0 +1,81 @@
+package com.busmanagement.BusManagementSystem.config;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PerfDataGeneratorTest {
+
+	@Test
+	void sameSeedProducesSameRows() {
+		JdbcTemplate first = generate("perf-a");
+		JdbcTemplate second = generate("perf-b");
+
+		for (String table : new String[] {"routes", "buses", "passengers", "schedules", "bookings"}) {
+			assertEquals(first.queryForList("SELECT * FROM " + table + " ORDER BY id"),
+					second.queryForList("SELECT * FROM " + table + " ORDER BY id"), table);
+		}
+	}
+
+	@Test
+	void trafficIsSkewedTowardsKathmanduPokharaAndFitsTheBuses() {
+		JdbcTemplate jdbcTemplate = generate("perf-c");
+
+		Map<String, Object> busiest = jdbcTemplate.queryForMap("SELECT r.source, r.destination, COUNT(*) AS bookings "
+				+ "FROM bookings b JOIN schedules s ON s.id = b.schedule_id JOIN routes r ON r.id = s.route_id "
+				+ "GROUP BY r.source, r.destination ORDER BY bookings DESC LIMIT 1");
+		long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM bookings", Long.class);
+		assertEquals("Kathmandu", busiest.get("source"));
+		assertEquals("Pokhara", busiest.get("destination"));
+		assertTrue(((Number) busiest.get("bookings")).longValue() > total / 10);
+		assertEquals(20_000, total);
+
+		List<Long> overbooked = jdbcTemplate.queryForList("SELECT s.id FROM schedules s JOIN buses bu ON bu.id = s.bus_id "
+				+ "LEFT JOIN bookings b ON b.schedule_id = s.id GROUP BY s.id, bu.total_seats, s.available_seats "
+				+ "HAVING COALESCE(SUM(b.number_of_seats), 0) + s.available_seats <> bu.total_seats", Long.class);
+		assertTrue(overbooked.isEmpty(), overbooked.toString());
+
+		// The query indexes dropped for the bulk load are back
+		assertEquals(10L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.indexes "
+				+ "WHERE table_name IN ('schedules', 'bookings') AND index_name LIKE 'idx\\_%'", Long.class));
+
+		// Identity columns continue after the generated ids
+		jdbcTemplate.update("INSERT INTO routes (source, destination, distance, estimated_travel_time) VALUES ('A', 'B', 1, 1)");
+		assertEquals(201L, jdbcTemplate.queryForObject("SELECT MAX(id) FROM routes", Long.class));
+	}
+
+	private static JdbcTemplate generate(String database) {
+		DataSource dataSource = new SimpleDriverDataSource(new org.h2.Driver(),
+				"jdbc:h2:mem:" + database + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+		Flyway.configure().dataSource(dataSource).load().migrate();
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+		PerfDataGenerator generator = new PerfDataGenerator();
+		ReflectionTestUtils.setField(generator, "jdbcTemplate", jdbcTemplate);
+		ReflectionTestUtils.setField(generator, "transactionManager", new DataSourceTransactionManager(dataSource));
+		ReflectionTestUtils.setField(generator, "seed", 7L);
+		ReflectionTestUtils.setField(generator, "anchorDate", "2025-06-01");
+		ReflectionTestUtils.setField(generator, "routeCount", 200);
+		ReflectionTestUtils.setField(generator, "busCount", 60);
+		ReflectionTestUtils.setField(generator, "driverCount", 50);
+		ReflectionTestUtils.setField(generator, "passengerCount", 2_000);
+		ReflectionTestUtils.setField(generator, "scheduleCount", 3_000);
+		ReflectionTestUtils.setField(generator, "bookingCount", 20_000);
+		ReflectionTestUtils.setField(generator, "routeSkew", 1.1);
+		ReflectionTestUtils.setField(generator, "passengerSkew", 0.8);
+		ReflectionTestUtils.setField(generator, "historyDays", 60);
+		ReflectionTestUtils.setField(generator, "horizonDays", 30);
+		ReflectionTestUtils.setField(generator, "batchSize", 500);
+		generator.generate();
+		return jdbcTemplate;
+	}
+}
@@ -0,0 +1,105 @@
+package com.busmanagement.BusManagementSystem.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import javax.sql.DataSource;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReadWriteRoutingDataSourceTest {
+
+	private final AtomicReference<String> client = new AtomicReference<>("alice");
+
+	private JdbcTemplate replica;
+	private ReplicaLagMonitor lagMonitor;
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate writeTx;
+	private TransactionTemplate readTx;
+
+	@BeforeEach
+	void setUp() {
+		DataSource primaryDataSource = embedded("primary");
+		DataSource replicaDataSource = embedded("replica");
+		replica = new JdbcTemplate(replicaDataSource);
+
+		lagMonitor = new ReplicaLagMonitor(primaryDataSource, replicaDataSource, 1000);
+		lagMonitor.init();
+		// Two independent databases stand in for primary and replica, so the heartbeat is copied by hand
+		replica.execute("CREATE TABLE IF NOT EXISTS replication_heartbeat (id INT PRIMARY KEY, beat BIGINT NOT NULL)");
+		replicateHeartbeat(System.currentTimeMillis());
+
+		ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(
+				primaryDataSource, replicaDataSource, lagMonitor, 200, client::get);
+		DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+		writeTx = new TransactionTemplate(transactionManager);
+		readTx = new TransactionTemplate(transactionManager);
+		readTx.setReadOnly(true);
+	}
+
+	@Test
+	void readOnlyTransactionsGoToReplica() {
+		assertEquals("replica", readTx.execute(status -> currentNode()));
+		assertEquals("primary", writeTx.execute(status -> currentNode()));
+	}
+
+	@Test
+	void readsFollowingAWriteStickToPrimaryForTheSameClient() throws Exception {
+		writeTx.execute(status -> jdbcTemplate.update("UPDATE node SET writes = writes + 1"));
+
+		assertEquals("primary", readTx.execute(status -> currentNode()));
+
+		client.set("bob");
+		assertEquals("replica", readTx.execute(status -> currentNode()));
+
+		client.set("alice");
+		Thread.sleep(250);
+		assertEquals("replica", readTx.execute(status -> currentNode()));
+	}
+
+	@Test
+	void laggingReplicaFallsBackToPrimary() {
+		replicateHeartbeat(System.currentTimeMillis() - 10_000);
+		assertEquals("primary", readTx.execute(status -> currentNode()));
+
+		replicateHeartbeat(System.currentTimeMillis());
+		assertEquals("replica", readTx.execute(status -> currentNode()));
+	}
+
+	@Test
+	void unreachableReplicaFallsBackToPrimary() {
+		replica.execute("DROP TABLE replication_heartbeat");
+		lagMonitor.check();
+
+		assertEquals("primary", readTx.execute(status -> currentNode()));
+	}
+
+	private void replicateHeartbeat(long beat) {
+		replica.update("MERGE INTO replication_heartbeat (id, beat) KEY (id) VALUES (1, ?)", beat);
+		lagMonitor.check();
+		// check() also stamps the primary; put the replica's stamp back as the lag to measure
+		replica.update("UPDATE replication_heartbeat SET beat = ? WHERE id = 1", beat);
+		lagMonitor.check();
+	}
+
+	private String currentNode() {
+		return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+	}
+
+	private static DataSource embedded(String name) {
+		SimpleDriverDataSource dataSource = new SimpleDriverDataSource(new org.h2.Driver(),
+				"jdbc:h2:mem:" + name + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+		JdbcTemplate template = new JdbcTemplate(dataSource);
+		template.execute("CREATE TABLE node (name VARCHAR(16), writes INT)");
+		template.update("INSERT INTO node VALUES (?, 0)", name);
+		return dataSource;
+	}
+}
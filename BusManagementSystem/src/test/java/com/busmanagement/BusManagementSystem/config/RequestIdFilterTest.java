@@ -0,0 +1,43 @@
+package com.busmanagement.BusManagementSystem.config;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RequestIdFilterTest {
+
+	private final RequestIdFilter filter = new RequestIdFilter();
+
+	@Test
+	void keepsProxyRequestIdAndClearsMdcAfterwards() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/schedules");
+		request.addHeader(RequestIdFilter.HEADER, "lb-7f3a.1");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		AtomicReference<String> seen = new AtomicReference<>();
+
+		filter.doFilter(request, response, (req, res) -> seen.set(MDC.get(RequestIdFilter.MDC_KEY)));
+
+		assertEquals("lb-7f3a.1", seen.get());
+		assertEquals("lb-7f3a.1", response.getHeader(RequestIdFilter.HEADER));
+		assertNull(MDC.get(RequestIdFilter.MDC_KEY));
+	}
+
+	@Test
+	void replacesRequestIdThatCouldForgeLogLines() throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/schedules");
+		request.addHeader(RequestIdFilter.HEADER, "abc\n{\"level\":\"ERROR\"}");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		filter.doFilter(request, response, (req, res) -> { });
+
+		String requestId = response.getHeader(RequestIdFilter.HEADER);
+		assertNotEquals("abc\n{\"level\":\"ERROR\"}", requestId);
+		assertEquals(36, requestId.length());
+	}
+}
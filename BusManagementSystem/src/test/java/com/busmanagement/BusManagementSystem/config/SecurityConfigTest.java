@@ -0,0 +1,48 @@
+package com.busmanagement.BusManagementSystem.config;
+
+import com.busmanagement.BusManagementSystem.util.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class SecurityConfigTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Test
+	void healthIsPublic() throws Exception {
+		assertEquals(200, mockMvc.perform(get("/actuator/health")).andReturn().getResponse().getStatus());
+	}
+
+	@Test
+	void scrapesOnTheApplicationPortNeedAToken() throws Exception {
+		assertEquals(403, mockMvc.perform(get("/actuator/prometheus")).andReturn().getResponse().getStatus());
+		assertEquals(403, mockMvc.perform(get("/actuator/prometheus").with(request -> {
+			request.setLocalPort(8081);
+			return request;
+		})).andReturn().getResponse().getStatus());
+	}
+
+	@Test
+	void theAllSchedulesSeatStreamIsForAdmins() throws Exception {
+		assertEquals(403, mockMvc.perform(get("/api/schedules/seats/stream")).andReturn().getResponse().getStatus());
+		assertEquals(403, mockMvc.perform(get("/api/schedules/seats/stream")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtil.generateAccessToken("rider", "USER")))
+				.andReturn().getResponse().getStatus());
+		assertEquals(200, mockMvc.perform(get("/api/schedules/seats/stream")
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtil.generateAccessToken("admin", "ADMIN")))
+				.andReturn().getResponse().getStatus());
+	}
+}
@@ -0,0 +1,119 @@
+package com.busmanagement.BusManagementSystem.config;
+
+import com.busmanagement.BusManagementSystem.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+// Runs the real @SqlBudget endpoints against seeded rows. The test profile fails requests that go over
+// their budget, so a query added per related row makes these tests throw instead of passing quietly.
+@SpringBootTest
+@AutoConfigureMockMvc
+class SqlBudgetEndpointsTest {
+
+	private static final int TRIPS = 12;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private long passengerId;
+	private long scheduleId;
+	private long bookingId;
+
+	@BeforeEach
+	void seed() {
+		jdbcTemplate.update("INSERT INTO routes (source, destination, distance, estimated_travel_time) "
+				+ "VALUES ('Budget', 'Town', 200, 420)");
+		long routeId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM routes", Long.class);
+		jdbcTemplate.update("INSERT INTO buses (bus_number, bus_type, total_seats, available_seats, fare_per_km, "
+				+ "is_available, current_location) VALUES ('BUD-" + System.nanoTime() + "', 'AC', 40, 40, 2.5, TRUE, 'Kathmandu')");
+		long busId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM buses", Long.class);
+		jdbcTemplate.update("INSERT INTO passengers (first_name, last_name, email, phone_number, registration_date) "
+				+ "VALUES ('Gita', 'Rai', 'budget-" + System.nanoTime() + "@test.np', '9811111111', ?)", LocalDateTime.now());
+		passengerId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM passengers", Long.class);
+
+		// Recorded trips on the route, each with bookings, so per-row loading would show up in the counts
+		LocalDateTime departure = LocalDateTime.now().plusDays(1).withHour(8).withMinute(0).withSecond(0).withNano(0);
+		for (int week = 1; week <= TRIPS; week++) {
+			LocalDateTime past = departure.minusWeeks(week);
+			jdbcTemplate.update("INSERT INTO schedules (bus_id, route_id, departure_time, arrival_time, actual_departure_time, "
+					+ "actual_arrival_time, fare, available_seats, status) VALUES (?, ?, ?, ?, ?, ?, 500, 38, 'ARRIVED')",
+					busId, routeId, past, past.plusHours(7), past, past.plusHours(7).plusMinutes(week));
+			booking(jdbcTemplate.queryForObject("SELECT MAX(id) FROM schedules", Long.class), past.minusDays(1));
+		}
+		jdbcTemplate.update("INSERT INTO schedules (bus_id, route_id, departure_time, arrival_time, fare, available_seats, status) "
+				+ "VALUES (?, ?, ?, ?, 500, 40, 'SCHEDULED')", busId, routeId, departure, departure.plusHours(7));
+		scheduleId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM schedules", Long.class);
+		for (int i = 0; i < 5; i++) {
+			booking(scheduleId, LocalDateTime.now());
+		}
+		bookingId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM bookings", Long.class);
+	}
+
+	@Test
+	void getBookingStaysWithinBudget() throws Exception {
+		assertWithinBudget(get("/api/bookings/{id}", bookingId), 10);
+	}
+
+	@Test
+	void createBookingStaysWithinBudget() throws Exception {
+		String body = "{\"passenger\":{\"id\":" + passengerId + "},\"schedule\":{\"id\":" + scheduleId + "},"
+				+ "\"numberOfSeats\":2,\"seatNumbers\":\"B1,B2\"}";
+
+		assertWithinBudget(post("/api/bookings").contentType(MediaType.APPLICATION_JSON).content(body), 20);
+	}
+
+	@Test
+	void cancelBookingStaysWithinBudget() throws Exception {
+		assertWithinBudget(post("/api/bookings/{id}/cancel", bookingId), 20);
+	}
+
+	@Test
+	void getScheduleStaysWithinBudget() throws Exception {
+		assertWithinBudget(get("/api/schedules/{id}", scheduleId), 10);
+	}
+
+	@Test
+	void scheduleEtaStaysWithinBudget() throws Exception {
+		assertWithinBudget(get("/api/schedules/{id}/eta", scheduleId), 10);
+	}
+
+	// An over-budget request throws from perform() before the assertions here are reached
+	private void assertWithinBudget(MockHttpServletRequestBuilder request, int budget) throws Exception {
+		MvcResult result = mockMvc.perform(request.header(HttpHeaders.AUTHORIZATION, bearer())).andReturn();
+
+		assertEquals(200, result.getResponse().getStatus(), result.getResponse().getContentAsString());
+		int statements = Integer.parseInt(result.getResponse().getHeader(SqlBudgetFilter.COUNT_HEADER));
+		assertTrue(statements > 0 && statements <= budget, statements + " statements against a budget of " + budget);
+	}
+
+	private String bearer() {
+		return "Bearer " + jwtUtil.generateAccessToken("sql-budget-test", "ADMIN");
+	}
+
+	private void booking(long schedule, LocalDateTime date) {
+		jdbcTemplate.update("INSERT INTO bookings (booking_number, passenger_id, schedule_id, number_of_seats, total_amount, "
+				+ "payment_status, booking_status, booking_date, seat_numbers) VALUES (?, ?, ?, 1, 500, 'PAID', 'CONFIRMED', ?, 'A1')",
+				"BUD-" + System.nanoTime(), passengerId, schedule, date);
+	}
+}
@@ -0,0 +1,108 @@
+package com.busmanagement.BusManagementSystem.config;
+
+import com.busmanagement.BusManagementSystem.util.JwtUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(SqlBudgetFilterTest.ProbeController.class)
+class SqlBudgetFilterTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Test
+	void reportsStatementCountAndTimeWithinBudget() throws Exception {
+		MvcResult result = mockMvc.perform(get("/api/sql-budget-probe/budgeted").param("count", "2")
+				.header(HttpHeaders.AUTHORIZATION, bearer())).andReturn();
+
+		assertEquals(200, result.getResponse().getStatus());
+		assertEquals("2", result.getResponse().getHeader(SqlBudgetFilter.COUNT_HEADER));
+		assertNotNull(result.getResponse().getHeader(SqlBudgetFilter.TIME_HEADER));
+	}
+
+	@Test
+	void failsTheRequestWhenDeclaredBudgetIsExceeded() {
+		IllegalStateException e = assertThrows(IllegalStateException.class, () ->
+				mockMvc.perform(get("/api/sql-budget-probe/budgeted").param("count", "4")
+						.header(HttpHeaders.AUTHORIZATION, bearer())));
+
+		assertTrue(e.getMessage().contains("4 statements against a budget of 3"), e.getMessage());
+	}
+
+	@Test
+	void flagsOneStatementRepeatedPerRow() {
+		IllegalStateException e = assertThrows(IllegalStateException.class, () ->
+				mockMvc.perform(get("/api/sql-budget-probe/per-row").param("count", "4")
+						.header(HttpHeaders.AUTHORIZATION, bearer())));
+
+		assertTrue(e.getMessage().contains("possible N+1, ran 4 times"), e.getMessage());
+	}
+
+	@Test
+	void onlyWarnsWhenTheDefaultBudgetIsExceeded() throws Exception {
+		MvcResult result = mockMvc.perform(get("/api/sql-budget-probe/unbudgeted").param("count", "60")
+				.header(HttpHeaders.AUTHORIZATION, bearer())).andReturn();
+
+		assertEquals(200, result.getResponse().getStatus());
+		assertEquals("60", result.getResponse().getHeader(SqlBudgetFilter.COUNT_HEADER));
+	}
+
+	private String bearer() {
+		return "Bearer " + jwtUtil.generateAccessToken("sql-budget-test", "ADMIN");
+	}
+
+	@RestController
+	@RequestMapping("/api/sql-budget-probe")
+	static class ProbeController {
+
+		@Autowired
+		private JdbcTemplate jdbcTemplate;
+
+		@GetMapping("/budgeted")
+		@SqlBudget(3)
+		public Map<String, Integer> budgeted(@RequestParam int count) {
+			return run(count);
+		}
+
+		@GetMapping("/per-row")
+		@SqlBudget(value = 50, maxRepeats = 3)
+		public Map<String, Integer> perRow(@RequestParam int count) {
+			return run(count);
+		}
+
+		@GetMapping("/unbudgeted")
+		public Map<String, Integer> unbudgeted(@RequestParam int count) {
+			return run(count);
+		}
+
+		private Map<String, Integer> run(int count) {
+			for (int i = 0; i < count; i++) {
+				jdbcTemplate.queryForObject("SELECT COUNT(*) FROM routes WHERE id = ?", Long.class, i);
+			}
+			return Map.of("statements", count);
+		}
+	}
+}
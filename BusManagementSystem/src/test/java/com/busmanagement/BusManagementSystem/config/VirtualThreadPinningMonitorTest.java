@@ -0,0 +1,80 @@
+package com.busmanagement.BusManagementSystem.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VirtualThreadPinningMonitorTest {
+
+	private final Object lock = new Object();
+	private SimpleMeterRegistry meterRegistry;
+	private VirtualThreadPinningMonitor monitor;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		monitor = new VirtualThreadPinningMonitor();
+		ReflectionTestUtils.setField(monitor, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(monitor, "thresholdMillis", 1L);
+		ReflectionTestUtils.setField(monitor, "maxSites", 10);
+		ReflectionTestUtils.setField(monitor, "stackDepth", 8);
+		monitor.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+		monitor.stop();
+	}
+
+	@Test
+	void blockingInsideSynchronizedIsReportedAtTheCallSite() throws Exception {
+		for (int i = 0; i < 3; i++) {
+			Thread.ofVirtual().start(this::sleepHoldingTheLock).join();
+		}
+
+		// Events reach the stream on JFR's flush, about once a second
+		long deadline = System.nanoTime() + 15_000_000_000L;
+		while (meterRegistry.get("jvm.threads.virtual.pinned").timer().count() < 3 && System.nanoTime() < deadline) {
+			Thread.sleep(100);
+		}
+
+		assertEquals(3, meterRegistry.get("jvm.threads.virtual.pinned").timer().count());
+		Map<String, Long> sites = monitor.getSites();
+		assertEquals(1, sites.size());
+		String site = sites.keySet().iterator().next();
+		assertTrue(site.startsWith(VirtualThreadPinningMonitorTest.class.getName() + ".sleepHoldingTheLock:"), site);
+		assertEquals(3L, sites.get(site));
+	}
+
+	@Test
+	void blockingWithoutAMonitorDoesNotPin() throws Exception {
+		Thread.ofVirtual().start(() -> sleep(50)).join();
+		Thread.sleep(2_500);
+
+		assertEquals(0, meterRegistry.get("jvm.threads.virtual.pinned").timer().count());
+	}
+
+	private void sleepHoldingTheLock() {
+		synchronized (lock) {
+			try {
+				Thread.sleep(50);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
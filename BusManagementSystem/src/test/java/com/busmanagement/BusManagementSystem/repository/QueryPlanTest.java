@@ -0,0 +1,208 @@
+package com.busmanagement.BusManagementSystem.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+// Runs every query method of every Spring Data repository against a seeded H2 database migrated
+// by Flyway, EXPLAINs the SQL Hibernate issued and fails when a table is read without using the
+// leading column of an index. New query methods are picked up automatically; give them an index
+// in a migration or, if a scan is really intended, add them to ALLOWED_SCANS with the reason.
+@SpringBootTest
+class QueryPlanTest {
+
+	private static final Map<String, String> ALLOWED_SCANS = Map.of(
+			"RouteRepository.findAllUniqueSources", "DISTINCT over the full index on (source, destination), never the table",
+			"RouteRepository.findAllUniqueDestinations", "DISTINCT over the full index on destination, never the table",
+			"RouteRepository.findAllEndpointCoordinates", "Loads every route endpoint into the spatial index",
+			"BusRepository.findAllCoordinates", "Loads the whole fleet into the spatial index");
+
+	// "public"."schedules" "s1_0" /* public.idx_schedules_route_departure: route_id = ... */
+	private static final Pattern TABLE_ACCESS = Pattern.compile(
+			"\"public\"\\.\"(\\w+)\"(?:\\s+\"\\w+\")?\\s*/\\*\\s*public\\.(\\w+?)(?:\\.tableScan)?(?::\\s*(.*?))?\\s*\\*/",
+			Pattern.DOTALL);
+
+	@Autowired
+	private ApplicationContext applicationContext;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private final Map<String, String> leadingColumns = new HashMap<>();
+
+	@BeforeEach
+	void seed() {
+		if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM routes WHERE source LIKE 'Plan-%'", Integer.class) > 0) {
+			return;
+		}
+		jdbcTemplate.update("INSERT INTO routes (source, destination, distance, estimated_travel_time) "
+				+ "SELECT CONCAT('Plan-', MOD(\"X\", 20)), CONCAT('Plan-', \"X\"), 100, 120 FROM SYSTEM_RANGE(1, 200)");
+		jdbcTemplate.update("INSERT INTO buses (bus_number, bus_type, total_seats, available_seats, fare_per_km, is_available, "
+				+ "current_location) SELECT CONCAT('PLAN-', \"X\"), CASEWHEN(MOD(\"X\", 2) = 0, 'AC', 'Non-AC'), 40, MOD(\"X\", 41), "
+				+ "2.5, MOD(\"X\", 3) = 0, CONCAT('Plan-', MOD(\"X\", 20)) FROM SYSTEM_RANGE(1, 200)");
+		jdbcTemplate.update("INSERT INTO drivers (name, license_number, contact_number, email, date_of_birth, is_available) "
+				+ "SELECT CONCAT('Driver ', \"X\"), CONCAT('PLAN-DL-', \"X\"), '9800000000', CONCAT('plan', \"X\", '@drivers.np'), "
+				+ "DATE '1985-01-01', MOD(\"X\", 3) = 0 FROM SYSTEM_RANGE(1, 200)");
+		jdbcTemplate.update("INSERT INTO passengers (first_name, last_name, email, phone_number, registration_date) "
+				+ "SELECT 'Plan', CONCAT('P', \"X\"), CONCAT('plan', \"X\", '@passengers.np'), CONCAT('97', \"X\"), "
+				+ "CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, 200)");
+		jdbcTemplate.update("INSERT INTO schedules (bus_id, route_id, driver_id, departure_time, arrival_time, fare, available_seats, status) "
+				+ "SELECT b.id, r.id, d.id, DATEADD('HOUR', b.id, CURRENT_TIMESTAMP), DATEADD('HOUR', b.id + 5, CURRENT_TIMESTAMP), "
+				+ "250, MOD(b.id, 41), 'SCHEDULED' FROM buses b JOIN routes r ON r.destination = CONCAT('Plan-', SUBSTRING(b.bus_number, 6)) "
+				+ "JOIN drivers d ON d.license_number = CONCAT('PLAN-DL-', SUBSTRING(b.bus_number, 6)) WHERE b.bus_number LIKE 'PLAN-%'");
+		jdbcTemplate.update("INSERT INTO bookings (booking_number, passenger_id, schedule_id, number_of_seats, total_amount, "
+				+ "payment_status, booking_status, booking_date) SELECT CONCAT('PLAN-BK-', s.id), p.id, s.id, 1, 250, 'PAID', "
+				+ "'CONFIRMED', CURRENT_TIMESTAMP FROM schedules s JOIN passengers p ON p.id = (SELECT MIN(id) FROM passengers) + MOD(s.id, 200) "
+				+ "WHERE s.fare = 250");
+	}
+
+	@Test
+	void repositoryQueriesUseIndexes() {
+		Repositories repositories = new Repositories(applicationContext);
+		TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+		List<String> failures = new ArrayList<>();
+		int checked = 0;
+
+		for (Class<?> domainType : repositories) {
+			RepositoryInformation information = repositories.getRequiredRepositoryInformation(domainType);
+			Object repository = repositories.getRepositoryFor(domainType).orElseThrow();
+			for (Method method : information.getQueryMethods()) {
+				String name = information.getRepositoryInterface().getSimpleName() + "." + method.getName();
+				List<String> statements = capture(transaction, repository, method);
+				assertTrue(!statements.isEmpty(), name + " issued no SQL");
+				for (String sql : statements) {
+					String violation = checkPlan(explain(sql));
+					if (violation != null && !ALLOWED_SCANS.containsKey(name)) {
+						failures.add(name + ": " + violation + "\n    " + sql);
+					}
+				}
+				checked++;
+			}
+		}
+
+		assertTrue(checked > 0);
+		if (!failures.isEmpty()) {
+			fail("Repository queries without a usable index:\n" + String.join("\n", failures));
+		}
+	}
+
+	// Runs the method in a transaction that is always rolled back, so derived deletes leave no trace
+	private List<String> capture(TransactionTemplate transaction, Object repository, Method method) {
+		return transaction.execute(status -> {
+			status.setRollbackOnly();
+			SqlCaptureInspector.start();
+			try {
+				method.invoke(repository, arguments(method));
+			} catch (ReflectiveOperationException e) {
+				throw new IllegalStateException("Could not run " + method, e);
+			} finally {
+				List<String> statements = SqlCaptureInspector.stop();
+				if (!statements.isEmpty()) {
+					return statements;
+				}
+			}
+			return List.of();
+		});
+	}
+
+	private static Object[] arguments(Method method) {
+		Class<?>[] types = method.getParameterTypes();
+		Object[] arguments = new Object[types.length];
+		for (int i = 0; i < types.length; i++) {
+			arguments[i] = sample(types[i]);
+		}
+		return arguments;
+	}
+
+	private static Object sample(Class<?> type) {
+		if (type == String.class) {
+			return "Plan-1";
+		}
+		if (type == Long.class || type == long.class) {
+			return 1L;
+		}
+		if (type == Integer.class || type == int.class) {
+			return 0;
+		}
+		if (type == Boolean.class || type == boolean.class) {
+			return true;
+		}
+		if (type == LocalDateTime.class) {
+			return LocalDateTime.now();
+		}
+		if (type == LocalDate.class) {
+			return LocalDate.now();
+		}
+		if (type == Collection.class) {
+			return List.of(1L);
+		}
+		if (type == Pageable.class) {
+			return PageRequest.of(0, 10);
+		}
+		throw new IllegalArgumentException("No sample value for " + type.getName() + "; extend QueryPlanTest.sample");
+	}
+
+	// Parameters stay unbound: H2 plans EXPLAIN without executing the statement
+	private String explain(String sql) {
+		return jdbcTemplate.execute((Connection connection) -> {
+			try (var ps = connection.prepareStatement("EXPLAIN " + sql); var rs = ps.executeQuery()) {
+				rs.next();
+				return rs.getString(1);
+			}
+		});
+	}
+
+	private String checkPlan(String plan) {
+		Matcher access = TABLE_ACCESS.matcher(plan);
+		while (access.find()) {
+			String table = access.group(1);
+			String index = access.group(2);
+			String condition = access.group(3);
+			if (access.group(0).contains(".tableScan")) {
+				return "full scan of " + table;
+			}
+			if (condition == null) {
+				return "full scan of index " + index + " on " + table;
+			}
+			// H2 lists every condition it can evaluate against the index; one must be on the leading column
+			String leading = leadingColumn(index);
+			if (!Pattern.compile("(^|[\\s(])\"?" + leading + "\"?\\s*(=|<|>|IS|IN|BETWEEN)", Pattern.CASE_INSENSITIVE)
+					.matcher(condition.trim()).find()) {
+				return "index " + index + " on " + table + " used without its leading column " + leading;
+			}
+		}
+		return null;
+	}
+
+	private String leadingColumn(String index) {
+		return leadingColumns.computeIfAbsent(index, i -> jdbcTemplate.queryForObject(
+				"SELECT column_name FROM information_schema.index_columns WHERE index_name = ? AND ordinal_position = 1",
+				String.class, i));
+	}
+}
@@ -0,0 +1,31 @@
+package com.busmanagement.BusManagementSystem.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import java.util.ArrayList;
+import java.util.List;
+
+// Registered for the test suite through hibernate.session_factory.statement_inspector.
+// Records the SQL Hibernate prepares on the current thread while capture is active.
+public class SqlCaptureInspector implements StatementInspector {
+
+	private static final ThreadLocal<List<String>> captured = new ThreadLocal<>();
+
+	public static void start() {
+		captured.set(new ArrayList<>());
+	}
+
+	public static List<String> stop() {
+		List<String> statements = captured.get();
+		captured.remove();
+		return statements == null ? List.of() : statements;
+	}
+
+	@Override
+	public String inspect(String sql) {
+		List<String> statements = captured.get();
+		if (statements != null) {
+			statements.add(sql);
+		}
+		return sql;
+	}
+}
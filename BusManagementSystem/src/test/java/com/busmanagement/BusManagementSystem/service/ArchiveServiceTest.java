@@ -0,0 +1,210 @@
+package com.busmanagement.BusManagementSystem.service;
+
+import com.busmanagement.BusManagementSystem.model.ArchivePartition;
+import com.busmanagement.BusManagementSystem.model.Booking;
+import com.busmanagement.BusManagementSystem.model.Schedule;
+import com.busmanagement.BusManagementSystem.repository.ArchiveRepository;
+import com.busmanagement.BusManagementSystem.repository.ScheduleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ArchiveServiceTest {
+
+	private static final Logger logger = LoggerFactory.getLogger(ArchiveServiceTest.class);
+
+	@Autowired
+	private ArchiveService archiveService;
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Autowired
+	private ScheduleService scheduleService;
+
+	@Autowired
+	private ScheduleRepository scheduleRepository;
+
+	@Autowired
+	private ArchiveRepository archiveRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private long routeId;
+	private long busId;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(archiveService, "batchPauseMillis", 0L);
+		ReflectionTestUtils.setField(archiveService, "maxBatchesPerRun", Integer.MAX_VALUE);
+		jdbcTemplate.update("INSERT INTO routes (source, destination, distance, estimated_travel_time) "
+				+ "VALUES ('Archive', 'Town', 200, 420)");
+		routeId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM routes", Long.class);
+		jdbcTemplate.update("INSERT INTO buses (bus_number, bus_type, total_seats, available_seats, fare_per_km, "
+				+ "is_available, current_location) VALUES ('ARC-" + System.nanoTime() + "', 'AC', 40, 40, 2.5, TRUE, 'Kathmandu')");
+		busId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM buses", Long.class);
+	}
+
+	@Test
+	void movesCompletedSchedulesAndReadsThemBack() {
+		ReflectionTestUtils.setField(archiveService, "batchSize", 1);
+		long passengerId = passenger();
+		long arrived = schedule(LocalDateTime.of(2020, 1, 10, 8, 0), "ARRIVED");
+		long cancelled = schedule(LocalDateTime.of(2020, 2, 3, 8, 0), "CANCELLED");
+		long stale = schedule(LocalDateTime.of(2020, 1, 20, 8, 0), "SCHEDULED");
+		long recent = schedule(LocalDateTime.of(2021, 3, 1, 8, 0), "ARRIVED");
+		for (long scheduleId : new long[] {arrived, cancelled, stale, recent}) {
+			booking(passengerId, scheduleId, LocalDateTime.of(2020, 1, 1, 9, 0));
+		}
+
+		assertEquals(2, archiveService.archiveOlderThan(LocalDateTime.of(2021, 1, 1, 0, 0)));
+
+		assertTrue(scheduleRepository.findById(arrived).isEmpty());
+		assertTrue(scheduleRepository.findById(stale).isPresent());
+		assertEquals(2, bookingService.getBookingsByPassenger(passengerId, false).size());
+
+		List<Booking> all = bookingService.getBookingsByPassenger(passengerId, true);
+		assertEquals(4, all.size());
+		Booking archived = all.stream().filter(b -> b.getSchedule().getId() == arrived).findFirst().orElseThrow();
+		assertEquals("Archive", archived.getSchedule().getRoute().getSource());
+		assertNotNull(archived.getPassenger());
+
+		List<Schedule> january = scheduleService.getSchedulesBetweenDates(
+				LocalDateTime.of(2020, 1, 1, 0, 0), LocalDateTime.of(2020, 1, 31, 23, 59), true);
+		assertEquals(2, january.size());
+		assertEquals(4, bookingService.getBookingsBetweenDates(
+				LocalDateTime.of(2020, 1, 1, 0, 0), LocalDateTime.of(2020, 1, 1, 23, 59), true).size());
+
+		ArchivePartition partition = archiveService.getPartitions().stream()
+				.filter(p -> p.getTableName().equals("bookings_archive_2020_02")).findFirst().orElseThrow();
+		assertEquals(1, partition.getRowCount());
+	}
+
+	@Test
+	void readsArchiveTablesCreatedBeforeTheLiveTableGainedColumns() {
+		// A month archived before the schedules table gained its actual times
+		String oldTable = "schedules_archive_2019_06";
+		jdbcTemplate.execute("CREATE TABLE " + oldTable + " AS SELECT * FROM schedules WHERE 1=0");
+		jdbcTemplate.execute("ALTER TABLE " + oldTable + " DROP COLUMN actual_departure_time");
+		jdbcTemplate.execute("ALTER TABLE " + oldTable + " DROP COLUMN actual_arrival_time");
+		jdbcTemplate.update("INSERT INTO archive_partitions (table_name, kind, period_start, row_count, created_at) "
+				+ "VALUES (?, 'schedules', '2019-06-01', 1, ?)", oldTable, LocalDateTime.now());
+		long old = schedule(LocalDateTime.of(2019, 6, 15, 8, 0), "ARRIVED");
+		jdbcTemplate.update("INSERT INTO " + oldTable + " (id, bus_id, route_id, departure_time, arrival_time, fare, "
+				+ "available_seats, status) SELECT id, bus_id, route_id, departure_time, arrival_time, fare, available_seats, "
+				+ "status FROM schedules WHERE id = ?", old);
+		jdbcTemplate.update("DELETE FROM schedules WHERE id = ?", old);
+
+		long recent = schedule(LocalDateTime.of(2019, 7, 15, 8, 0), "ARRIVED");
+		LocalDateTime arrived = LocalDateTime.of(2019, 7, 15, 15, 30);
+		jdbcTemplate.update("UPDATE schedules SET actual_arrival_time = ? WHERE id = ?", arrived, recent);
+		archiveService.archiveOlderThan(LocalDateTime.of(2019, 8, 1, 0, 0));
+
+		List<Schedule> summer = scheduleService.getSchedulesBetweenDates(
+				LocalDateTime.of(2019, 6, 1, 0, 0), LocalDateTime.of(2019, 7, 31, 23, 59), true);
+		assertEquals(2, summer.size());
+		Schedule oldSchedule = summer.stream().filter(s -> s.getId() == old).findFirst().orElseThrow();
+		assertNull(oldSchedule.getActualArrivalTime());
+		Schedule recentSchedule = summer.stream().filter(s -> s.getId() == recent).findFirst().orElseThrow();
+		assertEquals(arrived, recentSchedule.getActualArrivalTime());
+	}
+
+	@Test
+	void aRetriedTableCreationAddsOnlyTheMissingIndexes() {
+		String table = "bookings_archive_1999_01";
+		archiveRepository.createArchiveTable(ArchiveRepository.BOOKINGS, table);
+		// As if the first attempt had failed after its first index
+		jdbcTemplate.execute("DROP INDEX idx_" + table + "_schedule");
+		jdbcTemplate.execute("DROP INDEX idx_" + table + "_date");
+
+		archiveRepository.createArchiveTable(ArchiveRepository.BOOKINGS, table);
+		archiveRepository.createArchiveTable(ArchiveRepository.BOOKINGS, table);
+
+		assertEquals(3, jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM information_schema.indexes WHERE table_name = ?", Integer.class, table));
+	}
+
+	// mvn test -Dtest=ArchiveServiceTest -Dperf=true
+	// Hot-query latency is measured after each round of history growth; with archival the live
+	// tables only ever hold the upcoming trips, so it should stay flat.
+	@Test
+	@EnabledIfSystemProperty(named = "perf", matches = "true")
+	void hotQueryLatencyStaysFlatAsHistoryGrows() {
+		int rounds = 4;
+		int historyPerRound = 50_000;
+		long passengerId = passenger();
+		LocalDateTime now = LocalDateTime.now();
+		for (int i = 1; i <= 20; i++) {
+			booking(passengerId, schedule(now.plusDays(i), "SCHEDULED"), now);
+		}
+
+		long[] latencies = new long[rounds];
+		for (int round = 0; round < rounds; round++) {
+			jdbcTemplate.update("INSERT INTO schedules (bus_id, route_id, departure_time, arrival_time, fare, available_seats, status) "
+					+ "SELECT ?, ?, DATEADD('MINUTE', -\"X\", CAST(? AS TIMESTAMP)), DATEADD('MINUTE', -\"X\", CAST(? AS TIMESTAMP)), "
+					+ "500, 10, 'ARRIVED' FROM SYSTEM_RANGE(1, ?)",
+					busId, routeId, now.minusYears(1 + round), now.minusYears(1 + round).plusHours(7), historyPerRound);
+			jdbcTemplate.update("INSERT INTO bookings (booking_number, passenger_id, schedule_id, number_of_seats, total_amount, "
+					+ "payment_status, booking_status, booking_date, seat_numbers) "
+					+ "SELECT CONCAT('HIST-', ?, '-', id), ?, id, 1, 500, 'PAID', 'CONFIRMED', departure_time, 'A1' "
+					+ "FROM schedules WHERE status = 'ARRIVED' AND departure_time < ?",
+					round, passengerId, now.minusMonths(6));
+
+			archiveService.archiveOlderThan(now.minusDays(90));
+			latencies[round] = medianHotQueryNanos(passengerId, now);
+			logger.info("Round {}: {} history schedules, hot query median {} us",
+					round + 1, (round + 1) * historyPerRound, latencies[round] / 1000);
+		}
+
+		assertEquals(20, bookingService.getBookingsByPassenger(passengerId, false).size());
+		long first = Arrays.stream(latencies, 0, 2).min().orElseThrow();
+		assertTrue(latencies[rounds - 1] < first * 2 + 200_000, Arrays.toString(latencies));
+	}
+
+	private long medianHotQueryNanos(long passengerId, LocalDateTime now) {
+		long[] samples = new long[201];
+		for (int i = 0; i < samples.length; i++) {
+			long start = System.nanoTime();
+			scheduleRepository.findAvailableSchedules("Archive", "Town", now);
+			scheduleRepository.findByDepartureTimeAfterAndAvailableSeatsGreaterThan(now, 0);
+			bookingService.getBookingsByPassenger(passengerId, false);
+			samples[i] = System.nanoTime() - start;
+		}
+		Arrays.sort(samples);
+		return samples[samples.length / 2];
+	}
+
+	private long passenger() {
+		jdbcTemplate.update("INSERT INTO passengers (first_name, last_name, email, phone_number, registration_date) "
+				+ "VALUES ('Gita', 'Rai', 'archive-" + System.nanoTime() + "@test.np', '9811111111', ?)", LocalDateTime.now());
+		return jdbcTemplate.queryForObject("SELECT MAX(id) FROM passengers", Long.class);
+	}
+
+	private long schedule(LocalDateTime departure, String status) {
+		jdbcTemplate.update("INSERT INTO schedules (bus_id, route_id, departure_time, arrival_time, fare, available_seats, status) "
+				+ "VALUES (?, ?, ?, ?, 500, 40, ?)", busId, routeId, departure, departure.plusHours(7), status);
+		return jdbcTemplate.queryForObject("SELECT MAX(id) FROM schedules", Long.class);
+	}
+
+	private void booking(long passengerId, long scheduleId, LocalDateTime date) {
+		jdbcTemplate.update("INSERT INTO bookings (booking_number, passenger_id, schedule_id, number_of_seats, total_amount, "
+				+ "payment_status, booking_status, booking_date, seat_numbers) VALUES (?, ?, ?, 1, 500, 'PAID', 'CONFIRMED', ?, 'A1')",
+				"ARC-" + System.nanoTime(), passengerId, scheduleId, date);
+	}
+}
@@ -0,0 +1,120 @@
+package com.busmanagement.BusManagementSystem.service;
+
+import com.busmanagement.BusManagementSystem.exception.RateLimitExceededException;
+import com.busmanagement.BusManagementSystem.model.Admin;
+import com.busmanagement.BusManagementSystem.util.TokenBucketRateLimiter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuthServiceTest {
+
+	private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder();
+	private final String hash = encoder.encode("secret");
+
+	private ThreadPoolExecutor loginExecutor;
+	private AuthService authService;
+
+	@BeforeEach
+	void setUp() {
+		loginExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(4), new ThreadPoolExecutor.AbortPolicy());
+
+		// Real BCrypt work, as in production
+		AuthenticationManager authenticationManager = authentication -> {
+			encoder.matches((String) authentication.getCredentials(), hash);
+			Admin admin = new Admin();
+			admin.setUsername(authentication.getName());
+			admin.setPassword(hash);
+			AdminUserDetails details = new AdminUserDetails(admin);
+			return new UsernamePasswordAuthenticationToken(details, null, details.getAuthorities());
+		};
+
+		authService = new AuthService();
+		ReflectionTestUtils.setField(authService, "authenticationManager", authenticationManager);
+		ReflectionTestUtils.setField(authService, "loginExecutor", loginExecutor);
+		ReflectionTestUtils.setField(authService, "loginIpRateLimiter", new TokenBucketRateLimiter(1000, 1000, 10_000));
+		ReflectionTestUtils.setField(authService, "loginUserRateLimiter", new TokenBucketRateLimiter(3, 3, 10_000));
+	}
+
+	@AfterEach
+	void tearDown() {
+		loginExecutor.shutdownNow();
+	}
+
+	@Test
+	void returnsAdminFromAuthenticationWithoutReloading() throws Exception {
+		Admin admin = authService.login("prakash", "secret", "10.0.0.1").get(5, TimeUnit.SECONDS);
+		assertEquals("prakash", admin.getUsername());
+	}
+
+	@Test
+	void throttlesRepeatedAttemptsOnOneAccount() {
+		for (int i = 0; i < 3; i++) {
+			authService.login("victim", "guess" + i, "10.0.0." + i);
+		}
+		RateLimitExceededException e = assertThrows(RateLimitExceededException.class,
+				() -> authService.login("victim", "guess", "10.0.0.99"));
+		assertTrue(e.getRetryAfterSeconds() >= 1);
+	}
+
+	@Test
+	void loginStormIsShedWithoutBlockingRequestThreads() throws Exception {
+		// Holds the single login worker so every later attempt has to queue or be shed
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger authentications = new AtomicInteger();
+		AuthenticationManager gated = authentication -> {
+			authentications.incrementAndGet();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			Admin admin = new Admin();
+			admin.setUsername(authentication.getName());
+			admin.setPassword(hash);
+			AdminUserDetails details = new AdminUserDetails(admin);
+			return new UsernamePasswordAuthenticationToken(details, null, details.getAuthorities());
+		};
+		ReflectionTestUtils.setField(authService, "authenticationManager", gated);
+
+		List<CompletableFuture<Admin>> accepted = new ArrayList<>();
+		int shed = 0;
+		for (int i = 0; i < 20; i++) {
+			try {
+				accepted.add(authService.login("user" + i, "secret", "192.168.1.1"));
+			} catch (RejectedExecutionException e) {
+				shed++;
+			}
+		}
+
+		// The caller got its answer while no login had finished: it only paid for the hand-off
+		assertTrue(accepted.stream().noneMatch(CompletableFuture::isDone));
+		assertEquals(5, accepted.size());
+		assertEquals(15, shed);
+		assertEquals(4, loginExecutor.getQueue().size());
+
+		release.countDown();
+		for (CompletableFuture<Admin> login : accepted) {
+			login.get(5, TimeUnit.SECONDS);
+		}
+		assertEquals(5, authentications.get());
+	}
+}
@@ -0,0 +1,61 @@
+package com.busmanagement.BusManagementSystem.service;
+
+import com.busmanagement.BusManagementSystem.repository.ScheduleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookingMetricsTest {
+
+	@Test
+	void countsBookingOutcomesAndConflictsPerEntity() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		BookingMetrics metrics = metrics(registry, mock(ScheduleRepository.class), 0);
+
+		metrics.bookingCreated();
+		metrics.bookingCreated();
+		metrics.bookingCancelled();
+		metrics.soldOut();
+		metrics.busSeatConflict();
+
+		assertEquals(2, registry.get("bookings.created").counter().count());
+		assertEquals(1, registry.get("bookings.cancelled").counter().count());
+		assertEquals(1, registry.get("bookings.sold.out").counter().count());
+		assertEquals(1, registry.get("seats.update.conflicts").tag("entity", "bus").counter().count());
+		assertEquals(0, registry.get("seats.update.conflicts").tag("entity", "schedule").counter().count());
+	}
+
+	@Test
+	void reportsUpcomingSeatsByRankAndMissingRanksAsMinusOne() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		ScheduleRepository scheduleRepository = mock(ScheduleRepository.class);
+		when(scheduleRepository.findUpcomingAvailableSeats(eq("SCHEDULED"), any(LocalDateTime.class), any(Pageable.class)))
+				.thenReturn(Arrays.asList(12, null));
+		BookingMetrics metrics = metrics(registry, scheduleRepository, 3);
+
+		metrics.refreshUpcomingSeats();
+
+		assertEquals(3, registry.find("schedules.upcoming.seats.available").gauges().size());
+		assertEquals(12, registry.get("schedules.upcoming.seats.available").tag("rank", "1").gauge().value());
+		assertEquals(-1, registry.get("schedules.upcoming.seats.available").tag("rank", "2").gauge().value());
+		assertEquals(-1, registry.get("schedules.upcoming.seats.available").tag("rank", "3").gauge().value());
+	}
+
+	private static BookingMetrics metrics(SimpleMeterRegistry registry, ScheduleRepository scheduleRepository, int upcoming) {
+		BookingMetrics metrics = new BookingMetrics();
+		ReflectionTestUtils.setField(metrics, "meterRegistry", registry);
+		ReflectionTestUtils.setField(metrics, "scheduleRepository", scheduleRepository);
+		ReflectionTestUtils.setField(metrics, "upcomingSchedules", upcoming);
+		metrics.init();
+		return metrics;
+	}
+}
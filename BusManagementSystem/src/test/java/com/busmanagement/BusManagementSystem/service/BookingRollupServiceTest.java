@@ -0,0 +1,160 @@
+package com.busmanagement.BusManagementSystem.service;
+
+import com.busmanagement.BusManagementSystem.dto.RollupTotals;
+import com.busmanagement.BusManagementSystem.model.Booking;
+import com.busmanagement.BusManagementSystem.model.Bus;
+import com.busmanagement.BusManagementSystem.model.Route;
+import com.busmanagement.BusManagementSystem.model.Schedule;
+import com.busmanagement.BusManagementSystem.repository.BookingRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookingRollupServiceTest {
+
+	private static final LocalDateTime DEPARTURE = LocalDateTime.of(2026, 3, 2, 9, 0);
+
+	private BookingRollupRepository repository;
+	private BookingRollupService service;
+	private List<RollupTotals> flushed;
+
+	@BeforeEach
+	void setUp() {
+		repository = mock(BookingRollupRepository.class);
+		flushed = new ArrayList<>();
+		doAnswer(invocation -> flushed.addAll(invocation.<List<RollupTotals>>getArgument(0)))
+				.when(repository).addDeltas(any());
+		service = new BookingRollupService();
+		ReflectionTestUtils.setField(service, "bookingRollupRepository", repository);
+		ReflectionTestUtils.setField(service, "maxRangeDays", 31);
+		ReflectionTestUtils.setField(service, "maxResults", 100);
+	}
+
+	@Test
+	void mergesDeltasPerDayRouteAndBusUntilFlushed() {
+		Schedule morning = schedule(1, 10, DEPARTURE);
+		Schedule evening = schedule(2, 10, DEPARTURE.plusHours(9));
+		Schedule otherBus = schedule(3, 11, DEPARTURE);
+
+		service.tripAdded(morning);
+		service.tripAdded(evening);
+		service.tripAdded(otherBus);
+		service.bookingCreated(booking(morning, 2, 50));
+		service.bookingCreated(booking(evening, 3, 75));
+		service.bookingCancelled(booking(morning, 2, 50));
+		service.bookingCreated(booking(otherBus, 1, 25));
+		service.flush();
+
+		flushed.sort(Comparator.comparing(RollupTotals::busId));
+		assertEquals(2, flushed.size());
+		RollupTotals first = flushed.get(0);
+		assertEquals(LocalDate.of(2026, 3, 2), first.serviceDate());
+		assertEquals(10L, first.busId());
+		assertEquals(2, first.trips());
+		assertEquals(80, first.seatsOffered());
+		assertEquals(2, first.bookings());
+		assertEquals(1, first.cancellations());
+		assertEquals(3, first.seatsSold());
+		assertEquals(75, first.revenue(), 1e-9);
+		assertEquals(1, flushed.get(1).seatsSold());
+	}
+
+	@Test
+	void flushSendsEachDeltaOnce() {
+		Schedule schedule = schedule(1, 10, DEPARTURE);
+		service.bookingCreated(booking(schedule, 1, 25));
+		service.flush();
+		service.flush();
+		assertEquals(1, flushed.size());
+
+		service.tripCancelled(schedule);
+		service.flush();
+		assertEquals(-1, flushed.get(1).trips());
+		assertEquals(-40, flushed.get(1).seatsOffered());
+	}
+
+	@Test
+	void aFailedFlushKeepsItsDeltasForTheNextOne() {
+		Schedule schedule = schedule(1, 10, DEPARTURE);
+		service.bookingCreated(booking(schedule, 2, 50));
+		doThrow(new QueryTimeoutException("pool timeout")).doAnswer(invocation -> flushed.addAll(invocation.getArgument(0)))
+				.when(repository).addDeltas(any());
+
+		service.flush();
+		service.bookingCreated(booking(schedule, 1, 25));
+		service.flush();
+
+		assertEquals(1, flushed.size());
+		assertEquals(2, flushed.get(0).bookings());
+		assertEquals(3, flushed.get(0).seatsSold());
+		assertEquals(75, flushed.get(0).revenue(), 1e-9);
+	}
+
+	@Test
+	void emptyFlushDoesNotWrite() {
+		service.flush();
+		verify(repository, never()).addDeltas(any());
+	}
+
+	@Test
+	void summaryAddsUpTheDays() {
+		LocalDate from = LocalDate.of(2026, 3, 1);
+		LocalDate to = LocalDate.of(2026, 3, 7);
+		when(repository.findDailyTotals(from, to, null, null)).thenReturn(List.of(
+				RollupTotals.of(from, null, null, 2, 80, 5, 1, 30, 750),
+				RollupTotals.of(to, null, null, 1, 40, 2, 0, 10, 250)));
+
+		RollupTotals summary = service.getSummary(from, to);
+
+		assertEquals(3, summary.trips());
+		assertEquals(40, summary.seatsSold());
+		assertEquals(1000, summary.revenue(), 1e-9);
+		assertEquals(0.3333, summary.loadFactor(), 1e-9);
+	}
+
+	@Test
+	void rejectsBadRanges() {
+		LocalDate day = LocalDate.of(2026, 3, 2);
+		assertThrows(IllegalArgumentException.class, () -> service.getDailyTotals(day, day.minusDays(1), null, null));
+		assertThrows(IllegalArgumentException.class, () -> service.getDailyTotals(day, day.plusDays(31), null, null));
+		assertThrows(IllegalArgumentException.class, () -> service.getRouteTotals(day, day, 0));
+	}
+
+	private static Schedule schedule(long id, long busId, LocalDateTime departure) {
+		Route route = new Route();
+		route.setId(7L);
+		Bus bus = new Bus();
+		bus.setId(busId);
+		bus.setTotalSeats(40);
+		Schedule schedule = new Schedule();
+		schedule.setId(id);
+		schedule.setRoute(route);
+		schedule.setBus(bus);
+		schedule.setDepartureTime(departure);
+		return schedule;
+	}
+
+	private static Booking booking(Schedule schedule, int seats, double amount) {
+		Booking booking = new Booking();
+		booking.setSchedule(schedule);
+		booking.setNumberOfSeats(seats);
+		booking.setTotalAmount(amount);
+		return booking;
+	}
+}
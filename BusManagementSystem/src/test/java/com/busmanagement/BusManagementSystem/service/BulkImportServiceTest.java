@@ -0,0 +1,104 @@
+package com.busmanagement.BusManagementSystem.service;
+
+import com.busmanagement.BusManagementSystem.dto.ImportReport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class BulkImportServiceTest {
+
+	private static final Logger logger = LoggerFactory.getLogger(BulkImportServiceTest.class);
+
+	@Autowired
+	private BulkImportService bulkImportService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void importsCsvAndReportsBadAndDuplicateRows() throws Exception {
+		String csv = "bus_number,bus_type,total_seats,fare_per_km,current_location\n"
+				+ "IMP-1,AC,40,2.5,Kathmandu\n"
+				+ "IMP-2,Non-AC,abc,1.8,Pokhara\n"
+				+ "imp-1,AC,40,2.5,Chitwan\n"
+				+ "\"IMP-3\",Sleeper,30,3.2,\"Butwal, Rupandehi\"\n";
+
+		ImportReport report = bulkImportService.importStream("buses", stream(csv), false, 2);
+
+		assertEquals(4, report.getRowsRead());
+		assertEquals(2, report.getRowsImported());
+		assertEquals(2, report.getRowsFailed());
+		assertEquals(2, report.getErrors().get(0).getRow());
+		assertTrue(report.getErrors().get(1).getMessage().startsWith("Duplicate busNumber"));
+		assertEquals("Butwal, Rupandehi", jdbcTemplate.queryForObject(
+				"SELECT current_location FROM buses WHERE bus_number = 'IMP-3'", String.class));
+	}
+
+	@Test
+	void duplicatesAcrossChunksAndAgainstExistingRowsAreRejected() throws Exception {
+		String first = "{\"firstName\":\"Sita\",\"lastName\":\"Rai\",\"email\":\"sita@imp.np\",\"phoneNumber\":\"980000001\"}\n";
+		bulkImportService.importStream("passengers", stream(first), true, 10);
+
+		String ndjson = "{\"firstName\":\"Hari\",\"lastName\":\"KC\",\"email\":\"hari@imp.np\",\"phoneNumber\":\"980000002\"}\n"
+				+ "{\"firstName\":\"Sita\",\"lastName\":\"Rai\",\"email\":\"SITA@imp.np\",\"phoneNumber\":\"980000003\"}\n"
+				+ "not json\n"
+				+ "{\"firstName\":\"Gita\",\"lastName\":\"KC\",\"email\":\"gita@imp.np\",\"phoneNumber\":\"980000002\"}\n";
+
+		ImportReport report = bulkImportService.importStream("passengers", stream(ndjson), true, 1);
+
+		assertEquals(4, report.getRowsRead());
+		assertEquals(1, report.getRowsImported());
+		assertEquals(3, report.getRowsFailed());
+		assertEquals("Malformed JSON line", report.getErrors().get(1).getMessage());
+	}
+
+	// mvn test -Dtest=BulkImportServiceTest -Dperf=true
+	@Test
+	@EnabledIfSystemProperty(named = "perf", matches = "true")
+	void importsOneMillionPassengers() throws Exception {
+		int rows = 1_000_000;
+		ImportReport report = bulkImportService.importStream("passengers", generatedCsv(rows), false, 5000);
+
+		logger.info("Imported {} passengers in {} ms ({} rows/s)",
+				report.getRowsImported(), report.getElapsedMillis(), Math.round(report.getRowsPerSecond()));
+		assertEquals(rows, report.getRowsImported());
+	}
+
+	private static InputStream stream(String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	// Produces the CSV lazily so the benchmark input itself never sits in memory
+	private static InputStream generatedCsv(int rows) {
+		return new InputStream() {
+			private byte[] line = "first_name,last_name,email,phone_number,address\n".getBytes(StandardCharsets.UTF_8);
+			private int position;
+			private int row;
+
+			@Override
+			public int read() {
+				if (position == line.length) {
+					if (row == rows) {
+						return -1;
+					}
+					row++;
+					line = ("First" + row + ",Last" + row + ",bench" + row + "@perf.np,98" + (10_000_000 + row) + ",Kathmandu\n")
+							.getBytes(StandardCharsets.UTF_8);
+					position = 0;
+				}
+				return line[position++];
+			}
+		};
+	}
+}
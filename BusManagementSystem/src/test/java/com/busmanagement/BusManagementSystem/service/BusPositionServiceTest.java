@@ -0,0 +1,113 @@
+package com.busmanagement.BusManagementSystem.service;
+
+import com.busmanagement.BusManagementSystem.dto.PositionIngestResult;
+import com.busmanagement.BusManagementSystem.dto.TrackPoint;
+import com.busmanagement.BusManagementSystem.repository.BusPositionRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class BusPositionServiceTest {
+
+	private static final ObjectMapper JSON = new ObjectMapper();
+
+	private SimpleMeterRegistry registry;
+	private BusPositionRepository repository;
+	private BusPositionService service;
+	private long now;
+
+	@BeforeEach
+	void setUp() {
+		registry = new SimpleMeterRegistry();
+		repository = mock(BusPositionRepository.class);
+		service = new BusPositionService();
+		ReflectionTestUtils.setField(service, "busPositionRepository", repository);
+		ReflectionTestUtils.setField(service, "fleetLocator", mock(FleetLocator.class));
+		ReflectionTestUtils.setField(service, "objectMapper", JSON);
+		ReflectionTestUtils.setField(service, "meterRegistry", registry);
+		ReflectionTestUtils.setField(service, "maxBusId", 100);
+		ReflectionTestUtils.setField(service, "trackIntervalMillis", 30_000L);
+		ReflectionTestUtils.setField(service, "trackQueueCapacity", 100);
+		ReflectionTestUtils.setField(service, "trackBatchSize", 2);
+		service.init();
+		now = System.currentTimeMillis();
+	}
+
+	@Test
+	void countsAcceptedStaleAndRejectedPings() throws IOException {
+		PositionIngestResult result = ingest("[[1,26.9,80.9," + now + ",40,180],[1,26.8,80.8," + (now - 5000) + "],"
+				+ "[2,91,80," + now + "],[101,26,80," + now + "],[3,26,80," + (now + 3_600_000) + "],[4,26.5,80.5," + now + "]]");
+
+		assertEquals(new PositionIngestResult(2, 1, 3), result);
+		assertEquals(2, registry.get("positions.pings").tag("result", "accepted").counter().count());
+		assertEquals(1, registry.get("positions.pings").tag("result", "stale").counter().count());
+		assertEquals(3, registry.get("positions.pings").tag("result", "rejected").counter().count());
+		assertEquals(40f, service.getStore().get(1).speedKmh());
+		assertEquals(180, service.getStore().get(1).heading());
+	}
+
+	@Test
+	void tracksAtMostOnePointPerBusPerIntervalAndFlushesInBatches() throws IOException {
+		List<List<TrackPoint>> batches = new ArrayList<>();
+		doAnswer(invocation -> batches.add(new ArrayList<>(invocation.<List<TrackPoint>>getArgument(0))))
+				.when(repository).insertBatch(any());
+
+		ingest("[[1,26.90,80.90," + now + "],[2,26.00,80.00," + now + "]]");
+		ingest("[[1,26.91,80.91," + (now + 10_000) + "]]");
+		ingest("[[1,26.92,80.92," + (now + 30_000) + "]]");
+		assertEquals(3, registry.get("positions.track.queued").gauge().value());
+
+		service.flushTrack();
+
+		assertEquals(List.of(2, 1), batches.stream().map(List::size).toList());
+		assertEquals(List.of(now, now, now + 30_000), batches.stream().flatMap(List::stream)
+				.map(TrackPoint::recordedAtMillis).toList());
+		assertEquals(0, registry.get("positions.track.queued").gauge().value());
+		assertEquals(26.92, service.getStore().get(1).latitude());
+	}
+
+	@Test
+	void rejectsMalformedBodiesWithoutTouchingTheTrack() {
+		assertThrows(IllegalArgumentException.class, () -> ingest("{\"busId\":1}"));
+		assertThrows(IllegalArgumentException.class, () -> ingest("[[1,\"north\",80," + now + "]]"));
+
+		service.flushTrack();
+		verify(repository, never()).insertBatch(any());
+	}
+
+	@Test
+	void writesTheLatestPositionOfEveryBusInTheSnapshot() throws IOException {
+		ingest("[[5,26.5,80.5," + now + ",12.5,45],[2,27,81," + now + "]]");
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		service.writeSnapshot(out);
+		JsonNode snapshot = JSON.readTree(out.toByteArray());
+
+		assertEquals(2, snapshot.get("positions").size());
+		assertEquals(2, snapshot.get("positions").get(0).get(0).asLong());
+		assertEquals(5, snapshot.get("positions").get(1).get(0).asLong());
+		assertEquals(12.5, snapshot.get("positions").get(1).get(4).asDouble());
+		assertEquals(now, snapshot.get("positions").get(1).get(3).asLong());
+	}
+
+	private PositionIngestResult ingest(String body) throws IOException {
+		return service.ingest(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+	}
+}
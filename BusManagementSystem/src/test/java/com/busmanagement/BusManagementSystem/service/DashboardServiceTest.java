@@ -0,0 +1,170 @@
+package com.busmanagement.BusManagementSystem.service;
+
+import com.busmanagement.BusManagementSystem.dto.DashboardSummary;
+import com.busmanagement.BusManagementSystem.dto.RollupTotals;
+import com.busmanagement.BusManagementSystem.repository.BookingRepository;
+import com.busmanagement.BusManagementSystem.repository.BusRepository;
+import com.busmanagement.BusManagementSystem.repository.DriverRepository;
+import com.busmanagement.BusManagementSystem.repository.PassengerRepository;
+import com.busmanagement.BusManagementSystem.repository.RouteRepository;
+import com.busmanagement.BusManagementSystem.repository.ScheduleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DashboardServiceTest {
+
+	private BusRepository busRepository;
+	private ScheduleRepository scheduleRepository;
+	private BookingRepository bookingRepository;
+	private DashboardService service;
+
+	@BeforeEach
+	void setUp() {
+		busRepository = mock(BusRepository.class);
+		RouteRepository routeRepository = mock(RouteRepository.class);
+		DriverRepository driverRepository = mock(DriverRepository.class);
+		PassengerRepository passengerRepository = mock(PassengerRepository.class);
+		scheduleRepository = mock(ScheduleRepository.class);
+		bookingRepository = mock(BookingRepository.class);
+		BookingRollupService bookingRollupService = mock(BookingRollupService.class);
+
+		when(busRepository.count()).thenReturn(12L);
+		when(busRepository.countByIsAvailableTrue()).thenReturn(10L);
+		when(routeRepository.count()).thenReturn(4L);
+		when(passengerRepository.count()).thenReturn(300L);
+		when(scheduleRepository.countDeparturesByStatus(eq("SCHEDULED"), any(), any())).thenReturn(0L);
+		when(scheduleRepository.countDeparturesWithoutDriver(any(), any())).thenReturn(1L);
+		List<Object[]> departures = new ArrayList<>();
+		departures.add(new Object[] {5L, LocalDateTime.now(), "SCHEDULED", 3L, "BA 1 KHA 1234", "AC", 40, 12,
+				"Kathmandu", "Pokhara", null});
+		when(scheduleRepository.findDepartureRows(any(), any(), any())).thenReturn(departures);
+		List<Object[]> bookings = new ArrayList<>();
+		bookings.add(new Object[] {9L, "BK-9", LocalDateTime.now(), "Sita", "Sharma", "Kathmandu", "Pokhara",
+				LocalDateTime.now(), 2, 1500.0, "CONFIRMED"});
+		when(bookingRepository.findRecentBookingRows(any(), any())).thenReturn(bookings);
+		when(bookingRollupService.getSummary(any(), any()))
+				.thenReturn(RollupTotals.of(null, null, null, 3, 120, 10, 1, 60, 4500));
+		when(bookingRollupService.getDailyTotals(any(), any(), any(), any())).thenReturn(List.of());
+
+		service = new DashboardService();
+		ReflectionTestUtils.setField(service, "busRepository", busRepository);
+		ReflectionTestUtils.setField(service, "routeRepository", routeRepository);
+		ReflectionTestUtils.setField(service, "driverRepository", driverRepository);
+		ReflectionTestUtils.setField(service, "passengerRepository", passengerRepository);
+		ReflectionTestUtils.setField(service, "scheduleRepository", scheduleRepository);
+		ReflectionTestUtils.setField(service, "bookingRepository", bookingRepository);
+		ReflectionTestUtils.setField(service, "bookingRollupService", bookingRollupService);
+		ReflectionTestUtils.setField(service, "cacheTtlMillis", 60_000L);
+		ReflectionTestUtils.setField(service, "queryParallelism", 3);
+		ReflectionTestUtils.setField(service, "departuresLimit", 20);
+		ReflectionTestUtils.setField(service, "recentBookingsLimit", 10);
+		ReflectionTestUtils.setField(service, "recentBookingsHours", 24);
+		ReflectionTestUtils.setField(service, "lateMinutes", 15);
+		ReflectionTestUtils.setField(service, "nearlyFullSeats", 5);
+	}
+
+	@Test
+	void assemblesTheSummaryFromCountsAndRows() {
+		DashboardSummary summary = service.getSummary();
+
+		assertEquals(12, summary.counts().buses());
+		assertEquals(300, summary.counts().passengers());
+		assertEquals(0.5, summary.today().loadFactor(), 1e-9);
+		assertEquals("BA 1 KHA 1234", summary.todaysDepartures().get(0).busNumber());
+		assertEquals("Sita Sharma", summary.recentBookings().get(0).passengerName());
+		List<String> alerts = summary.alerts().stream().map(DashboardSummary.Alert::title).toList();
+		assertEquals(List.of("Drivers Missing", "Buses Out of Service"), alerts);
+	}
+
+	@Test
+	void servesTheCachedSummaryWithinTheTtl() {
+		DashboardSummary first = service.getSummary();
+		assertSame(first, service.getSummary());
+		verify(busRepository, times(1)).count();
+
+		ReflectionTestUtils.setField(service, "cached", null);
+		service.getSummary();
+		verify(busRepository, times(2)).count();
+	}
+
+	@Test
+	void concurrentMissesShareOneComputation() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		when(busRepository.count()).thenAnswer(invocation -> {
+			started.countDown();
+			release.await(5, TimeUnit.SECONDS);
+			return 12L;
+		});
+
+		int callers = 50;
+		try (ExecutorService executor = Executors.newFixedThreadPool(callers)) {
+			List<Future<DashboardSummary>> results = new ArrayList<>();
+			results.add(executor.submit(() -> service.getSummary()));
+			assertTrue(started.await(5, TimeUnit.SECONDS));
+			for (int i = 1; i < callers; i++) {
+				results.add(executor.submit(() -> service.getSummary()));
+			}
+			Thread.sleep(100);
+			release.countDown();
+			DashboardSummary first = results.get(0).get(5, TimeUnit.SECONDS);
+			for (Future<DashboardSummary> result : results) {
+				assertSame(first, result.get(5, TimeUnit.SECONDS));
+			}
+		}
+		verify(busRepository, times(1)).count();
+	}
+
+	@Test
+	void holdsAtMostQueryParallelismConnectionsAtOnce() {
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger mostAtOnce = new AtomicInteger();
+		Answer<Long> slowCount = invocation -> {
+			mostAtOnce.accumulateAndGet(running.incrementAndGet(), Math::max);
+			Thread.sleep(20);
+			running.decrementAndGet();
+			return 1L;
+		};
+		when(busRepository.count()).thenAnswer(slowCount);
+		when(busRepository.countByIsAvailableTrue()).thenAnswer(slowCount);
+		when(scheduleRepository.countDepartures(any(), any())).thenAnswer(slowCount);
+		when(scheduleRepository.countDeparturesWithoutDriver(any(), any())).thenAnswer(slowCount);
+		when(bookingRepository.countBookedBetween(any(), any())).thenAnswer(slowCount);
+
+		service.getSummary();
+
+		assertTrue(mostAtOnce.get() <= 3, mostAtOnce.get() + " queries ran at once");
+	}
+
+	@Test
+	void failuresAreNotCached() {
+		when(scheduleRepository.countDepartures(any(), any())).thenThrow(new IllegalStateException("database down"));
+		assertThrows(IllegalStateException.class, () -> service.getSummary());
+
+		doReturn(7L).when(scheduleRepository).countDepartures(any(), any());
+		assertEquals(7, service.getSummary().counts().departuresToday());
+	}
+}
@@ -0,0 +1,101 @@
+package com.busmanagement.BusManagementSystem.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// mvn test -Dtest=ExportServicePerfTest -Dperf=true
+// Uses an on-disk H2 database so the five million fixture rows do not live in the heap being measured.
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:file:./target/perf/export;MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE;CACHE_SIZE=32768",
+		"spring.flyway.enabled=false",
+		"spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@EnabledIfSystemProperty(named = "perf", matches = "true")
+class ExportServicePerfTest {
+
+	private static final Logger logger = LoggerFactory.getLogger(ExportServicePerfTest.class);
+
+	private static final int ROWS = 5_000_000;
+	private static final LocalDateTime START = LocalDateTime.of(2031, 1, 1, 0, 0);
+
+	@Autowired
+	private ExportService exportService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void exportsFiveMillionBookingsInFlatHeap() throws Exception {
+		seed();
+		Runtime runtime = Runtime.getRuntime();
+		System.gc();
+		long baseline = runtime.totalMemory() - runtime.freeMemory();
+		long[] peak = {baseline};
+
+		// Samples heap usage every 8 MB written instead of keeping any of the output
+		OutputStream sampling = new OutputStream() {
+			private long written;
+
+			@Override
+			public void write(int b) {
+				sample(1);
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) {
+				sample(len);
+			}
+
+			private void sample(int len) {
+				long before = written;
+				written += len;
+				if (before >>> 23 != written >>> 23) {
+					peak[0] = Math.max(peak[0], runtime.totalMemory() - runtime.freeMemory());
+				}
+			}
+		};
+
+		long start = System.nanoTime();
+		long rows = exportService.exportBookings(START, START.plusYears(1), ExportService.Format.CSV, false, sampling);
+		long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+		logger.info("Exported {} bookings in {} ms ({} rows/s), heap grew by at most {} MB",
+				rows, elapsedMillis, rows * 1000 / Math.max(elapsedMillis, 1), (peak[0] - baseline) >> 20);
+		assertEquals(ROWS, rows);
+		assertTrue(peak[0] - baseline < 256L << 20);
+	}
+
+	private void seed() {
+		jdbcTemplate.update("INSERT INTO routes (source, destination, distance, estimated_travel_time) "
+				+ "VALUES ('Kathmandu', 'Pokhara', 200, 420)");
+		jdbcTemplate.update("INSERT INTO buses (bus_number, bus_type, total_seats, available_seats, fare_per_km, "
+				+ "is_available, current_location) VALUES ('PERF-1', 'AC', 40, 40, 2.5, TRUE, 'Kathmandu')");
+		long routeId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM routes", Long.class);
+		long busId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM buses", Long.class);
+		jdbcTemplate.update("INSERT INTO schedules (bus_id, route_id, departure_time, arrival_time, fare, available_seats, status) "
+				+ "VALUES (?, ?, ?, ?, 1200, 40, 'SCHEDULED')", busId, routeId, START, START.plusHours(7));
+		jdbcTemplate.update("INSERT INTO passengers (first_name, last_name, email, phone_number, registration_date) "
+				+ "VALUES ('Ram', 'Thapa', 'perf@test.np', '9800000000', ?)", START);
+		long scheduleId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM schedules", Long.class);
+		long passengerId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM passengers", Long.class);
+
+		// Inserted in slices so no single statement has to hold millions of undo entries
+		for (int from = 1; from <= ROWS; from += 250_000) {
+			jdbcTemplate.update("INSERT INTO bookings (booking_number, passenger_id, schedule_id, number_of_seats, "
+					+ "total_amount, payment_status, booking_status, booking_date, seat_numbers) "
+					+ "SELECT CONCAT('PERF-', \"X\"), ?, ?, 1, 1200, 'PAID', 'CONFIRMED', "
+					+ "DATEADD('SECOND', \"X\", CAST(? AS TIMESTAMP)), 'A1' FROM SYSTEM_RANGE(?, ?)",
+					passengerId, scheduleId, START, from, Math.min(ROWS, from + 249_999));
+		}
+	}
+}
@@ -0,0 +1,144 @@
+package com.busmanagement.BusManagementSystem.service;
+
+import com.busmanagement.BusManagementSystem.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ExportServiceTest {
+
+	private static final LocalDateTime START = LocalDateTime.of(2031, 1, 1, 0, 0);
+	private static final LocalDateTime END = LocalDateTime.of(2031, 12, 31, 23, 59);
+
+	@Autowired
+	private ExportService exportService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	private long scheduleId;
+	private long passengerId;
+
+	@BeforeEach
+	void setUp() {
+		if (scheduleId != 0) {
+			return;
+		}
+		jdbcTemplate.update("DELETE FROM bookings WHERE booking_date BETWEEN ? AND ?", START, END);
+		jdbcTemplate.update("INSERT INTO routes (source, destination, distance, estimated_travel_time) "
+				+ "VALUES ('Kathmandu', 'Pokhara', 200, 420)");
+		long routeId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM routes", Long.class);
+		jdbcTemplate.update("INSERT INTO buses (bus_number, bus_type, total_seats, available_seats, fare_per_km, "
+				+ "is_available, current_location) VALUES ('EXP-" + System.nanoTime() + "', 'AC', 40, 40, 2.5, TRUE, 'Kathmandu')");
+		long busId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM buses", Long.class);
+		jdbcTemplate.update("INSERT INTO schedules (bus_id, route_id, departure_time, arrival_time, fare, available_seats, status) "
+				+ "VALUES (?, ?, ?, ?, 1200, 40, 'SCHEDULED')", busId, routeId, START.plusDays(1), START.plusDays(1).plusHours(7));
+		scheduleId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM schedules", Long.class);
+		jdbcTemplate.update("INSERT INTO passengers (first_name, last_name, email, phone_number, registration_date) "
+				+ "VALUES ('Ram', 'Thapa, Jr', 'export-" + System.nanoTime() + "@test.np', '9800000000', ?)", START);
+		passengerId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM passengers", Long.class);
+	}
+
+	@Test
+	void exportsBookingsAsCsvAndNdjson() throws Exception {
+		insertBookings("CSV", 3);
+
+		ByteArrayOutputStream csv = new ByteArrayOutputStream();
+		long rows = exportService.exportBookings(START, END, ExportService.Format.CSV, false, csv);
+		String[] lines = csv.toString(StandardCharsets.UTF_8).split("\n");
+
+		assertEquals(3, rows);
+		assertEquals(4, lines.length);
+		assertTrue(lines[0].startsWith("id,booking_number,booking_date"));
+		assertTrue(lines[1].contains(",\"Thapa, Jr\","));
+
+		ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+		exportService.exportBookings(START, END, ExportService.Format.NDJSON, true, ndjson);
+		String json = new String(new GZIPInputStream(new ByteArrayInputStream(ndjson.toByteArray())).readAllBytes(),
+				StandardCharsets.UTF_8);
+
+		assertEquals(3, json.split("\n").length);
+		assertTrue(json.contains("\"bookingNumber\":\"CSV-0\""));
+		assertTrue(json.contains("\"source\":\"Kathmandu\""));
+
+		ByteArrayOutputStream schedules = new ByteArrayOutputStream();
+		assertEquals(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM schedules WHERE departure_time BETWEEN ? AND ?",
+				Long.class, START, END), exportService.exportSchedules(START, END, ExportService.Format.CSV, false, schedules));
+	}
+
+	@Test
+	void writesTheCsvHeaderWhenNothingMatches() throws Exception {
+		ByteArrayOutputStream csv = new ByteArrayOutputStream();
+		long rows = exportService.exportBookings(END.plusYears(5), END.plusYears(6), ExportService.Format.CSV, false, csv);
+
+		assertEquals(0, rows);
+		assertTrue(csv.toString(StandardCharsets.UTF_8).startsWith("id,booking_number,booking_date"));
+		assertEquals(1, csv.toString(StandardCharsets.UTF_8).split("\n").length);
+	}
+
+	@Test
+	void onlyExportRequestsGetTheLongAsyncTimeout() throws Exception {
+		MvcResult result = mockMvc.perform(get("/api/export/bookings")
+				.param("start", START.toString()).param("end", END.toString())
+				.header(HttpHeaders.AUTHORIZATION, "Bearer " + jwtUtil.generateAccessToken("export-test", "ADMIN")))
+				.andReturn();
+
+		assertTrue(result.getRequest().isAsyncStarted(), result.getResponse().getStatus() + " " + result.getResponse().getContentAsString());
+		assertEquals(Duration.ofMinutes(30).toMillis(), result.getRequest().getAsyncContext().getTimeout());
+		assertEquals(200, mockMvc.perform(asyncDispatch(result)).andReturn().getResponse().getStatus());
+	}
+
+	@Test
+	void stopsReadingWhenClientDisconnects() {
+		insertBookings("DROP", 20_000);
+
+		OutputStream disconnecting = new OutputStream() {
+			private long written;
+
+			@Override
+			public void write(int b) throws IOException {
+				if (++written > 100_000) {
+					throw new IOException("Broken pipe");
+				}
+			}
+		};
+
+		assertThrows(IOException.class,
+				() -> exportService.exportBookings(START, END, ExportService.Format.CSV, false, disconnecting));
+	}
+
+	private void insertBookings(String prefix, int count) {
+		jdbcTemplate.update("INSERT INTO bookings (booking_number, passenger_id, schedule_id, number_of_seats, total_amount, "
+				+ "payment_status, booking_status, booking_date, seat_numbers) "
+				+ "SELECT CONCAT(?, '-', \"X\" - 1), ?, ?, 1, 1200, 'PAID', 'CONFIRMED', DATEADD('SECOND', \"X\", CAST(? AS TIMESTAMP)), 'A1' "
+				+ "FROM SYSTEM_RANGE(1, ?)", prefix, passengerId, scheduleId, START, count);
+	}
+}
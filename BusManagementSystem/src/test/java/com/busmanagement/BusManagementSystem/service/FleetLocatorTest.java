@@ -0,0 +1,76 @@
+package com.busmanagement.BusManagementSystem.service;
+
+import com.busmanagement.BusManagementSystem.dto.NearbyDriver;
+import com.busmanagement.BusManagementSystem.model.Bus;
+import com.busmanagement.BusManagementSystem.model.Driver;
+import com.busmanagement.BusManagementSystem.repository.BusRepository;
+import com.busmanagement.BusManagementSystem.repository.DriverRepository;
+import com.busmanagement.BusManagementSystem.repository.RouteRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FleetLocatorTest {
+
+	private static final double[] KATHMANDU = {27.7172, 85.3240};
+
+	private DriverRepository driverRepository;
+	private FleetLocator fleetLocator;
+
+	@BeforeEach
+	void setUp() {
+		BusRepository busRepository = mock(BusRepository.class);
+		RouteRepository routeRepository = mock(RouteRepository.class);
+		driverRepository = mock(DriverRepository.class);
+		when(busRepository.findAllCoordinates()).thenReturn(List.of());
+		when(routeRepository.findAllEndpointCoordinates()).thenReturn(List.of());
+		fleetLocator = new FleetLocator();
+		ReflectionTestUtils.setField(fleetLocator, "busRepository", busRepository);
+		ReflectionTestUtils.setField(fleetLocator, "routeRepository", routeRepository);
+		ReflectionTestUtils.setField(fleetLocator, "driverRepository", driverRepository);
+		ReflectionTestUtils.setField(fleetLocator, "maxBusId", 1000);
+		ReflectionTestUtils.setField(fleetLocator, "cellKm", 5.0);
+		ReflectionTestUtils.setField(fleetLocator, "maxRadiusKm", 500.0);
+		ReflectionTestUtils.setField(fleetLocator, "maxResults", 100);
+		fleetLocator.init();
+	}
+
+	@Test
+	void looksPastTheNearestBusesWhenTheyHaveNoDriver() {
+		// Twenty buses in the city without a driver, then two staffed ones further out
+		for (long busId = 1; busId <= 20; busId++) {
+			fleetLocator.busMoved(busId, KATHMANDU[0] + busId * 0.001, KATHMANDU[1]);
+		}
+		fleetLocator.busMoved(21, KATHMANDU[0] + 0.2, KATHMANDU[1]);
+		fleetLocator.busMoved(22, KATHMANDU[0] + 0.3, KATHMANDU[1]);
+		Map<Long, Driver> drivers = Map.of(21L, driver(7, 21, false), 22L, driver(8, 22, true));
+		when(driverRepository.findByAssignedBusIdIn(any())).thenAnswer(invocation ->
+				invocation.<Collection<Long>>getArgument(0).stream().filter(drivers::containsKey).map(drivers::get).toList());
+
+		List<NearbyDriver> nearby = fleetLocator.findNearbyDrivers(KATHMANDU, 50, 1, true);
+
+		assertEquals(List.of(8L), nearby.stream().map(NearbyDriver::driverId).toList());
+		assertEquals(22, nearby.get(0).busId());
+		assertEquals(2, fleetLocator.findNearbyDrivers(KATHMANDU, 50, 5, false).size());
+	}
+
+	private static Driver driver(long id, long busId, boolean isAvailable) {
+		Bus bus = new Bus();
+		bus.setId(busId);
+		Driver driver = new Driver();
+		driver.setId(id);
+		driver.setName("Driver " + id);
+		driver.setContactNumber("98000000" + id);
+		driver.setAssignedBus(bus);
+		driver.setIsAvailable(isAvailable);
+		return driver;
+	}
+}
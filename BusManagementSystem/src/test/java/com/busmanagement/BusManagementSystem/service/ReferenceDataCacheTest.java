@@ -0,0 +1,166 @@
+package com.busmanagement.BusManagementSystem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReferenceDataCacheTest {
+
+	private static final CacheControl NO_CACHE = CacheControl.noCache().cachePrivate();
+
+	private ReferenceDataCache cache;
+	private AtomicInteger loads;
+	private List<String> sources;
+
+	@BeforeEach
+	void setUp() {
+		cache = newCache();
+		loads = new AtomicInteger();
+		sources = List.of("Kathmandu", "Pokhara");
+	}
+
+	private static ReferenceDataCache newCache() {
+		ReferenceDataCache cache = new ReferenceDataCache();
+		ReflectionTestUtils.setField(cache, "objectMapper", new ObjectMapper());
+		ReflectionTestUtils.setField(cache, "cborConverter", new MappingJackson2CborHttpMessageConverter());
+		ReflectionTestUtils.setField(cache, "revalidateMillis", 60_000L);
+		return cache;
+	}
+
+	private Supplier<List<String>> loader() {
+		return () -> {
+			loads.incrementAndGet();
+			return sources;
+		};
+	}
+
+	private ResponseEntity<byte[]> get(String ifNoneMatch) {
+		return get(null, ifNoneMatch);
+	}
+
+	private ResponseEntity<byte[]> get(String accept, String ifNoneMatch) {
+		return cache.respond("routes/sources", accept, ifNoneMatch, NO_CACHE, loader(), ReferenceDataCache.Aggregate.ROUTES);
+	}
+
+	@Test
+	void servesTheSerializedBodyOnceAndThenFromCache() {
+		ResponseEntity<byte[]> first = get(null);
+		ResponseEntity<byte[]> second = get(null);
+
+		assertEquals(HttpStatus.OK, first.getStatusCode());
+		assertEquals("[\"Kathmandu\",\"Pokhara\"]", new String(second.getBody(), StandardCharsets.UTF_8));
+		assertEquals(first.getHeaders().getETag(), second.getHeaders().getETag());
+		assertEquals("no-cache, private", first.getHeaders().getCacheControl());
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	void matchingIfNoneMatchIsNotModifiedWithoutLoading() {
+		String etag = get(null).getHeaders().getETag();
+
+		ResponseEntity<byte[]> response = get(etag);
+
+		assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+		assertNull(response.getBody());
+		assertEquals(etag, response.getHeaders().getETag());
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	void aChangeInvalidatesTheTag() {
+		String etag = get(null).getHeaders().getETag();
+		sources = List.of("Kathmandu", "Pokhara", "Chitwan");
+		cache.changed(ReferenceDataCache.Aggregate.ROUTES);
+
+		ResponseEntity<byte[]> response = get(etag);
+
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertNotEquals(etag, response.getHeaders().getETag());
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void changesToOtherAggregatesKeepTheTag() {
+		String etag = get(null).getHeaders().getETag();
+		cache.changed(ReferenceDataCache.Aggregate.BUSES);
+
+		assertEquals(HttpStatus.NOT_MODIFIED, get(etag).getStatusCode());
+	}
+
+	@Test
+	void nodesServingTheSameDataAgreeOnTheTag() {
+		ReferenceDataCache otherNode = newCache();
+		otherNode.changed(ReferenceDataCache.Aggregate.ROUTES);
+		String etag = get(null).getHeaders().getETag();
+
+		ResponseEntity<byte[]> response = otherNode.respond("routes/sources", null, etag, NO_CACHE, loader(),
+				ReferenceDataCache.Aggregate.ROUTES);
+
+		assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+	}
+
+	@Test
+	void revalidationRetagsOnlyWhenTheBytesChanged() {
+		ReflectionTestUtils.setField(cache, "revalidateMillis", 0L);
+		String etag = get(null).getHeaders().getETag();
+
+		assertEquals(HttpStatus.NOT_MODIFIED, get(etag).getStatusCode());
+		assertEquals(2, loads.get());
+
+		// Written by another node: no version bump, but the rebuilt body differs
+		sources = List.of("Butwal");
+		ResponseEntity<byte[]> response = get(etag);
+		assertEquals(HttpStatus.OK, response.getStatusCode());
+		assertNotEquals(etag, response.getHeaders().getETag());
+	}
+
+	@Test
+	void cborIsCachedAndTaggedApartFromJson() throws Exception {
+		ResponseEntity<byte[]> json = get("application/json", null);
+		ResponseEntity<byte[]> cbor = get("application/cbor", null);
+
+		assertEquals(MediaType.APPLICATION_CBOR, cbor.getHeaders().getContentType());
+		assertEquals(sources, new CBORMapper().readValue(cbor.getBody(), List.class));
+		assertNotEquals(json.getHeaders().getETag(), cbor.getHeaders().getETag());
+		assertEquals(HttpStatus.OK, get(null, cbor.getHeaders().getETag()).getStatusCode());
+		assertEquals(HttpStatus.NOT_MODIFIED, get("application/cbor", cbor.getHeaders().getETag()).getStatusCode());
+		assertEquals(List.of("Accept"), cbor.getHeaders().getVary());
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void cborOnlyWhenRankedAboveJson() {
+		assertTrue(ReferenceDataCache.prefersCbor("application/cbor"));
+		assertTrue(ReferenceDataCache.prefersCbor("application/json;q=0.5, application/cbor"));
+		assertFalse(ReferenceDataCache.prefersCbor("application/json, application/cbor"));
+		assertFalse(ReferenceDataCache.prefersCbor("*/*"));
+		assertFalse(ReferenceDataCache.prefersCbor("not a media type"));
+		assertFalse(ReferenceDataCache.prefersCbor(null));
+	}
+
+	@Test
+	void ifNoneMatchUsesWeakComparisonAndLists() {
+		assertTrue(ReferenceDataCache.matches("\"a\", W/\"b\"", "\"b\""));
+		assertTrue(ReferenceDataCache.matches("\"b\"", "W/\"b\""));
+		assertTrue(ReferenceDataCache.matches("*", "\"b\""));
+		assertFalse(ReferenceDataCache.matches("\"a\"", "\"b\""));
+		assertFalse(ReferenceDataCache.matches(null, "\"b\""));
+	}
+}
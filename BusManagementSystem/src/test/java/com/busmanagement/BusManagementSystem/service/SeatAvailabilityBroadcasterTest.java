@@ -0,0 +1,223 @@
+package com.busmanagement.BusManagementSystem.service;
+
+import com.busmanagement.BusManagementSystem.exception.RateLimitExceededException;
+import com.busmanagement.BusManagementSystem.model.Route;
+import com.busmanagement.BusManagementSystem.model.Schedule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class SeatAvailabilityBroadcasterTest {
+
+	private static final String CLIENT = "10.0.0.1";
+
+	private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+	private SeatAvailabilityBroadcaster broadcaster;
+
+	@AfterEach
+	void tearDown() {
+		if (broadcaster != null) {
+			broadcaster.shutdown();
+		}
+	}
+
+	@Test
+	void holdsTenThousandSubscribersAndSendsThemOneSerializedFrame() throws Exception {
+		broadcaster = broadcaster(60_000);
+		Schedule schedule = schedule(1, 7, 40);
+		for (int i = 0; i < 10_000; i++) {
+			broadcaster.subscribeToRoute(7L, "10.0." + i / 256 + "." + i % 256, () -> List.of(schedule));
+		}
+		assertEquals(10_000, broadcaster.getSubscriberCount());
+		awaitUntil(() -> emitters.stream().allMatch(emitter -> emitter.frames.size() == 1));
+
+		schedule.setAvailableSeats(39);
+		broadcaster.seatsChanged(schedule);
+		broadcaster.flush();
+
+		awaitUntil(() -> emitters.stream().allMatch(emitter -> emitter.frames.size() == 2));
+		Object shared = emitters.get(0).payloads.get(1);
+		for (RecordingEmitter emitter : emitters) {
+			assertSame(shared, emitter.payloads.get(1));
+		}
+		assertTrue(emitters.get(0).frames.get(1).contains("\"availableSeats\":39"), emitters.get(0).frames.get(1));
+		assertEquals(10_000, broadcaster.getSubscriberCount());
+	}
+
+	@Test
+	void coalescesChangesToOneEventPerScheduleAndFlush() throws Exception {
+		broadcaster = broadcaster(60_000);
+		Schedule schedule = schedule(1, 7, 40);
+		broadcaster.subscribeToSchedule(1L, CLIENT, () -> List.of(schedule));
+		RecordingEmitter emitter = emitters.get(0);
+
+		for (int seats = 39; seats >= 20; seats--) {
+			schedule.setAvailableSeats(seats);
+			broadcaster.seatsChanged(schedule);
+		}
+		broadcaster.flush();
+		broadcaster.flush();
+
+		awaitUntil(() -> emitter.frames.size() >= 2);
+		Thread.sleep(100);
+		assertEquals(2, emitter.frames.size());
+		assertTrue(emitter.frames.get(0).contains("retry:3000\n"), emitter.frames.get(0));
+		assertTrue(emitter.frames.get(1).contains("\"availableSeats\":20"), emitter.frames.get(1));
+	}
+
+	@Test
+	void dropsConnectionsThatFailTheHeartbeat() throws Exception {
+		broadcaster = broadcaster(50);
+		broadcaster.subscribeToAll(CLIENT);
+		broadcaster.subscribeToAll(CLIENT);
+		awaitUntil(() -> emitters.get(0).frames.size() >= 1);
+
+		emitters.get(1).broken = true;
+
+		awaitUntil(() -> broadcaster.getSubscriberCount() == 1);
+		int heartbeats = emitters.get(0).frames.size();
+		awaitUntil(() -> emitters.get(0).frames.size() > heartbeats);
+		assertEquals(":\n\n", emitters.get(0).frames.get(0));
+	}
+
+	@Test
+	void limitsStreamsPerClient() throws Exception {
+		broadcaster = broadcaster(50);
+		for (int i = 0; i < 3; i++) {
+			broadcaster.subscribeToAll(CLIENT);
+		}
+
+		assertThrows(RateLimitExceededException.class, () -> broadcaster.subscribeToAll(CLIENT));
+		broadcaster.subscribeToAll("10.0.0.2");
+
+		emitters.get(0).broken = true;
+		awaitUntil(() -> broadcaster.getSubscriberCount() == 3);
+		broadcaster.subscribeToAll(CLIENT);
+		assertEquals(4, broadcaster.getSubscriberCount());
+	}
+
+	@Test
+	void forgetsSchedulesNobodyWatches() throws Exception {
+		broadcaster = broadcaster(50);
+		Schedule schedule = schedule(1, 7, 40);
+		broadcaster.subscribeToSchedule(1L, CLIENT, () -> List.of(schedule));
+		broadcaster.subscribeToRoute(7L, CLIENT, () -> List.of(schedule));
+
+		emitters.forEach(emitter -> emitter.broken = true);
+		awaitUntil(() -> broadcaster.getSubscriberCount() == 0);
+
+		assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(broadcaster, "scheduleSubscribers")).isEmpty());
+		assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(broadcaster, "routeSubscribers")).isEmpty());
+	}
+
+	@Test
+	void aChangeCommittedWhileTheSnapshotIsReadIsNotLost() throws Exception {
+		broadcaster = broadcaster(60_000);
+		Schedule schedule = schedule(1, 7, 40);
+		broadcaster.subscribeToSchedule(1L, CLIENT, () -> {
+			// Committed after the snapshot was taken, flushed before the subscriber's writer starts
+			Schedule changed = schedule(1, 7, 39);
+			broadcaster.seatsChanged(changed);
+			broadcaster.flush();
+			return List.of(schedule);
+		});
+		RecordingEmitter emitter = emitters.get(0);
+
+		awaitUntil(() -> emitter.frames.size() == 2);
+		assertTrue(emitter.frames.get(0).contains("\"availableSeats\":40"), emitter.frames.get(0));
+		assertTrue(emitter.frames.get(1).contains("\"availableSeats\":39"), emitter.frames.get(1));
+	}
+
+	@Test
+	void aFailedSnapshotLeavesNoSubscriberBehind() {
+		broadcaster = broadcaster(60_000);
+
+		assertThrows(IllegalStateException.class, () -> broadcaster.subscribeToSchedule(1L, CLIENT, () -> {
+			throw new IllegalStateException("Schedule not found");
+		}));
+
+		assertEquals(0, broadcaster.getSubscriberCount());
+		assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(broadcaster, "scheduleSubscribers")).isEmpty());
+	}
+
+	private SeatAvailabilityBroadcaster broadcaster(long heartbeatMillis) {
+		SeatAvailabilityBroadcaster broadcaster = new SeatAvailabilityBroadcaster() {
+			@Override
+			SseEmitter createEmitter() {
+				RecordingEmitter emitter = new RecordingEmitter();
+				emitters.add(emitter);
+				return emitter;
+			}
+		};
+		ReflectionTestUtils.setField(broadcaster, "objectMapper", new ObjectMapper());
+		ReflectionTestUtils.setField(broadcaster, "meterRegistry", new SimpleMeterRegistry());
+		ReflectionTestUtils.setField(broadcaster, "heartbeatMillis", heartbeatMillis);
+		ReflectionTestUtils.setField(broadcaster, "timeoutMillis", 60_000L);
+		ReflectionTestUtils.setField(broadcaster, "queueCapacity", 16);
+		ReflectionTestUtils.setField(broadcaster, "maxSubscribers", 20_000);
+		ReflectionTestUtils.setField(broadcaster, "maxPerClient", 3);
+		ReflectionTestUtils.setField(broadcaster, "reconnectMillis", 3000L);
+		broadcaster.init();
+		return broadcaster;
+	}
+
+	private static Schedule schedule(long id, long routeId, int availableSeats) {
+		Route route = new Route();
+		route.setId(routeId);
+		Schedule schedule = new Schedule();
+		schedule.setId(id);
+		schedule.setRoute(route);
+		schedule.setAvailableSeats(availableSeats);
+		return schedule;
+	}
+
+	private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + 30_000_000_000L;
+		while (!condition.getAsBoolean()) {
+			if (System.nanoTime() > deadline) {
+				fail("Condition not met within 30 s");
+			}
+			Thread.sleep(10);
+		}
+	}
+
+	// Captures each frame as it would be written, instead of writing to a response
+	private static class RecordingEmitter extends SseEmitter {
+
+		final List<String> frames = new CopyOnWriteArrayList<>();
+		final List<Object> payloads = new CopyOnWriteArrayList<>();
+		volatile boolean broken;
+
+		@Override
+		public void send(Set<DataWithMediaType> items) throws IOException {
+			if (broken) {
+				throw new IOException("Broken pipe");
+			}
+			StringBuilder frame = new StringBuilder();
+			List<Object> data = new ArrayList<>();
+			for (DataWithMediaType item : items) {
+				frame.append(item.getData());
+				data.add(item.getData());
+			}
+			frames.add(frame.toString());
+			// The serialized update is the one part of a frame that is not a fixed SSE field prefix
+			payloads.add(data.stream().filter(part -> part.toString().startsWith("{")).findFirst().orElse(null));
+		}
+	}
+}
@@ -0,0 +1,96 @@
+package com.busmanagement.BusManagementSystem.service;
+
+import com.busmanagement.BusManagementSystem.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class TokenRevocationServiceTest {
+
+	@Autowired
+	private TokenRevocationService tokenRevocationService;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
+	@Test
+	void concurrentRotationsWithOneTokenShareOnePair() throws Exception {
+		Claims claims = refreshClaims("race-" + System.nanoTime());
+		AtomicInteger issued = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Map<String, Object>>> results = new ArrayList<>();
+		try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+			for (int i = 0; i < 8; i++) {
+				results.add(executor.submit(() -> {
+					start.await();
+					return tokenRevocationService.rotate(claims, () -> Map.of("pair", issued.incrementAndGet()));
+				}));
+			}
+			start.countDown();
+			for (Future<Map<String, Object>> result : results) {
+				assertEquals(Map.of("pair", 1), result.get());
+			}
+		}
+		assertEquals(1, issued.get());
+	}
+
+	@Test
+	void aReplayAfterTheGraceWindowRevokesTheSubject() {
+		String subject = "reuse-" + System.nanoTime();
+		Claims first = refreshClaims(subject);
+		Claims second = refreshClaims(subject);
+		ReflectionTestUtils.setField(tokenRevocationService, "reuseGraceMillis", 0L);
+		try {
+			assertNotNull(tokenRevocationService.rotate(first, () -> Map.of("pair", 1)));
+			assertNull(tokenRevocationService.rotate(first, () -> Map.of("pair", 2)));
+		} finally {
+			ReflectionTestUtils.setField(tokenRevocationService, "reuseGraceMillis", 10_000L);
+		}
+
+		assertTrue(tokenRevocationService.isRevoked(second));
+	}
+
+	// As when the first rotation ran on another node: refused, but the user stays logged in
+	@Test
+	void aReplayWithinTheGraceWindowOfARotationElsewhereIsRefusedQuietly() {
+		String subject = "elsewhere-" + System.nanoTime();
+		Claims first = refreshClaims(subject);
+		Claims second = refreshClaims(subject);
+		tokenRevocationService.revokeToken(first);
+
+		assertNull(tokenRevocationService.rotate(first, () -> Map.of("pair", 1)));
+
+		assertFalse(tokenRevocationService.isRevoked(second));
+	}
+
+	@Test
+	void loggingOutTwiceIsHarmless() {
+		Claims claims = refreshClaims("logout-" + System.nanoTime());
+
+		tokenRevocationService.revokeToken(claims);
+		tokenRevocationService.revokeToken(claims);
+
+		assertTrue(tokenRevocationService.isRevoked(claims));
+	}
+
+	private Claims refreshClaims(String subject) {
+		return jwtUtil.extractAllClaims(jwtUtil.generateRefreshToken(subject));
+	}
+}
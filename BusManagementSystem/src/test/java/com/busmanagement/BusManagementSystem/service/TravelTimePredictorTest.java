@@ -0,0 +1,113 @@
+package com.busmanagement.BusManagementSystem.service;
+
+import com.busmanagement.BusManagementSystem.dto.EtaPrediction;
+import com.busmanagement.BusManagementSystem.dto.TravelTimeProposal;
+import com.busmanagement.BusManagementSystem.model.Route;
+import com.busmanagement.BusManagementSystem.model.Schedule;
+import com.busmanagement.BusManagementSystem.repository.RouteRepository;
+import com.busmanagement.BusManagementSystem.repository.ScheduleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TravelTimePredictorTest {
+
+	private static final LocalDateTime MONDAY_NINE = LocalDateTime.of(2026, 3, 2, 9, 0);
+
+	private ScheduleRepository scheduleRepository;
+	private RouteRepository routeRepository;
+	private TravelTimePredictor predictor;
+	private Route route;
+
+	@BeforeEach
+	void setUp() {
+		scheduleRepository = mock(ScheduleRepository.class);
+		routeRepository = mock(RouteRepository.class);
+		route = new Route();
+		route.setId(7L);
+		route.setSource("Kathmandu");
+		route.setDestination("Pokhara");
+		route.setEstimatedTravelTime(360);
+
+		// Six weeks of Monday 09:00 trips taking 7 hours, one of them with a mistyped arrival
+		List<Object[]> history = new ArrayList<>();
+		for (int week = 6; week >= 1; week--) {
+			LocalDateTime departed = MONDAY_NINE.minusWeeks(week);
+			history.add(new Object[] {7L, departed, departed.plusMinutes(420)});
+		}
+		history.add(new Object[] {7L, MONDAY_NINE.minusDays(3), MONDAY_NINE.minusDays(3).plusDays(5)});
+		when(scheduleRepository.findCompletedTripTimes(eq("ARRIVED"), any(LocalDateTime.class))).thenReturn(history);
+		when(routeRepository.findAllById(anyIterable())).thenReturn(List.of(route));
+
+		predictor = new TravelTimePredictor();
+		ReflectionTestUtils.setField(predictor, "scheduleRepository", scheduleRepository);
+		ReflectionTestUtils.setField(predictor, "routeRepository", routeRepository);
+		ReflectionTestUtils.setField(predictor, "halfLifeDays", 28.0);
+		ReflectionTestUtils.setField(predictor, "historyDays", 90);
+		ReflectionTestUtils.setField(predictor, "minHourWeight", 3.0);
+		ReflectionTestUtils.setField(predictor, "proposalMinTrips", 3.0);
+		ReflectionTestUtils.setField(predictor, "proposalMinChangePercent", 10.0);
+		predictor.init();
+	}
+
+	@Test
+	void predictsFromTheDepartureHourAndTheActualDeparture() {
+		Schedule schedule = schedule(MONDAY_NINE);
+		schedule.setActualDepartureTime(MONDAY_NINE.plusMinutes(15));
+
+		EtaPrediction eta = predictor.predict(schedule);
+
+		assertEquals("HOUR_OF_WEEK", eta.basis());
+		assertEquals(420, eta.predictedMinutes());
+		assertEquals(MONDAY_NINE.plusMinutes(15 + 420), eta.predictedArrivalTime());
+		assertEquals(MONDAY_NINE.plusMinutes(360), eta.plannedArrivalTime());
+	}
+
+	@Test
+	void fallsBackToThePlanForRoutesWithoutTrips() {
+		Route other = new Route();
+		other.setId(8L);
+		Schedule schedule = schedule(MONDAY_NINE);
+		schedule.setRoute(other);
+
+		EtaPrediction eta = predictor.predict(schedule);
+
+		assertEquals("PLANNED", eta.basis());
+		assertEquals(MONDAY_NINE.plusMinutes(360), eta.predictedArrivalTime());
+	}
+
+	@Test
+	void recordsArrivedTripsAndProposesTheObservedTravelTime() {
+		Schedule schedule = schedule(MONDAY_NINE);
+		schedule.setActualDepartureTime(MONDAY_NINE);
+		schedule.setActualArrivalTime(MONDAY_NINE.plusMinutes(420));
+		predictor.tripArrived(schedule);
+
+		List<TravelTimeProposal> proposals = predictor.proposeTravelTimes();
+
+		assertEquals(1, proposals.size());
+		assertEquals(420, proposals.get(0).proposedMinutes());
+		assertEquals(360, proposals.get(0).currentMinutes());
+		// Six decayed history trips and the new one
+		assertEquals(4.4, proposals.get(0).observedTrips(), 0.05);
+	}
+
+	private Schedule schedule(LocalDateTime departure) {
+		Schedule schedule = new Schedule();
+		schedule.setId(1L);
+		schedule.setRoute(route);
+		schedule.setDepartureTime(departure);
+		schedule.setArrivalTime(departure.plusMinutes(360));
+		return schedule;
+	}
+}
@@ -0,0 +1,124 @@
+package com.busmanagement.BusManagementSystem.service;
+
+import com.busmanagement.BusManagementSystem.model.Passenger;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class UniqueKeyFilterTest {
+
+	@Autowired
+	private UniqueKeyFilter uniqueKeyFilter;
+
+	@Autowired
+	private PassengerService passengerService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void unseenKeysSkipTheQueryAndSavedOnesGoToIt() {
+		String email = "filter-" + System.nanoTime() + "@test.np";
+		AtomicInteger queries = new AtomicInteger();
+		double absent = count("passenger_email", "absent");
+
+		assertFalse(uniqueKeyFilter.exists(UniqueKeyFilter.Key.PASSENGER_EMAIL, email, value -> queries.incrementAndGet() > 0));
+		assertEquals(0, queries.get());
+		assertEquals(absent + 1, count("passenger_email", "absent"));
+
+		passengerService.createPassenger(passenger(email, phone()));
+		double duplicates = count("passenger_email", "duplicate");
+
+		RuntimeException e = assertThrows(RuntimeException.class,
+				() -> passengerService.createPassenger(passenger(email.toUpperCase(), phone())));
+		assertEquals("Passenger with email " + email.toUpperCase() + " already exists", e.getMessage());
+		assertEquals(duplicates + 1, count("passenger_email", "duplicate"));
+	}
+
+	@Test
+	void theUniqueConstraintCatchesEmailsTheFilterHasNotSynced() {
+		String email = "other-node-" + System.nanoTime() + "@test.np";
+		insertElsewhere(email, phone());
+
+		RuntimeException e = assertThrows(RuntimeException.class,
+				() -> passengerService.createPassenger(passenger(email, phone())));
+		assertEquals("Passenger with email " + email + " already exists", e.getMessage());
+	}
+
+	@Test
+	void anUpdateToAnEmailTheFilterHasNotSyncedIsRejected() {
+		Passenger passenger = passengerService.createPassenger(passenger("mover-" + System.nanoTime() + "@test.np", phone()));
+		String email = "taken-" + System.nanoTime() + "@test.np";
+		insertElsewhere(email, phone());
+
+		RuntimeException e = assertThrows(RuntimeException.class,
+				() -> passengerService.updatePassenger(passenger.getId(), passenger(email, passenger.getPhoneNumber())));
+		assertEquals("Passenger with email " + email + " already exists", e.getMessage());
+	}
+
+	@Test
+	void syncPicksUpEmailsWrittenElsewhere() {
+		String email = "sync-" + System.nanoTime() + "@test.np";
+		insertElsewhere(email, phone());
+		AtomicInteger queries = new AtomicInteger();
+
+		uniqueKeyFilter.sync();
+
+		assertTrue(uniqueKeyFilter.exists(UniqueKeyFilter.Key.PASSENGER_EMAIL, email, value -> queries.incrementAndGet() > 0));
+		assertEquals(1, queries.get());
+	}
+
+	// Phone numbers have no unique constraint, so they never skip the query
+	@Test
+	void phoneNumbersWrittenElsewhereAreRejectedBeforeAnySync() {
+		String phone = phone();
+		insertElsewhere("phone-" + System.nanoTime() + "@test.np", phone);
+
+		RuntimeException e = assertThrows(RuntimeException.class,
+				() -> passengerService.createPassenger(passenger("phone-" + System.nanoTime() + "@test.np", phone)));
+		assertEquals("Passenger with phone number " + phone + " already exists", e.getMessage());
+	}
+
+	@Test
+	void normalizesAtLeastAsCoarselyAsTheCollation() {
+		assertEquals("sita@mail.np", UniqueKeyFilter.normalize(" Sita@Mail.NP "));
+		assertEquals("jose@mail.np", UniqueKeyFilter.normalize("José@mail.np"));
+		assertEquals("9800000000", UniqueKeyFilter.normalize("9800000000"));
+	}
+
+	private double count(String key, String result) {
+		return meterRegistry.get("uniqueness.filter.checks").tag("key", key).tag("result", result).counter().count();
+	}
+
+	// Written straight to the table, as another node or a bulk import would
+	private void insertElsewhere(String email, String phone) {
+		jdbcTemplate.update("INSERT INTO passengers (first_name, last_name, email, phone_number, registration_date) "
+				+ "VALUES ('Hari', 'KC', ?, ?, ?)", email, phone, LocalDateTime.now());
+	}
+
+	private static String phone() {
+		return "96" + (System.nanoTime() % 100_000_000);
+	}
+
+	private static Passenger passenger(String email, String phone) {
+		Passenger passenger = new Passenger();
+		passenger.setFirstName("Sita");
+		passenger.setLastName("Rai");
+		passenger.setEmail(email);
+		passenger.setPhoneNumber(phone);
+		return passenger;
+	}
+}
@@ -0,0 +1,102 @@
+package com.busmanagement.BusManagementSystem.util;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+	// Simulated backend: 8 connections, 10ms per query, SLA of 50ms
+	private static final int CONNECTIONS = 8;
+	private static final int SERVICE_MS = 10;
+	private static final int SLA_MS = 50;
+
+	@Test
+	void rejectsOnceLimitIsReached() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 2.0);
+
+		assertTrue(limiter.tryAcquire());
+		assertTrue(limiter.tryAcquire());
+		assertFalse(limiter.tryAcquire());
+
+		limiter.onIgnored();
+		assertTrue(limiter.tryAcquire());
+	}
+
+	@Test
+	void backsOffWhenLatencyClimbs() {
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(100, 1, 200, 2.0);
+		long now = 0;
+		for (int i = 0; i < 50; i++) {
+			limiter.tryAcquire();
+			now += TimeUnit.MILLISECONDS.toNanos(10);
+			limiter.onSuccess(TimeUnit.MILLISECONDS.toNanos(i == 0 ? 5 : 50), now);
+		}
+		assertTrue(limiter.getLimit() < 100);
+	}
+
+	@Test
+	void goodputStaysStableUnderThreeTimesOverload() {
+		long[] unlimited = simulate(null, 3.0, 20_000);
+		AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(16, 2, 1000, 2.0);
+		long[] limited = simulate(limiter, 3.0, 20_000);
+
+		double capacityPerSecond = CONNECTIONS * 1000.0 / SERVICE_MS;
+
+		// Without admission control the queue grows without bound and every answer misses the SLA
+		assertEquals(0, unlimited[1]);
+		// With it, goodput holds near capacity in both halves of the run
+		assertTrue(limited[0] >= capacityPerSecond * 10 * 0.8, "first half goodput " + limited[0]);
+		assertTrue(limited[1] >= capacityPerSecond * 10 * 0.8, "second half goodput " + limited[1]);
+		assertTrue(limiter.getLimit() <= CONNECTIONS * 3, "limit " + limiter.getLimit());
+	}
+
+	// Discrete-time queueing model in 1ms ticks; returns on-time completions for each half of the run
+	private long[] simulate(AdaptiveConcurrencyLimiter limiter, double overload, int ticks) {
+		double arrivalsPerTick = overload * CONNECTIONS / SERVICE_MS;
+		ArrayDeque<Integer> queue = new ArrayDeque<>();
+		int[] busyUntil = new int[CONNECTIONS];
+		int[] startedAt = new int[CONNECTIONS];
+		boolean[] busy = new boolean[CONNECTIONS];
+		long[] goodput = new long[2];
+		double pending = 0;
+
+		for (int tick = 0; tick < ticks; tick++) {
+			long nowNanos = TimeUnit.MILLISECONDS.toNanos(tick);
+
+			for (int c = 0; c < CONNECTIONS; c++) {
+				if (busy[c] && busyUntil[c] <= tick) {
+					busy[c] = false;
+					int rtt = tick - startedAt[c];
+					if (limiter != null) {
+						limiter.onSuccess(TimeUnit.MILLISECONDS.toNanos(rtt), nowNanos);
+					}
+					if (rtt <= SLA_MS) {
+						goodput[tick < ticks / 2 ? 0 : 1]++;
+					}
+				}
+			}
+
+			pending += arrivalsPerTick;
+			while (pending >= 1) {
+				pending -= 1;
+				if (limiter == null || limiter.tryAcquire()) {
+					queue.add(tick);
+				}
+			}
+
+			for (int c = 0; c < CONNECTIONS && !queue.isEmpty(); c++) {
+				if (!busy[c]) {
+					busy[c] = true;
+					startedAt[c] = queue.poll();
+					busyUntil[c] = tick + SERVICE_MS;
+				}
+			}
+		}
+		return goodput;
+	}
+}
@@ -0,0 +1,79 @@
+package com.busmanagement.BusManagementSystem.util;
+
+import org.junit.jupiter.api.Test;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BusPositionStoreTest {
+
+	@Test
+	void keepsTheLatestPingAndIgnoresOlderOnes() {
+		BusPositionStore store = new BusPositionStore(10);
+
+		assertTrue(store.update(3, 26.9, 80.9, 2_000, 42.5f, (short) 90));
+		assertFalse(store.update(3, 27.1, 81.1, 1_000, 10f, (short) 0));
+		assertFalse(store.update(3, 27.1, 81.1, 2_000, 10f, (short) 0));
+
+		BusPositionStore.Position position = store.get(3);
+		assertEquals(26.9, position.latitude());
+		assertEquals(80.9, position.longitude());
+		assertEquals(2_000, position.recordedAtMillis());
+		assertEquals(42.5f, position.speedKmh());
+		assertEquals(90, position.heading());
+	}
+
+	@Test
+	void reportsOnlyBusesThatHavePingedAndRejectsIdsOutOfRange() throws IOException {
+		BusPositionStore store = new BusPositionStore(10);
+		store.update(7, 1, 1, 100, 0, (short) 0);
+		store.update(2, 1, 1, 100, 0, (short) 0);
+
+		List<Long> seen = new ArrayList<>();
+		store.forEach((busId, latitude, longitude, recordedAt, speed, heading) -> seen.add(busId));
+
+		assertEquals(List.of(2L, 7L), seen);
+		assertNull(store.get(5));
+		assertNull(store.get(10));
+		assertFalse(store.accepts(0));
+		assertThrows(IllegalArgumentException.class, () -> store.update(10, 1, 1, 100, 0, (short) 0));
+	}
+
+	@Test
+	void readersNeverSeeHalfOfAnUpdate() throws InterruptedException {
+		BusPositionStore store = new BusPositionStore(2);
+		AtomicBoolean torn = new AtomicBoolean();
+		AtomicBoolean done = new AtomicBoolean();
+		// Every ping writes the same value into all fields, so a mixed read shows up as unequal fields
+		Thread writer = new Thread(() -> {
+			for (int i = 1; i <= 2_000_000; i++) {
+				store.update(1, i, i, i, i, (short) i);
+			}
+			done.set(true);
+		});
+		Thread reader = new Thread(() -> {
+			while (!done.get()) {
+				BusPositionStore.Position position = store.get(1);
+				if (position != null && (position.latitude() != position.recordedAtMillis()
+						|| position.longitude() != position.recordedAtMillis()
+						|| (short) position.recordedAtMillis() != position.heading())) {
+					torn.set(true);
+				}
+			}
+		});
+		writer.start();
+		reader.start();
+		writer.join();
+		reader.join();
+
+		assertFalse(torn.get());
+		assertEquals(2_000_000, store.get(1).recordedAtMillis());
+	}
+}
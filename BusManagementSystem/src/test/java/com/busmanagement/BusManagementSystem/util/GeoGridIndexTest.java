@@ -0,0 +1,93 @@
+package com.busmanagement.BusManagementSystem.util;
+
+import org.junit.jupiter.api.Test;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeoGridIndexTest {
+
+	// Chitwan and Kathmandu are about 90 km apart
+	private static final double[] CHITWAN = {27.6833, 84.4333};
+	private static final double[] KATHMANDU = {27.7172, 85.3240};
+
+	@Test
+	void measuresGreatCircleDistances() {
+		double distance = GeoGridIndex.distanceKm(CHITWAN[0], CHITWAN[1], KATHMANDU[0], KATHMANDU[1]);
+
+		assertTrue(distance > 85 && distance < 95, "was " + distance);
+		assertEquals(0, GeoGridIndex.distanceKm(CHITWAN[0], CHITWAN[1], CHITWAN[0], CHITWAN[1]));
+	}
+
+	@Test
+	void findsTheSameNeighboursAsABruteForceScan() {
+		int points = 5_000;
+		double[][] positions = new double[points + 1][];
+		boolean[] available = new boolean[points + 1];
+		GeoGridIndex index = new GeoGridIndex(points + 1, 2);
+		SplittableRandom random = new SplittableRandom(11);
+		for (int id = 1; id <= points; id++) {
+			positions[id] = new double[] {27 + random.nextDouble(), 84 + random.nextDouble() * 1.5};
+			available[id] = random.nextBoolean();
+			index.put(id, positions[id][0], positions[id][1], available[id]);
+		}
+		// Moving half of them exercises the cell hand-over
+		for (int id = 1; id <= points; id += 2) {
+			positions[id] = new double[] {27 + random.nextDouble(), 84 + random.nextDouble() * 1.5};
+			index.put(id, positions[id][0], positions[id][1]);
+		}
+
+		for (int query = 0; query < 200; query++) {
+			double latitude = 27 + random.nextDouble();
+			double longitude = 84 + random.nextDouble() * 1.5;
+			double radius = 1 + random.nextDouble() * 30;
+			int limit = 1 + random.nextInt(20);
+			boolean availableOnly = random.nextBoolean();
+
+			List<Long> expected = IntStream.rangeClosed(1, points)
+					.filter(id -> !availableOnly || available[id])
+					.filter(id -> distance(latitude, longitude, positions[id]) <= radius)
+					.boxed()
+					.sorted(Comparator.comparingDouble(id -> distance(latitude, longitude, positions[id])))
+					.limit(limit)
+					.map(Integer::longValue)
+					.toList();
+			List<Long> actual = index.nearest(latitude, longitude, radius, limit, availableOnly).stream()
+					.map(GeoGridIndex.Hit::id)
+					.toList();
+
+			assertEquals(expected, actual, "query " + query);
+		}
+	}
+
+	@Test
+	void keepsAvailabilityAcrossMovesAndForgetsRemovedPoints() {
+		GeoGridIndex index = new GeoGridIndex(10, 5);
+		index.put(1, CHITWAN[0], CHITWAN[1], false);
+		index.put(2, CHITWAN[0] + 0.01, CHITWAN[1], true);
+
+		index.put(1, KATHMANDU[0], KATHMANDU[1]);
+		assertEquals(List.of(), index.nearest(KATHMANDU[0], KATHMANDU[1], 10, 5, true));
+		assertEquals(1, index.nearest(KATHMANDU[0], KATHMANDU[1], 10, 5, false).get(0).id());
+
+		index.setAvailable(1, true);
+		assertEquals(1, index.nearest(KATHMANDU[0], KATHMANDU[1], 10, 5, true).size());
+
+		index.remove(1);
+		assertFalse(index.contains(1));
+		assertEquals(1, index.size());
+		assertEquals(List.of(), index.nearest(KATHMANDU[0], KATHMANDU[1], 10, 5, false));
+		assertThrows(IllegalArgumentException.class, () -> index.put(10, 0, 0));
+		assertThrows(IllegalArgumentException.class, () -> index.put(3, 91, 0));
+	}
+
+	private static double distance(double latitude, double longitude, double[] position) {
+		return GeoGridIndex.distanceKm(latitude, longitude, position[0], position[1]);
+	}
+}
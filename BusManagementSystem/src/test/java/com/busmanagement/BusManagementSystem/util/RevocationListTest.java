@@ -0,0 +1,66 @@
+package com.busmanagement.BusManagementSystem.util;
+
+import org.junit.jupiter.api.Test;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RevocationListTest {
+
+	@Test
+	void findsRevokedTokenInItsExpiryBucket() {
+		RevocationList list = new RevocationList(300, 1000);
+		list.add("jti-1", 10_000);
+
+		assertTrue(list.contains("jti-1", 10_000));
+		assertFalse(list.contains("jti-2", 10_000));
+		assertFalse(list.contains("jti-1", 20_000));
+	}
+
+	@Test
+	void bucketsExpireWithTheirTokens() {
+		RevocationList list = new RevocationList(300, 1000);
+		list.add("old", 1_000);
+		list.add("new", 5_000);
+
+		list.expire(3_000);
+
+		assertFalse(list.contains("old", 1_000));
+		assertTrue(list.contains("new", 5_000));
+		assertEquals(1, list.bucketCount());
+	}
+
+	@Test
+	void exactSetSettlesBloomFalsePositives() {
+		RevocationList list = new RevocationList(3600, 100);
+		for (int i = 0; i < 1000; i++) {
+			list.add(UUID.randomUUID().toString(), 7200);
+		}
+
+		// Overfilled ten times, the Bloom filter alone would answer yes to plenty of these
+		for (int i = 0; i < 10_000; i++) {
+			assertFalse(list.contains(UUID.randomUUID().toString(), 7200));
+		}
+	}
+
+	@Test
+	void bloomFilterHasNoFalseNegatives() {
+		BloomFilter filter = new BloomFilter(10_000, 0.01);
+		for (int i = 0; i < 10_000; i++) {
+			filter.put("token-" + i);
+		}
+		for (int i = 0; i < 10_000; i++) {
+			assertTrue(filter.mightContain("token-" + i));
+		}
+
+		int falsePositives = 0;
+		for (int i = 0; i < 10_000; i++) {
+			if (filter.mightContain("other-" + i)) {
+				falsePositives++;
+			}
+		}
+		assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+	}
+}
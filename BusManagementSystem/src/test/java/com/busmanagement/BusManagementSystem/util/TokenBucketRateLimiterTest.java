@@ -0,0 +1,77 @@
+package com.busmanagement.BusManagementSystem.util;
+
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketRateLimiterTest {
+
+	@Test
+	void burstUpToCapacityThenRejects() {
+		TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, 60, 1000);
+		long now = 0;
+
+		assertEquals(0, limiter.tryAcquire("ip:10.0.0.1", now));
+		assertEquals(0, limiter.tryAcquire("ip:10.0.0.1", now));
+		assertEquals(0, limiter.tryAcquire("ip:10.0.0.1", now));
+
+		long wait = limiter.tryAcquire("ip:10.0.0.1", now);
+		assertTrue(wait > 0 && wait <= TimeUnit.SECONDS.toNanos(1));
+	}
+
+	@Test
+	void refillsOverTime() {
+		TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 60, 1000);
+
+		assertEquals(0, limiter.tryAcquire("user:admin", 0));
+		assertTrue(limiter.tryAcquire("user:admin", TimeUnit.MILLISECONDS.toNanos(500)) > 0);
+		assertEquals(0, limiter.tryAcquire("user:admin", TimeUnit.SECONDS.toNanos(2)));
+	}
+
+	@Test
+	void keysAreIndependent() {
+		TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, 1000);
+
+		assertEquals(0, limiter.tryAcquire("ip:a", 0));
+		assertTrue(limiter.tryAcquire("ip:a", 0) > 0);
+		assertEquals(0, limiter.tryAcquire("ip:b", 0));
+	}
+
+	@Test
+	void trackedKeysStayBounded() {
+		TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(5, 60, 640);
+
+		for (int i = 0; i < 100_000; i++) {
+			limiter.tryAcquire("ip:" + i, i);
+		}
+
+		assertTrue(limiter.size() <= 640);
+	}
+
+	@Test
+	void aDrainedKeyStaysDrainedWhileOtherKeysFlood() {
+		TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 1, 640);
+		assertEquals(0, limiter.tryAcquire("user:victim", 0));
+		assertTrue(limiter.tryAcquire("user:victim", 0) > 0);
+
+		for (int i = 0; i < 100_000; i++) {
+			limiter.tryAcquire("user:flood-" + i, i);
+		}
+
+		assertTrue(limiter.tryAcquire("user:victim", 100_000) > 0);
+		assertTrue(limiter.size() <= 640);
+	}
+
+	@Test
+	void refilledKeysMakeRoomForNewOnes() {
+		TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 60, 64);
+		for (int i = 0; i < 64; i++) {
+			limiter.tryAcquire("ip:" + i, 0);
+		}
+
+		// Every bucket has refilled a minute later, so a new key gets its own bucket and a token
+		assertEquals(0, limiter.tryAcquire("ip:new", TimeUnit.MINUTES.toNanos(1)));
+	}
+}
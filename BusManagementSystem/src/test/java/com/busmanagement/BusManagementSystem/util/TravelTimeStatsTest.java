@@ -0,0 +1,63 @@
+package com.busmanagement.BusManagementSystem.util;
+
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TravelTimeStatsTest {
+
+	private static final double WEEK = Duration.ofDays(7).toMillis();
+	// A Monday
+	private static final LocalDateTime MONDAY = LocalDateTime.of(2026, 3, 2, 0, 0);
+
+	@Test
+	void bucketsByHourOfWeekAndFallsBackToTheRoute() {
+		TravelTimeStats stats = new TravelTimeStats(52 * WEEK, ZoneOffset.UTC);
+		for (int week = 0; week < 4; week++) {
+			LocalDateTime morning = MONDAY.plusWeeks(week).withHour(8);
+			stats.record(1, morning, morning.plusMinutes(240));
+			LocalDateTime night = MONDAY.plusWeeks(week).withHour(22);
+			stats.record(1, night, night.plusMinutes(180));
+		}
+
+		TravelTimeStats.Estimate morning = stats.estimate(1, MONDAY.plusWeeks(5).withHour(8).withMinute(30), 3);
+		assertTrue(morning.hourOfWeek());
+		assertEquals(240, morning.meanMinutes(), 1e-9);
+		assertEquals(240, morning.p90Minutes(), 1e-9);
+
+		TravelTimeStats.Estimate tuesday = stats.estimate(1, MONDAY.plusDays(1).withHour(8), 3);
+		assertFalse(tuesday.hourOfWeek());
+		assertTrue(tuesday.meanMinutes() > 180 && tuesday.meanMinutes() < 240);
+		assertTrue(tuesday.p90Minutes() > tuesday.meanMinutes());
+		assertNull(stats.estimate(2, MONDAY, 3));
+	}
+
+	@Test
+	void recentTripsOutweighOlderOnes() {
+		TravelTimeStats stats = new TravelTimeStats(WEEK, ZoneOffset.UTC);
+		// Both arrive at 13:00, exactly one week apart
+		LocalDateTime old = MONDAY.withHour(9).withMinute(40);
+		LocalDateTime recent = MONDAY.plusWeeks(1).withHour(8);
+		stats.record(1, recent, recent.plusMinutes(300));
+		// Recorded after the newer trip, as a rebuild from unordered history would
+		stats.record(1, old, old.plusMinutes(200));
+
+		TravelTimeStats.Estimate estimate = stats.routeEstimate(1);
+		// One week apart: the older trip counts half
+		assertEquals((300 + 0.5 * 200) / 1.5, estimate.meanMinutes(), 1e-6);
+		assertEquals(1.5, estimate.weight(), 1e-6);
+	}
+
+	@Test
+	void mapsTimesToTheHourOfTheWeek() {
+		assertEquals(0, TravelTimeStats.hourOfWeek(MONDAY));
+		assertEquals(24 + 13, TravelTimeStats.hourOfWeek(MONDAY.plusDays(1).withHour(13).withMinute(59)));
+		assertEquals(TravelTimeStats.HOURS_PER_WEEK - 1, TravelTimeStats.hourOfWeek(MONDAY.plusDays(6).withHour(23)));
+	}
+}